@@ -6,19 +6,20 @@ import com.freightops.accounting.events.LTACompletedEvent;
 import com.freightops.entity.Invoice;
 import com.freightops.entity.Payment;
 import com.freightops.entity.LTA;
+import com.freightops.events.DomainEventBus;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 /**
  * Composant pour publier les événements comptables
  * Utilisé par les services existants pour déclencher les écritures automatiques
+ * Les événements passent par le {@link DomainEventBus} (local ou AMQP)
  */
 @Component
 public class AccountingEventPublisher {
 
     @Autowired
-    private ApplicationEventPublisher eventPublisher;
+    private DomainEventBus domainEventBus;
 
     /**
      * Publie un événement de création de facture
@@ -28,7 +29,7 @@ public class AccountingEventPublisher {
      */
     public void publishInvoiceCreatedEvent(Invoice invoice, String createdBy) {
         InvoiceCreatedEvent event = new InvoiceCreatedEvent(this, invoice, createdBy);
-        eventPublisher.publishEvent(event);
+        domainEventBus.publish(event);
     }
 
     /**
@@ -39,7 +40,7 @@ public class AccountingEventPublisher {
      */
     public void publishPaymentReceivedEvent(Payment payment, String createdBy) {
         PaymentReceivedEvent event = new PaymentReceivedEvent(this, payment, createdBy);
-        eventPublisher.publishEvent(event);
+        domainEventBus.publish(event);
     }
 
     /**
@@ -50,6 +51,6 @@ public class AccountingEventPublisher {
      */
     public void publishLTACompletedEvent(LTA lta, String createdBy) {
         LTACompletedEvent event = new LTACompletedEvent(this, lta, createdBy);
-        eventPublisher.publishEvent(event);
+        domainEventBus.publish(event);
     }
 }
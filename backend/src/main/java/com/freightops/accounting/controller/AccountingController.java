@@ -1,21 +1,30 @@
 package com.freightops.accounting.controller;
 
+import com.freightops.accounting.dto.AccountMovements;
 import com.freightops.accounting.entity.Account;
 import com.freightops.accounting.entity.JournalEntry;
 import com.freightops.accounting.entity.FiscalYear;
 import com.freightops.accounting.enums.AccountType;
+import com.freightops.accounting.enums.JournalExportFormat;
+import com.freightops.accounting.enums.SourceType;
 import com.freightops.accounting.service.AccountService;
+import com.freightops.accounting.service.FinancialStatementService;
 import com.freightops.accounting.service.JournalEntryService;
+import com.freightops.accounting.service.JournalExportService;
 import com.freightops.accounting.service.FiscalYearService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Contrôleur REST pour la consultation des données comptables
@@ -35,6 +44,12 @@ public class AccountingController {
     @Autowired
     private FiscalYearService fiscalYearService;
 
+    @Autowired
+    private JournalExportService journalExportService;
+
+    @Autowired
+    private FinancialStatementService financialStatementService;
+
     // ========== PLAN COMPTABLE ==========
 
     /**
@@ -102,6 +117,40 @@ public class AccountingController {
         return ResponseEntity.ok(entries);
     }
 
+    /**
+     * Exporte le journal en CSV ou XLSX, ligne par ligne d'écriture
+     * Le fichier est produit au fil de la lecture : à privilégier pour un
+     * exercice complet plutôt que la liste JSON ci-dessus
+     */
+    @GetMapping("/journal-entries/export")
+    public ResponseEntity<StreamingResponseBody> exportJournalEntries(
+            @RequestParam(defaultValue = "CSV") JournalExportFormat format,
+            @RequestParam(required = false) Long fiscalYearId,
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) SourceType sourceType) {
+
+        String accountFilter = accountNumber != null && !accountNumber.isBlank() ? accountNumber.trim() : null;
+
+        HttpHeaders headers = new HttpHeaders();
+        if (format == JournalExportFormat.XLSX) {
+            headers.setContentType(
+                    MediaType.valueOf("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+            headers.setContentDispositionFormData("attachment", "journal.xlsx");
+        } else {
+            headers.setContentType(MediaType.valueOf("text/csv;charset=UTF-8"));
+            headers.setContentDispositionFormData("attachment", "journal.csv");
+        }
+
+        StreamingResponseBody body = outputStream -> journalExportService.exportJournal(format, fiscalYearId,
+                accountFilter, startDate, endDate, sourceType, outputStream);
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
     /**
      * Récupère les écritures par période
      */
@@ -198,7 +247,7 @@ public class AccountingController {
      */
     @GetMapping("/reports/balance-validation")
     public ResponseEntity<Boolean> validateChartOfAccountsBalance() {
-        boolean isBalanced = accountService.validateChartOfAccountsBalance();
+        boolean isBalanced = financialStatementService.getBalanceSheet(LocalDate.now()).isBalanced();
         return ResponseEntity.ok(isBalanced);
     }
 
@@ -208,16 +257,20 @@ public class AccountingController {
     @GetMapping("/reports/balance-summary")
     public ResponseEntity<List<BalanceSummaryItem>> getBalanceSummary() {
         List<BalanceSummaryItem> summaryList = new ArrayList<>();
+        Map<AccountType, AccountMovements> movements = financialStatementService
+                .getMovementsByAccountType(LocalDate.now());
 
         // Créer un résumé pour chaque type de compte
         for (AccountType accountType : AccountType.values()) {
+            AccountMovements typeMovements = movements.get(accountType);
             BalanceSummaryItem item = new BalanceSummaryItem();
             item.accountNumber = accountType.name();
             item.accountName = getAccountTypeLabel(accountType);
             item.accountType = accountType;
-            item.totalDebit = BigDecimal.ZERO;
-            item.totalCredit = BigDecimal.ZERO;
-            item.balance = accountService.getTotalBalanceByAccountType(accountType);
+            item.totalDebit = typeMovements.getDebit();
+            item.totalCredit = typeMovements.getCredit();
+            item.balance = accountType.increasesWithDebit() ? typeMovements.getNetDebit()
+                    : typeMovements.getNetDebit().negate();
             item.currency = "CDF";
             summaryList.add(item);
         }
@@ -1,9 +1,15 @@
 package com.freightops.accounting.controller;
 
+import com.freightops.accounting.dto.BalanceSheet;
+import com.freightops.accounting.dto.ComparativeStatement;
+import com.freightops.accounting.dto.IncomeStatement;
+import com.freightops.accounting.dto.TrialBalance;
 import com.freightops.accounting.entity.AccountingEntry;
 import com.freightops.accounting.entity.JournalEntry;
 import com.freightops.accounting.enums.SourceType;
 import com.freightops.accounting.service.AccountingReportService;
+import com.freightops.accounting.service.FinancialStatementService;
+import com.freightops.pagination.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -29,6 +35,9 @@ public class AccountingReportController {
     @Autowired
     private AccountingReportService accountingReportService;
 
+    @Autowired
+    private FinancialStatementService financialStatementService;
+
     /**
      * Récupère toutes les écritures comptables avec pagination
      */
@@ -42,6 +51,20 @@ public class AccountingReportController {
         return ResponseEntity.ok(entries);
     }
 
+    /**
+     * Récupère les écritures par pagination à curseur, les plus récentes d'abord
+     * Le nextCursor d'une page donne accès à la suivante
+     */
+    @GetMapping("/journal-entries/cursor")
+    public ResponseEntity<CursorPage<JournalEntry>> getJournalEntriesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPage<JournalEntry> entries = accountingReportService.getJournalEntriesAfter(cursor, size, includeTotal);
+        return ResponseEntity.ok(entries);
+    }
+
     /**
      * Récupère les écritures par type de source
      */
@@ -126,6 +149,49 @@ public class AccountingReportController {
                 "interpretation", "Fonctionnalité d'interprétation disponible via le service"));
     }
 
+    /**
+     * Balance générale d'une période, avec d'éventuelles périodes de comparaison
+     * (compareStartDate et compareEndDate répétés, dans le même ordre)
+     */
+    @GetMapping("/trial-balance")
+    public ResponseEntity<ComparativeStatement<TrialBalance>> getTrialBalance(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> compareStartDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> compareEndDate) {
+
+        return ResponseEntity.ok(financialStatementService.getTrialBalance(startDate, endDate,
+                compareStartDate, compareEndDate));
+    }
+
+    /**
+     * Bilan à une date (aujourd'hui par défaut), avec d'éventuelles dates de
+     * comparaison
+     */
+    @GetMapping("/balance-sheet")
+    public ResponseEntity<ComparativeStatement<BalanceSheet>> getBalanceSheet(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> compareDate) {
+
+        LocalDate targetDate = date != null ? date : LocalDate.now();
+        return ResponseEntity.ok(financialStatementService.getBalanceSheet(targetDate, compareDate));
+    }
+
+    /**
+     * Compte de résultat d'une période, avec d'éventuelles périodes de
+     * comparaison
+     */
+    @GetMapping("/income-statement")
+    public ResponseEntity<ComparativeStatement<IncomeStatement>> getIncomeStatement(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> compareStartDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> compareEndDate) {
+
+        return ResponseEntity.ok(financialStatementService.getIncomeStatement(startDate, endDate,
+                compareStartDate, compareEndDate));
+    }
+
     /**
      * Valide l'équilibre comptable d'une période
      */
@@ -146,10 +212,12 @@ public class AccountingReportController {
         LocalDate today = LocalDate.now();
 
         // Soldes des comptes principaux
-        BigDecimal clientsBalance = accountingReportService.getAccountBalanceAtDate("411", today);
-        BigDecimal caisseBalance = accountingReportService.getAccountBalanceAtDate("531", today);
-        BigDecimal banqueBalance = accountingReportService.getAccountBalanceAtDate("512", today);
-        BigDecimal ventesBalance = accountingReportService.getAccountBalanceAtDate("701", today);
+        Map<String, BigDecimal> balances = accountingReportService
+                .getAccountBalancesAtDate(List.of("411", "531", "512", "701"), today);
+        BigDecimal clientsBalance = balances.get("411");
+        BigDecimal caisseBalance = balances.get("531");
+        BigDecimal banqueBalance = balances.get("512");
+        BigDecimal ventesBalance = balances.get("701");
 
         Map<String, Object> summary = Map.of(
                 "date", today,
@@ -0,0 +1,38 @@
+package com.freightops.accounting.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Total des débits et des crédits d'un compte sur une période
+ */
+public class AccountMovements {
+
+    public static final AccountMovements ZERO = new AccountMovements(BigDecimal.ZERO, BigDecimal.ZERO);
+
+    private final BigDecimal debit;
+    private final BigDecimal credit;
+
+    public AccountMovements(BigDecimal debit, BigDecimal credit) {
+        this.debit = debit != null ? debit : BigDecimal.ZERO;
+        this.credit = credit != null ? credit : BigDecimal.ZERO;
+    }
+
+    public AccountMovements add(AccountMovements other) {
+        return new AccountMovements(debit.add(other.debit), credit.add(other.credit));
+    }
+
+    public BigDecimal getDebit() {
+        return debit;
+    }
+
+    public BigDecimal getCredit() {
+        return credit;
+    }
+
+    /**
+     * Solde débiteur net (débit - crédit)
+     */
+    public BigDecimal getNetDebit() {
+        return debit.subtract(credit);
+    }
+}
@@ -0,0 +1,74 @@
+package com.freightops.accounting.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bilan à une date
+ * Le résultat non encore affecté (produits - charges) figure à part et
+ * s'ajoute aux capitaux propres pour l'équilibre
+ */
+public class BalanceSheet {
+
+    private final LocalDate date;
+    private final List<StatementLine> assets;
+    private final List<StatementLine> liabilities;
+    private final List<StatementLine> equity;
+    private final BigDecimal totalAssets;
+    private final BigDecimal totalLiabilities;
+    private final BigDecimal totalEquity;
+    private final BigDecimal currentResult;
+
+    public BalanceSheet(LocalDate date, List<StatementLine> assets, List<StatementLine> liabilities,
+            List<StatementLine> equity, BigDecimal totalAssets, BigDecimal totalLiabilities, BigDecimal totalEquity,
+            BigDecimal currentResult) {
+        this.date = date;
+        this.assets = assets;
+        this.liabilities = liabilities;
+        this.equity = equity;
+        this.totalAssets = totalAssets;
+        this.totalLiabilities = totalLiabilities;
+        this.totalEquity = totalEquity;
+        this.currentResult = currentResult;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public List<StatementLine> getAssets() {
+        return assets;
+    }
+
+    public List<StatementLine> getLiabilities() {
+        return liabilities;
+    }
+
+    public List<StatementLine> getEquity() {
+        return equity;
+    }
+
+    public BigDecimal getTotalAssets() {
+        return totalAssets;
+    }
+
+    public BigDecimal getTotalLiabilities() {
+        return totalLiabilities;
+    }
+
+    public BigDecimal getTotalEquity() {
+        return totalEquity;
+    }
+
+    public BigDecimal getCurrentResult() {
+        return currentResult;
+    }
+
+    /**
+     * Actif = passif + capitaux propres + résultat
+     */
+    public boolean isBalanced() {
+        return totalAssets.compareTo(totalLiabilities.add(totalEquity).add(currentResult)) == 0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.freightops.accounting.dto;
+
+import com.freightops.accounting.entity.Account;
+import com.freightops.accounting.enums.AccountType;
+
+import java.io.Serializable;
+
+/**
+ * Compte du plan comptable, sans solde
+ * Vue immuable mise en cache ; le solde se lit toujours sur l'entité {@link Account}
+ */
+public class ChartAccount implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String accountNumber;
+    private final String accountName;
+    private final AccountType accountType;
+    private final Long parentAccountId;
+
+    public ChartAccount(Long id, String accountNumber, String accountName, AccountType accountType,
+            Long parentAccountId) {
+        this.id = id;
+        this.accountNumber = accountNumber;
+        this.accountName = accountName;
+        this.accountType = accountType;
+        this.parentAccountId = parentAccountId;
+    }
+
+    public static ChartAccount from(Account account) {
+        return new ChartAccount(
+                account.getId(),
+                account.getAccountNumber(),
+                account.getAccountName(),
+                account.getAccountType(),
+                account.getParentAccount() != null ? account.getParentAccount().getId() : null);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public Long getParentAccountId() {
+        return parentAccountId;
+    }
+}
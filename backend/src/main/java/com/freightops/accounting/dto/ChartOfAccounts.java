@@ -0,0 +1,49 @@
+package com.freightops.accounting.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plan comptable actif, indexé par numéro et par ID
+ */
+public class ChartOfAccounts implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<ChartAccount> accounts;
+    private final Map<String, ChartAccount> byNumber = new HashMap<>();
+    private final Map<Long, ChartAccount> byId = new HashMap<>();
+
+    public ChartOfAccounts(List<ChartAccount> accounts) {
+        this.accounts = Collections.unmodifiableList(new ArrayList<>(accounts));
+        for (ChartAccount account : accounts) {
+            byNumber.put(account.getAccountNumber(), account);
+            byId.put(account.getId(), account);
+        }
+    }
+
+    /**
+     * Comptes actifs, triés par numéro
+     */
+    public List<ChartAccount> getAccounts() {
+        return accounts;
+    }
+
+    /**
+     * @return le compte, ou null s'il n'existe pas ou est inactif
+     */
+    public ChartAccount findByNumber(String accountNumber) {
+        return byNumber.get(accountNumber);
+    }
+
+    /**
+     * @return le compte, ou null s'il n'existe pas ou est inactif
+     */
+    public ChartAccount findById(Long accountId) {
+        return byId.get(accountId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.freightops.accounting.dto;
+
+import java.util.List;
+
+/**
+ * État de la période demandée et des mêmes états sur les périodes de
+ * comparaison, dans l'ordre où elles ont été demandées
+ */
+public class ComparativeStatement<T> {
+
+    private final T current;
+    private final List<T> comparisons;
+
+    public ComparativeStatement(T current, List<T> comparisons) {
+        this.current = current;
+        this.comparisons = comparisons;
+    }
+
+    public T getCurrent() {
+        return current;
+    }
+
+    public List<T> getComparisons() {
+        return comparisons;
+    }
+}
@@ -0,0 +1,59 @@
+package com.freightops.accounting.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Compte de résultat d'une période
+ */
+public class IncomeStatement {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final List<StatementLine> revenues;
+    private final List<StatementLine> expenses;
+    private final BigDecimal totalRevenues;
+    private final BigDecimal totalExpenses;
+
+    public IncomeStatement(LocalDate startDate, LocalDate endDate, List<StatementLine> revenues,
+            List<StatementLine> expenses, BigDecimal totalRevenues, BigDecimal totalExpenses) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.revenues = revenues;
+        this.expenses = expenses;
+        this.totalRevenues = totalRevenues;
+        this.totalExpenses = totalExpenses;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public List<StatementLine> getRevenues() {
+        return revenues;
+    }
+
+    public List<StatementLine> getExpenses() {
+        return expenses;
+    }
+
+    public BigDecimal getTotalRevenues() {
+        return totalRevenues;
+    }
+
+    public BigDecimal getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    /**
+     * Résultat net : bénéfice si positif, perte si négatif
+     */
+    public BigDecimal getNetIncome() {
+        return totalRevenues.subtract(totalExpenses);
+    }
+}
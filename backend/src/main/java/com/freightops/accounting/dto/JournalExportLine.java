@@ -0,0 +1,92 @@
+package com.freightops.accounting.dto;
+
+import com.freightops.accounting.enums.SourceType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Ligne d'écriture à plat pour l'export du journal
+ * Construite directement par la requête : aucune entité n'est chargée ni
+ * conservée dans le contexte de persistance pendant l'export
+ */
+public class JournalExportLine {
+
+    private final String entryNumber;
+    private final LocalDate entryDate;
+    private final String reference;
+    private final SourceType sourceType;
+    private final Long sourceId;
+    private final String entryDescription;
+    private final Integer lineOrder;
+    private final String accountNumber;
+    private final String accountName;
+    private final BigDecimal debitAmount;
+    private final BigDecimal creditAmount;
+    private final String lineDescription;
+
+    public JournalExportLine(String entryNumber, LocalDate entryDate, String reference, SourceType sourceType,
+            Long sourceId, String entryDescription, Integer lineOrder, String accountNumber, String accountName,
+            BigDecimal debitAmount, BigDecimal creditAmount, String lineDescription) {
+        this.entryNumber = entryNumber;
+        this.entryDate = entryDate;
+        this.reference = reference;
+        this.sourceType = sourceType;
+        this.sourceId = sourceId;
+        this.entryDescription = entryDescription;
+        this.lineOrder = lineOrder;
+        this.accountNumber = accountNumber;
+        this.accountName = accountName;
+        this.debitAmount = debitAmount;
+        this.creditAmount = creditAmount;
+        this.lineDescription = lineDescription;
+    }
+
+    public String getEntryNumber() {
+        return entryNumber;
+    }
+
+    public LocalDate getEntryDate() {
+        return entryDate;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public SourceType getSourceType() {
+        return sourceType;
+    }
+
+    public Long getSourceId() {
+        return sourceId;
+    }
+
+    public String getEntryDescription() {
+        return entryDescription;
+    }
+
+    public Integer getLineOrder() {
+        return lineOrder;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public BigDecimal getDebitAmount() {
+        return debitAmount;
+    }
+
+    public BigDecimal getCreditAmount() {
+        return creditAmount;
+    }
+
+    public String getLineDescription() {
+        return lineDescription;
+    }
+}
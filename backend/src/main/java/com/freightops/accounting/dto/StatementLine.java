@@ -0,0 +1,57 @@
+package com.freightops.accounting.dto;
+
+import com.freightops.accounting.enums.AccountType;
+
+import java.math.BigDecimal;
+
+/**
+ * Ligne du bilan ou du compte de résultat
+ * Montant dans le sens naturel de la rubrique (actif et charges au débit,
+ * passif, capitaux propres et produits au crédit) ; celui d'un compte parent
+ * inclut ses sous-comptes de la même rubrique
+ */
+public class StatementLine {
+
+    private final String accountNumber;
+    private final String accountName;
+    private final AccountType accountType;
+    private final String parentAccountNumber;
+    private final int level;
+    private final BigDecimal amount;
+
+    public StatementLine(ChartAccount account, String parentAccountNumber, int level, BigDecimal amount) {
+        this.accountNumber = account.getAccountNumber();
+        this.accountName = account.getAccountName();
+        this.accountType = account.getAccountType();
+        this.parentAccountNumber = parentAccountNumber;
+        this.level = level;
+        this.amount = amount;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public String getParentAccountNumber() {
+        return parentAccountNumber;
+    }
+
+    /**
+     * Profondeur dans le plan comptable, 0 pour un compte racine
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
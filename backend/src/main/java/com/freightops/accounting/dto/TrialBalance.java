@@ -0,0 +1,63 @@
+package com.freightops.accounting.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Balance générale d'une période
+ */
+public class TrialBalance {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final List<TrialBalanceLine> lines;
+    private final BigDecimal totalDebit;
+    private final BigDecimal totalCredit;
+    private final BigDecimal totalClosingBalance;
+
+    public TrialBalance(LocalDate startDate, LocalDate endDate, List<TrialBalanceLine> lines, BigDecimal totalDebit,
+            BigDecimal totalCredit, BigDecimal totalClosingBalance) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.lines = lines;
+        this.totalDebit = totalDebit;
+        this.totalCredit = totalCredit;
+        this.totalClosingBalance = totalClosingBalance;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Comptes mouvementés ou soldés et leurs parents, triés par numéro
+     */
+    public List<TrialBalanceLine> getLines() {
+        return lines;
+    }
+
+    public BigDecimal getTotalDebit() {
+        return totalDebit;
+    }
+
+    public BigDecimal getTotalCredit() {
+        return totalCredit;
+    }
+
+    /**
+     * Somme des soldes de clôture de tous les comptes, nulle si la comptabilité
+     * est équilibrée
+     */
+    public BigDecimal getTotalClosingBalance() {
+        return totalClosingBalance;
+    }
+
+    public boolean isBalanced() {
+        return totalDebit.compareTo(totalCredit) == 0 && totalClosingBalance.signum() == 0;
+    }
+}
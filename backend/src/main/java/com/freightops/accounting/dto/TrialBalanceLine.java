@@ -0,0 +1,75 @@
+package com.freightops.accounting.dto;
+
+import com.freightops.accounting.enums.AccountType;
+
+import java.math.BigDecimal;
+
+/**
+ * Ligne de la balance générale
+ * Les montants d'un compte parent incluent ceux de tous ses sous-comptes ; les
+ * soldes sont débiteurs nets (négatifs quand le compte est créditeur)
+ */
+public class TrialBalanceLine {
+
+    private final String accountNumber;
+    private final String accountName;
+    private final AccountType accountType;
+    private final String parentAccountNumber;
+    private final int level;
+    private final BigDecimal openingBalance;
+    private final BigDecimal periodDebit;
+    private final BigDecimal periodCredit;
+    private final BigDecimal closingBalance;
+
+    public TrialBalanceLine(ChartAccount account, String parentAccountNumber, int level, BigDecimal openingBalance,
+            BigDecimal periodDebit, BigDecimal periodCredit) {
+        this.accountNumber = account.getAccountNumber();
+        this.accountName = account.getAccountName();
+        this.accountType = account.getAccountType();
+        this.parentAccountNumber = parentAccountNumber;
+        this.level = level;
+        this.openingBalance = openingBalance;
+        this.periodDebit = periodDebit;
+        this.periodCredit = periodCredit;
+        this.closingBalance = openingBalance.add(periodDebit).subtract(periodCredit);
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public String getParentAccountNumber() {
+        return parentAccountNumber;
+    }
+
+    /**
+     * Profondeur dans le plan comptable, 0 pour un compte racine
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public BigDecimal getPeriodDebit() {
+        return periodDebit;
+    }
+
+    public BigDecimal getPeriodCredit() {
+        return periodCredit;
+    }
+
+    public BigDecimal getClosingBalance() {
+        return closingBalance;
+    }
+}
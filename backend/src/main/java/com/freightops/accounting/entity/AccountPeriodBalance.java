@@ -0,0 +1,86 @@
+package com.freightops.accounting.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Mouvements cumulés d'un compte sur un mois (agrégat matérialisé)
+ * Alimenté dans la transaction de chaque écriture ; le solde de clôture d'un
+ * mois est la somme des mouvements des mois jusqu'à celui-ci, ce qui évite de
+ * relire toutes les lignes d'écriture pour un solde à date
+ */
+@Entity
+@Table(name = "account_period_balances", uniqueConstraints = @UniqueConstraint(name = "uk_account_period_balances_account_period", columnNames = {
+        "account_id", "period_end" }))
+public class AccountPeriodBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    /**
+     * Dernier jour du mois
+     */
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(name = "debit_total", precision = 15, scale = 2, nullable = false)
+    private BigDecimal debitTotal = BigDecimal.ZERO;
+
+    @Column(name = "credit_total", precision = 15, scale = 2, nullable = false)
+    private BigDecimal creditTotal = BigDecimal.ZERO;
+
+    // Constructeurs
+    public AccountPeriodBalance() {
+    }
+
+    public AccountPeriodBalance(Long accountId, LocalDate periodEnd) {
+        this.accountId = accountId;
+        this.periodEnd = periodEnd;
+    }
+
+    // Getters et Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(LocalDate periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public BigDecimal getDebitTotal() {
+        return debitTotal;
+    }
+
+    public void setDebitTotal(BigDecimal debitTotal) {
+        this.debitTotal = debitTotal;
+    }
+
+    public BigDecimal getCreditTotal() {
+        return creditTotal;
+    }
+
+    public void setCreditTotal(BigDecimal creditTotal) {
+        this.creditTotal = creditTotal;
+    }
+}
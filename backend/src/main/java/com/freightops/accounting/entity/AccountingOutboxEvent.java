@@ -0,0 +1,190 @@
+package com.freightops.accounting.entity;
+
+import com.freightops.accounting.enums.OutboxStatus;
+import com.freightops.accounting.enums.SourceType;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Événement de la boîte d'envoi comptable (transactional outbox)
+ * Écrit dans la transaction métier ; l'écriture comptable correspondante est
+ * générée plus tard par le poster, une seule fois par source
+ */
+@Entity
+@Table(name = "accounting_outbox", uniqueConstraints = @UniqueConstraint(name = "uk_accounting_outbox_source", columnNames = {
+        "source_type", "source_id" }), indexes = @Index(name = "idx_accounting_outbox_pending", columnList = "status, next_attempt_at"))
+public class AccountingOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", nullable = false, length = 30)
+    private SourceType sourceType;
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "journal_entry_id")
+    private Long journalEntryId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "posted_at")
+    private LocalDateTime postedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    // Constructeurs
+    public AccountingOutboxEvent() {
+    }
+
+    public AccountingOutboxEvent(SourceType sourceType, Long sourceId, String createdBy) {
+        this.sourceType = sourceType;
+        this.sourceId = sourceId;
+        this.createdBy = createdBy;
+    }
+
+    // Getters et Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public SourceType getSourceType() {
+        return sourceType;
+    }
+
+    public void setSourceType(SourceType sourceType) {
+        this.sourceType = sourceType;
+    }
+
+    public Long getSourceId() {
+        return sourceId;
+    }
+
+    public void setSourceId(Long sourceId) {
+        this.sourceId = sourceId;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public OutboxStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OutboxStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Long getJournalEntryId() {
+        return journalEntryId;
+    }
+
+    public void setJournalEntryId(Long journalEntryId) {
+        this.journalEntryId = journalEntryId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public LocalDateTime getPostedAt() {
+        return postedAt;
+    }
+
+    public void setPostedAt(LocalDateTime postedAt) {
+        this.postedAt = postedAt;
+    }
+
+    // Méthodes métier
+
+    /**
+     * Marque l'événement comme comptabilisé
+     *
+     * @param journalEntryId l'écriture générée (null si elle existait déjà)
+     */
+    public void markPosted(Long journalEntryId) {
+        this.status = OutboxStatus.POSTED;
+        this.journalEntryId = journalEntryId;
+        this.postedAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    /**
+     * Enregistre un échec ; l'événement est replanifié ou passe en échec
+     * définitif une fois le nombre maximal de tentatives atteint
+     */
+    public void markFailed(String error, int maxAttempts, LocalDateTime nextAttemptAt) {
+        this.attempts = attempts + 1;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        if (attempts >= maxAttempts) {
+            this.status = OutboxStatus.FAILED;
+        } else {
+            this.nextAttemptAt = nextAttemptAt;
+        }
+    }
+}
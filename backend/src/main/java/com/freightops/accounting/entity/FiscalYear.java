@@ -1,6 +1,7 @@
 package com.freightops.accounting.entity;
 
 import jakarta.persistence.*;
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -11,7 +12,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "fiscal_years")
-public class FiscalYear {
+public class FiscalYear implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
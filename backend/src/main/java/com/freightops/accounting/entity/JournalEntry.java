@@ -13,7 +13,7 @@ import java.util.List;
  * Contient les informations générales et les lignes de détail
  */
 @Entity
-@Table(name = "journal_entries")
+@Table(name = "journal_entries", indexes = @Index(name = "idx_journal_entries_created_at_id", columnList = "created_at, id"))
 public class JournalEntry {
 
     @Id
@@ -0,0 +1,46 @@
+package com.freightops.accounting.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Compteur de numérotation des écritures comptables d'un exercice
+ * La ligne est verrouillée pendant la transaction qui attribue un numéro,
+ * ce qui garantit une numérotation sans trou ni doublon
+ */
+@Entity
+@Table(name = "journal_entry_sequences")
+public class JournalEntrySequence {
+
+    @Id
+    @Column(name = "fiscal_year_id")
+    private Long fiscalYearId;
+
+    @Column(name = "last_number", nullable = false)
+    private Long lastNumber = 0L;
+
+    // Constructeurs
+    public JournalEntrySequence() {
+    }
+
+    public JournalEntrySequence(Long fiscalYearId, Long lastNumber) {
+        this.fiscalYearId = fiscalYearId;
+        this.lastNumber = lastNumber;
+    }
+
+    // Getters et Setters
+    public Long getFiscalYearId() {
+        return fiscalYearId;
+    }
+
+    public void setFiscalYearId(Long fiscalYearId) {
+        this.fiscalYearId = fiscalYearId;
+    }
+
+    public Long getLastNumber() {
+        return lastNumber;
+    }
+
+    public void setLastNumber(Long lastNumber) {
+        this.lastNumber = lastNumber;
+    }
+}
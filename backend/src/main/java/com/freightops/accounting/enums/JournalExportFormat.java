@@ -0,0 +1,11 @@
+package com.freightops.accounting.enums;
+
+/**
+ * Formats de sortie de l'export du journal
+ */
+public enum JournalExportFormat {
+    /** Texte séparé par des virgules, UTF-8 avec BOM */
+    CSV,
+    /** Classeur Excel à une feuille */
+    XLSX
+}
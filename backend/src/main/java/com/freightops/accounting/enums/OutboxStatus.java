@@ -0,0 +1,26 @@
+package com.freightops.accounting.enums;
+
+/**
+ * États d'un événement de la boîte d'envoi comptable
+ */
+public enum OutboxStatus {
+    PENDING("En attente", "Événement en attente de comptabilisation"),
+    POSTED("Comptabilisé", "Écriture comptable générée"),
+    FAILED("En échec", "Nombre maximal de tentatives atteint");
+
+    private final String label;
+    private final String description;
+
+    OutboxStatus(String label, String description) {
+        this.label = label;
+        this.description = description;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
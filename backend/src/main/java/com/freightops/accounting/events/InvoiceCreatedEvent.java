@@ -1,13 +1,20 @@
 package com.freightops.accounting.events;
 
 import com.freightops.entity.Invoice;
+import com.freightops.events.DomainEvent;
+import com.freightops.events.dto.DomainEventMessage;
+import com.freightops.events.enums.DomainEventType;
 import org.springframework.context.ApplicationEvent;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 /**
  * Événement déclenché lors de la création d'une facture
  * Permet de générer automatiquement les écritures comptables
  */
-public class InvoiceCreatedEvent extends ApplicationEvent {
+public class InvoiceCreatedEvent extends ApplicationEvent implements DomainEvent {
 
     private final Invoice invoice;
     private final String createdBy;
@@ -25,4 +32,22 @@ public class InvoiceCreatedEvent extends ApplicationEvent {
     public String getCreatedBy() {
         return createdBy;
     }
+
+    @Override
+    public DomainEventType getEventType() {
+        return DomainEventType.INVOICE_CREATED;
+    }
+
+    @Override
+    public DomainEventMessage toMessage() {
+        return DomainEventMessage.builder()
+                .eventType(getEventType())
+                .aggregateId(invoice.getId())
+                .reference(invoice.getInvoiceNumber())
+                .status(invoice.getStatus() != null ? invoice.getStatus().name() : null)
+                .amount(invoice.getTotalAmount())
+                .createdBy(createdBy)
+                .occurredAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(getTimestamp()), ZoneId.systemDefault()))
+                .build();
+    }
 }
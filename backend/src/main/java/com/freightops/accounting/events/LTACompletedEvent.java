@@ -1,13 +1,20 @@
 package com.freightops.accounting.events;
 
 import com.freightops.entity.LTA;
+import com.freightops.events.DomainEvent;
+import com.freightops.events.dto.DomainEventMessage;
+import com.freightops.events.enums.DomainEventType;
 import org.springframework.context.ApplicationEvent;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 /**
  * Événement déclenché lors de la finalisation d'une LTA
  * Permet de générer automatiquement les écritures comptables de revenus
  */
-public class LTACompletedEvent extends ApplicationEvent {
+public class LTACompletedEvent extends ApplicationEvent implements DomainEvent {
 
     private final LTA lta;
     private final String createdBy;
@@ -25,4 +32,23 @@ public class LTACompletedEvent extends ApplicationEvent {
     public String getCreatedBy() {
         return createdBy;
     }
+
+    @Override
+    public DomainEventType getEventType() {
+        return DomainEventType.LTA_COMPLETED;
+    }
+
+    @Override
+    public DomainEventMessage toMessage() {
+        return DomainEventMessage.builder()
+                .eventType(getEventType())
+                .aggregateId(lta.getId())
+                .ltaNumber(lta.getLtaNumber())
+                .trackingNumber(lta.getTrackingNumber())
+                .status(lta.getStatus() != null ? lta.getStatus().name() : null)
+                .amount(lta.getCalculatedCost())
+                .createdBy(createdBy)
+                .occurredAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(getTimestamp()), ZoneId.systemDefault()))
+                .build();
+    }
 }
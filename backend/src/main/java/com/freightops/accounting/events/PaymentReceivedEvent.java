@@ -1,13 +1,20 @@
 package com.freightops.accounting.events;
 
 import com.freightops.entity.Payment;
+import com.freightops.events.DomainEvent;
+import com.freightops.events.dto.DomainEventMessage;
+import com.freightops.events.enums.DomainEventType;
 import org.springframework.context.ApplicationEvent;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 /**
  * Événement déclenché lors de la réception d'un paiement
  * Permet de générer automatiquement les écritures comptables d'encaissement
  */
-public class PaymentReceivedEvent extends ApplicationEvent {
+public class PaymentReceivedEvent extends ApplicationEvent implements DomainEvent {
 
     private final Payment payment;
     private final String createdBy;
@@ -25,4 +32,23 @@ public class PaymentReceivedEvent extends ApplicationEvent {
     public String getCreatedBy() {
         return createdBy;
     }
+
+    @Override
+    public DomainEventType getEventType() {
+        return DomainEventType.PAYMENT_RECEIVED;
+    }
+
+    @Override
+    public DomainEventMessage toMessage() {
+        return DomainEventMessage.builder()
+                .eventType(getEventType())
+                .aggregateId(payment.getId())
+                .reference(payment.getInvoice() != null ? payment.getInvoice().getInvoiceNumber() : null)
+                .status(payment.getStatus() != null ? payment.getStatus().name() : null)
+                .amount(payment.getAmount())
+                .description(payment.getPaymentMethod())
+                .createdBy(createdBy)
+                .occurredAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(getTimestamp()), ZoneId.systemDefault()))
+                .build();
+    }
 }
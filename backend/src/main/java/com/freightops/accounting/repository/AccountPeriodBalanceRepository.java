@@ -0,0 +1,71 @@
+package com.freightops.accounting.repository;
+
+import com.freightops.accounting.entity.AccountPeriodBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository des mouvements mensuels cumulés par compte
+ */
+@Repository
+public interface AccountPeriodBalanceRepository extends JpaRepository<AccountPeriodBalance, Long> {
+
+        boolean existsByAccountIdAndPeriodEnd(Long accountId, LocalDate periodEnd);
+
+        /**
+         * Ajoute des mouvements au mois d'un compte ; la ligne reste verrouillée
+         * jusqu'à la fin de la transaction
+         *
+         * @return 0 si le mois n'existe pas encore pour ce compte
+         */
+        @Modifying
+        @Query("UPDATE AccountPeriodBalance b SET b.debitTotal = b.debitTotal + :debit, " +
+                        "b.creditTotal = b.creditTotal + :credit " +
+                        "WHERE b.accountId = :accountId AND b.periodEnd = :periodEnd")
+        int addMovements(@Param("accountId") Long accountId, @Param("periodEnd") LocalDate periodEnd,
+                        @Param("debit") BigDecimal debit, @Param("credit") BigDecimal credit);
+
+        /**
+         * Solde débiteur net (débit - crédit) d'un compte à la fin d'un mois
+         */
+        @Query("SELECT COALESCE(SUM(b.debitTotal - b.creditTotal), 0) FROM AccountPeriodBalance b " +
+                        "WHERE b.accountId = :accountId AND b.periodEnd <= :periodEnd")
+        BigDecimal sumNetDebitThrough(@Param("accountId") Long accountId, @Param("periodEnd") LocalDate periodEnd);
+
+        /**
+         * Soldes débiteurs nets de plusieurs comptes à la fin d'un mois
+         *
+         * @return lignes [ID du compte, BigDecimal]
+         */
+        @Query("SELECT b.accountId, SUM(b.debitTotal - b.creditTotal) FROM AccountPeriodBalance b " +
+                        "WHERE b.accountId IN :accountIds AND b.periodEnd <= :periodEnd GROUP BY b.accountId")
+        List<Object[]> sumNetDebitThrough(@Param("accountIds") Collection<Long> accountIds,
+                        @Param("periodEnd") LocalDate periodEnd);
+
+        /**
+         * Mouvements cumulés de tous les comptes jusqu'à la fin d'un mois
+         *
+         * @return lignes [ID du compte, débit, crédit]
+         */
+        @Query("SELECT b.accountId, SUM(b.debitTotal), SUM(b.creditTotal) FROM AccountPeriodBalance b " +
+                        "WHERE b.periodEnd <= :periodEnd GROUP BY b.accountId")
+        List<Object[]> sumMovementsThrough(@Param("periodEnd") LocalDate periodEnd);
+
+        /**
+         * Mouvements de tous les comptes sur une suite de mois entiers
+         *
+         * @return lignes [ID du compte, débit, crédit]
+         */
+        @Query("SELECT b.accountId, SUM(b.debitTotal), SUM(b.creditTotal) FROM AccountPeriodBalance b " +
+                        "WHERE b.periodEnd BETWEEN :firstPeriodEnd AND :lastPeriodEnd GROUP BY b.accountId")
+        List<Object[]> sumMovementsBetween(@Param("firstPeriodEnd") LocalDate firstPeriodEnd,
+                        @Param("lastPeriodEnd") LocalDate lastPeriodEnd);
+}
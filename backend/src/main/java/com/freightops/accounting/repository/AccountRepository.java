@@ -3,10 +3,12 @@ package com.freightops.accounting.repository;
 import com.freightops.accounting.entity.Account;
 import com.freightops.accounting.enums.AccountType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +22,11 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      */
     Account findByAccountNumber(String accountNumber);
 
+    /**
+     * Trouve plusieurs comptes par leurs numéros
+     */
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
     /**
      * Trouve tous les comptes actifs triés par numéro
      */
@@ -61,4 +68,12 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      */
     @Query("SELECT COALESCE(SUM(a.balance), 0) FROM Account a WHERE a.accountType = :accountType AND a.isActive = true AND SIZE(a.subAccounts) = 0")
     java.math.BigDecimal getTotalBalanceByAccountType(@Param("accountType") AccountType accountType);
+
+    /**
+     * Ajoute un montant au solde d'un compte, sans relire le compte
+     * Utilisé pour appliquer en une fois les mouvements cumulés d'un lot d'écritures
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta WHERE a.id = :accountId")
+    int addToBalance(@Param("accountId") Long accountId, @Param("delta") java.math.BigDecimal delta);
 }
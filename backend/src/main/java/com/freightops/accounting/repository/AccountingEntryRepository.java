@@ -1,15 +1,22 @@
 package com.freightops.accounting.repository;
 
+import com.freightops.accounting.dto.JournalExportLine;
 import com.freightops.accounting.entity.AccountingEntry;
 import com.freightops.accounting.entity.Account;
+import com.freightops.accounting.enums.SourceType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository pour la gestion des lignes d'écritures comptables
@@ -37,11 +44,6 @@ public interface AccountingEntryRepository extends JpaRepository<AccountingEntry
          */
         List<AccountingEntry> findTop10ByAccountOrderByJournalEntry_EntryDateDesc(Account account);
 
-        /**
-         * Trouve les lignes d'écriture par compte et date
-         */
-        List<AccountingEntry> findByAccountAndJournalEntry_EntryDateLessThanEqual(Account account, LocalDate date);
-
         /**
          * Trouve les lignes d'écriture par compte et période
          */
@@ -59,6 +61,38 @@ public interface AccountingEntryRepository extends JpaRepository<AccountingEntry
                         "WHERE ae.account.id = :accountId AND ae.journalEntry.entryDate <= :date")
         BigDecimal getAccountBalanceAtDate(@Param("accountId") Long accountId, @Param("date") LocalDate date);
 
+        /**
+         * Mouvement net (débit - crédit) d'un compte sur une période
+         */
+        @Query("SELECT COALESCE(SUM(ae.debitAmount - ae.creditAmount), 0) FROM AccountingEntry ae " +
+                        "WHERE ae.account.id = :accountId " +
+                        "AND ae.journalEntry.entryDate BETWEEN :startDate AND :endDate")
+        BigDecimal getNetDebitBetween(@Param("accountId") Long accountId, @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
+        /**
+         * Mouvements nets (débit - crédit) de plusieurs comptes sur une période
+         *
+         * @return lignes [ID du compte, BigDecimal]
+         */
+        @Query("SELECT ae.account.id, SUM(ae.debitAmount - ae.creditAmount) FROM AccountingEntry ae " +
+                        "WHERE ae.account.id IN :accountIds " +
+                        "AND ae.journalEntry.entryDate BETWEEN :startDate AND :endDate " +
+                        "GROUP BY ae.account.id")
+        List<Object[]> getNetDebitBetween(@Param("accountIds") Collection<Long> accountIds,
+                        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+        /**
+         * Mouvements de tous les comptes sur une période
+         *
+         * @return lignes [ID du compte, débit, crédit]
+         */
+        @Query("SELECT ae.account.id, SUM(ae.debitAmount), SUM(ae.creditAmount) FROM AccountingEntry ae " +
+                        "WHERE ae.journalEntry.entryDate BETWEEN :startDate AND :endDate " +
+                        "GROUP BY ae.account.id")
+        List<Object[]> sumMovementsBetween(@Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
+
         /**
          * Calcule le total des débits d'un compte
          */
@@ -92,4 +126,33 @@ public interface AccountingEntryRepository extends JpaRepository<AccountingEntry
                         "ORDER BY ae.journalEntry.entryDate DESC")
         List<AccountingEntry> findByAccountAndFiscalYear(@Param("accountId") Long accountId,
                         @Param("fiscalYearId") Long fiscalYearId);
+
+        /**
+         * Parcourt les lignes d'écriture à exporter, dans l'ordre du journal
+         * Curseur en avant seulement, lu par paquets : à consommer dans une
+         * transaction et à fermer après usage
+         *
+         * @param fiscalYearId  exercice (optionnel)
+         * @param accountNumber numéro ou préfixe de compte, ex. 41 (optionnel)
+         * @param startDate     date de début incluse (optionnelle)
+         * @param endDate       date de fin incluse (optionnelle)
+         * @param sourceType    type de source (optionnel)
+         */
+        @Query("SELECT new com.freightops.accounting.dto.JournalExportLine(je.entryNumber, je.entryDate, " +
+                        "je.reference, je.sourceType, je.sourceId, je.description, ae.lineOrder, " +
+                        "a.accountNumber, a.accountName, ae.debitAmount, ae.creditAmount, ae.description) " +
+                        "FROM AccountingEntry ae JOIN ae.journalEntry je JOIN ae.account a WHERE " +
+                        "(:fiscalYearId IS NULL OR je.fiscalYear.id = :fiscalYearId) AND " +
+                        "(:accountNumber IS NULL OR a.accountNumber LIKE CONCAT(:accountNumber, '%')) AND " +
+                        "(:startDate IS NULL OR je.entryDate >= :startDate) AND " +
+                        "(:endDate IS NULL OR je.entryDate <= :endDate) AND " +
+                        "(:sourceType IS NULL OR je.sourceType = :sourceType) " +
+                        "ORDER BY je.entryDate, je.id, ae.lineOrder")
+        @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+        Stream<JournalExportLine> streamExportLines(@Param("fiscalYearId") Long fiscalYearId,
+                        @Param("accountNumber") String accountNumber,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate,
+                        @Param("sourceType") SourceType sourceType);
 }
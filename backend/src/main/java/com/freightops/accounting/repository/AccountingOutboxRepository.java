@@ -0,0 +1,50 @@
+package com.freightops.accounting.repository;
+
+import com.freightops.accounting.entity.AccountingOutboxEvent;
+import com.freightops.accounting.enums.OutboxStatus;
+import com.freightops.accounting.enums.SourceType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository de la boîte d'envoi comptable
+ */
+@Repository
+public interface AccountingOutboxRepository extends JpaRepository<AccountingOutboxEvent, Long> {
+
+    /**
+     * Réserve un lot d'événements à comptabiliser
+     * Les lignes déjà verrouillées par un autre nœud sont ignorées (SKIP LOCKED)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM AccountingOutboxEvent e WHERE e.status = com.freightops.accounting.enums.OutboxStatus.PENDING "
+            + "AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<AccountingOutboxEvent> claimPending(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Vérifie si un événement existe déjà pour une source
+     */
+    boolean existsBySourceTypeAndSourceId(SourceType sourceType, Long sourceId);
+
+    /**
+     * Date de création du plus ancien événement en attente
+     */
+    @Query("SELECT MIN(e.createdAt) FROM AccountingOutboxEvent e WHERE e.status = com.freightops.accounting.enums.OutboxStatus.PENDING")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    /**
+     * Compte les événements par état
+     */
+    long countByStatus(OutboxStatus status);
+}
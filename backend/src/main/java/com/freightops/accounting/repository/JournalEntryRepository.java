@@ -2,12 +2,14 @@ package com.freightops.accounting.repository;
 
 import com.freightops.accounting.entity.JournalEntry;
 import com.freightops.accounting.enums.SourceType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -41,6 +43,11 @@ public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long
      */
     List<JournalEntry> findBySourceTypeAndSourceId(String sourceType, Long sourceId);
 
+    /**
+     * Vérifie si une écriture existe déjà pour une source
+     */
+    boolean existsBySourceTypeAndSourceId(SourceType sourceType, Long sourceId);
+
     /**
      * Trouve les écritures par type de source
      */
@@ -54,10 +61,22 @@ public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long
 
     /**
      * Trouve le dernier numéro d'écriture pour un exercice
+     * Utilisé uniquement pour initialiser le compteur de l'exercice
      */
-    @Query("SELECT je.entryNumber FROM JournalEntry je WHERE je.fiscalYear.id = :fiscalYearId ORDER BY je.entryNumber DESC LIMIT 1")
+    @Query("SELECT je.entryNumber FROM JournalEntry je WHERE je.fiscalYear.id = :fiscalYearId "
+            + "AND je.entryNumber NOT LIKE '%TEMP' ORDER BY je.entryNumber DESC LIMIT 1")
     String findLastEntryNumberByFiscalYear(@Param("fiscalYearId") Long fiscalYearId);
 
+    /**
+     * Trouve les écritures qui suivent une position (createdAt, id), les plus
+     * récentes d'abord, sans requête de comptage
+     */
+    @Query("SELECT je FROM JournalEntry je WHERE je.createdAt <= :cursorCreatedAt "
+            + "AND (je.createdAt < :cursorCreatedAt OR je.id < :cursorId) "
+            + "ORDER BY je.createdAt DESC, je.id DESC")
+    List<JournalEntry> findPageAfter(@Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId, Pageable limit);
+
     /**
      * Trouve les écritures non équilibrées
      */
@@ -75,6 +94,11 @@ public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long
     @Query("SELECT je FROM JournalEntry je WHERE je.sourceType IS NULL OR je.sourceType = 'MANUAL' ORDER BY je.entryDate DESC")
     List<JournalEntry> findManualEntries();
 
+    /**
+     * Compte les écritures d'une période
+     */
+    long countByEntryDateBetween(LocalDate startDate, LocalDate endDate);
+
     /**
      * Compte les écritures par exercice
      */
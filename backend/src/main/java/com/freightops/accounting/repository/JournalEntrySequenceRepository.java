@@ -0,0 +1,25 @@
+package com.freightops.accounting.repository;
+
+import com.freightops.accounting.entity.JournalEntrySequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository des compteurs de numérotation des écritures
+ */
+@Repository
+public interface JournalEntrySequenceRepository extends JpaRepository<JournalEntrySequence, Long> {
+
+    /**
+     * Trouve le compteur d'un exercice et le verrouille jusqu'à la fin de la transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM JournalEntrySequence s WHERE s.fiscalYearId = :fiscalYearId")
+    Optional<JournalEntrySequence> findForUpdate(@Param("fiscalYearId") Long fiscalYearId);
+}
@@ -0,0 +1,209 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.dto.AccountMovements;
+import com.freightops.accounting.entity.AccountPeriodBalance;
+import com.freightops.accounting.entity.AccountingEntry;
+import com.freightops.accounting.entity.JournalEntry;
+import com.freightops.accounting.repository.AccountPeriodBalanceRepository;
+import com.freightops.accounting.repository.AccountingEntryRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Soldes des comptes à date à partir des mouvements mensuels matérialisés
+ * Solde au jour J = mouvements des mois clos avant J (table
+ * account_period_balances, une ligne par compte et par mois) + lignes
+ * d'écriture du mois de J jusqu'à J. Les deux sommes sont calculées en SQL et
+ * la seconde ne porte jamais sur plus d'un mois.
+ */
+@Service
+public class AccountBalanceService {
+
+    private static final Logger logger = Logger.getLogger(AccountBalanceService.class.getName());
+
+    private final AccountPeriodBalanceRepository accountPeriodBalanceRepository;
+    private final AccountingEntryRepository accountingEntryRepository;
+    private final TransactionTemplate initTransaction;
+
+    public AccountBalanceService(AccountPeriodBalanceRepository accountPeriodBalanceRepository,
+            AccountingEntryRepository accountingEntryRepository,
+            PlatformTransactionManager transactionManager) {
+        this.accountPeriodBalanceRepository = accountPeriodBalanceRepository;
+        this.accountingEntryRepository = accountingEntryRepository;
+        this.initTransaction = new TransactionTemplate(transactionManager);
+        this.initTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reporte les lignes d'une écriture dans les mouvements mensuels
+     * Doit être appelé dans la transaction qui enregistre l'écriture : les
+     * lignes mensuelles touchées restent verrouillées jusqu'à sa validation et
+     * sont annulées avec elle
+     *
+     * @param journalEntry l'écriture enregistrée
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordMovements(JournalEntry journalEntry) {
+        LocalDate periodEnd = periodEnd(journalEntry.getEntryDate());
+
+        // Triés par compte : deux écritures concurrentes verrouillent dans le même ordre
+        Map<Long, BigDecimal[]> movements = new TreeMap<>();
+        for (AccountingEntry entry : journalEntry.getAccountingEntries()) {
+            BigDecimal[] movement = movements.computeIfAbsent(entry.getAccount().getId(),
+                    accountId -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+            movement[0] = movement[0].add(entry.getDebitAmount());
+            movement[1] = movement[1].add(entry.getCreditAmount());
+        }
+
+        movements.forEach((accountId, movement) -> {
+            if (accountPeriodBalanceRepository.addMovements(accountId, periodEnd, movement[0], movement[1]) == 0) {
+                createPeriod(accountId, periodEnd);
+                if (accountPeriodBalanceRepository.addMovements(accountId, periodEnd, movement[0],
+                        movement[1]) == 0) {
+                    throw new IllegalStateException(
+                            "Mouvements mensuels introuvables pour le compte " + accountId + " au " + periodEnd);
+                }
+            }
+        });
+    }
+
+    /**
+     * Solde débiteur net (débit - crédit) d'un compte en fin de journée
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getNetDebitBalanceAt(Long accountId, LocalDate date) {
+        LocalDate periodEnd = periodEnd(date);
+        if (date.equals(periodEnd)) {
+            return accountPeriodBalanceRepository.sumNetDebitThrough(accountId, periodEnd);
+        }
+        LocalDate monthStart = date.withDayOfMonth(1);
+        return accountPeriodBalanceRepository.sumNetDebitThrough(accountId, monthStart.minusDays(1))
+                .add(accountingEntryRepository.getNetDebitBetween(accountId, monthStart, date));
+    }
+
+    /**
+     * Soldes débiteurs nets de plusieurs comptes en fin de journée, en deux
+     * requêtes quel que soit le nombre de comptes
+     *
+     * @return solde par ID de compte ; zéro pour un compte sans mouvement
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> getNetDebitBalancesAt(Collection<Long> accountIds, LocalDate date) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return balances;
+        }
+        for (Long accountId : accountIds) {
+            balances.put(accountId, BigDecimal.ZERO);
+        }
+
+        LocalDate periodEnd = periodEnd(date);
+        LocalDate monthStart = date.withDayOfMonth(1);
+        boolean monthClosed = date.equals(periodEnd);
+
+        for (Object[] row : accountPeriodBalanceRepository.sumNetDebitThrough(accountIds,
+                monthClosed ? periodEnd : monthStart.minusDays(1))) {
+            balances.merge((Long) row[0], (BigDecimal) row[1], BigDecimal::add);
+        }
+        if (!monthClosed) {
+            for (Object[] row : accountingEntryRepository.getNetDebitBetween(accountIds, monthStart, date)) {
+                balances.merge((Long) row[0], (BigDecimal) row[1], BigDecimal::add);
+            }
+        }
+        return balances;
+    }
+
+    /**
+     * Débits et crédits cumulés de tous les comptes en fin de journée
+     *
+     * @return mouvements par ID de compte, pour les seuls comptes mouvementés
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, AccountMovements> getMovementsThrough(LocalDate date) {
+        LocalDate periodEnd = periodEnd(date);
+        if (date.equals(periodEnd)) {
+            return toMovements(accountPeriodBalanceRepository.sumMovementsThrough(periodEnd), new HashMap<>());
+        }
+        LocalDate monthStart = date.withDayOfMonth(1);
+        Map<Long, AccountMovements> movements = toMovements(
+                accountPeriodBalanceRepository.sumMovementsThrough(monthStart.minusDays(1)), new HashMap<>());
+        return toMovements(accountingEntryRepository.sumMovementsBetween(monthStart, date), movements);
+    }
+
+    /**
+     * Débits et crédits de tous les comptes sur une période (bornes incluses)
+     * Les mois entiers de la période sont lus sur les mouvements mensuels ;
+     * seuls le mois partiel de début et celui de fin sont lus sur les lignes
+     * d'écriture
+     *
+     * @return mouvements par ID de compte, pour les seuls comptes mouvementés
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, AccountMovements> getMovementsBetween(LocalDate startDate, LocalDate endDate) {
+        Map<Long, AccountMovements> movements = new HashMap<>();
+        if (startDate.isAfter(endDate)) {
+            return movements;
+        }
+
+        LocalDate wholeStart = startDate.getDayOfMonth() == 1 ? startDate : periodEnd(startDate).plusDays(1);
+        LocalDate wholeEnd = endDate.equals(periodEnd(endDate)) ? endDate : endDate.withDayOfMonth(1).minusDays(1);
+        if (wholeStart.isAfter(wholeEnd)) {
+            // Aucun mois entier : la période tient sur deux mois au plus
+            return toMovements(accountingEntryRepository.sumMovementsBetween(startDate, endDate), movements);
+        }
+
+        if (startDate.isBefore(wholeStart)) {
+            toMovements(accountingEntryRepository.sumMovementsBetween(startDate, wholeStart.minusDays(1)), movements);
+        }
+        toMovements(accountPeriodBalanceRepository.sumMovementsBetween(periodEnd(wholeStart), wholeEnd), movements);
+        if (endDate.isAfter(wholeEnd)) {
+            toMovements(accountingEntryRepository.sumMovementsBetween(wholeEnd.plusDays(1), endDate), movements);
+        }
+        return movements;
+    }
+
+    static LocalDate periodEnd(LocalDate date) {
+        return date.with(TemporalAdjusters.lastDayOfMonth());
+    }
+
+    private static Map<Long, AccountMovements> toMovements(List<Object[]> rows, Map<Long, AccountMovements> into) {
+        for (Object[] row : rows) {
+            into.merge((Long) row[0], new AccountMovements((BigDecimal) row[1], (BigDecimal) row[2]),
+                    AccountMovements::add);
+        }
+        return into;
+    }
+
+    /**
+     * Crée la ligne mensuelle d'un compte dans une transaction séparée, pour
+     * qu'une création concurrente par une autre écriture ne fasse pas échouer
+     * celle-ci
+     */
+    private void createPeriod(Long accountId, LocalDate periodEnd) {
+        try {
+            initTransaction.executeWithoutResult(status -> {
+                if (!accountPeriodBalanceRepository.existsByAccountIdAndPeriodEnd(accountId, periodEnd)) {
+                    accountPeriodBalanceRepository.saveAndFlush(new AccountPeriodBalance(accountId, periodEnd));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Ligne créée en parallèle par une autre transaction
+            logger.fine("Mouvements mensuels déjà créés pour le compte " + accountId + " au " + periodEnd);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.freightops.accounting.service;
 
+import com.freightops.accounting.dto.ChartAccount;
+import com.freightops.accounting.dto.ChartOfAccounts;
 import com.freightops.accounting.entity.Account;
 import com.freightops.accounting.enums.AccountType;
 import com.freightops.accounting.repository.AccountRepository;
+import com.freightops.cache.CacheNames;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +34,25 @@ public class AccountService {
         return accountRepository.findByAccountNumber(accountNumber);
     }
 
+    /**
+     * Plan comptable actif (numéros, libellés, types), mis en cache
+     * Les soldes n'en font pas partie : ils changent à chaque écriture
+     */
+    @Cacheable(CacheNames.CHART_OF_ACCOUNTS)
+    @Transactional(readOnly = true)
+    public ChartOfAccounts getChartOfAccounts() {
+        return new ChartOfAccounts(accountRepository.findByIsActiveTrueOrderByAccountNumber().stream()
+                .map(ChartAccount::from)
+                .toList());
+    }
+
+    /**
+     * Référence vers un compte sans le charger, pour rattacher des lignes d'écriture
+     */
+    public Account getAccountReference(Long accountId) {
+        return accountRepository.getReferenceById(accountId);
+    }
+
     /**
      * Récupère tous les comptes actifs
      */
@@ -60,6 +84,7 @@ public class AccountService {
     /**
      * Crée un nouveau compte
      */
+    @CacheEvict(value = CacheNames.CHART_OF_ACCOUNTS, allEntries = true)
     public Account createAccount(String accountNumber, String accountName,
             AccountType accountType, Account parentAccount) {
         // Vérification de l'unicité du numéro de compte
@@ -74,6 +99,7 @@ public class AccountService {
     /**
      * Met à jour un compte existant
      */
+    @CacheEvict(value = CacheNames.CHART_OF_ACCOUNTS, allEntries = true)
     public Account updateAccount(Long accountId, String accountName, String description) {
         Optional<Account> optionalAccount = accountRepository.findById(accountId);
         if (optionalAccount.isEmpty()) {
@@ -90,6 +116,7 @@ public class AccountService {
     /**
      * Désactive un compte (soft delete)
      */
+    @CacheEvict(value = CacheNames.CHART_OF_ACCOUNTS, allEntries = true)
     public void deactivateAccount(Long accountId) {
         Optional<Account> optionalAccount = accountRepository.findById(accountId);
         if (optionalAccount.isEmpty()) {
@@ -135,24 +162,11 @@ public class AccountService {
         return account.getFullName();
     }
 
-    /**
-     * Valide la cohérence du plan comptable
-     * Vérifie que la somme des actifs = somme des passifs + capitaux propres
-     */
-    public boolean validateChartOfAccountsBalance() {
-        BigDecimal totalAssets = getTotalBalanceByAccountType(AccountType.ASSET);
-        BigDecimal totalLiabilities = getTotalBalanceByAccountType(AccountType.LIABILITY);
-        BigDecimal totalEquity = getTotalBalanceByAccountType(AccountType.EQUITY);
-
-        BigDecimal totalPassive = totalLiabilities.add(totalEquity);
-
-        return totalAssets.compareTo(totalPassive) == 0;
-    }
-
     /**
      * Initialise le plan comptable de base
      */
     @Transactional
+    @CacheEvict(value = CacheNames.CHART_OF_ACCOUNTS, allEntries = true)
     public void initializeBasicChartOfAccounts() {
         // Vérifier si le plan comptable existe déjà
         if (accountRepository.count() > 0) {
@@ -0,0 +1,200 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.dto.ChartOfAccounts;
+import com.freightops.accounting.entity.AccountingEntry;
+import com.freightops.accounting.entity.AccountingOutboxEvent;
+import com.freightops.accounting.entity.JournalEntry;
+import com.freightops.accounting.enums.OutboxStatus;
+import com.freightops.accounting.repository.AccountRepository;
+import com.freightops.accounting.repository.AccountingOutboxRepository;
+import com.freightops.accounting.repository.JournalEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Comptabilisation différée des événements de la boîte d'envoi
+ * Les événements sont réservés par lots, puis chacun est comptabilisé dans sa
+ * propre transaction (REQUIRES_NEW) : un échec, même dans un service
+ * transactionnel imbriqué, n'annule que l'écriture de cet événement
+ */
+@Service
+@ConditionalOnProperty(name = "accounting.outbox.poster.enabled", havingValue = "true", matchIfMissing = true)
+public class AccountingOutboxPoster {
+
+    private static final Logger logger = Logger.getLogger(AccountingOutboxPoster.class.getName());
+
+    private final AccountingOutboxRepository accountingOutboxRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final AccountingService accountingService;
+    private final JournalEntryService journalEntryService;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate eventTransaction;
+
+    private final Counter postedCounter;
+    private final Counter failedCounter;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    @Value("${accounting.outbox.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${accounting.outbox.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    @Value("${accounting.outbox.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds = 30;
+
+    public AccountingOutboxPoster(AccountingOutboxRepository accountingOutboxRepository,
+            JournalEntryRepository journalEntryRepository,
+            AccountRepository accountRepository,
+            AccountService accountService,
+            AccountingService accountingService,
+            JournalEntryService journalEntryService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.accountingOutboxRepository = accountingOutboxRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.accountRepository = accountRepository;
+        this.accountService = accountService;
+        this.accountingService = accountingService;
+        this.journalEntryService = journalEntryService;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.eventTransaction = new TransactionTemplate(transactionManager);
+        this.eventTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.postedCounter = Counter.builder("accounting.outbox.posted").register(meterRegistry);
+        this.failedCounter = Counter.builder("accounting.outbox.failures").register(meterRegistry);
+        Gauge.builder("accounting.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Âge du plus ancien événement comptable en attente")
+                .register(meterRegistry);
+        Gauge.builder("accounting.outbox.pending", pendingCount, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Vide la boîte d'envoi, lot par lot
+     */
+    @Scheduled(fixedDelayString = "${accounting.outbox.poll-interval-ms:1000}")
+    public void postPending() {
+        try {
+            while (postBatch(batchSize) == batchSize) {
+                // Lot complet : il reste probablement des événements
+            }
+        } finally {
+            refreshMetrics();
+        }
+    }
+
+    /**
+     * Réserve un lot d'événements et les comptabilise un par un
+     * La transaction du lot garde le verrou sur les événements réservés et
+     * enregistre leur état ; chaque écriture est validée dans sa propre
+     * transaction (une seconde connexion par nœud)
+     *
+     * @return nombre d'événements réservés
+     */
+    int postBatch(int limit) {
+        return batchTransaction.execute(status -> {
+            List<AccountingOutboxEvent> events = accountingOutboxRepository.claimPending(LocalDateTime.now(),
+                    PageRequest.of(0, limit));
+            for (AccountingOutboxEvent event : events) {
+                try {
+                    PostingResult result = eventTransaction.execute(eventStatus -> post(event));
+                    event.markPosted(result.journalEntryId());
+                    if (result.posted()) {
+                        postedCounter.increment();
+                    }
+                } catch (RuntimeException e) {
+                    recordFailure(event, e);
+                }
+            }
+            return events.size();
+        });
+    }
+
+    /**
+     * Comptabilise un événement : écriture, puis mouvements des comptes
+     * regroupés par compte
+     */
+    private PostingResult post(AccountingOutboxEvent event) {
+        // Idempotence : une seule écriture par source
+        if (journalEntryRepository.existsBySourceTypeAndSourceId(event.getSourceType(), event.getSourceId())) {
+            return new PostingResult(null, false);
+        }
+
+        JournalEntry journalEntry = accountingService.buildJournalEntry(event);
+        journalEntryService.saveJournalEntry(journalEntry, false);
+
+        Map<Long, BigDecimal[]> movements = new LinkedHashMap<>();
+        for (AccountingEntry entry : journalEntry.getAccountingEntries()) {
+            BigDecimal[] movement = movements.computeIfAbsent(entry.getAccount().getId(),
+                    accountId -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+            movement[0] = movement[0].add(entry.getDebitAmount());
+            movement[1] = movement[1].add(entry.getCreditAmount());
+        }
+        if (!movements.isEmpty()) {
+            ChartOfAccounts chartOfAccounts = accountService.getChartOfAccounts();
+            movements.forEach((accountId, movement) -> {
+                BigDecimal delta = chartOfAccounts.findById(accountId).getAccountType().increasesWithDebit()
+                        ? movement[0].subtract(movement[1])
+                        : movement[1].subtract(movement[0]);
+                if (delta.signum() != 0) {
+                    accountRepository.addToBalance(accountId, delta);
+                }
+            });
+        }
+
+        return new PostingResult(journalEntry.getId(), true);
+    }
+
+    /**
+     * Résultat de la transaction d'un événement
+     *
+     * @param posted faux si l'écriture existait déjà
+     */
+    private record PostingResult(Long journalEntryId, boolean posted) {
+    }
+
+    private void recordFailure(AccountingOutboxEvent event, RuntimeException e) {
+        long backoff = retryBackoffSeconds * (1L << Math.min(event.getAttempts(), 10));
+        event.markFailed(e.getMessage(), maxAttempts, LocalDateTime.now().plusSeconds(backoff));
+        failedCounter.increment();
+        if (event.getStatus() == OutboxStatus.FAILED) {
+            logger.severe("Comptabilisation abandonnée pour " + event.getSourceType() + " " + event.getSourceId()
+                    + " après " + event.getAttempts() + " tentatives: " + e.getMessage());
+        } else {
+            logger.warning("Échec de comptabilisation de " + event.getSourceType() + " " + event.getSourceId()
+                    + " (tentative " + event.getAttempts() + "): " + e.getMessage());
+        }
+    }
+
+    private void refreshMetrics() {
+        try {
+            LocalDateTime oldest = accountingOutboxRepository.findOldestPendingCreatedAt();
+            lagSeconds.set(oldest != null ? Math.max(Duration.between(oldest, LocalDateTime.now()).getSeconds(), 0) : 0);
+            pendingCount.set(accountingOutboxRepository.countByStatus(OutboxStatus.PENDING));
+        } catch (RuntimeException e) {
+            logger.fine("Impossible de mesurer le retard de la boîte d'envoi: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.entity.AccountingOutboxEvent;
+import com.freightops.accounting.enums.SourceType;
+import com.freightops.accounting.repository.AccountingOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Boîte d'envoi comptable
+ * Les services métier y déposent un événement dans leur propre transaction ;
+ * les écritures sont générées en différé par {@link AccountingOutboxPoster}
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class AccountingOutboxService {
+
+    @Autowired
+    private AccountingOutboxRepository accountingOutboxRepository;
+
+    /**
+     * Dépose un événement pour une source nouvellement créée (une seule insertion)
+     * L'unicité (sourceType, sourceId) est garantie par la contrainte de la table
+     *
+     * @param sourceType type de la source
+     * @param sourceId   identifiant de la source
+     * @param createdBy  utilisateur à l'origine de l'opération
+     */
+    public void enqueue(SourceType sourceType, Long sourceId, String createdBy) {
+        accountingOutboxRepository.save(new AccountingOutboxEvent(sourceType, sourceId, createdBy));
+    }
+
+    /**
+     * Dépose un événement sauf s'il en existe déjà un pour la source
+     * Pour les sources dont l'événement peut être publié plusieurs fois
+     * (facture validée après modification, par exemple)
+     *
+     * @return true si un événement a été déposé
+     */
+    public boolean enqueueIfAbsent(SourceType sourceType, Long sourceId, String createdBy) {
+        if (accountingOutboxRepository.existsBySourceTypeAndSourceId(sourceType, sourceId)) {
+            return false;
+        }
+        enqueue(sourceType, sourceId, createdBy);
+        return true;
+    }
+}
@@ -1,5 +1,6 @@
 package com.freightops.accounting.service;
 
+import com.freightops.accounting.dto.TrialBalance;
 import com.freightops.accounting.entity.Account;
 import com.freightops.accounting.entity.AccountingEntry;
 import com.freightops.accounting.entity.JournalEntry;
@@ -8,6 +9,8 @@ import com.freightops.accounting.enums.SourceType;
 import com.freightops.accounting.repository.AccountRepository;
 import com.freightops.accounting.repository.AccountingEntryRepository;
 import com.freightops.accounting.repository.JournalEntryRepository;
+import com.freightops.pagination.CursorPage;
+import com.freightops.pagination.SeekCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -36,6 +39,12 @@ public class AccountingReportService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private FinancialStatementService financialStatementService;
+
     /**
      * Récupère toutes les écritures comptables avec pagination
      */
@@ -43,6 +52,18 @@ public class AccountingReportService {
         return journalEntryRepository.findAll(pageable);
     }
 
+    /**
+     * Récupère les écritures les plus récentes d'abord par pagination à curseur
+     * (recherche sur createdAt, id) : pas d'OFFSET, comptage uniquement sur demande
+     */
+    public CursorPage<JournalEntry> getJournalEntriesAfter(String cursor, int size, boolean includeTotal) {
+        SeekCursor position = SeekCursor.decode(cursor);
+        List<JournalEntry> entries = journalEntryRepository.findPageAfter(position.getCreatedAt(), position.getId(),
+                SeekCursor.limit(size));
+        Long total = includeTotal ? journalEntryRepository.count() : null;
+        return CursorPage.of(entries, size, JournalEntry::getCreatedAt, JournalEntry::getId, total);
+    }
+
     /**
      * Récupère les écritures par type de source (LTA_PAYMENT, INVOICE, etc.)
      */
@@ -76,19 +97,35 @@ public class AccountingReportService {
         if (account == null) {
             return BigDecimal.ZERO;
         }
+        return signedBalance(account, accountBalanceService.getNetDebitBalanceAt(account.getId(), date));
+    }
 
-        List<AccountingEntry> entries = accountingEntryRepository
-                .findByAccountAndJournalEntry_EntryDateLessThanEqual(account, date);
-
-        BigDecimal balance = BigDecimal.ZERO;
-        for (AccountingEntry entry : entries) {
-            if (account.getAccountType().increasesWithDebit()) {
-                balance = balance.add(entry.getDebitAmount()).subtract(entry.getCreditAmount());
-            } else {
-                balance = balance.add(entry.getCreditAmount()).subtract(entry.getDebitAmount());
-            }
+    /**
+     * Calcule les soldes de plusieurs comptes à une date donnée
+     *
+     * @return solde par numéro de compte ; zéro pour un compte inconnu
+     */
+    public Map<String, BigDecimal> getAccountBalancesAtDate(List<String> accountNumbers, LocalDate date) {
+        List<Account> accounts = accountRepository.findByAccountNumberIn(accountNumbers);
+        Map<Long, BigDecimal> netDebits = accountBalanceService.getNetDebitBalancesAt(
+                accounts.stream().map(Account::getId).collect(Collectors.toList()), date);
+
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (String accountNumber : accountNumbers) {
+            balances.put(accountNumber, BigDecimal.ZERO);
+        }
+        for (Account account : accounts) {
+            balances.put(account.getAccountNumber(), signedBalance(account, netDebits.get(account.getId())));
         }
-        return balance;
+        return balances;
+    }
+
+    /**
+     * Solde dans le sens naturel du compte (débiteur pour un actif, créditeur
+     * pour un passif ou un produit)
+     */
+    private BigDecimal signedBalance(Account account, BigDecimal netDebit) {
+        return account.getAccountType().increasesWithDebit() ? netDebit : netDebit.negate();
     }
 
     /**
@@ -125,11 +162,10 @@ public class AccountingReportService {
      * Génère un rapport de trésorerie
      */
     public Map<String, Object> getTreasuryReport() {
-        // Solde caisse (531)
-        BigDecimal caisseBalance = getAccountBalanceAtDate("531", LocalDate.now());
-
-        // Solde banque (512)
-        BigDecimal banqueBalance = getAccountBalanceAtDate("512", LocalDate.now());
+        // Soldes caisse (531) et banque (512)
+        Map<String, BigDecimal> balances = getAccountBalancesAtDate(List.of("531", "512"), LocalDate.now());
+        BigDecimal caisseBalance = balances.get("531");
+        BigDecimal banqueBalance = balances.get("512");
 
         // Mouvements récents de trésorerie
         List<AccountingEntry> recentCaisseMovements = getRecentAccountMovements("531", 10);
@@ -199,15 +235,9 @@ public class AccountingReportService {
      * Valide l'équilibre comptable d'une période
      */
     public Map<String, Object> validateAccountingBalance(LocalDate startDate, LocalDate endDate) {
-        List<JournalEntry> entries = getEntriesByDateRange(startDate, endDate);
-
-        BigDecimal totalDebit = entries.stream()
-                .map(JournalEntry::getTotalDebit)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalCredit = entries.stream()
-                .map(JournalEntry::getTotalCredit)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        TrialBalance trialBalance = financialStatementService.getTrialBalance(startDate, endDate);
+        BigDecimal totalDebit = trialBalance.getTotalDebit();
+        BigDecimal totalCredit = trialBalance.getTotalCredit();
 
         boolean isBalanced = totalDebit.compareTo(totalCredit) == 0;
         BigDecimal difference = totalDebit.subtract(totalCredit);
@@ -218,7 +248,7 @@ public class AccountingReportService {
         validation.put("totalCredit", totalCredit);
         validation.put("isBalanced", isBalanced);
         validation.put("difference", difference);
-        validation.put("entriesCount", entries.size());
+        validation.put("entriesCount", journalEntryRepository.countByEntryDateBetween(startDate, endDate));
 
         return validation;
     }
@@ -1,12 +1,17 @@
 package com.freightops.accounting.service;
 
+import com.freightops.accounting.dto.ChartAccount;
 import com.freightops.accounting.entity.*;
-import com.freightops.accounting.enums.AccountType;
 import com.freightops.accounting.enums.SourceType;
 import com.freightops.accounting.events.*;
 import com.freightops.entity.Invoice;
 import com.freightops.entity.Payment;
 import com.freightops.entity.LTA;
+import com.freightops.entity.LTAPayment;
+import com.freightops.repository.InvoiceRepository;
+import com.freightops.repository.LTAPaymentRepository;
+import com.freightops.repository.LTARepository;
+import com.freightops.repository.PaymentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
@@ -18,8 +23,8 @@ import java.util.logging.Logger;
 
 /**
  * Service principal pour la gestion comptable automatique
- * Implémente les règles de partie double et génère les écritures
- * automatiquement
+ * Implémente les règles de partie double ; les événements métier sont déposés
+ * dans la boîte d'envoi et les écritures générées en différé
  */
 @Service
 @Transactional
@@ -27,198 +32,267 @@ public class AccountingService {
 
     private static final Logger logger = Logger.getLogger(AccountingService.class.getName());
 
-    @Autowired
-    private JournalEntryService journalEntryService;
-
     @Autowired
     private AccountService accountService;
 
     @Autowired
     private FiscalYearService fiscalYearService;
 
+    @Autowired
+    private AccountingOutboxService accountingOutboxService;
+
+    @Autowired
+    private LTARepository ltaRepository;
+
+    @Autowired
+    private LTAPaymentRepository ltaPaymentRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
     /**
-     * Génère automatiquement les écritures comptables lors de la création d'une
-     * facture
-     * Règle : Débit 411 Clients / Crédit 701 Ventes de services
+     * Dépose la comptabilisation d'une facture dans la boîte d'envoi
+     * Une facture peut être publiée plusieurs fois (création puis validation),
+     * elle n'est comptabilisée qu'une fois
      */
     @EventListener
     public void handleInvoiceCreated(InvoiceCreatedEvent event) {
-        try {
-            Invoice invoice = event.getInvoice();
-            String createdBy = event.getCreatedBy();
-
-            // Récupération de l'exercice comptable actuel
-            FiscalYear currentFiscalYear = fiscalYearService.getCurrentFiscalYear();
-            if (currentFiscalYear == null) {
-                logger.warning("Aucun exercice comptable actuel trouvé");
-                return;
-            }
-
-            // Création de l'écriture comptable
-            JournalEntry journalEntry = new JournalEntry(
-                    LocalDate.now(),
-                    "Facturation client - " + invoice.getInvoiceNumber(),
-                    currentFiscalYear,
-                    SourceType.INVOICE,
-                    invoice.getId());
-            journalEntry.setReference(invoice.getInvoiceNumber());
-            journalEntry.setCreatedBy(createdBy);
-
-            // Récupération des comptes
-            Account clientAccount = accountService.getAccountByNumber("411");
-            Account salesAccount = accountService.getAccountByNumber("701");
-
-            if (clientAccount == null || salesAccount == null) {
-                logger.warning("Comptes comptables non trouvés (411 ou 701)");
-                return;
-            }
-
-            // Ligne 1: Débit 411 Clients
-            journalEntry.addAccountingEntry(
-                    clientAccount,
-                    invoice.getTotalAmount(),
-                    BigDecimal.ZERO,
-                    "Créance client - " + invoice.getClient().getName());
-
-            // Ligne 2: Crédit 701 Ventes de services
-            journalEntry.addAccountingEntry(
-                    salesAccount,
-                    BigDecimal.ZERO,
-                    invoice.getAmountExcludingTax(),
-                    "Vente de services - " + getInvoiceTypeLabel(invoice));
-
-            // Si TVA > 0, ajouter ligne TVA
-            if (invoice.getTaxAmount().compareTo(BigDecimal.ZERO) > 0) {
-                Account vatAccount = accountService.getAccountByNumber("445");
-                if (vatAccount != null) {
-                    journalEntry.addAccountingEntry(
-                            vatAccount,
-                            BigDecimal.ZERO,
-                            invoice.getTaxAmount(),
-                            "TVA collectée");
-                }
-            }
-
-            // Sauvegarde de l'écriture
-            journalEntryService.saveJournalEntry(journalEntry);
-
-        } catch (Exception e) {
-            logger.severe("Erreur lors de la génération de l'écriture comptable pour la facture: " + e.getMessage());
-        }
+        accountingOutboxService.enqueueIfAbsent(SourceType.INVOICE, event.getInvoice().getId(),
+                event.getCreatedBy());
     }
 
     /**
-     * Génère automatiquement les écritures comptables lors d'un paiement
-     * Règle : Débit 512 Banque ou 531 Caisse / Crédit 411 Clients
+     * Dépose la comptabilisation d'un paiement dans la boîte d'envoi
      */
     @EventListener
     public void handlePaymentReceived(PaymentReceivedEvent event) {
-        try {
-            Payment payment = event.getPayment();
-            String createdBy = event.getCreatedBy();
-
-            FiscalYear currentFiscalYear = fiscalYearService.getCurrentFiscalYear();
-            if (currentFiscalYear == null) {
-                logger.warning("Aucun exercice comptable actuel trouvé");
-                return;
-            }
-
-            // Création de l'écriture comptable
-            JournalEntry journalEntry = new JournalEntry(
-                    LocalDate.now(),
-                    "Encaissement client - " + payment.getPaymentMethod(),
-                    currentFiscalYear,
-                    SourceType.PAYMENT,
-                    payment.getId());
-            journalEntry.setCreatedBy(createdBy);
-
-            // Détermination du compte de trésorerie selon le mode de paiement
-            Account treasuryAccount = getTreasuryAccountByPaymentMethod(payment.getPaymentMethod());
-            Account clientAccount = accountService.getAccountByNumber("411");
-
-            if (treasuryAccount == null || clientAccount == null) {
-                logger.warning("Comptes comptables non trouvés pour le paiement");
-                return;
-            }
-
-            // Ligne 1: Débit compte de trésorerie
-            journalEntry.addAccountingEntry(
-                    treasuryAccount,
-                    payment.getAmount(),
-                    BigDecimal.ZERO,
-                    "Encaissement " + payment.getPaymentMethod());
+        accountingOutboxService.enqueueIfAbsent(SourceType.PAYMENT, event.getPayment().getId(),
+                event.getCreatedBy());
+    }
+
+    /**
+     * Dépose la comptabilisation d'une LTA finalisée dans la boîte d'envoi
+     * Sans effet si la LTA a déjà été comptabilisée à sa création
+     */
+    @EventListener
+    public void handleLTACompleted(LTACompletedEvent event) {
+        accountingOutboxService.enqueueIfAbsent(SourceType.LTA, event.getLta().getId(), event.getCreatedBy());
+    }
+
+    /**
+     * Construit l'écriture comptable d'un événement de la boîte d'envoi
+     * L'écriture est datée du jour de l'opération métier
+     *
+     * @param event l'événement à comptabiliser
+     * @return l'écriture, non sauvegardée
+     * @throws IllegalStateException si la source, l'exercice ou un compte est
+     *                               introuvable (l'événement sera retenté)
+     */
+    public JournalEntry buildJournalEntry(AccountingOutboxEvent event) {
+        LocalDate entryDate = event.getCreatedAt().toLocalDate();
+        FiscalYear fiscalYear = fiscalYearService.getFiscalYearForDate(entryDate);
+        if (fiscalYear == null) {
+            throw new IllegalStateException("Aucun exercice comptable trouvé pour le " + entryDate);
+        }
 
-            // Ligne 2: Crédit 411 Clients
+        Long sourceId = event.getSourceId();
+        JournalEntry journalEntry;
+        switch (event.getSourceType()) {
+            case INVOICE:
+                journalEntry = buildInvoiceEntry(invoiceRepository.findById(sourceId)
+                        .orElseThrow(() -> sourceNotFound(event)), entryDate, fiscalYear);
+                break;
+            case PAYMENT:
+                journalEntry = buildPaymentEntry(paymentRepository.findById(sourceId)
+                        .orElseThrow(() -> sourceNotFound(event)), entryDate, fiscalYear);
+                break;
+            case LTA:
+                journalEntry = buildLTAEntry(ltaRepository.findById(sourceId)
+                        .orElseThrow(() -> sourceNotFound(event)), entryDate, fiscalYear);
+                break;
+            case LTA_PAYMENT:
+                journalEntry = buildLTAPaymentEntry(ltaPaymentRepository.findById(sourceId)
+                        .orElseThrow(() -> sourceNotFound(event)), entryDate, fiscalYear);
+                break;
+            default:
+                throw new IllegalStateException("Type de source non comptabilisable automatiquement: "
+                        + event.getSourceType());
+        }
+
+        journalEntry.setCreatedBy(event.getCreatedBy());
+        return journalEntry;
+    }
+
+    /**
+     * Écriture de facturation client
+     * Règle : Débit 411 Clients / Crédit 701 Ventes de services (/ Crédit 445 TVA)
+     */
+    private JournalEntry buildInvoiceEntry(Invoice invoice, LocalDate entryDate, FiscalYear fiscalYear) {
+        JournalEntry journalEntry = new JournalEntry(
+                entryDate,
+                "Facturation client - " + invoice.getInvoiceNumber(),
+                fiscalYear,
+                SourceType.INVOICE,
+                invoice.getId());
+        journalEntry.setReference(invoice.getInvoiceNumber());
+
+        Account clientAccount = requireAccount("411");
+        Account salesAccount = requireAccount("701");
+
+        // Ligne 1: Débit 411 Clients
+        journalEntry.addAccountingEntry(
+                clientAccount,
+                invoice.getTotalAmount(),
+                BigDecimal.ZERO,
+                "Créance client - " + invoice.getClient().getName());
+
+        // Ligne 2: Crédit 701 Ventes de services
+        journalEntry.addAccountingEntry(
+                salesAccount,
+                BigDecimal.ZERO,
+                invoice.getAmountExcludingTax(),
+                "Vente de services - " + getInvoiceTypeLabel(invoice));
+
+        // Si TVA > 0, ajouter ligne TVA
+        if (invoice.getTaxAmount().compareTo(BigDecimal.ZERO) > 0) {
             journalEntry.addAccountingEntry(
-                    clientAccount,
+                    requireAccount("445"),
                     BigDecimal.ZERO,
-                    payment.getAmount(),
-                    "Règlement facture " + payment.getInvoice().getInvoiceNumber());
+                    invoice.getTaxAmount(),
+                    "TVA collectée");
+        }
 
-            // Sauvegarde de l'écriture
-            journalEntryService.saveJournalEntry(journalEntry);
+        return journalEntry;
+    }
 
-        } catch (Exception e) {
-            logger.severe("Erreur lors de la génération de l'écriture comptable pour le paiement: " + e.getMessage());
+    /**
+     * Écriture d'encaissement client
+     * Règle : Débit 512 Banque ou 531 Caisse / Crédit 411 Clients
+     */
+    private JournalEntry buildPaymentEntry(Payment payment, LocalDate entryDate, FiscalYear fiscalYear) {
+        JournalEntry journalEntry = new JournalEntry(
+                entryDate,
+                "Encaissement client - " + payment.getPaymentMethod(),
+                fiscalYear,
+                SourceType.PAYMENT,
+                payment.getId());
+
+        Account treasuryAccount = getTreasuryAccountByPaymentMethod(payment.getPaymentMethod());
+        Account clientAccount = requireAccount("411");
+        if (treasuryAccount == null) {
+            throw new IllegalStateException("Compte de trésorerie non trouvé pour le paiement");
         }
+
+        // Ligne 1: Débit compte de trésorerie
+        journalEntry.addAccountingEntry(
+                treasuryAccount,
+                payment.getAmount(),
+                BigDecimal.ZERO,
+                "Encaissement " + payment.getPaymentMethod());
+
+        // Ligne 2: Crédit 411 Clients
+        journalEntry.addAccountingEntry(
+                clientAccount,
+                BigDecimal.ZERO,
+                payment.getAmount(),
+                "Règlement facture " + payment.getInvoice().getInvoiceNumber());
+
+        return journalEntry;
     }
 
     /**
-     * Génère automatiquement les écritures comptables lors de la finalisation d'une
-     * LTA
+     * Écriture de vente d'une LTA
      * Règle : Débit 411 Clients / Crédit 701 Ventes de transport
      */
-    @EventListener
-    public void handleLTACompleted(LTACompletedEvent event) {
-        try {
-            LTA lta = event.getLta();
-            String createdBy = event.getCreatedBy();
-
-            FiscalYear currentFiscalYear = fiscalYearService.getCurrentFiscalYear();
-            if (currentFiscalYear == null) {
-                logger.warning("Aucun exercice comptable actuel trouvé");
-                return;
-            }
-
-            // Création de l'écriture comptable
-            JournalEntry journalEntry = new JournalEntry(
-                    LocalDate.now(),
-                    "Transport aérien - " + lta.getLtaNumber(),
-                    currentFiscalYear,
-                    SourceType.LTA,
-                    lta.getId());
-            journalEntry.setReference(lta.getLtaNumber());
-            journalEntry.setCreatedBy(createdBy);
-
-            // Récupération des comptes
-            Account clientAccount = accountService.getAccountByNumber("411");
-            Account transportAccount = accountService.getAccountByNumber("701");
-
-            if (clientAccount == null || transportAccount == null) {
-                logger.warning("Comptes comptables non trouvés pour la LTA");
-                return;
-            }
-
-            // Ligne 1: Débit 411 Clients
-            journalEntry.addAccountingEntry(
-                    clientAccount,
-                    lta.getCalculatedCost(),
-                    BigDecimal.ZERO,
-                    "Transport aérien - " + lta.getClient().getName());
+    private JournalEntry buildLTAEntry(LTA lta, LocalDate entryDate, FiscalYear fiscalYear) {
+        JournalEntry journalEntry = new JournalEntry(
+                entryDate,
+                "Création LTA " + lta.getLtaNumber() + " - " + getClientName(lta),
+                fiscalYear,
+                SourceType.LTA,
+                lta.getId());
+        journalEntry.setReference(lta.getLtaNumber());
+
+        Account clientAccount = requireAccount("411");
+        Account salesAccount = requireAccount("701");
+
+        // Ligne 1: Débit 411 Clients (augmentation de la créance)
+        journalEntry.addAccountingEntry(
+                clientAccount,
+                lta.getCalculatedCost(),
+                BigDecimal.ZERO,
+                "Créance LTA " + lta.getLtaNumber() + " - " + getClientName(lta));
+
+        // Ligne 2: Crédit 701 Ventes (augmentation du chiffre d'affaires)
+        journalEntry.addAccountingEntry(
+                salesAccount,
+                BigDecimal.ZERO,
+                lta.getCalculatedCost(),
+                "Vente transport aérien LTA " + lta.getLtaNumber());
+
+        return journalEntry;
+    }
 
-            // Ligne 2: Crédit 701 Ventes de transport
-            journalEntry.addAccountingEntry(
-                    transportAccount,
-                    BigDecimal.ZERO,
-                    lta.getCalculatedCost(),
-                    "Prestation transport aérien");
+    /**
+     * Écriture d'encaissement d'une LTA
+     * Règle : Débit 531 Caisse / Crédit 411 Clients
+     */
+    private JournalEntry buildLTAPaymentEntry(LTAPayment payment, LocalDate entryDate, FiscalYear fiscalYear) {
+        String ltaNumber = payment.getLta().getLtaNumber();
+        JournalEntry journalEntry = new JournalEntry(
+                entryDate,
+                "Encaissement LTA " + ltaNumber,
+                fiscalYear,
+                SourceType.LTA_PAYMENT,
+                payment.getId());
+        journalEntry.setReference("LTA-PAY-" + ltaNumber);
+
+        Account treasuryAccount = requireAccount("531");
+        Account clientAccount = requireAccount("411");
+
+        // Ligne 1: Débit compte de trésorerie (entrée d'argent)
+        journalEntry.addAccountingEntry(
+                treasuryAccount,
+                payment.getAmount(),
+                BigDecimal.ZERO,
+                "Encaissement LTA " + ltaNumber);
+
+        // Ligne 2: Crédit compte clients (diminution créance)
+        journalEntry.addAccountingEntry(
+                clientAccount,
+                BigDecimal.ZERO,
+                payment.getAmount(),
+                "Paiement client LTA " + ltaNumber);
+
+        return journalEntry;
+    }
 
-            // Sauvegarde de l'écriture
-            journalEntryService.saveJournalEntry(journalEntry);
+    /**
+     * Compte du plan comptable (en cache), rattaché par référence sans requête
+     */
+    private Account requireAccount(String accountNumber) {
+        ChartAccount account = accountService.getChartOfAccounts().findByNumber(accountNumber);
+        if (account == null) {
+            throw new IllegalStateException("Compte " + accountNumber + " non trouvé dans le plan comptable");
+        }
+        return accountService.getAccountReference(account.getId());
+    }
 
-        } catch (Exception e) {
-            logger.severe("Erreur lors de la génération de l'écriture comptable pour la LTA: " + e.getMessage());
+    private IllegalStateException sourceNotFound(AccountingOutboxEvent event) {
+        return new IllegalStateException("Source introuvable: " + event.getSourceType() + " " + event.getSourceId());
+    }
+
+    /**
+     * Récupère le nom du client de la LTA
+     */
+    private String getClientName(LTA lta) {
+        if (lta.getClient() != null && lta.getClient().getName() != null) {
+            return lta.getClient().getName();
         }
+        return lta.getShipperName() != null ? lta.getShipperName() : "Client inconnu";
     }
 
     /**
@@ -228,12 +302,12 @@ public class AccountingService {
         switch (paymentMethod.toUpperCase()) {
             case "CASH":
             case "ESPECES":
-                return accountService.getAccountByNumber("531"); // Caisse
+                return requireAccount("531"); // Caisse
             case "BANK_TRANSFER":
             case "VIREMENT":
             case "CHEQUE":
             default:
-                return accountService.getAccountByNumber("512"); // Banque
+                return requireAccount("512"); // Banque
         }
     }
 
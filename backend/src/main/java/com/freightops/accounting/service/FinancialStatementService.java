@@ -0,0 +1,370 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.dto.AccountMovements;
+import com.freightops.accounting.dto.BalanceSheet;
+import com.freightops.accounting.dto.ChartAccount;
+import com.freightops.accounting.dto.ChartOfAccounts;
+import com.freightops.accounting.dto.ComparativeStatement;
+import com.freightops.accounting.dto.IncomeStatement;
+import com.freightops.accounting.dto.StatementLine;
+import com.freightops.accounting.dto.TrialBalance;
+import com.freightops.accounting.dto.TrialBalanceLine;
+import com.freightops.accounting.enums.AccountType;
+import com.freightops.accounting.repository.AccountRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+/**
+ * États financiers calculés à partir des mouvements agrégés en SQL
+ * Balance générale, bilan et compte de résultat d'une période, sans lire le
+ * solde courant des comptes ni charger les écritures : les montants de chaque
+ * compte viennent de requêtes groupées par compte, puis sont remontés le long
+ * de la hiérarchie du plan comptable
+ */
+@Service
+public class FinancialStatementService {
+
+    private final AccountBalanceService accountBalanceService;
+    private final AccountService accountService;
+    private final AccountRepository accountRepository;
+
+    public FinancialStatementService(AccountBalanceService accountBalanceService, AccountService accountService,
+            AccountRepository accountRepository) {
+        this.accountBalanceService = accountBalanceService;
+        this.accountService = accountService;
+        this.accountRepository = accountRepository;
+    }
+
+    /**
+     * Balance générale : solde d'ouverture, mouvements de la période et solde
+     * de clôture de chaque compte
+     */
+    @Transactional(readOnly = true)
+    public TrialBalance getTrialBalance(LocalDate startDate, LocalDate endDate) {
+        checkPeriod(startDate, endDate);
+        Map<Long, AccountMovements> opening = accountBalanceService.getMovementsThrough(startDate.minusDays(1));
+        Map<Long, AccountMovements> period = accountBalanceService.getMovementsBetween(startDate, endDate);
+
+        Map<Long, BigDecimal[]> own = new HashMap<>();
+        opening.forEach((accountId, movements) -> own.computeIfAbsent(accountId, id -> zeros(3))[0] = movements
+                .getNetDebit());
+        period.forEach((accountId, movements) -> {
+            BigDecimal[] amounts = own.computeIfAbsent(accountId, id -> zeros(3));
+            amounts[1] = movements.getDebit();
+            amounts[2] = movements.getCredit();
+        });
+
+        BigDecimal totalDebit = BigDecimal.ZERO;
+        BigDecimal totalCredit = BigDecimal.ZERO;
+        BigDecimal totalClosing = BigDecimal.ZERO;
+        for (BigDecimal[] amounts : own.values()) {
+            totalDebit = totalDebit.add(amounts[1]);
+            totalCredit = totalCredit.add(amounts[2]);
+            totalClosing = totalClosing.add(amounts[0]).add(amounts[1]).subtract(amounts[2]);
+        }
+
+        AccountTree tree = accountTree(own.keySet());
+        List<TrialBalanceLine> lines = new ArrayList<>();
+        tree.rollUp(own, 3).forEach((account, amounts) -> lines.add(new TrialBalanceLine(account,
+                tree.parentNumber(account), tree.level(account), amounts[0], amounts[1], amounts[2])));
+
+        return new TrialBalance(startDate, endDate, lines, totalDebit, totalCredit, totalClosing);
+    }
+
+    /**
+     * Bilan en fin de journée
+     */
+    @Transactional(readOnly = true)
+    public BalanceSheet getBalanceSheet(LocalDate date) {
+        Map<Long, AccountMovements> balances = accountBalanceService.getMovementsThrough(date);
+        AccountTree tree = accountTree(balances.keySet());
+        Map<AccountType, Section> sections = sections(balances, tree);
+
+        Section assets = sections.get(AccountType.ASSET);
+        Section liabilities = sections.get(AccountType.LIABILITY);
+        Section equity = sections.get(AccountType.EQUITY);
+        BigDecimal currentResult = sections.get(AccountType.REVENUE).total
+                .subtract(sections.get(AccountType.EXPENSE).total);
+
+        return new BalanceSheet(date, assets.lines, liabilities.lines, equity.lines, assets.total, liabilities.total,
+                equity.total, currentResult);
+    }
+
+    /**
+     * Compte de résultat d'une période
+     */
+    @Transactional(readOnly = true)
+    public IncomeStatement getIncomeStatement(LocalDate startDate, LocalDate endDate) {
+        checkPeriod(startDate, endDate);
+        Map<Long, AccountMovements> movements = accountBalanceService.getMovementsBetween(startDate, endDate);
+        AccountTree tree = accountTree(movements.keySet());
+        Map<AccountType, Section> sections = sections(movements, tree);
+
+        Section revenues = sections.get(AccountType.REVENUE);
+        Section expenses = sections.get(AccountType.EXPENSE);
+        return new IncomeStatement(startDate, endDate, revenues.lines, expenses.lines, revenues.total,
+                expenses.total);
+    }
+
+    /**
+     * Balance générale avec les mêmes balances sur les périodes de comparaison
+     *
+     * @param compareStartDates débuts des périodes de comparaison
+     * @param compareEndDates   fins des périodes de comparaison, dans le même ordre
+     */
+    @Transactional(readOnly = true)
+    public ComparativeStatement<TrialBalance> getTrialBalance(LocalDate startDate, LocalDate endDate,
+            List<LocalDate> compareStartDates, List<LocalDate> compareEndDates) {
+        return new ComparativeStatement<>(getTrialBalance(startDate, endDate),
+                comparisons(compareStartDates, compareEndDates, this::getTrialBalance));
+    }
+
+    /**
+     * Bilan avec les bilans aux dates de comparaison
+     */
+    @Transactional(readOnly = true)
+    public ComparativeStatement<BalanceSheet> getBalanceSheet(LocalDate date, List<LocalDate> compareDates) {
+        List<BalanceSheet> comparisons = new ArrayList<>();
+        if (compareDates != null) {
+            for (LocalDate compareDate : compareDates) {
+                comparisons.add(getBalanceSheet(compareDate));
+            }
+        }
+        return new ComparativeStatement<>(getBalanceSheet(date), comparisons);
+    }
+
+    /**
+     * Compte de résultat avec ceux des périodes de comparaison
+     *
+     * @param compareStartDates débuts des périodes de comparaison
+     * @param compareEndDates   fins des périodes de comparaison, dans le même ordre
+     */
+    @Transactional(readOnly = true)
+    public ComparativeStatement<IncomeStatement> getIncomeStatement(LocalDate startDate, LocalDate endDate,
+            List<LocalDate> compareStartDates, List<LocalDate> compareEndDates) {
+        return new ComparativeStatement<>(getIncomeStatement(startDate, endDate),
+                comparisons(compareStartDates, compareEndDates, this::getIncomeStatement));
+    }
+
+    /**
+     * Débits et crédits cumulés par type de compte en fin de journée
+     *
+     * @return mouvements de chaque type, à zéro pour un type sans mouvement
+     */
+    @Transactional(readOnly = true)
+    public Map<AccountType, AccountMovements> getMovementsByAccountType(LocalDate date) {
+        Map<Long, AccountMovements> movements = accountBalanceService.getMovementsThrough(date);
+        AccountTree tree = accountTree(movements.keySet());
+
+        Map<AccountType, AccountMovements> byType = new EnumMap<>(AccountType.class);
+        for (AccountType type : AccountType.values()) {
+            byType.put(type, AccountMovements.ZERO);
+        }
+        movements.forEach((accountId, accountMovements) -> byType
+                .merge(tree.account(accountId).getAccountType(), accountMovements, AccountMovements::add));
+        return byType;
+    }
+
+    private static <T> List<T> comparisons(List<LocalDate> startDates, List<LocalDate> endDates,
+            BiFunction<LocalDate, LocalDate, T> statement) {
+        List<LocalDate> starts = startDates != null ? startDates : List.of();
+        List<LocalDate> ends = endDates != null ? endDates : List.of();
+        if (starts.size() != ends.size()) {
+            throw new IllegalArgumentException(
+                    "Chaque période de comparaison doit avoir une date de début et une date de fin");
+        }
+        List<T> comparisons = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            comparisons.add(statement.apply(starts.get(i), ends.get(i)));
+        }
+        return comparisons;
+    }
+
+    private static void checkPeriod(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException(
+                    "La date de fin (" + endDate + ") précède la date de début (" + startDate + ")");
+        }
+    }
+
+    /**
+     * Répartit les soldes par rubrique (type de compte), dans le sens naturel de
+     * chacune ; dans une rubrique, un compte parent ne cumule que ses
+     * sous-comptes du même type
+     */
+    private static Map<AccountType, Section> sections(Map<Long, AccountMovements> movements, AccountTree tree) {
+        Map<AccountType, Map<Long, BigDecimal[]>> ownByType = new EnumMap<>(AccountType.class);
+        for (AccountType type : AccountType.values()) {
+            ownByType.put(type, new HashMap<>());
+        }
+        movements.forEach((accountId, accountMovements) -> {
+            AccountType type = tree.account(accountId).getAccountType();
+            BigDecimal netDebit = accountMovements.getNetDebit();
+            ownByType.get(type).put(accountId,
+                    new BigDecimal[] { type.increasesWithDebit() ? netDebit : netDebit.negate() });
+        });
+
+        AccountTree sectionTree = tree.withinTypes();
+        Map<AccountType, Section> sections = new EnumMap<>(AccountType.class);
+        ownByType.forEach((type, own) -> {
+            BigDecimal total = BigDecimal.ZERO;
+            for (BigDecimal[] amounts : own.values()) {
+                total = total.add(amounts[0]);
+            }
+            List<StatementLine> lines = new ArrayList<>();
+            sectionTree.rollUp(own, 1).forEach((account, amounts) -> lines.add(new StatementLine(account,
+                    sectionTree.parentNumber(account), sectionTree.level(account), amounts[0])));
+            sections.put(type, new Section(lines, total));
+        });
+        return sections;
+    }
+
+    /**
+     * Plan comptable actif, complété des comptes inactifs encore mouvementés
+     * et de leurs parents
+     */
+    private AccountTree accountTree(Set<Long> accountIds) {
+        ChartOfAccounts chart = accountService.getChartOfAccounts();
+        Map<Long, ChartAccount> accounts = new HashMap<>();
+        for (ChartAccount account : chart.getAccounts()) {
+            accounts.put(account.getId(), account);
+        }
+
+        Set<Long> missing = new HashSet<>(accountIds);
+        missing.removeAll(accounts.keySet());
+        while (!missing.isEmpty()) {
+            Set<Long> parents = new HashSet<>();
+            accountRepository.findAllById(missing).forEach(entity -> {
+                ChartAccount account = ChartAccount.from(entity);
+                accounts.put(account.getId(), account);
+                if (account.getParentAccountId() != null && !accounts.containsKey(account.getParentAccountId())) {
+                    parents.add(account.getParentAccountId());
+                }
+            });
+            parents.removeAll(missing);
+            missing = parents;
+        }
+        return new AccountTree(accounts);
+    }
+
+    private static BigDecimal[] zeros(int width) {
+        BigDecimal[] amounts = new BigDecimal[width];
+        Arrays.fill(amounts, BigDecimal.ZERO);
+        return amounts;
+    }
+
+    private static final class Section {
+        private final List<StatementLine> lines;
+        private final BigDecimal total;
+
+        private Section(List<StatementLine> lines, BigDecimal total) {
+            this.lines = lines;
+            this.total = total;
+        }
+    }
+
+    /**
+     * Hiérarchie des comptes, pour remonter les montants vers les parents
+     */
+    static final class AccountTree {
+
+        private final Map<Long, ChartAccount> accounts;
+        private final boolean withinTypes;
+
+        AccountTree(Map<Long, ChartAccount> accounts) {
+            this(accounts, false);
+        }
+
+        private AccountTree(Map<Long, ChartAccount> accounts, boolean withinTypes) {
+            this.accounts = accounts;
+            this.withinTypes = withinTypes;
+        }
+
+        /**
+         * Même hiérarchie limitée aux liens entre comptes du même type : un
+         * compte rattaché à un parent d'un autre type devient une racine de sa
+         * rubrique
+         */
+        AccountTree withinTypes() {
+            return withinTypes ? this : new AccountTree(accounts, true);
+        }
+
+        ChartAccount account(Long accountId) {
+            return accounts.get(accountId);
+        }
+
+        ChartAccount parent(ChartAccount account) {
+            ChartAccount parent = account.getParentAccountId() != null ? accounts.get(account.getParentAccountId())
+                    : null;
+            if (withinTypes && parent != null && parent.getAccountType() != account.getAccountType()) {
+                return null;
+            }
+            return parent;
+        }
+
+        String parentNumber(ChartAccount account) {
+            ChartAccount parent = parent(account);
+            return parent != null ? parent.getAccountNumber() : null;
+        }
+
+        int level(ChartAccount account) {
+            int level = 0;
+            // Borné par le nombre de comptes au cas où la hiérarchie contiendrait un cycle
+            for (ChartAccount parent = parent(account); parent != null && level < accounts.size();
+                    parent = parent(parent)) {
+                level++;
+            }
+            return level;
+        }
+
+        /**
+         * Ajoute les montants propres de chaque compte à lui-même et à tous ses
+         * parents ; les comptes sans montant non nul sont ignorés
+         *
+         * @param own   montants propres par ID de compte, tous de même largeur
+         * @param width nombre de montants par compte
+         * @return montants cumulés par compte, triés par numéro de compte
+         */
+        Map<ChartAccount, BigDecimal[]> rollUp(Map<Long, BigDecimal[]> own, int width) {
+            Map<ChartAccount, BigDecimal[]> rolled = new TreeMap<>(
+                    Comparator.comparing(ChartAccount::getAccountNumber));
+            own.forEach((accountId, amounts) -> {
+                if (isZero(amounts)) {
+                    return;
+                }
+                ChartAccount account = accounts.get(accountId);
+                for (int depth = 0; account != null && depth <= accounts.size(); depth++) {
+                    BigDecimal[] total = rolled.computeIfAbsent(account, key -> zeros(width));
+                    for (int i = 0; i < width; i++) {
+                        total[i] = total[i].add(amounts[i]);
+                    }
+                    account = parent(account);
+                }
+            });
+            return rolled;
+        }
+
+        private static boolean isZero(BigDecimal[] amounts) {
+            for (BigDecimal amount : amounts) {
+                if (amount.signum() != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -2,11 +2,16 @@ package com.freightops.accounting.service;
 
 import com.freightops.accounting.entity.FiscalYear;
 import com.freightops.accounting.repository.FiscalYearRepository;
+import com.freightops.cache.CacheNames;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,7 +28,10 @@ public class FiscalYearService {
 
     /**
      * Récupère l'exercice comptable actuel
+     * Mis en cache par jour : l'entrée change d'elle-même au changement de date
      */
+    @Cacheable(value = CacheNames.CURRENT_FISCAL_YEAR, key = "T(java.time.LocalDate).now().toString()")
+    @Transactional(readOnly = true)
     public FiscalYear getCurrentFiscalYear() {
         LocalDate today = LocalDate.now();
         return fiscalYearRepository.findByStartDateLessThanEqualAndEndDateGreaterThanEqual(today, today);
@@ -46,6 +54,7 @@ public class FiscalYearService {
     /**
      * Crée un nouvel exercice comptable
      */
+    @CacheEvict(value = CacheNames.CURRENT_FISCAL_YEAR, allEntries = true)
     public FiscalYear createFiscalYear(Integer yearNumber, LocalDate startDate, LocalDate endDate) {
         // Vérification de l'unicité de l'année
         if (fiscalYearRepository.findByYearNumber(yearNumber) != null) {
@@ -70,6 +79,7 @@ public class FiscalYearService {
     /**
      * Crée automatiquement l'exercice comptable actuel si nécessaire
      */
+    @CacheEvict(value = CacheNames.CURRENT_FISCAL_YEAR, allEntries = true)
     public FiscalYear createCurrentFiscalYearIfNotExists() {
         FiscalYear currentFiscalYear = getCurrentFiscalYear();
         if (currentFiscalYear != null) {
@@ -87,6 +97,7 @@ public class FiscalYearService {
     /**
      * Clôture un exercice comptable
      */
+    @CacheEvict(value = CacheNames.CURRENT_FISCAL_YEAR, allEntries = true)
     public FiscalYear closeFiscalYear(Long fiscalYearId) {
         Optional<FiscalYear> optionalFiscalYear = fiscalYearRepository.findById(fiscalYearId);
         if (optionalFiscalYear.isEmpty()) {
@@ -111,7 +122,10 @@ public class FiscalYearService {
 
     /**
      * Réouvre un exercice comptable clôturé
+     * Les totaux de trésorerie mis en cache pour ses périodes sont invalidés
      */
+    @CacheEvict(value = { CacheNames.CURRENT_FISCAL_YEAR,
+            CacheNames.TREASURY_PERIOD_TOTALS }, allEntries = true)
     public FiscalYear reopenFiscalYear(Long fiscalYearId) {
         Optional<FiscalYear> optionalFiscalYear = fiscalYearRepository.findById(fiscalYearId);
         if (optionalFiscalYear.isEmpty()) {
@@ -128,6 +142,13 @@ public class FiscalYearService {
         return fiscalYearRepository.save(fiscalYear);
     }
 
+    /**
+     * Récupère l'exercice comptable contenant une date
+     */
+    public FiscalYear getFiscalYearForDate(LocalDate date) {
+        return fiscalYearRepository.findByStartDateLessThanEqualAndEndDateGreaterThanEqual(date, date);
+    }
+
     /**
      * Vérifie si une date appartient à un exercice ouvert
      */
@@ -136,6 +157,28 @@ public class FiscalYearService {
         return fiscalYear != null && !fiscalYear.getIsClosed();
     }
 
+    /**
+     * Vérifie si une période est entièrement couverte par des exercices clôturés
+     * (sans trou entre exercices)
+     */
+    @Transactional(readOnly = true)
+    public boolean isPeriodClosed(LocalDate startDate, LocalDate endDate) {
+        List<FiscalYear> fiscalYears = new ArrayList<>(
+                fiscalYearRepository.findOverlappingFiscalYears(startDate, endDate));
+        fiscalYears.sort(Comparator.comparing(FiscalYear::getStartDate));
+
+        LocalDate nextUncovered = startDate;
+        for (FiscalYear fiscalYear : fiscalYears) {
+            if (!fiscalYear.getIsClosed() || fiscalYear.getStartDate().isAfter(nextUncovered)) {
+                return false;
+            }
+            if (!fiscalYear.getEndDate().isBefore(nextUncovered)) {
+                nextUncovered = fiscalYear.getEndDate().plusDays(1);
+            }
+        }
+        return nextUncovered.isAfter(endDate);
+    }
+
     /**
      * Initialise l'exercice comptable de base
      */
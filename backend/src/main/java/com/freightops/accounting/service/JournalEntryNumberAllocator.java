@@ -0,0 +1,100 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.entity.FiscalYear;
+import com.freightops.accounting.entity.JournalEntrySequence;
+import com.freightops.accounting.repository.JournalEntryRepository;
+import com.freightops.accounting.repository.JournalEntrySequenceRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.logging.Logger;
+
+/**
+ * Attribution des numéros d'écriture par exercice (JE-YYYY-NNNNNN)
+ * Le compteur de l'exercice est incrémenté sous verrou de ligne dans la
+ * transaction de l'écriture : si elle est annulée, le numéro l'est aussi,
+ * d'où une numérotation strictement croissante et sans trou
+ */
+@Service
+public class JournalEntryNumberAllocator {
+
+    private static final Logger logger = Logger.getLogger(JournalEntryNumberAllocator.class.getName());
+
+    private final JournalEntrySequenceRepository journalEntrySequenceRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final TransactionTemplate initTransaction;
+
+    public JournalEntryNumberAllocator(JournalEntrySequenceRepository journalEntrySequenceRepository,
+            JournalEntryRepository journalEntryRepository,
+            PlatformTransactionManager transactionManager) {
+        this.journalEntrySequenceRepository = journalEntrySequenceRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.initTransaction = new TransactionTemplate(transactionManager);
+        this.initTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Attribue le prochain numéro d'écriture de l'exercice
+     * Doit être appelé dans la transaction qui enregistre l'écriture ; le
+     * compteur reste verrouillé jusqu'à sa validation
+     *
+     * @param fiscalYear l'exercice de l'écriture
+     * @return le numéro attribué
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String nextEntryNumber(FiscalYear fiscalYear) {
+        JournalEntrySequence sequence = journalEntrySequenceRepository.findForUpdate(fiscalYear.getId())
+                .orElseGet(() -> {
+                    createSequence(fiscalYear);
+                    return journalEntrySequenceRepository.findForUpdate(fiscalYear.getId())
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "Compteur d'écritures introuvable pour l'exercice " + fiscalYear.getYearNumber()));
+                });
+
+        long next = sequence.getLastNumber() + 1;
+        sequence.setLastNumber(next);
+
+        return String.format("JE-%d-%06d", fiscalYear.getYearNumber(), next);
+    }
+
+    /**
+     * Crée le compteur d'un exercice dans une transaction séparée, pour qu'une
+     * création concurrente par une autre écriture ne fasse pas échouer celle-ci
+     * Le compteur démarre après le dernier numéro déjà présent dans le journal
+     */
+    private void createSequence(FiscalYear fiscalYear) {
+        try {
+            initTransaction.executeWithoutResult(status -> {
+                if (journalEntrySequenceRepository.existsById(fiscalYear.getId())) {
+                    return;
+                }
+                long lastNumber = parseSequence(fiscalYear,
+                        journalEntryRepository.findLastEntryNumberByFiscalYear(fiscalYear.getId()));
+                journalEntrySequenceRepository.saveAndFlush(new JournalEntrySequence(fiscalYear.getId(), lastNumber));
+                logger.info("Compteur d'écritures initialisé pour l'exercice " + fiscalYear.getYearNumber()
+                        + " à " + lastNumber);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Compteur créé en parallèle par une autre transaction
+            logger.fine("Compteur d'écritures déjà créé pour l'exercice " + fiscalYear.getYearNumber());
+        }
+    }
+
+    private long parseSequence(FiscalYear fiscalYear, String lastEntryNumber) {
+        String prefix = "JE-" + fiscalYear.getYearNumber() + "-";
+        if (lastEntryNumber == null || !lastEntryNumber.startsWith(prefix)) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(lastEntryNumber.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            logger.warning("Erreur lors du parsing du numéro d'écriture: " + lastEntryNumber);
+            return 0L;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.freightops.accounting.service;
 
 import com.freightops.accounting.entity.JournalEntry;
-import com.freightops.accounting.entity.FiscalYear;
 import com.freightops.accounting.repository.JournalEntryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -27,6 +26,12 @@ public class JournalEntryService {
     @Autowired
     private FiscalYearService fiscalYearService;
 
+    @Autowired
+    private JournalEntryNumberAllocator journalEntryNumberAllocator;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
     /**
      * Sauvegarde une écriture comptable avec numérotation automatique
      * 
@@ -34,12 +39,18 @@ public class JournalEntryService {
      * @return l'écriture sauvegardée
      */
     public JournalEntry saveJournalEntry(JournalEntry journalEntry) {
-        // Génération du numéro d'écriture si nécessaire
-        if (journalEntry.getEntryNumber() == null || journalEntry.getEntryNumber().contains("TEMP")) {
-            String entryNumber = generateEntryNumber(journalEntry.getFiscalYear());
-            journalEntry.setEntryNumber(entryNumber);
-        }
+        return saveJournalEntry(journalEntry, true);
+    }
 
+    /**
+     * Sauvegarde une écriture comptable avec numérotation automatique
+     * 
+     * @param journalEntry          l'écriture à sauvegarder
+     * @param updateAccountBalances false si l'appelant applique lui-même les
+     *                              mouvements aux soldes des comptes (lots)
+     * @return l'écriture sauvegardée
+     */
+    public JournalEntry saveJournalEntry(JournalEntry journalEntry, boolean updateAccountBalances) {
         // Validation de l'équilibre
         journalEntry.calculateTotals();
         journalEntry.validateBalance();
@@ -48,35 +59,26 @@ public class JournalEntryService {
             throw new IllegalStateException("L'écriture comptable n'est pas équilibrée (débit ≠ crédit)");
         }
 
+        // Numérotation après validation : le compteur de l'exercice reste
+        // verrouillé jusqu'à la fin de la transaction
+        if (journalEntry.getEntryNumber() == null || journalEntry.getEntryNumber().contains("TEMP")) {
+            String entryNumber = journalEntryNumberAllocator.nextEntryNumber(journalEntry.getFiscalYear());
+            journalEntry.setEntryNumber(entryNumber);
+        }
+
         // Mise à jour des soldes des comptes
-        journalEntry.getAccountingEntries().forEach(entry -> {
-            entry.updateAccountBalance();
-        });
+        if (updateAccountBalances) {
+            journalEntry.getAccountingEntries().forEach(entry -> {
+                entry.updateAccountBalance();
+            });
+        }
 
-        return journalEntryRepository.save(journalEntry);
-    }
+        JournalEntry savedEntry = journalEntryRepository.save(journalEntry);
 
-    /**
-     * Génère automatiquement le numéro d'écriture
-     * Format: JE-YYYY-NNNNNN
-     */
-    private String generateEntryNumber(FiscalYear fiscalYear) {
-        String year = String.valueOf(fiscalYear.getYearNumber());
-
-        // Récupération du dernier numéro pour l'exercice
-        String lastEntryNumber = journalEntryRepository.findLastEntryNumberByFiscalYear(fiscalYear.getId());
-
-        int nextSequence = 1;
-        if (lastEntryNumber != null && lastEntryNumber.startsWith("JE-" + year + "-")) {
-            try {
-                String sequencePart = lastEntryNumber.substring(lastEntryNumber.lastIndexOf("-") + 1);
-                nextSequence = Integer.parseInt(sequencePart) + 1;
-            } catch (NumberFormatException e) {
-                logger.warning("Erreur lors du parsing du numéro d'écriture: " + lastEntryNumber);
-            }
-        }
+        // Mouvements mensuels pour les soldes à date, dans tous les cas
+        accountBalanceService.recordMovements(savedEntry);
 
-        return String.format("JE-%s-%06d", year, nextSequence);
+        return savedEntry;
     }
 
     /**
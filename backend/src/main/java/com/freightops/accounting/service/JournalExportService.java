@@ -0,0 +1,157 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.dto.JournalExportLine;
+import com.freightops.accounting.enums.JournalExportFormat;
+import com.freightops.accounting.enums.SourceType;
+import com.freightops.accounting.repository.AccountingEntryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Export du journal (une ligne par ligne d'écriture) en CSV ou XLSX
+ * Les lignes sont lues par un curseur en avant seulement et écrites une à une
+ * dans le flux de sortie : la mémoire utilisée ne dépend pas du volume exporté
+ */
+@Service
+public class JournalExportService {
+
+    private static final Logger logger = Logger.getLogger(JournalExportService.class.getName());
+
+    private static final List<String> HEADER = List.of("N° écriture", "Date", "Référence", "Source", "ID source",
+            "Libellé écriture", "Ligne", "Compte", "Intitulé compte", "Débit", "Crédit", "Libellé ligne");
+
+    /**
+     * Lignes écrites entre deux envois au client
+     */
+    private static final int FLUSH_ROWS = 500;
+
+    private final AccountingEntryRepository accountingEntryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JournalExportService(AccountingEntryRepository accountingEntryRepository,
+            PlatformTransactionManager transactionManager) {
+        this.accountingEntryRepository = accountingEntryRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Écrit les lignes d'écriture filtrées dans le flux, dans l'ordre du journal
+     *
+     * @param format        format de sortie
+     * @param fiscalYearId  exercice (optionnel)
+     * @param accountNumber numéro ou préfixe de compte (optionnel)
+     * @param startDate     date de début incluse (optionnelle)
+     * @param endDate       date de fin incluse (optionnelle)
+     * @param sourceType    type de source (optionnel)
+     * @param output        flux de sortie, laissé ouvert
+     * @return nombre de lignes exportées
+     */
+    public long exportJournal(JournalExportFormat format, Long fiscalYearId, String accountNumber,
+            LocalDate startDate, LocalDate endDate, SourceType sourceType, OutputStream output) throws IOException {
+        try {
+            Long lines = readOnlyTransaction.execute(status -> {
+                try (Stream<JournalExportLine> rows = accountingEntryRepository.streamExportLines(fiscalYearId,
+                        accountNumber, startDate, endDate, sourceType)) {
+                    return format == JournalExportFormat.XLSX
+                            ? writeXlsx(rows.iterator(), output)
+                            : writeCsv(rows.iterator(), output);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            logger.info("Export du journal (" + format + ") : " + lines + " lignes");
+            return lines;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static long writeCsv(Iterator<JournalExportLine> rows, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        // BOM : Excel lit alors le fichier en UTF-8
+        writer.write('\uFEFF');
+        writeCsvRow(writer, HEADER);
+
+        long lines = 0;
+        while (rows.hasNext()) {
+            writeCsvRow(writer, values(rows.next()));
+            if (++lines % FLUSH_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return lines;
+    }
+
+    static long writeXlsx(Iterator<JournalExportLine> rows, OutputStream output) throws IOException {
+        long lines = 0;
+        try (XlsxSheetWriter sheet = new XlsxSheetWriter(output, "Journal")) {
+            sheet.writeRow(HEADER);
+            while (rows.hasNext()) {
+                sheet.writeRow(values(rows.next()));
+                if (++lines % FLUSH_ROWS == 0) {
+                    sheet.flush();
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static List<Object> values(JournalExportLine line) {
+        return Arrays.asList(
+                line.getEntryNumber(),
+                line.getEntryDate() != null ? line.getEntryDate().toString() : null,
+                line.getReference(),
+                line.getSourceType() != null ? line.getSourceType().name() : null,
+                line.getSourceId(),
+                line.getEntryDescription(),
+                line.getLineOrder(),
+                line.getAccountNumber(),
+                line.getAccountName(),
+                line.getDebitAmount(),
+                line.getCreditAmount(),
+                line.getLineDescription());
+    }
+
+    private static void writeCsvRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = text(values.get(i));
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return "";
+        }
+        return value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+    }
+}
@@ -1,19 +1,34 @@
 package com.freightops.api;
 
+import com.freightops.dashboard.service.DashboardService;
 import com.freightops.dto.LTADto;
 import com.freightops.dto.LTAResponse;
-import com.freightops.dto.LTAStatusHistoryResponse;
+import com.freightops.dto.LTAView;
 import com.freightops.dto.CityResponse;
 import com.freightops.dto.ClientResponse;
 import com.freightops.dto.PackageResponse;
 import com.freightops.entity.LTA;
-import com.freightops.entity.LTAStatusHistory;
 import com.freightops.enums.LTAStatus;
+import com.freightops.service.BatchPricingService;
 import com.freightops.service.LTAService;
 import com.freightops.service.LTAJasperService;
 import com.freightops.dto.ApiResponse;
+import com.freightops.dto.BatchPricingRequest;
+import com.freightops.dto.BatchPricingResponse;
+import com.freightops.dto.BatchPricingResult;
+import com.freightops.dto.BulkStatusRequest;
+import com.freightops.dto.BulkStatusResult;
 import com.freightops.dto.LTARequest;
+import com.freightops.pagination.CursorPage;
+import com.freightops.reporting.dto.LTABulkExportRequest;
+import com.freightops.reporting.enums.BulkExportFormat;
+import com.freightops.reporting.service.LTABulkExportService;
+import com.freightops.tracking.dto.PublicTrackingDocument;
+import com.freightops.tracking.service.PublicTrackingService;
+import com.freightops.tracking.service.TrackingPushService;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,12 +39,23 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * LTA REST Controller
@@ -42,11 +68,24 @@ public class LTAController {
 
     private final LTAService ltaService;
     private final LTAJasperService ltaJasperService;
+    private final LTABulkExportService ltaBulkExportService;
+    private final BatchPricingService batchPricingService;
+    private final DashboardService dashboardService;
+    private final PublicTrackingService publicTrackingService;
+    private final TrackingPushService trackingPushService;
     private static final Logger logger = LoggerFactory.getLogger(LTAController.class);
 
-    public LTAController(LTAService ltaService, LTAJasperService ltaJasperService) {
+    public LTAController(LTAService ltaService, LTAJasperService ltaJasperService,
+            LTABulkExportService ltaBulkExportService, BatchPricingService batchPricingService,
+            DashboardService dashboardService, PublicTrackingService publicTrackingService,
+            TrackingPushService trackingPushService) {
         this.ltaService = ltaService;
         this.ltaJasperService = ltaJasperService;
+        this.ltaBulkExportService = ltaBulkExportService;
+        this.batchPricingService = batchPricingService;
+        this.dashboardService = dashboardService;
+        this.publicTrackingService = publicTrackingService;
+        this.trackingPushService = trackingPushService;
     }
 
     /**
@@ -123,7 +162,7 @@ public class LTAController {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<LTA> ltaPage;
+        Page<LTAView> ltaPage;
         if (status != null || shipper != null || consignee != null) {
             ltaPage = ltaService.searchLTAs(status, shipper, consignee, pageable);
         } else {
@@ -134,6 +173,23 @@ public class LTAController {
         return ResponseEntity.ok(ltaResponsePage);
     }
 
+    /**
+     * Get LTAs newest first with keyset pagination, for deep listings and exports
+     * GET /api/lta/cursor?cursor={nextCursor of the previous page}
+     */
+    @GetMapping("/lta/cursor")
+    public ResponseEntity<CursorPage<LTAResponse>> getLTAsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) LTAStatus status,
+            @RequestParam(required = false) String shipper,
+            @RequestParam(required = false) String consignee) {
+
+        CursorPage<LTAView> ltaPage = ltaService.getLTAsAfter(status, shipper, consignee, cursor, size, includeTotal);
+        return ResponseEntity.ok(ltaPage.map(this::convertToResponse));
+    }
+
     /**
      * Get LTA by ID
      * GET /api/lta/{id}
@@ -146,13 +202,12 @@ public class LTAController {
         logger.info("🔍 ID demandé: {}", id);
 
         try {
-            Optional<LTA> ltaOpt = ltaService.getLTAById(id);
+            Optional<LTAView> ltaOpt = ltaService.getLTAViewById(id);
             if (ltaOpt.isPresent()) {
-                LTA lta = ltaOpt.get();
+                LTAView lta = ltaOpt.get();
                 logger.info("✅ LTA trouvée - ID: {}, Numéro: {}, Tracking: {}",
                         lta.getId(), lta.getLtaNumber(), lta.getTrackingNumber());
-                logger.info("✅ Statut: {}, Client: {}", lta.getStatus(),
-                        lta.getClient() != null ? lta.getClient().getName() : "null");
+                logger.info("✅ Statut: {}, Client: {}", lta.getStatus(), lta.getClientName());
 
                 LTAResponse response = convertToResponse(lta);
                 logger.info("✅ Réponse convertie avec trackingNumber: {}", response.getTrackingNumber());
@@ -178,7 +233,7 @@ public class LTAController {
     // @PreAuthorize("hasRole('ADMIN') or hasRole('AGENT') or hasRole('FINANCE')")
     // // Disabled for development
     public ResponseEntity<?> getLTAByNumber(@PathVariable String ltaNumber) {
-        Optional<LTA> ltaOpt = ltaService.getLTAByNumber(ltaNumber);
+        Optional<LTAView> ltaOpt = ltaService.getLTAViewByNumber(ltaNumber);
         if (ltaOpt.isPresent()) {
             return ResponseEntity.ok(convertToResponse(ltaOpt.get()));
         } else {
@@ -193,7 +248,7 @@ public class LTAController {
     @GetMapping("/lta/tracking/{trackingNumber}")
     public ResponseEntity<?> getLTAByTrackingNumber(@PathVariable String trackingNumber) {
         try {
-            Optional<LTA> ltaOpt = ltaService.getLTAByTrackingNumber(trackingNumber);
+            Optional<LTAView> ltaOpt = ltaService.getLTAViewByTrackingNumber(trackingNumber);
             if (ltaOpt.isPresent()) {
                 return ResponseEntity.ok(ApiResponse.success(convertToResponse(ltaOpt.get())));
             } else {
@@ -210,29 +265,31 @@ public class LTAController {
     /**
      * Get LTA by tracking number (PUBLIC ENDPOINT)
      * GET /api/public/tracking/{trackingNumber}
+     * Served from the cached tracking document with ETag, Last-Modified and
+     * Cache-Control; a matching If-None-Match / If-Modified-Since gets a 304
      */
     @GetMapping("/public/tracking/{trackingNumber}")
-    public ResponseEntity<?> getPublicLTAByTrackingNumber(@PathVariable String trackingNumber) {
-        logger.info("🔍 === PUBLIC TRACKING REQUEST ===");
-        logger.info("🔍 Tracking number demandé: {}", trackingNumber);
-
+    public ResponseEntity<?> getPublicLTAByTrackingNumber(@PathVariable String trackingNumber,
+            WebRequest webRequest) {
         try {
-            Optional<LTA> ltaOpt = ltaService.getLTAByTrackingNumber(trackingNumber);
-            if (ltaOpt.isPresent()) {
-                LTA lta = ltaOpt.get();
-                logger.info("✅ LTA trouvée pour tracking: {} - ID: {}, Numéro: {}",
-                        trackingNumber, lta.getId(), lta.getLtaNumber());
-
-                // Créer une réponse publique limitée (sans informations sensibles)
-                LTAResponse response = convertToPublicResponse(lta);
-                logger.info("✅ Réponse publique créée pour tracking: {}", trackingNumber);
-
-                return ResponseEntity.ok(ApiResponse.success(response));
-            } else {
+            Optional<PublicTrackingDocument> documentOpt = publicTrackingService.getDocument(trackingNumber);
+            if (documentOpt.isEmpty()) {
                 logger.warn("❌ Aucune LTA trouvée pour le tracking number: {}", trackingNumber);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Aucun envoi trouvé avec ce numéro de suivi: " + trackingNumber));
             }
+
+            PublicTrackingDocument document = documentOpt.get();
+            // Sets ETag / Last-Modified on the response, and 304 when the client copy is current
+            if (webRequest.checkNotModified(document.getEtag(), document.getLastModified())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(publicTrackingService.getCacheControl())
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(publicTrackingService.getCacheControl())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(document.getBody());
         } catch (Exception e) {
             logger.error("❌ Erreur lors de la recherche publique par tracking: {} - {}", trackingNumber, e.getMessage(),
                     e);
@@ -241,6 +298,27 @@ public class LTAController {
         }
     }
 
+    /**
+     * Subscribe to status changes of a shipment (Server-Sent Events)
+     * GET /api/public/tracking/{trackingNumber}/events
+     * Replaces polling of the tracking document: each committed status change
+     * is pushed as an "lta-status" event
+     */
+    @GetMapping("/public/tracking/{trackingNumber}/events")
+    public ResponseEntity<SseEmitter> subscribePublicTracking(@PathVariable String trackingNumber) {
+        if (publicTrackingService.getDocument(trackingNumber).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(trackingPushService.subscribe(trackingNumber));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Abonnement au suivi refusé pour {}: {}", trackingNumber, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     /**
      * Update LTA
      * PUT /api/lta/{id}
@@ -273,7 +351,8 @@ public class LTAController {
     // development
     public ResponseEntity<?> updateLTAStatus(@PathVariable Long id, @RequestBody StatusUpdateRequest request) {
         try {
-            Optional<LTA> updatedLTA = ltaService.updateLTAStatus(id, request.getStatus());
+            Optional<LTA> updatedLTA = ltaService.updateLTAStatus(id, request.getStatus(),
+                    request.getReason(), request.getLocation());
             if (updatedLTA.isPresent()) {
                 return ResponseEntity.ok(convertToResponse(updatedLTA.get()));
             } else {
@@ -285,6 +364,31 @@ public class LTAController {
         }
     }
 
+    /**
+     * Move several LTAs to the same status (aircraft loading, delivery run)
+     * POST /api/lta/status/bulk
+     * Targets are ids or a manifest number; 409 with the rejected LTAs if the
+     * set does not validate or an LTA changed concurrently, in which case
+     * nothing is changed
+     */
+    @PostMapping("/lta/status/bulk")
+    // @PreAuthorize("hasRole('ADMIN') or hasRole('AGENT')") // Disabled for
+    // development
+    public ResponseEntity<?> updateLTAStatuses(@RequestBody BulkStatusRequest<LTAStatus> request) {
+        try {
+            BulkStatusResult result = ltaService.updateLTAStatuses(request);
+            return result.isApplied() ? ResponseEntity.ok(result)
+                    : ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Failed to update LTA statuses: " + e.getMessage()));
+        }
+    }
+
     /**
      * Delete LTA
      * DELETE /api/lta/{id}
@@ -306,7 +410,7 @@ public class LTAController {
     }
 
     /**
-     * Get LTA statistics
+     * Get LTA statistics (from the dashboard counters, no query)
      * GET /api/lta/stats
      */
     @GetMapping("/lta/stats")
@@ -314,11 +418,11 @@ public class LTAController {
     // // Disabled for development
     public ResponseEntity<LTAStatsResponse> getLTAStats() {
         LTAStatsResponse stats = new LTAStatsResponse();
-        stats.setPendingCount(ltaService.getCountByStatus(LTAStatus.DRAFT));
-        stats.setConfirmedCount(ltaService.getCountByStatus(LTAStatus.CONFIRMED));
-        stats.setInTransitCount(ltaService.getCountByStatus(LTAStatus.IN_TRANSIT));
-        stats.setDeliveredCount(ltaService.getCountByStatus(LTAStatus.DELIVERED));
-        stats.setCancelledCount(ltaService.getCountByStatus(LTAStatus.CANCELLED));
+        stats.setPendingCount(dashboardService.getLtaCount(LTAStatus.DRAFT));
+        stats.setConfirmedCount(dashboardService.getLtaCount(LTAStatus.CONFIRMED));
+        stats.setInTransitCount(dashboardService.getLtaCount(LTAStatus.IN_TRANSIT));
+        stats.setDeliveredCount(dashboardService.getLtaCount(LTAStatus.DELIVERED));
+        stats.setCancelledCount(dashboardService.getLtaCount(LTAStatus.CANCELLED));
 
         return ResponseEntity.ok(stats);
     }
@@ -332,22 +436,23 @@ public class LTAController {
     // // Disabled for development
     public ResponseEntity<Page<LTAResponse>> getRecentLTAs(@RequestParam(defaultValue = "10") int limit) {
         Pageable pageable = PageRequest.of(0, limit, Sort.by("createdAt").descending());
-        Page<LTA> recentLTAs = ltaService.getAllLTAs(pageable);
+        Page<LTAView> recentLTAs = ltaService.getAllLTAs(pageable);
         Page<LTAResponse> ltaResponsePage = recentLTAs.map(this::convertToResponse);
         return ResponseEntity.ok(ltaResponsePage);
     }
 
     /**
-     * Calculate cost for LTA based on origin, destination and weight
+     * Calculate cost for LTA based on origin, destination, weight and optional volume (m3)
      * GET /api/lta/calculate-cost
      */
     @GetMapping("/lta/calculate-cost")
     public ResponseEntity<?> calculateCost(
             @RequestParam Long originCityId,
             @RequestParam Long destinationCityId,
-            @RequestParam Double weight) {
+            @RequestParam Double weight,
+            @RequestParam(required = false) Double volume) {
         try {
-            Double cost = ltaService.calculateCost(originCityId, destinationCityId, weight);
+            Double cost = ltaService.calculateCost(originCityId, destinationCityId, weight, volume);
             CostCalculationResponse response = new CostCalculationResponse(cost);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
@@ -358,6 +463,52 @@ public class LTAController {
         }
     }
 
+    /**
+     * Price many origin/destination/weight/volume lines in one call
+     * POST /api/lta/calculate-cost/batch (JSON)
+     */
+    @PostMapping(value = "/lta/calculate-cost/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> calculateCostBatch(@Valid @RequestBody BatchPricingRequest request) {
+        try {
+            List<BatchPricingResult> results = batchPricingService.price(request.getLines());
+            long errorCount = results.stream().filter(result -> result.getError() != null).count();
+            return ResponseEntity.ok(new BatchPricingResponse(results.size(), (int) errorCount, results));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Failed to calculate costs: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Price a CSV file of lines, results streamed back as CSV while the input is read
+     * POST /api/lta/calculate-cost/batch (text/csv)
+     */
+    @PostMapping(value = "/lta/calculate-cost/batch", consumes = "text/csv")
+    public ResponseEntity<?> calculateCostBatchCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        BatchPricingService.CsvLayout layout;
+        try {
+            layout = batchPricingService.readCsvHeader(reader);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("text/csv;charset=UTF-8"));
+        headers.setContentDispositionFormData("attachment", "quotes.csv");
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            int lines = batchPricingService.priceCsv(layout, reader, writer);
+            logger.info("Batch pricing: {} CSV lines priced", lines);
+        };
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
     /**
      * Generate PDF for LTA
      * GET /api/lta/{id}/pdf
@@ -390,11 +541,54 @@ public class LTAController {
         }
     }
 
+    /**
+     * Generate PDFs for many LTAs, streamed as one merged PDF or a ZIP archive
+     * POST /api/lta/pdf/bulk
+     * Requested ids are checked before streaming starts: 404 if one is unknown
+     */
+    @PostMapping("/lta/pdf/bulk")
+    public ResponseEntity<?> generateLTAPdfBulk(@RequestBody LTABulkExportRequest request) {
+        List<Long> ids;
+        try {
+            ids = ltaBulkExportService.resolveIds(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
+        }
+
+        if (ids.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+
+        logger.info("Bulk LTA export: {} documents, format {}", ids.size(), request.getFormat());
+
+        HttpHeaders headers = new HttpHeaders();
+        StreamingResponseBody body;
+        if (request.getFormat() == BulkExportFormat.ZIP) {
+            headers.setContentType(MediaType.valueOf("application/zip"));
+            headers.setContentDispositionFormData("attachment", "LTAs.zip");
+            body = outputStream -> ltaBulkExportService.writeZip(ids, outputStream);
+        } else {
+            headers.setContentType(MediaType.APPLICATION_PDF);
+            headers.setContentDispositionFormData("attachment", "LTAs.pdf");
+            body = outputStream -> ltaBulkExportService.writeMergedPdf(ids, outputStream);
+        }
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
     private LTAResponse convertToResponse(LTA lta) {
+        return convertToResponse(LTAView.of(lta));
+    }
+
+    private LTAResponse convertToResponse(LTAView lta) {
         LTAResponse response = new LTAResponse();
         response.setId(lta.getId());
         response.setLtaNumber(lta.getLtaNumber());
-        response.setTrackingNumber(lta.getTrackingNumber()); // Ajout du mapping trackingNumber
+        response.setTrackingNumber(lta.getTrackingNumber());
         response.setStatus(lta.getStatus());
         response.setShipperName(lta.getShipperName());
         response.setShipperAddress(lta.getShipperAddress());
@@ -413,136 +607,36 @@ public class LTAController {
         response.setUpdatedAt(lta.getUpdatedAt());
 
         // Set city information
-        if (lta.getOriginCity() != null) {
+        if (lta.getOriginCityId() != null) {
             CityResponse originCity = new CityResponse();
-            originCity.setId(lta.getOriginCity().getId());
-            originCity.setName(lta.getOriginCity().getName());
-            originCity.setIataCode(lta.getOriginCity().getIataCode());
+            originCity.setId(lta.getOriginCityId());
+            originCity.setName(lta.getOriginCityName());
+            originCity.setIataCode(lta.getOriginCityIataCode());
             response.setOriginCity(originCity);
         }
 
-        if (lta.getDestinationCity() != null) {
+        if (lta.getDestinationCityId() != null) {
             CityResponse destinationCity = new CityResponse();
-            destinationCity.setId(lta.getDestinationCity().getId());
-            destinationCity.setName(lta.getDestinationCity().getName());
-            destinationCity.setIataCode(lta.getDestinationCity().getIataCode());
+            destinationCity.setId(lta.getDestinationCityId());
+            destinationCity.setName(lta.getDestinationCityName());
+            destinationCity.setIataCode(lta.getDestinationCityIataCode());
             response.setDestinationCity(destinationCity);
         }
 
         // Set client information
-        if (lta.getClient() != null) {
+        if (lta.getClientId() != null) {
             ClientResponse client = new ClientResponse();
-            client.setId(lta.getClient().getId());
-            client.setName(lta.getClient().getName());
-            client.setAddress(lta.getClient().getAddress());
-            client.setContactNumber(lta.getClient().getContactNumber());
-            client.setEmail(lta.getClient().getEmail());
+            client.setId(lta.getClientId());
+            client.setName(lta.getClientName());
+            client.setAddress(lta.getClientAddress());
+            client.setContactNumber(lta.getClientContactNumber());
+            client.setEmail(lta.getClientEmail());
             response.setClient(client);
         }
 
         return response;
     }
 
-    private LTAResponse convertToPublicResponse(LTA lta) {
-        LTAResponse response = new LTAResponse();
-        response.setId(lta.getId());
-        response.setLtaNumber(lta.getLtaNumber());
-        response.setTrackingNumber(lta.getTrackingNumber());
-        response.setStatus(lta.getStatus());
-        response.setShipperName(lta.getShipperName());
-        response.setConsigneeName(lta.getConsigneeName());
-        response.setTotalWeight(lta.getTotalWeight());
-        response.setPackageNature(lta.getPackageNature());
-        response.setPackageCount(lta.getPackageCount());
-        response.setPickupDate(lta.getPickupDate());
-        response.setDeliveryDate(lta.getDeliveryDate());
-        response.setCreatedAt(lta.getCreatedAt());
-        response.setUpdatedAt(lta.getUpdatedAt());
-
-        // Set city information with full details
-        if (lta.getOriginCity() != null) {
-            CityResponse originCity = new CityResponse();
-            originCity.setId(lta.getOriginCity().getId());
-            originCity.setName(lta.getOriginCity().getName());
-            originCity.setIataCode(lta.getOriginCity().getIataCode());
-            originCity.setCountry(lta.getOriginCity().getCountry());
-            response.setOriginCity(originCity);
-        }
-
-        if (lta.getDestinationCity() != null) {
-            CityResponse destinationCity = new CityResponse();
-            destinationCity.setId(lta.getDestinationCity().getId());
-            destinationCity.setName(lta.getDestinationCity().getName());
-            destinationCity.setIataCode(lta.getDestinationCity().getIataCode());
-            destinationCity.setCountry(lta.getDestinationCity().getCountry());
-            response.setDestinationCity(destinationCity);
-        }
-
-        // Add status history for public tracking
-        try {
-            List<LTAStatusHistory> statusHistory = ltaService.getStatusHistoryByTrackingNumber(lta.getTrackingNumber());
-            List<LTAStatusHistoryResponse> historyResponses = statusHistory.stream()
-                    .map(this::convertToHistoryResponse)
-                    .collect(Collectors.toList());
-
-            // Add current status if no history exists
-            if (historyResponses.isEmpty()) {
-                LTAStatusHistoryResponse currentStatus = new LTAStatusHistoryResponse(
-                        null,
-                        lta.getStatus().toString(),
-                        "SYSTEM",
-                        lta.getCreatedAt());
-                historyResponses.add(currentStatus);
-            }
-
-            response.setStatusHistory(historyResponses);
-            logger.info("✅ Added {} status history entries to public response", historyResponses.size());
-        } catch (Exception e) {
-            logger.error("❌ Error loading status history for tracking {}: {}", lta.getTrackingNumber(), e.getMessage());
-        }
-
-        return response;
-    }
-
-    private LTAStatusHistoryResponse convertToHistoryResponse(LTAStatusHistory history) {
-        LTAStatusHistoryResponse response = new LTAStatusHistoryResponse();
-        response.setId(history.getId());
-        response.setPreviousStatus(history.getPreviousStatus());
-        response.setNewStatus(history.getNewStatus());
-        response.setChangedBy(history.getChangedBy());
-        response.setChangeReason(history.getChangeReason());
-        response.setChangedAt(history.getChangedAt());
-        response.setStatusLabel(getStatusLabel(history.getNewStatus()));
-        response.setStatusDescription(getStatusDescription(history.getNewStatus()));
-        return response;
-    }
-
-    private String getStatusLabel(String status) {
-        if (status == null)
-            return "Inconnu";
-        return switch (status) {
-            case "DRAFT" -> "Brouillon";
-            case "CONFIRMED" -> "Confirmé";
-            case "IN_TRANSIT" -> "En transit";
-            case "DELIVERED" -> "Livré";
-            case "CANCELLED" -> "Annulé";
-            default -> status;
-        };
-    }
-
-    private String getStatusDescription(String status) {
-        if (status == null)
-            return "Statut inconnu";
-        return switch (status) {
-            case "DRAFT" -> "LTA créée en brouillon";
-            case "CONFIRMED" -> "LTA confirmée et prête pour expédition";
-            case "IN_TRANSIT" -> "Colis en cours de transport";
-            case "DELIVERED" -> "Colis livré à destination";
-            case "CANCELLED" -> "LTA annulée";
-            default -> "Changement de statut vers " + status;
-        };
-    }
-
     /**
      * Convert LTA entity to DTO (for backward compatibility)
      */
@@ -568,6 +662,8 @@ public class LTAController {
     // Inner classes for request/response objects
     public static class StatusUpdateRequest {
         private LTAStatus status;
+        private String reason;
+        private String location;
 
         public LTAStatus getStatus() {
             return status;
@@ -576,6 +672,22 @@ public class LTAController {
         public void setStatus(LTAStatus status) {
             this.status = status;
         }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public void setLocation(String location) {
+            this.location = location;
+        }
     }
 
     public static class ErrorResponse {
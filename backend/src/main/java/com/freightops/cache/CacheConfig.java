@@ -0,0 +1,102 @@
+package com.freightops.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+
+/**
+ * Cache topology for reference data (cities, tariffs, chart of accounts,
+ * taxes, current fiscal year, currencies)
+ * - L1: Caffeine, per node
+ * - L2: Redis, shared by all nodes (cache.redis.enabled=true)
+ * - invalidations published on cache.invalidation-channel so every node
+ *   drops its L1 copy when an entry changes
+ * Metrics: cache.gets / cache.puts / cache.evictions (L1) and cache.l2.gets (L2)
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Value("${cache.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    @Value("${cache.key-prefix:freightops:}")
+    private String keyPrefix;
+
+    @Value("${cache.default-ttl:10m}")
+    private Duration defaultTtl;
+
+    @Value("${cache.default-max-entries:10000}")
+    private long defaultMaxEntries;
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(Environment environment, MeterRegistry meterRegistry,
+            ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+        RedisCacheWriter redisCacheWriter = null;
+        if (redisEnabled) {
+            redisCacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(
+                    redisConnectionFactory.getObject(), BatchStrategies.scan(1000));
+        }
+        return new TwoLevelCacheManager(environment, meterRegistry, redisCacheWriter,
+                cacheValueSerializer(), keyPrefix, defaultTtl, defaultMaxEntries);
+    }
+
+    private static RedisSerializer<Object> cacheValueSerializer() {
+        return RedisSerializer.java(CacheConfig.class.getClassLoader());
+    }
+
+    /**
+     * Cross-node invalidation over Redis pub/sub
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+    static class CacheInvalidationConfig {
+
+        @Value("${cache.invalidation-channel:freightops:cache-invalidation}")
+        private String invalidationChannel;
+
+        @Bean
+        public RedisTemplate<String, Object> cacheInvalidationTemplate(RedisConnectionFactory connectionFactory,
+                TwoLevelCacheManager cacheManager) {
+            RedisTemplate<String, Object> template = new RedisTemplate<>();
+            template.setConnectionFactory(connectionFactory);
+            template.setKeySerializer(RedisSerializer.string());
+            template.setValueSerializer(cacheValueSerializer());
+            template.afterPropertiesSet();
+
+            cacheManager.setInvalidationPublisher(
+                    invalidation -> template.convertAndSend(invalidationChannel, invalidation));
+            return template;
+        }
+
+        @Bean
+        public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+                RedisConnectionFactory connectionFactory, TwoLevelCacheManager cacheManager) {
+            RedisSerializer<Object> serializer = cacheValueSerializer();
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener((message, pattern) -> {
+                Object body = serializer.deserialize(message.getBody());
+                if (body instanceof CacheInvalidation) {
+                    cacheManager.onRemoteInvalidation((CacheInvalidation) body);
+                }
+            }, new ChannelTopic(invalidationChannel));
+            return container;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.freightops.cache;
+
+import java.io.Serializable;
+
+/**
+ * Invalidation broadcast on the Redis channel cache.invalidation-channel
+ * so that the other nodes drop the entry from their local (L1) cache
+ */
+public class CacheInvalidation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String origin;
+    private final String cacheName;
+    private final Object key;
+
+    private CacheInvalidation(String origin, String cacheName, Object key) {
+        this.origin = origin;
+        this.cacheName = cacheName;
+        this.key = key;
+    }
+
+    public static CacheInvalidation evict(String origin, String cacheName, Object key) {
+        return new CacheInvalidation(origin, cacheName, key);
+    }
+
+    public static CacheInvalidation clear(String origin, String cacheName) {
+        return new CacheInvalidation(origin, cacheName, null);
+    }
+
+    /**
+     * Node that sent the invalidation
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * Evicted key, or null when the whole cache was cleared
+     */
+    public Object getKey() {
+        return key;
+    }
+
+    public boolean isClear() {
+        return key == null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.freightops.cache;
+
+import java.util.Set;
+
+/**
+ * Names of the application caches
+ * TTLs are configured per cache with cache.ttl.&lt;name&gt; (default cache.default-ttl)
+ */
+public final class CacheNames {
+
+    public static final String CITY_BY_ID = "cityById";
+    public static final String CITY_BY_IATA = "cityByIata";
+    public static final String TARIFF_BY_ROUTE = "tariffByRoute";
+    public static final String CHART_OF_ACCOUNTS = "chartOfAccounts";
+    public static final String ACTIVE_TAXES = "activeTaxes";
+    public static final String CURRENT_FISCAL_YEAR = "currentFiscalYear";
+    public static final String TREASURY_PERIOD_TOTALS = "treasuryPeriodTotals";
+    public static final String PUBLIC_TRACKING = "publicTracking";
+    public static final String LTA_TIMELINE = "ltaTimeline";
+
+    // Currency caches (CurrencyService)
+    public static final String CURRENCIES = "currencies";
+    public static final String DEFAULT_CURRENCY = "defaultCurrency";
+    public static final String CURRENCY = "currency";
+    public static final String EXCHANGE_RATE = "exchangeRate";
+    public static final String EXCHANGE_RATES = "exchangeRates";
+
+    /**
+     * Caches holding JPA entities: each read returns its own detached copy,
+     * so a caller changing an instance never affects other requests
+     */
+    public static final Set<String> ENTITY_CACHES = Set.of(
+            CITY_BY_ID, CITY_BY_IATA, TARIFF_BY_ROUTE, ACTIVE_TAXES, CURRENT_FISCAL_YEAR,
+            CURRENCIES, DEFAULT_CURRENCY, CURRENCY, EXCHANGE_RATE, EXCHANGE_RATES);
+
+    private CacheNames() {
+    }
+}
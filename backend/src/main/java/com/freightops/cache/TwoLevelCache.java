@@ -0,0 +1,222 @@
+package com.freightops.cache;
+
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Two-level cache: in-process Caffeine cache (L1) in front of Redis (L2)
+ * Reads go L1, then L2, then the loader; writes and evictions go to both
+ * levels and are broadcast so the other nodes drop their L1 copy.
+ * Redis errors are logged and the cache degrades to L1 only.
+ * Caches holding mutable values (JPA entities) are copy-on-read: L1 keeps
+ * the serialized form and every read gets its own detached copy.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+    private final RedisCacheWriter redisCacheWriter;
+    private final RedisSerializer<Object> valueSerializer;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final Consumer<CacheInvalidation> invalidationPublisher;
+    private final String nodeId;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final boolean copyOnRead;
+
+    /**
+     * @param redisCacheWriter      L2 writer, or null for an L1-only cache
+     * @param invalidationPublisher sends invalidations to the other nodes
+     * @param copyOnRead            hand out a fresh copy of the value on every read
+     */
+    public TwoLevelCache(String name,
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache,
+            RedisCacheWriter redisCacheWriter,
+            RedisSerializer<Object> valueSerializer,
+            String keyPrefix,
+            Duration ttl,
+            Consumer<CacheInvalidation> invalidationPublisher,
+            String nodeId,
+            Counter remoteHits,
+            Counter remoteMisses,
+            boolean copyOnRead) {
+        super(true);
+        this.name = name;
+        this.localCache = localCache;
+        this.redisCacheWriter = redisCacheWriter;
+        this.valueSerializer = valueSerializer;
+        this.keyPrefix = keyPrefix;
+        this.ttl = ttl;
+        this.invalidationPublisher = invalidationPublisher;
+        this.nodeId = nodeId;
+        this.remoteHits = remoteHits;
+        this.remoteMisses = remoteMisses;
+        this.copyOnRead = copyOnRead;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object localValue = localCache.getIfPresent(key);
+        if (localValue != null) {
+            return fromLocalValue(localValue);
+        }
+        Object value = remoteGet(key);
+        if (value != null) {
+            localCache.put(key, toLocalValue(value));
+        }
+        return value;
+    }
+
+    /**
+     * Loads outside of Caffeine's per-key compute lock, so a slow query does
+     * not hold the lock; concurrent misses on the same key may each load
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object localValue = localCache.getIfPresent(key);
+        if (localValue != null) {
+            return (T) fromStoreValue(fromLocalValue(localValue));
+        }
+        Object storeValue = remoteGet(key);
+        if (storeValue == null) {
+            try {
+                storeValue = toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            remotePut(key, storeValue);
+        }
+        localCache.put(key, toLocalValue(storeValue));
+        return (T) fromStoreValue(storeValue);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        remotePut(key, storeValue);
+        localCache.put(key, toLocalValue(storeValue));
+        publish(CacheInvalidation.evict(nodeId, name, key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteRemove(key);
+        localCache.invalidate(key);
+        publish(CacheInvalidation.evict(nodeId, name, key));
+    }
+
+    @Override
+    public void clear() {
+        remoteClear();
+        localCache.invalidateAll();
+        publish(CacheInvalidation.clear(nodeId, name));
+    }
+
+    /**
+     * Applies an invalidation received from another node to the L1 cache only
+     */
+    public void evictLocal(CacheInvalidation invalidation) {
+        if (invalidation.isClear()) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(invalidation.getKey());
+        }
+    }
+
+    private Object toLocalValue(Object storeValue) {
+        return copyOnRead ? valueSerializer.serialize(storeValue) : storeValue;
+    }
+
+    private Object fromLocalValue(Object localValue) {
+        return copyOnRead ? valueSerializer.deserialize((byte[]) localValue) : localValue;
+    }
+
+    private Object remoteGet(Object key) {
+        if (redisCacheWriter == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = redisCacheWriter.get(name, redisKey(key));
+            if (bytes == null) {
+                remoteMisses.increment();
+                return null;
+            }
+            remoteHits.increment();
+            return valueSerializer.deserialize(bytes);
+        } catch (RuntimeException e) {
+            logger.warn("Redis read failed for cache {} key {}: {}", name, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void remotePut(Object key, Object storeValue) {
+        if (redisCacheWriter == null) {
+            return;
+        }
+        try {
+            redisCacheWriter.put(name, redisKey(key), valueSerializer.serialize(storeValue), ttl);
+        } catch (RuntimeException e) {
+            logger.warn("Redis write failed for cache {} key {}: {}", name, key, e.getMessage());
+        }
+    }
+
+    private void remoteRemove(Object key) {
+        if (redisCacheWriter == null) {
+            return;
+        }
+        try {
+            redisCacheWriter.remove(name, redisKey(key));
+        } catch (RuntimeException e) {
+            logger.warn("Redis evict failed for cache {} key {}: {}", name, key, e.getMessage());
+        }
+    }
+
+    private void remoteClear() {
+        if (redisCacheWriter == null) {
+            return;
+        }
+        try {
+            redisCacheWriter.clean(name, (keyPrefix + name + "::*").getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            logger.warn("Redis clear failed for cache {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void publish(CacheInvalidation invalidation) {
+        if (invalidationPublisher == null) {
+            return;
+        }
+        try {
+            invalidationPublisher.accept(invalidation);
+        } catch (RuntimeException e) {
+            logger.warn("Cache invalidation broadcast failed for cache {}: {}", name, e.getMessage());
+        }
+    }
+
+    private byte[] redisKey(Object key) {
+        return (keyPrefix + name + "::" + key).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,122 @@
+package com.freightops.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Cache manager creating a {@link TwoLevelCache} per cache name on first use
+ * TTL and L1 size are read per cache (cache.ttl.&lt;name&gt;, cache.max-entries.&lt;name&gt;)
+ * with cache.default-ttl / cache.default-max-entries as fallback; TTLs are
+ * parsed here (10m, 1h, PT30S) rather than by the environment's conversion
+ * service, which a plain Environment does not have. Puts and
+ * evictions made inside a transaction are applied after commit. Caches
+ * listed in {@link CacheNames#ENTITY_CACHES} are copy-on-read.
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final RedisCacheWriter redisCacheWriter;
+    private final RedisSerializer<Object> valueSerializer;
+    private final String keyPrefix;
+    private final Duration defaultTtl;
+    private final long defaultMaxEntries;
+    private volatile Consumer<CacheInvalidation> invalidationPublisher;
+
+    /**
+     * @param redisCacheWriter L2 writer, or null to run with the local cache only
+     */
+    public TwoLevelCacheManager(Environment environment, MeterRegistry meterRegistry,
+            RedisCacheWriter redisCacheWriter, RedisSerializer<Object> valueSerializer,
+            String keyPrefix, Duration defaultTtl, long defaultMaxEntries) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.redisCacheWriter = redisCacheWriter;
+        this.valueSerializer = valueSerializer;
+        this.keyPrefix = keyPrefix;
+        this.defaultTtl = defaultTtl;
+        this.defaultMaxEntries = defaultMaxEntries;
+        setTransactionAware(true);
+    }
+
+    public void setInvalidationPublisher(Consumer<CacheInvalidation> invalidationPublisher) {
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        String configuredTtl = environment.getProperty("cache.ttl." + name);
+        Duration ttl = configuredTtl != null ? DurationStyle.detectAndParse(configuredTtl) : defaultTtl;
+        long maxEntries = environment.getProperty("cache.max-entries." + name, Long.class, defaultMaxEntries);
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, name);
+
+        return new TwoLevelCache(name, localCache, redisCacheWriter, valueSerializer, keyPrefix, ttl,
+                this::publishInvalidation, nodeId,
+                remoteCounter(name, "hit"),
+                remoteCounter(name, "miss"),
+                CacheNames.ENTITY_CACHES.contains(name));
+    }
+
+    /**
+     * Applies an invalidation received from another node
+     */
+    public void onRemoteInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.getOrigin())) {
+            return;
+        }
+        Cache cache = lookupCache(invalidation.getCacheName());
+        if (cache instanceof TransactionAwareCacheDecorator) {
+            cache = ((TransactionAwareCacheDecorator) cache).getTargetCache();
+        }
+        if (cache instanceof TwoLevelCache) {
+            ((TwoLevelCache) cache).evictLocal(invalidation);
+        }
+    }
+
+    private void publishInvalidation(CacheInvalidation invalidation) {
+        Consumer<CacheInvalidation> publisher = invalidationPublisher;
+        if (publisher != null) {
+            publisher.accept(invalidation);
+        }
+    }
+
+    private Counter remoteCounter(String name, String result) {
+        return Counter.builder("cache.l2.gets")
+                .description("Redis (L2) lookups after an L1 miss")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,143 @@
+package com.freightops.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Bearer token verification for the authentication filter
+ * A token is parsed (signature and expiration checked) once; the resulting
+ * principal is kept in a bounded local cache keyed by the SHA-256 of the
+ * token until the token expires, or jwt.principal-cache.ttl if sooner: a
+ * disabled user or a role change takes effect on every node within that TTL.
+ * Later requests with the same token skip the HMAC verification and the user
+ * lookup.
+ * The cache is per node on purpose: principals are not written to Redis.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenVerifier.class);
+
+    private final JwtUtils jwtUtils;
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, VerifiedPrincipal> principals;
+
+    public JwtTokenVerifier(JwtUtils jwtUtils,
+            UserDetailsService userDetailsService,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.principal-cache.max-entries:10000}") long maxEntries,
+            @Value("${jwt.principal-cache.ttl:5m}") Duration ttl) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new PrincipalExpiry(ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "jwtPrincipals");
+    }
+
+    /**
+     * Principal of a bearer token
+     *
+     * @return empty if the token is invalid or expired
+     */
+    public Optional<UserDetails> verify(String token) {
+        String key = hash(token);
+        VerifiedPrincipal cached = principals.getIfPresent(key);
+        if (cached != null && cached.expiresAt.isAfter(Instant.now())) {
+            return Optional.of(cached.userDetails);
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtils.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        if (claims.getExpiration() != null) {
+            principals.put(key, new VerifiedPrincipal(userDetails, claims.getExpiration().toInstant()));
+        }
+        return Optional.of(userDetails);
+    }
+
+    long getCachedPrincipalCount() {
+        principals.cleanUp();
+        return principals.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class VerifiedPrincipal {
+
+        private final UserDetails userDetails;
+        private final Instant expiresAt;
+
+        private VerifiedPrincipal(UserDetails userDetails, Instant expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Entries live until the token expires, capped by the configured TTL
+     */
+    private static final class PrincipalExpiry implements Expiry<String, VerifiedPrincipal> {
+
+        private final Duration ttl;
+
+        private PrincipalExpiry(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedPrincipal value, long currentTime) {
+            Duration untilExpiry = Duration.between(Instant.now(), value.expiresAt);
+            if (untilExpiry.isNegative()) {
+                return 0;
+            }
+            return (untilExpiry.compareTo(ttl) < 0 ? untilExpiry : ttl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedPrincipal value, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedPrincipal value, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -5,8 +5,8 @@ import com.freightops.entity.CashBox;
 import com.freightops.entity.TreasuryTransaction;
 import com.freightops.enums.TransactionType;
 import com.freightops.repository.CashBoxRepository;
-import com.freightops.repository.TreasuryTransactionRepository;
 import com.freightops.service.CashStatementService;
+import com.freightops.service.TreasuryTransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -30,7 +30,7 @@ public class CashStatementController {
     private CashBoxRepository cashBoxRepository;
 
     @Autowired
-    private TreasuryTransactionRepository treasuryTransactionRepository;
+    private TreasuryTransactionService treasuryTransactionService;
 
     @GetMapping("/statement")
     public ResponseEntity<CashStatementDTO> getCashStatement(
@@ -117,8 +117,8 @@ public class CashStatementController {
                 transaction.setType(TransactionType.INCOME); // Par défaut
             }
 
-            // Sauvegarder la transaction
-            TreasuryTransaction savedTransaction = treasuryTransactionRepository.save(transaction);
+            // Sauvegarder la transaction (points de solde journaliers mis à jour)
+            TreasuryTransaction savedTransaction = treasuryTransactionService.recordCashOperation(transaction);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -155,7 +155,7 @@ public class CashStatementController {
             testTransaction.setType(TransactionType.INCOME);
 
             // Sauvegarder
-            TreasuryTransaction saved = treasuryTransactionRepository.save(testTransaction);
+            TreasuryTransaction saved = treasuryTransactionService.recordCashOperation(testTransaction);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
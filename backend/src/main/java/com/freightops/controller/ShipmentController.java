@@ -1,17 +1,25 @@
 package com.freightops.controller;
 
+import com.freightops.dto.BulkStatusRequest;
+import com.freightops.dto.BulkStatusResult;
 import com.freightops.entity.Shipment;
 import com.freightops.entity.TrackingEvent;
 import com.freightops.enums.ShipmentStatus;
+import com.freightops.pagination.CursorPage;
 import com.freightops.service.ShipmentService;
+import com.freightops.tracking.service.TrackingPushService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/shipments")
@@ -21,6 +29,9 @@ public class ShipmentController {
     @Autowired
     private ShipmentService shipmentService;
 
+    @Autowired
+    private TrackingPushService trackingPushService;
+
     /**
      * Create a new shipment
      */
@@ -47,6 +58,24 @@ public class ShipmentController {
         }
     }
 
+    /**
+     * Subscribe to tracking events of a shipment (Server-Sent Events)
+     * Each new tracking event is pushed as a "shipment-event" event
+     */
+    @GetMapping("/track/{trackingNumber}/events")
+    public ResponseEntity<SseEmitter> subscribeTracking(@PathVariable String trackingNumber) {
+        if (!shipmentService.existsByTrackingNumber(trackingNumber)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(trackingPushService.subscribe(trackingNumber));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     /**
      * Get shipment by ID (Admin only)
      */
@@ -78,6 +107,26 @@ public class ShipmentController {
         return ResponseEntity.ok(shipments);
     }
 
+    /**
+     * Search shipments with keyset pagination (Admin only)
+     * Pass the nextCursor of a page to get the following one
+     */
+    @GetMapping("/search/cursor")
+    public ResponseEntity<CursorPage<Shipment>> searchShipmentsByCursor(
+            @RequestParam(required = false) String trackingNumber,
+            @RequestParam(required = false) String senderName,
+            @RequestParam(required = false) String recipientName,
+            @RequestParam(required = false) ShipmentStatus status,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPage<Shipment> shipments = shipmentService.searchShipmentsAfter(
+                trackingNumber, senderName, recipientName, status, clientId, cursor, size, includeTotal);
+        return ResponseEntity.ok(shipments);
+    }
+
     /**
      * Get shipments by client (Client portal)
      */
@@ -143,6 +192,23 @@ public class ShipmentController {
         }
     }
 
+    /**
+     * Move several shipments to the same status (Admin only)
+     * 409 with the rejected shipments if the set does not validate
+     */
+    @PostMapping("/status/bulk")
+    public ResponseEntity<?> updateShipmentStatuses(@RequestBody BulkStatusRequest<ShipmentStatus> request) {
+        try {
+            BulkStatusResult result = shipmentService.updateShipmentStatuses(request);
+            return result.isApplied() ? ResponseEntity.ok(result)
+                    : ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Update shipment (Admin only)
      */
@@ -2,10 +2,13 @@ package com.freightops.dashboard.controller;
 
 import com.freightops.dashboard.service.DashboardService;
 import com.freightops.dashboard.dto.DashboardStatsResponse;
+import com.freightops.dashboard.dto.DashboardTotalsResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/dashboard")
 @CrossOrigin(origins = "*")
@@ -14,7 +17,10 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
-    @GetMapping("/stats")
+    /**
+     * Dashboard statistics, served from in-memory counters
+     */
+    @GetMapping({ "", "/stats" })
     public ResponseEntity<DashboardStatsResponse> getDashboardStats() {
         DashboardStatsResponse stats = dashboardService.getDashboardStats();
         return ResponseEntity.ok(stats);
@@ -26,9 +32,11 @@ public class DashboardController {
         return ResponseEntity.ok("Recent activities endpoint - to be implemented");
     }
 
+    /**
+     * Daily totals of the last days, oldest first
+     */
     @GetMapping("/revenue-chart")
-    public ResponseEntity<?> getRevenueChart(@RequestParam(defaultValue = "30") int days) {
-        // TODO: Implement revenue chart endpoint
-        return ResponseEntity.ok("Revenue chart endpoint - to be implemented");
+    public ResponseEntity<List<DashboardTotalsResponse>> getRevenueChart(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(dashboardService.getDailyTotals(days));
     }
 }
@@ -1,5 +1,10 @@
 package com.freightops.dashboard.dto;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 public class DashboardStatsResponse {
     private Long totalLTAs;
     private Long activeLTAs;
@@ -7,6 +12,14 @@ public class DashboardStatsResponse {
     private Long deliveredLTAs;
     private Double totalRevenue;
     private Double monthlyRevenue;
+    private Map<String, Long> ltaCountByStatus;
+    private BigDecimal totalBookedValue;
+    private BigDecimal totalInvoiced;
+    private BigDecimal monthlyInvoiced;
+    private List<DashboardTotalsResponse> daily;
+    private List<DashboardTotalsResponse> topRoutes;
+    private List<DashboardTotalsResponse> topClients;
+    private LocalDateTime reconciledAt;
 
     public DashboardStatsResponse() {
     }
@@ -58,4 +71,68 @@ public class DashboardStatsResponse {
     public void setMonthlyRevenue(Double monthlyRevenue) {
         this.monthlyRevenue = monthlyRevenue;
     }
+
+    public Map<String, Long> getLtaCountByStatus() {
+        return ltaCountByStatus;
+    }
+
+    public void setLtaCountByStatus(Map<String, Long> ltaCountByStatus) {
+        this.ltaCountByStatus = ltaCountByStatus;
+    }
+
+    public BigDecimal getTotalBookedValue() {
+        return totalBookedValue;
+    }
+
+    public void setTotalBookedValue(BigDecimal totalBookedValue) {
+        this.totalBookedValue = totalBookedValue;
+    }
+
+    public BigDecimal getTotalInvoiced() {
+        return totalInvoiced;
+    }
+
+    public void setTotalInvoiced(BigDecimal totalInvoiced) {
+        this.totalInvoiced = totalInvoiced;
+    }
+
+    public BigDecimal getMonthlyInvoiced() {
+        return monthlyInvoiced;
+    }
+
+    public void setMonthlyInvoiced(BigDecimal monthlyInvoiced) {
+        this.monthlyInvoiced = monthlyInvoiced;
+    }
+
+    public List<DashboardTotalsResponse> getDaily() {
+        return daily;
+    }
+
+    public void setDaily(List<DashboardTotalsResponse> daily) {
+        this.daily = daily;
+    }
+
+    public List<DashboardTotalsResponse> getTopRoutes() {
+        return topRoutes;
+    }
+
+    public void setTopRoutes(List<DashboardTotalsResponse> topRoutes) {
+        this.topRoutes = topRoutes;
+    }
+
+    public List<DashboardTotalsResponse> getTopClients() {
+        return topClients;
+    }
+
+    public void setTopClients(List<DashboardTotalsResponse> topClients) {
+        this.topClients = topClients;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
 }
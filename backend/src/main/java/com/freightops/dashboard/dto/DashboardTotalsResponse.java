@@ -0,0 +1,76 @@
+package com.freightops.dashboard.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Dashboard totals of one day, route or client
+ */
+public class DashboardTotalsResponse {
+    private String key;
+    private String label;
+    private long ltaCount;
+    private BigDecimal bookedValue;
+    private BigDecimal invoicedAmount;
+    private BigDecimal collectedAmount;
+
+    public DashboardTotalsResponse() {
+    }
+
+    public static DashboardTotalsResponse empty(String key) {
+        DashboardTotalsResponse response = new DashboardTotalsResponse();
+        response.setKey(key);
+        response.setLabel(key);
+        response.setBookedValue(BigDecimal.ZERO);
+        response.setInvoicedAmount(BigDecimal.ZERO);
+        response.setCollectedAmount(BigDecimal.ZERO);
+        return response;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getLtaCount() {
+        return ltaCount;
+    }
+
+    public void setLtaCount(long ltaCount) {
+        this.ltaCount = ltaCount;
+    }
+
+    public BigDecimal getBookedValue() {
+        return bookedValue;
+    }
+
+    public void setBookedValue(BigDecimal bookedValue) {
+        this.bookedValue = bookedValue;
+    }
+
+    public BigDecimal getInvoicedAmount() {
+        return invoicedAmount;
+    }
+
+    public void setInvoicedAmount(BigDecimal invoicedAmount) {
+        this.invoicedAmount = invoicedAmount;
+    }
+
+    public BigDecimal getCollectedAmount() {
+        return collectedAmount;
+    }
+
+    public void setCollectedAmount(BigDecimal collectedAmount) {
+        this.collectedAmount = collectedAmount;
+    }
+}
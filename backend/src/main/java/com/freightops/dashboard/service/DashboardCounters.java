@@ -0,0 +1,181 @@
+package com.freightops.dashboard.service;
+
+import com.freightops.enums.LTAStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory dashboard counters
+ * LTA counts per status, and LTA / invoice / payment totals overall, per day,
+ * per route and per client. Updates lock a single key; reads never touch the
+ * database. An instance is built from the database by a reconciliation and
+ * then kept up to date incrementally until the next one replaces it.
+ */
+public class DashboardCounters {
+
+    private final Map<LTAStatus, AtomicLong> ltaCountByStatus = new EnumMap<>(LTAStatus.class);
+    private final DashboardTotals overall = new DashboardTotals("all", null);
+    private final ConcurrentMap<LocalDate, DashboardTotals> daily = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DashboardTotals> routes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, DashboardTotals> clients = new ConcurrentHashMap<>();
+    private final LocalDateTime reconciledAt;
+
+    public DashboardCounters(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+        // All keys are created up front, so the map itself is never modified
+        for (LTAStatus status : LTAStatus.values()) {
+            ltaCountByStatus.put(status, new AtomicLong());
+        }
+    }
+
+    /**
+     * Move one LTA between statuses; a null previous status means a new LTA
+     */
+    public void ltaStatusChanged(LTAStatus previousStatus, LTAStatus newStatus) {
+        if (previousStatus != null) {
+            ltaCountByStatus.get(previousStatus).decrementAndGet();
+        }
+        if (newStatus != null) {
+            ltaCountByStatus.get(newStatus).incrementAndGet();
+        }
+    }
+
+    public void setLtaCount(LTAStatus status, long count) {
+        ltaCountByStatus.get(status).set(count);
+    }
+
+    /**
+     * Add (count 1) or remove (count -1) booked LTAs, on their creation day
+     *
+     * @param routeLabel  label used if the route is not known yet, may be null
+     * @param clientId    client of the LTAs, null for cash LTAs
+     * @param clientLabel label used if the client is not known yet, may be null
+     */
+    public void addLtas(LocalDate day, Long originCityId, Long destinationCityId, String routeLabel, Long clientId,
+            String clientLabel, long count, BigDecimal value) {
+        overall.addLtas(count, value);
+        if (day != null) {
+            dayTotals(day).addLtas(count, value);
+        }
+        if (originCityId != null && destinationCityId != null) {
+            route(originCityId, destinationCityId, routeLabel).addLtas(count, value);
+        }
+        if (clientId != null) {
+            clientTotals(clientId, clientLabel).addLtas(count, value);
+        }
+    }
+
+    public void addInvoiced(LocalDate day, Long clientId, String clientLabel, BigDecimal amount) {
+        overall.addInvoiced(amount);
+        if (day != null) {
+            dayTotals(day).addInvoiced(amount);
+        }
+        if (clientId != null) {
+            clientTotals(clientId, clientLabel).addInvoiced(amount);
+        }
+    }
+
+    public void addCollected(LocalDate day, Long clientId, String clientLabel, BigDecimal amount) {
+        overall.addCollected(amount);
+        if (day != null) {
+            dayTotals(day).addCollected(amount);
+        }
+        if (clientId != null) {
+            clientTotals(clientId, clientLabel).addCollected(amount);
+        }
+    }
+
+    public long getLtaCount(LTAStatus status) {
+        return ltaCountByStatus.get(status).get();
+    }
+
+    public long getTotalLtaCount() {
+        long total = 0;
+        for (AtomicLong count : ltaCountByStatus.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    public DashboardTotals getOverall() {
+        return overall;
+    }
+
+    /**
+     * Totals of one day, or null if nothing happened that day
+     */
+    public DashboardTotals getDay(LocalDate day) {
+        return daily.get(day);
+    }
+
+    /**
+     * Routes with the highest booked value
+     */
+    public List<DashboardTotals> getTopRoutes(int limit) {
+        return top(routes.values(), limit, DashboardTotals::getBookedValue);
+    }
+
+    /**
+     * Clients with the highest invoiced amount
+     */
+    public List<DashboardTotals> getTopClients(int limit) {
+        return top(clients.values(), limit, DashboardTotals::getInvoicedAmount);
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    static String routeKey(Long originCityId, Long destinationCityId) {
+        return originCityId + ">" + destinationCityId;
+    }
+
+    /**
+     * Totals of a day, created if missing; unlike addLtas and the like, adding
+     * to them leaves the overall totals unchanged
+     */
+    DashboardTotals dayTotals(LocalDate day) {
+        return daily.computeIfAbsent(day, key -> new DashboardTotals(key.toString(), null));
+    }
+
+    private DashboardTotals route(Long originCityId, Long destinationCityId, String label) {
+        DashboardTotals totals = routes.computeIfAbsent(routeKey(originCityId, destinationCityId),
+                key -> new DashboardTotals(key, label));
+        totals.labelIfAbsent(label);
+        return totals;
+    }
+
+    /**
+     * Totals of a client, created if missing; adding to them leaves the
+     * overall totals unchanged
+     */
+    DashboardTotals clientTotals(Long clientId, String label) {
+        DashboardTotals totals = clients.computeIfAbsent(clientId,
+                key -> new DashboardTotals(String.valueOf(key), label));
+        totals.labelIfAbsent(label);
+        return totals;
+    }
+
+    private static List<DashboardTotals> top(Collection<DashboardTotals> totals, int limit,
+            Function<DashboardTotals, BigDecimal> value) {
+        if (limit <= 0 || totals.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<DashboardTotals> sorted = new ArrayList<>(totals);
+        sorted.sort(Comparator.comparing(value).reversed());
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+}
@@ -1,38 +1,336 @@
 package com.freightops.dashboard.service;
 
+import com.freightops.accounting.events.InvoiceCreatedEvent;
+import com.freightops.accounting.events.PaymentReceivedEvent;
 import com.freightops.dashboard.dto.DashboardStatsResponse;
-import com.freightops.service.LTAService;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.freightops.dashboard.dto.DashboardTotalsResponse;
+import com.freightops.dto.LTAView;
+import com.freightops.entity.Client;
+import com.freightops.entity.Invoice;
+import com.freightops.entity.Payment;
+import com.freightops.enums.InvoiceStatus;
+import com.freightops.enums.LTAStatus;
+import com.freightops.enums.PaymentStatus;
+import com.freightops.events.LTAStatusBatchChangedEvent;
+import com.freightops.events.LTAStatusChangedEvent;
+import com.freightops.repository.InvoiceRepository;
+import com.freightops.repository.LTARepository;
+import com.freightops.repository.PaymentRepository;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Dashboard statistics served from in-memory {@link DashboardCounters}
+ * The counters are rebuilt from GROUP BY queries at startup and every
+ * dashboard.reconcile-interval-ms, and updated in between from committed LTA
+ * status changes, issued invoices and completed payments. Reading the
+ * dashboard never queries the database.
+ * With events.bus.mode=amqp, LTA status changes reach every node through the
+ * broadcast queue, while invoices and payments only update the node that
+ * recorded them; other nodes catch up at the next reconciliation.
+ */
 @Service
 public class DashboardService {
 
-    @Autowired
-    private LTAService ltaService;
+    private static final Logger logger = Logger.getLogger(DashboardService.class.getName());
+
+    /**
+     * Invoice statuses that are not (or no longer) counted as issued
+     */
+    private static final Set<InvoiceStatus> NOT_ISSUED = EnumSet.of(InvoiceStatus.DRAFT, InvoiceStatus.PENDING,
+            InvoiceStatus.CANCELLED);
+
+    private final LTARepository ltaRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicReference<DashboardCounters> counters = new AtomicReference<>();
+
+    @Value("${dashboard.daily-window-days:90}")
+    private int dailyWindowDays = 90;
+
+    @Value("${dashboard.top-size:10}")
+    private int topSize = 10;
+
+    public DashboardService(LTARepository ltaRepository, InvoiceRepository invoiceRepository,
+            PaymentRepository paymentRepository, PlatformTransactionManager transactionManager) {
+        this.ltaRepository = ltaRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.paymentRepository = paymentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     public DashboardStatsResponse getDashboardStats() {
+        DashboardCounters current = getCounters();
+        LocalDate today = LocalDate.now();
+
         DashboardStatsResponse stats = new DashboardStatsResponse();
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (LTAStatus status : LTAStatus.values()) {
+            byStatus.put(status.name(), current.getLtaCount(status));
+        }
+        stats.setLtaCountByStatus(byStatus);
+        stats.setTotalLTAs(current.getTotalLtaCount());
+        stats.setActiveLTAs(current.getLtaCount(LTAStatus.CONFIRMED) + current.getLtaCount(LTAStatus.IN_TRANSIT));
+        stats.setInTransitLTAs(current.getLtaCount(LTAStatus.IN_TRANSIT));
+        stats.setDeliveredLTAs(current.getLtaCount(LTAStatus.DELIVERED));
+
+        DashboardTotals overall = current.getOverall();
+        stats.setTotalRevenue(overall.getCollectedAmount().doubleValue());
+        stats.setTotalBookedValue(overall.getBookedValue());
+        stats.setTotalInvoiced(overall.getInvoicedAmount());
 
-        // Get LTA statistics
-        try {
-            // TODO: Implement actual statistics calculation
-            stats.setTotalLTAs(0L);
-            stats.setActiveLTAs(0L);
-            stats.setInTransitLTAs(0L);
-            stats.setDeliveredLTAs(0L);
-            stats.setTotalRevenue(0.0);
-            stats.setMonthlyRevenue(0.0);
-        } catch (Exception e) {
-            // Set default values in case of error
-            stats.setTotalLTAs(0L);
-            stats.setActiveLTAs(0L);
-            stats.setInTransitLTAs(0L);
-            stats.setDeliveredLTAs(0L);
-            stats.setTotalRevenue(0.0);
-            stats.setMonthlyRevenue(0.0);
+        BigDecimal monthlyRevenue = BigDecimal.ZERO;
+        BigDecimal monthlyInvoiced = BigDecimal.ZERO;
+        for (LocalDate day = today.withDayOfMonth(1); !day.isAfter(today); day = day.plusDays(1)) {
+            DashboardTotals totals = current.getDay(day);
+            if (totals != null) {
+                monthlyRevenue = monthlyRevenue.add(totals.getCollectedAmount());
+                monthlyInvoiced = monthlyInvoiced.add(totals.getInvoicedAmount());
+            }
         }
+        stats.setMonthlyRevenue(monthlyRevenue.doubleValue());
+        stats.setMonthlyInvoiced(monthlyInvoiced);
 
+        stats.setDaily(getDailyTotals(30));
+        stats.setTopRoutes(toResponses(current.getTopRoutes(topSize)));
+        stats.setTopClients(toResponses(current.getTopClients(topSize)));
+        stats.setReconciledAt(current.getReconciledAt());
         return stats;
     }
+
+    /**
+     * Totals of the last days, oldest first, including days without activity
+     *
+     * @param days number of days, capped to dashboard.daily-window-days
+     */
+    public List<DashboardTotalsResponse> getDailyTotals(int days) {
+        DashboardCounters current = getCounters();
+        int count = Math.max(1, Math.min(days, dailyWindowDays));
+        LocalDate today = LocalDate.now();
+
+        List<DashboardTotalsResponse> daily = new ArrayList<>(count);
+        for (LocalDate day = today.minusDays(count - 1L); !day.isAfter(today); day = day.plusDays(1)) {
+            DashboardTotals totals = current.getDay(day);
+            daily.add(totals != null ? toResponse(totals) : DashboardTotalsResponse.empty(day.toString()));
+        }
+        return daily;
+    }
+
+    /**
+     * LTA count for one status, from the counters
+     */
+    public long getLtaCount(LTAStatus status) {
+        return getCounters().getLtaCount(status);
+    }
+
+    /**
+     * Current counters, built on first use if the application is not ready yet
+     */
+    public DashboardCounters getCounters() {
+        DashboardCounters current = counters.get();
+        if (current == null) {
+            synchronized (this) {
+                current = counters.get();
+                if (current == null) {
+                    current = reconcile();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Rebuild the counters from the database and swap them
+     * Changes committed while the queries run may be missed or counted twice
+     * until the next reconciliation.
+     */
+    public synchronized DashboardCounters reconcile() {
+        long start = System.currentTimeMillis();
+        DashboardCounters rebuilt = readOnlyTransaction.execute(status -> load());
+        counters.set(rebuilt);
+        logger.fine("Dashboard counters reconciled in " + (System.currentTimeMillis() - start) + " ms");
+        return rebuilt;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.reconcile-interval-ms:300000}",
+            initialDelayString = "${dashboard.reconcile-interval-ms:300000}")
+    public void reconcilePeriodically() {
+        reconcile();
+    }
+
+    /**
+     * Apply a committed LTA status change; new and (un)cancelled LTAs also
+     * move the booked totals, which needs the LTA route, client and cost
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLTAStatusChanged(LTAStatusChangedEvent event) {
+        DashboardCounters current = getCounters();
+        current.ltaStatusChanged(event.getPreviousStatus(), event.getNewStatus());
+
+        boolean wasBooked = event.getPreviousStatus() != null && event.getPreviousStatus() != LTAStatus.CANCELLED;
+        boolean isBooked = event.getNewStatus() != LTAStatus.CANCELLED;
+        if (wasBooked == isBooked) {
+            return;
+        }
+        ltaRepository.findViewById(event.getLtaId())
+                .ifPresent(view -> addBooked(current, view, isBooked ? 1 : -1));
+    }
+
+    /**
+     * Apply a committed bulk status change; the LTAs whose booked totals move
+     * (cancelled or restored) are read in one query
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLTAStatusBatchChanged(LTAStatusBatchChangedEvent event) {
+        DashboardCounters current = getCounters();
+        boolean isBooked = event.getNewStatus() != LTAStatus.CANCELLED;
+        List<Long> bookingChanged = new ArrayList<>();
+        for (LTAStatusBatchChangedEvent.Item item : event.getItems()) {
+            current.ltaStatusChanged(item.getPreviousStatus(), event.getNewStatus());
+            boolean wasBooked = item.getPreviousStatus() != null && item.getPreviousStatus() != LTAStatus.CANCELLED;
+            if (wasBooked != isBooked) {
+                bookingChanged.add(item.getLtaId());
+            }
+        }
+        if (!bookingChanged.isEmpty()) {
+            for (LTAView view : ltaRepository.findViewByIdIn(bookingChanged)) {
+                addBooked(current, view, isBooked ? 1 : -1);
+            }
+        }
+    }
+
+    /**
+     * Count an invoice once, when it is issued: the event is published at
+     * creation and again on the DRAFT/PENDING to SENT/CONFIRMED transition
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvoiceCreated(InvoiceCreatedEvent event) {
+        Invoice invoice = event.getInvoice();
+        if (invoice.getStatus() == null || NOT_ISSUED.contains(invoice.getStatus())) {
+            return;
+        }
+        Client client = invoice.getClient();
+        getCounters().addInvoiced(invoice.getInvoiceDate(), client != null ? client.getId() : null,
+                labelOf(client), invoice.getTotalAmount());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentReceived(PaymentReceivedEvent event) {
+        Payment payment = event.getPayment();
+        if (payment.getStatus() != PaymentStatus.COMPLETED) {
+            return;
+        }
+        Client client = payment.getInvoice() != null ? payment.getInvoice().getClient() : null;
+        LocalDate day = payment.getPaymentDate() != null ? payment.getPaymentDate() : LocalDate.now();
+        getCounters().addCollected(day, client != null ? client.getId() : null, labelOf(client),
+                payment.getAmount());
+    }
+
+    private DashboardCounters load() {
+        DashboardCounters loaded = new DashboardCounters(LocalDateTime.now());
+        LocalDate firstDay = LocalDate.now().minusDays(dailyWindowDays - 1L);
+
+        for (Object[] row : ltaRepository.countGroupByStatus()) {
+            loaded.setLtaCount((LTAStatus) row[0], ((Number) row[1]).longValue());
+        }
+
+        // Overall booked totals are the sum of the routes (every LTA has one)
+        for (Object[] row : ltaRepository.sumBookedByRoute()) {
+            loaded.addLtas(null, (Long) row[0], (Long) row[1],
+                    routeLabel((String) row[2], (String) row[4], (String) row[3], (String) row[5]),
+                    null, null, ((Number) row[6]).longValue(), (BigDecimal) row[7]);
+        }
+        for (Object[] row : ltaRepository.sumBookedByDay(firstDay.atStartOfDay())) {
+            loaded.dayTotals((LocalDate) row[0]).addLtas(((Number) row[1]).longValue(), (BigDecimal) row[2]);
+        }
+        for (Object[] row : ltaRepository.sumBookedByClient()) {
+            loaded.clientTotals((Long) row[0], (String) row[1])
+                    .addLtas(((Number) row[2]).longValue(), (BigDecimal) row[3]);
+        }
+
+        // Issued invoices and completed payments always have a client
+        for (Object[] row : invoiceRepository.sumIssuedByClient()) {
+            loaded.addInvoiced(null, (Long) row[0], (String) row[1], (BigDecimal) row[2]);
+        }
+        for (Object[] row : invoiceRepository.sumIssuedByDay(firstDay)) {
+            loaded.dayTotals((LocalDate) row[0]).addInvoiced((BigDecimal) row[1]);
+        }
+        for (Object[] row : paymentRepository.sumCompletedByClient()) {
+            loaded.addCollected(null, (Long) row[0], (String) row[1], (BigDecimal) row[2]);
+        }
+        for (Object[] row : paymentRepository.sumCompletedByDay(firstDay)) {
+            loaded.dayTotals((LocalDate) row[0]).addCollected((BigDecimal) row[1]);
+        }
+        return loaded;
+    }
+
+    private static void addBooked(DashboardCounters current, LTAView view, int direction) {
+        current.addLtas(view.getCreatedAt() != null ? view.getCreatedAt().toLocalDate() : null,
+                view.getOriginCityId(), view.getDestinationCityId(),
+                routeLabel(view.getOriginCityIataCode(), view.getOriginCityName(),
+                        view.getDestinationCityIataCode(), view.getDestinationCityName()),
+                view.getClientId(), view.getClientName(), direction,
+                view.getCalculatedCost() != null && direction < 0 ? view.getCalculatedCost().negate()
+                        : view.getCalculatedCost());
+    }
+
+    static String routeLabel(String originIata, String originName, String destinationIata,
+            String destinationName) {
+        String origin = originIata != null ? originIata : originName;
+        String destination = destinationIata != null ? destinationIata : destinationName;
+        return origin + " - " + destination;
+    }
+
+    /**
+     * Client name, only if already loaded: listeners run after commit and
+     * must not trigger lazy loading; the next reconciliation fills it in
+     */
+    private static String labelOf(Client client) {
+        return client != null && Hibernate.isInitialized(client) ? client.getName() : null;
+    }
+
+    private static List<DashboardTotalsResponse> toResponses(List<DashboardTotals> totals) {
+        List<DashboardTotalsResponse> responses = new ArrayList<>(totals.size());
+        for (DashboardTotals total : totals) {
+            responses.add(toResponse(total));
+        }
+        return responses;
+    }
+
+    private static DashboardTotalsResponse toResponse(DashboardTotals totals) {
+        DashboardTotalsResponse response = new DashboardTotalsResponse();
+        response.setKey(totals.getKey());
+        response.setLabel(totals.getLabel() != null ? totals.getLabel() : totals.getKey());
+        response.setLtaCount(totals.getLtaCount());
+        response.setBookedValue(totals.getBookedValue());
+        response.setInvoicedAmount(totals.getInvoicedAmount());
+        response.setCollectedAmount(totals.getCollectedAmount());
+        return response;
+    }
 }
@@ -0,0 +1,73 @@
+package com.freightops.dashboard.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Running totals for one dashboard key (a day, a route, a client or overall)
+ * bookedValue is the freight cost of non-cancelled LTAs, invoicedAmount the
+ * total of issued invoices, collectedAmount the total of completed payments
+ */
+public class DashboardTotals {
+
+    private final String key;
+    private volatile String label;
+    private long ltaCount;
+    private BigDecimal bookedValue = BigDecimal.ZERO;
+    private BigDecimal invoicedAmount = BigDecimal.ZERO;
+    private BigDecimal collectedAmount = BigDecimal.ZERO;
+
+    public DashboardTotals(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    public synchronized void addLtas(long count, BigDecimal value) {
+        ltaCount += count;
+        bookedValue = bookedValue.add(orZero(value));
+    }
+
+    public synchronized void addInvoiced(BigDecimal amount) {
+        invoicedAmount = invoicedAmount.add(orZero(amount));
+    }
+
+    public synchronized void addCollected(BigDecimal amount) {
+        collectedAmount = collectedAmount.add(orZero(amount));
+    }
+
+    /**
+     * Keep the first known label; events may not carry one
+     */
+    public void labelIfAbsent(String newLabel) {
+        if (label == null && newLabel != null) {
+            label = newLabel;
+        }
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public synchronized long getLtaCount() {
+        return ltaCount;
+    }
+
+    public synchronized BigDecimal getBookedValue() {
+        return bookedValue;
+    }
+
+    public synchronized BigDecimal getInvoicedAmount() {
+        return invoicedAmount;
+    }
+
+    public synchronized BigDecimal getCollectedAmount() {
+        return collectedAmount;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
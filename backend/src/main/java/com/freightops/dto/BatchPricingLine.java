@@ -0,0 +1,37 @@
+package com.freightops.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a batch pricing request
+ * Cities are given either by ID or by IATA code
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPricingLine {
+
+    /**
+     * Customer reference echoed back in the result (optional)
+     */
+    private String reference;
+
+    private Long originCityId;
+
+    private Long destinationCityId;
+
+    private String originIataCode;
+
+    private String destinationIataCode;
+
+    private BigDecimal weight;
+
+    /**
+     * Shipment volume in m3 (optional)
+     */
+    private BigDecimal volume;
+}
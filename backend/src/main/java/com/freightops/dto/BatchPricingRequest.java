@@ -0,0 +1,22 @@
+package com.freightops.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch pricing request (JSON)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPricingRequest {
+
+    @NotEmpty(message = "At least one line is required")
+    @Valid
+    private List<BatchPricingLine> lines;
+}
@@ -0,0 +1,22 @@
+package com.freightops.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch pricing response (JSON)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPricingResponse {
+
+    private int lineCount;
+
+    private int errorCount;
+
+    private List<BatchPricingResult> results;
+}
@@ -0,0 +1,43 @@
+package com.freightops.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Priced line of a batch pricing request; error is set instead of the cost
+ * when the line could not be priced
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPricingResult {
+
+    private int line;
+
+    private String reference;
+
+    private Long originCityId;
+
+    private Long destinationCityId;
+
+    private BigDecimal weight;
+
+    private BigDecimal volume;
+
+    private BigDecimal volumetricWeight;
+
+    private BigDecimal chargeableWeight;
+
+    private Long tariffId;
+
+    private BigDecimal kgRate;
+
+    private BigDecimal volumeCoefficient;
+
+    private BigDecimal cost;
+
+    private String error;
+}
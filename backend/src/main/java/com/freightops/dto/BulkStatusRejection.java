@@ -0,0 +1,26 @@
+package com.freightops.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Target of a bulk status change that failed validation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusRejection {
+
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String UNEXPECTED_STATUS = "UNEXPECTED_STATUS";
+    public static final String FINAL_STATUS = "FINAL_STATUS";
+
+    private Long id;
+
+    private String reference;
+
+    private String currentStatus;
+
+    private String reason;
+}
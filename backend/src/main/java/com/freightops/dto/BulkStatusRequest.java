@@ -0,0 +1,37 @@
+package com.freightops.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk status change request (JSON)
+ * Targets are given either as ids or as a manifest number, whose goods lines
+ * carry the tracking numbers.
+ *
+ * @param <S> status enum of the target entity
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusRequest<S extends Enum<S>> {
+
+    private List<Long> ids;
+
+    private String manifestNumber;
+
+    /**
+     * Status every target must currently have (optional)
+     */
+    private S fromStatus;
+
+    @NotNull(message = "Target status is required")
+    private S status;
+
+    private String reason;
+
+    private String location;
+}
@@ -0,0 +1,34 @@
+package com.freightops.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk status change response (JSON)
+ * The targets are validated as a set: if any is rejected, none is changed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusResult {
+
+    private String status;
+
+    private int targetCount;
+
+    private int updatedCount;
+
+    /**
+     * Targets already in the requested status, left as they are
+     */
+    private List<Long> unchangedIds;
+
+    private List<BulkStatusRejection> rejected;
+
+    public boolean isApplied() {
+        return rejected == null || rejected.isEmpty();
+    }
+}
@@ -0,0 +1,29 @@
+package com.freightops.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Detailed cost of a shipment on a route
+ * tariffId is null when no tariff applies and the default rate was used
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostQuote {
+
+    private Long tariffId;
+
+    private BigDecimal kgRate;
+
+    private BigDecimal volumeCoefficient;
+
+    private BigDecimal volumetricWeight;
+
+    private BigDecimal chargeableWeight;
+
+    private BigDecimal cost;
+}
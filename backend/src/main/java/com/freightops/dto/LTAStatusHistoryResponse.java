@@ -19,6 +19,7 @@ public class LTAStatusHistoryResponse {
     private String newStatus;
     private String changedBy;
     private String changeReason;
+    private String location;
     private LocalDateTime changedAt;
     private String statusLabel;
     private String statusDescription;
@@ -0,0 +1,37 @@
+package com.freightops.dto;
+
+import com.freightops.enums.LTAStatus;
+
+/**
+ * Identifiers and current status of an LTA, read without loading the entity
+ */
+public class LTAStatusSnapshot {
+
+    private final Long id;
+    private final String ltaNumber;
+    private final String trackingNumber;
+    private final LTAStatus status;
+
+    public LTAStatusSnapshot(Long id, String ltaNumber, String trackingNumber, LTAStatus status) {
+        this.id = id;
+        this.ltaNumber = ltaNumber;
+        this.trackingNumber = trackingNumber;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getLtaNumber() {
+        return ltaNumber;
+    }
+
+    public String getTrackingNumber() {
+        return trackingNumber;
+    }
+
+    public LTAStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,61 @@
+package com.freightops.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One status transition of an LTA, as shown on the tracking timeline
+ * Compact, immutable copy of an LTAStatusHistory row, stored in the
+ * ltaTimeline cache.
+ */
+public class LTATimelineEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String previousStatus;
+    private final String newStatus;
+    private final String changedBy;
+    private final String changeReason;
+    private final String location;
+    private final LocalDateTime changedAt;
+
+    public LTATimelineEntry(Long id, String previousStatus, String newStatus, String changedBy,
+            String changeReason, String location, LocalDateTime changedAt) {
+        this.id = id;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.changedBy = changedBy;
+        this.changeReason = changeReason;
+        this.location = location;
+        this.changedAt = changedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getNewStatus() {
+        return newStatus;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public String getChangeReason() {
+        return changeReason;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
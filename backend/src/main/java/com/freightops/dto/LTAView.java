@@ -0,0 +1,115 @@
+package com.freightops.dto;
+
+import com.freightops.entity.City;
+import com.freightops.entity.Client;
+import com.freightops.entity.LTA;
+import com.freightops.enums.LTAStatus;
+import com.freightops.enums.PaymentMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of an LTA with its cities and client
+ * Built by constructor projection in a single query (see LTARepository
+ * VIEW_SELECT): no managed entity is loaded, so there is no lazy loading and
+ * nothing to dirty check. The constructor argument order must match the query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LTAView {
+
+    private Long id;
+    private String ltaNumber;
+    private String trackingNumber;
+    private LTAStatus status;
+    private PaymentMode paymentMode;
+    private String shipperName;
+    private String shipperAddress;
+    private String consigneeName;
+    private String consigneeAddress;
+    private BigDecimal totalWeight;
+    private String packageNature;
+    private Integer packageCount;
+    private BigDecimal calculatedCost;
+    private String specialInstructions;
+    private BigDecimal declaredValue;
+    private LocalDateTime pickupDate;
+    private LocalDateTime deliveryDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private Long originCityId;
+    private String originCityName;
+    private String originCityIataCode;
+    private String originCityCountry;
+
+    private Long destinationCityId;
+    private String destinationCityName;
+    private String destinationCityIataCode;
+    private String destinationCityCountry;
+
+    private Long clientId;
+    private String clientName;
+    private String clientAddress;
+    private String clientContactNumber;
+    private String clientEmail;
+
+    /**
+     * Same view built from a loaded entity, so entity and projection results
+     * share one response mapping
+     */
+    public static LTAView of(LTA lta) {
+        LTAView view = new LTAView();
+        view.setId(lta.getId());
+        view.setLtaNumber(lta.getLtaNumber());
+        view.setTrackingNumber(lta.getTrackingNumber());
+        view.setStatus(lta.getStatus());
+        view.setPaymentMode(lta.getPaymentMode());
+        view.setShipperName(lta.getShipperName());
+        view.setShipperAddress(lta.getShipperAddress());
+        view.setConsigneeName(lta.getConsigneeName());
+        view.setConsigneeAddress(lta.getConsigneeAddress());
+        view.setTotalWeight(lta.getTotalWeight());
+        view.setPackageNature(lta.getPackageNature());
+        view.setPackageCount(lta.getPackageCount());
+        view.setCalculatedCost(lta.getCalculatedCost());
+        view.setSpecialInstructions(lta.getSpecialInstructions());
+        view.setDeclaredValue(lta.getDeclaredValue());
+        view.setPickupDate(lta.getPickupDate());
+        view.setDeliveryDate(lta.getDeliveryDate());
+        view.setCreatedAt(lta.getCreatedAt());
+        view.setUpdatedAt(lta.getUpdatedAt());
+
+        City originCity = lta.getOriginCity();
+        if (originCity != null) {
+            view.setOriginCityId(originCity.getId());
+            view.setOriginCityName(originCity.getName());
+            view.setOriginCityIataCode(originCity.getIataCode());
+            view.setOriginCityCountry(originCity.getCountry());
+        }
+
+        City destinationCity = lta.getDestinationCity();
+        if (destinationCity != null) {
+            view.setDestinationCityId(destinationCity.getId());
+            view.setDestinationCityName(destinationCity.getName());
+            view.setDestinationCityIataCode(destinationCity.getIataCode());
+            view.setDestinationCityCountry(destinationCity.getCountry());
+        }
+
+        Client client = lta.getClient();
+        if (client != null) {
+            view.setClientId(client.getId());
+            view.setClientName(client.getName());
+            view.setClientAddress(client.getAddress());
+            view.setClientContactNumber(client.getContactNumber());
+            view.setClientEmail(client.getEmail());
+        }
+
+        return view;
+    }
+}
@@ -0,0 +1,31 @@
+package com.freightops.dto;
+
+import com.freightops.enums.ShipmentStatus;
+
+/**
+ * Identifiers and current status of a shipment, read without loading the entity
+ */
+public class ShipmentStatusSnapshot {
+
+    private final Long id;
+    private final String trackingNumber;
+    private final ShipmentStatus status;
+
+    public ShipmentStatusSnapshot(Long id, String trackingNumber, ShipmentStatus status) {
+        this.id = id;
+        this.trackingNumber = trackingNumber;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTrackingNumber() {
+        return trackingNumber;
+    }
+
+    public ShipmentStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,39 @@
+package com.freightops.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Income, expense and transfer totals of a treasury period
+ * Immutable and serializable: stored in the treasuryPeriodTotals cache.
+ */
+public class TreasuryPeriodTotals implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final BigDecimal totalIncome;
+    private final BigDecimal totalExpense;
+    private final BigDecimal totalTransfer;
+
+    public TreasuryPeriodTotals(BigDecimal totalIncome, BigDecimal totalExpense, BigDecimal totalTransfer) {
+        this.totalIncome = totalIncome;
+        this.totalExpense = totalExpense;
+        this.totalTransfer = totalTransfer;
+    }
+
+    public BigDecimal getTotalIncome() {
+        return totalIncome;
+    }
+
+    public BigDecimal getTotalExpense() {
+        return totalExpense;
+    }
+
+    public BigDecimal getTotalTransfer() {
+        return totalTransfer;
+    }
+
+    public BigDecimal getNetFlow() {
+        return totalIncome.subtract(totalExpense);
+    }
+}
@@ -0,0 +1,30 @@
+package com.freightops.dto;
+
+import com.freightops.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat row of the treasury report
+ * Built by constructor projection (see TreasuryTransactionRepository
+ * streamReportLines) with the cash box and bank account names joined in.
+ * The constructor argument order must match the query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TreasuryReportLine {
+
+    private String reference;
+    private TransactionType type;
+    private BigDecimal amount;
+    private LocalDate transactionDate;
+    private String description;
+    private String category;
+    private String cashBoxName;
+    private String bankAccountName;
+}
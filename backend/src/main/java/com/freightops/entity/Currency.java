@@ -4,12 +4,13 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "currencies")
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
-public class Currency {
+public class Currency implements Serializable {
 
     @Id
     @Column(length = 3)
@@ -4,13 +4,14 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "exchange_rates", uniqueConstraints = @UniqueConstraint(columnNames = { "from_currency", "to_currency" }))
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
-public class ExchangeRate {
+public class ExchangeRate implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,28 @@
+package com.freightops.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Named counter from which backend nodes lease blocks of identifiers
+ * One row per sequence (LTA numbers, tracking numbers, invoices per year...)
+ */
+@Entity
+@Table(name = "identifier_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdentifierSequence {
+
+    @Id
+    @Column(name = "sequence_name", length = 50)
+    private String sequenceName;
+
+    /**
+     * First value not yet leased to any node
+     */
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
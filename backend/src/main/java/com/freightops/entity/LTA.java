@@ -27,7 +27,9 @@ import java.util.UUID;
  * management
  */
 @Entity
-@Table(name = "ltas")
+@Table(name = "ltas", indexes = {
+        @Index(name = "idx_ltas_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_ltas_status_created_at_id", columnList = "status, created_at, id") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
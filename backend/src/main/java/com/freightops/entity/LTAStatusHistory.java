@@ -1,30 +1,43 @@
 package com.freightops.entity;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
 /**
  * Entity representing the history of LTA status changes
+ * Append-only event log: rows are inserted by LTAStatusHistoryService and
+ * never updated. The tracking number is copied on each row so the tracking
+ * timeline is read with one range scan on (tracking_number, changed_at).
+ * Ids come from a pooled sequence so inserts can be JDBC-batched.
  */
 @Entity
-@Table(name = "lta_status_history")
+@Immutable
+@Table(name = "lta_status_history", indexes = {
+        @Index(name = "idx_lta_status_history_tracking", columnList = "tracking_number, changed_at"),
+        @Index(name = "idx_lta_status_history_lta", columnList = "lta_id, changed_at") })
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class LTAStatusHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lta_status_history_seq")
+    @SequenceGenerator(name = "lta_status_history_seq", sequenceName = "lta_status_history_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "lta_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private LTA lta;
 
+    @Column(name = "tracking_number", length = 50)
+    private String trackingNumber;
+
     @Column(name = "previous_status", length = 50)
     private String previousStatus;
 
@@ -37,6 +50,9 @@ public class LTAStatusHistory {
     @Column(name = "change_reason", length = 500)
     private String changeReason;
 
+    @Column(name = "location", length = 255)
+    private String location;
+
     @Column(name = "changed_at", nullable = false)
     private LocalDateTime changedAt;
 
@@ -48,22 +64,28 @@ public class LTAStatusHistory {
         if (changedAt == null) {
             changedAt = LocalDateTime.now();
         }
+        if (trackingNumber == null && lta != null) {
+            trackingNumber = lta.getTrackingNumber();
+        }
     }
 
     public LTAStatusHistory(LTA lta, String previousStatus, String newStatus, String changedBy) {
-        this.lta = lta;
-        this.previousStatus = previousStatus;
-        this.newStatus = newStatus;
-        this.changedBy = changedBy;
-        this.changedAt = LocalDateTime.now();
+        this(lta, previousStatus, newStatus, changedBy, null, null);
     }
 
     public LTAStatusHistory(LTA lta, String previousStatus, String newStatus, String changedBy, String changeReason) {
+        this(lta, previousStatus, newStatus, changedBy, changeReason, null);
+    }
+
+    public LTAStatusHistory(LTA lta, String previousStatus, String newStatus, String changedBy, String changeReason,
+            String location) {
         this.lta = lta;
+        this.trackingNumber = lta != null ? lta.getTrackingNumber() : null;
         this.previousStatus = previousStatus;
         this.newStatus = newStatus;
         this.changedBy = changedBy;
         this.changeReason = changeReason;
+        this.location = location;
         this.changedAt = LocalDateTime.now();
     }
 }
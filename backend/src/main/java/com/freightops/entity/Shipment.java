@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "shipments")
+@Table(name = "shipments", indexes = {
+        @Index(name = "idx_shipments_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_shipments_status_created_at_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_shipments_client_created_at_id", columnList = "client_id, created_at, id") })
 public class Shipment {
 
     @Id
@@ -154,9 +157,6 @@ public class Shipment {
         if (this.status == null) {
             this.status = ShipmentStatus.PENDING;
         }
-        if (this.trackingNumber == null || this.trackingNumber.isEmpty()) {
-            this.trackingNumber = generateTrackingNumber();
-        }
     }
 
     @PreUpdate
@@ -484,9 +484,4 @@ public class Shipment {
     public void setTrackingEvents(List<TrackingEvent> trackingEvents) {
         this.trackingEvents = trackingEvents;
     }
-
-    private String generateTrackingNumber() {
-        // Implement your tracking number generation logic here
-        return "";
-    }
 }
@@ -0,0 +1,114 @@
+package com.freightops.entity;
+
+import com.freightops.enums.TreasuryAccountKind;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Point de solde journalier d'une caisse ou d'un compte bancaire
+ * Une ligne par compte et par jour mouvementé : recettes et dépenses du jour,
+ * et cumul net (recettes - dépenses) depuis l'ouverture du compte jusqu'à la
+ * fin de ce jour. Le solde à une date est le solde initial du compte plus le
+ * cumul du dernier point à cette date, lu en une seule ligne.
+ */
+@Entity
+@Table(name = "treasury_daily_balances", uniqueConstraints = @UniqueConstraint(name = "uk_treasury_daily_balances_account_date", columnNames = {
+        "account_kind", "account_id", "balance_date" }))
+public class TreasuryDailyBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_kind", nullable = false, length = 20)
+    private TreasuryAccountKind accountKind;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "balance_date", nullable = false)
+    private LocalDate balanceDate;
+
+    @Column(name = "income_total", precision = 15, scale = 2, nullable = false)
+    private BigDecimal incomeTotal = BigDecimal.ZERO;
+
+    @Column(name = "expense_total", precision = 15, scale = 2, nullable = false)
+    private BigDecimal expenseTotal = BigDecimal.ZERO;
+
+    /**
+     * Recettes - dépenses cumulées jusqu'à la fin du jour, hors solde initial
+     */
+    @Column(name = "closing_net", precision = 15, scale = 2, nullable = false)
+    private BigDecimal closingNet = BigDecimal.ZERO;
+
+    // Constructeurs
+    public TreasuryDailyBalance() {
+    }
+
+    public TreasuryDailyBalance(TreasuryAccountKind accountKind, Long accountId, LocalDate balanceDate,
+            BigDecimal closingNet) {
+        this.accountKind = accountKind;
+        this.accountId = accountId;
+        this.balanceDate = balanceDate;
+        this.closingNet = closingNet;
+    }
+
+    // Getters et Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TreasuryAccountKind getAccountKind() {
+        return accountKind;
+    }
+
+    public void setAccountKind(TreasuryAccountKind accountKind) {
+        this.accountKind = accountKind;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public LocalDate getBalanceDate() {
+        return balanceDate;
+    }
+
+    public void setBalanceDate(LocalDate balanceDate) {
+        this.balanceDate = balanceDate;
+    }
+
+    public BigDecimal getIncomeTotal() {
+        return incomeTotal;
+    }
+
+    public void setIncomeTotal(BigDecimal incomeTotal) {
+        this.incomeTotal = incomeTotal;
+    }
+
+    public BigDecimal getExpenseTotal() {
+        return expenseTotal;
+    }
+
+    public void setExpenseTotal(BigDecimal expenseTotal) {
+        this.expenseTotal = expenseTotal;
+    }
+
+    public BigDecimal getClosingNet() {
+        return closingNet;
+    }
+
+    public void setClosingNet(BigDecimal closingNet) {
+        this.closingNet = closingNet;
+    }
+}
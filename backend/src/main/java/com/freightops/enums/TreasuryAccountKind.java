@@ -0,0 +1,6 @@
+package com.freightops.enums;
+
+public enum TreasuryAccountKind {
+    CASH_BOX,       // Caisse
+    BANK_ACCOUNT    // Compte bancaire
+}
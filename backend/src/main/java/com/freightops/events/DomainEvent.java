@@ -0,0 +1,17 @@
+package com.freightops.events;
+
+import com.freightops.events.dto.DomainEventMessage;
+import com.freightops.events.enums.DomainEventType;
+
+/**
+ * Événement métier publiable sur le {@link DomainEventBus}
+ */
+public interface DomainEvent {
+
+    DomainEventType getEventType();
+
+    /**
+     * Représentation transportable de l'événement (bus AMQP)
+     */
+    DomainEventMessage toMessage();
+}
@@ -0,0 +1,15 @@
+package com.freightops.events;
+
+/**
+ * Bus d'événements métier
+ * Implémentation choisie par events.bus.mode : local (événements Spring dans
+ * la JVM, par défaut) ou amqp (échange RabbitMQ)
+ */
+public interface DomainEventBus {
+
+    /**
+     * Publie un événement ; en mode amqp, l'envoi est validé avec la
+     * transaction en cours
+     */
+    void publish(DomainEvent event);
+}
@@ -0,0 +1,72 @@
+package com.freightops.events;
+
+import com.freightops.events.dto.DomainEventMessage;
+import com.freightops.events.enums.DomainEventType;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement déclenché à la modification ou à la suppression d'une LTA
+ * Diffusé à tous les nœuds pour qu'ils retirent le suivi public de son
+ * numéro de suivi une fois la modification validée
+ */
+public class LTAChangedEvent extends ApplicationEvent implements DomainEvent {
+
+    private final Long ltaId;
+    private final String ltaNumber;
+    private final String trackingNumber;
+    private final LocalDateTime changedAt;
+
+    public LTAChangedEvent(Object source, Long ltaId, String ltaNumber, String trackingNumber,
+            LocalDateTime changedAt) {
+        super(source);
+        this.ltaId = ltaId;
+        this.ltaNumber = ltaNumber;
+        this.trackingNumber = trackingNumber;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Reconstruit l'événement reçu du bus AMQP
+     */
+    public static LTAChangedEvent fromMessage(Object source, DomainEventMessage message) {
+        return new LTAChangedEvent(source,
+                message.getAggregateId(),
+                message.getLtaNumber(),
+                message.getTrackingNumber(),
+                message.getOccurredAt());
+    }
+
+    @Override
+    public DomainEventType getEventType() {
+        return DomainEventType.LTA_CHANGED;
+    }
+
+    @Override
+    public DomainEventMessage toMessage() {
+        return DomainEventMessage.builder()
+                .eventType(getEventType())
+                .aggregateId(ltaId)
+                .ltaNumber(ltaNumber)
+                .trackingNumber(trackingNumber)
+                .occurredAt(changedAt)
+                .build();
+    }
+
+    public Long getLtaId() {
+        return ltaId;
+    }
+
+    public String getLtaNumber() {
+        return ltaNumber;
+    }
+
+    public String getTrackingNumber() {
+        return trackingNumber;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,114 @@
+package com.freightops.events;
+
+import com.freightops.enums.LTAStatus;
+import com.freightops.events.dto.DomainEventMessage;
+import com.freightops.events.enums.DomainEventType;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Événement déclenché par un changement de statut en masse de LTA
+ * Un seul événement pour l'ensemble des LTA passées au même statut, à la
+ * place d'un {@link LTAStatusChangedEvent} par LTA
+ */
+public class LTAStatusBatchChangedEvent extends ApplicationEvent implements DomainEvent {
+
+    private final LTAStatus newStatus;
+    private final LocalDateTime changedAt;
+    private final List<Item> items;
+
+    public LTAStatusBatchChangedEvent(Object source, LTAStatus newStatus, LocalDateTime changedAt, List<Item> items) {
+        super(source);
+        this.newStatus = newStatus;
+        this.changedAt = changedAt;
+        this.items = List.copyOf(items);
+    }
+
+    /**
+     * Reconstruit l'événement reçu du bus AMQP
+     */
+    public static LTAStatusBatchChangedEvent fromMessage(Object source, DomainEventMessage message) {
+        List<Item> items = new ArrayList<>();
+        if (message.getItems() != null) {
+            for (DomainEventMessage item : message.getItems()) {
+                items.add(new Item(item.getAggregateId(), item.getLtaNumber(), item.getTrackingNumber(),
+                        item.getPreviousStatus() != null ? LTAStatus.valueOf(item.getPreviousStatus()) : null));
+            }
+        }
+        return new LTAStatusBatchChangedEvent(source, LTAStatus.valueOf(message.getStatus()),
+                message.getOccurredAt(), items);
+    }
+
+    @Override
+    public DomainEventType getEventType() {
+        return DomainEventType.LTA_STATUS_BATCH_CHANGED;
+    }
+
+    @Override
+    public DomainEventMessage toMessage() {
+        List<DomainEventMessage> messages = new ArrayList<>(items.size());
+        for (Item item : items) {
+            messages.add(DomainEventMessage.builder()
+                    .aggregateId(item.getLtaId())
+                    .ltaNumber(item.getLtaNumber())
+                    .trackingNumber(item.getTrackingNumber())
+                    .previousStatus(item.getPreviousStatus() != null ? item.getPreviousStatus().name() : null)
+                    .build());
+        }
+        return DomainEventMessage.builder()
+                .eventType(getEventType())
+                .status(newStatus.name())
+                .occurredAt(changedAt)
+                .items(messages)
+                .build();
+    }
+
+    public LTAStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * LTA concernée et son statut avant le changement
+     */
+    public static class Item {
+
+        private final Long ltaId;
+        private final String ltaNumber;
+        private final String trackingNumber;
+        private final LTAStatus previousStatus;
+
+        public Item(Long ltaId, String ltaNumber, String trackingNumber, LTAStatus previousStatus) {
+            this.ltaId = ltaId;
+            this.ltaNumber = ltaNumber;
+            this.trackingNumber = trackingNumber;
+            this.previousStatus = previousStatus;
+        }
+
+        public Long getLtaId() {
+            return ltaId;
+        }
+
+        public String getLtaNumber() {
+            return ltaNumber;
+        }
+
+        public String getTrackingNumber() {
+            return trackingNumber;
+        }
+
+        public LTAStatus getPreviousStatus() {
+            return previousStatus;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.freightops.events;
+
+import com.freightops.enums.LTAStatus;
+import com.freightops.events.dto.DomainEventMessage;
+import com.freightops.events.enums.DomainEventType;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement déclenché lors d'un changement de statut d'une LTA
+ * Également publié à la création, avec un statut précédent null
+ */
+public class LTAStatusChangedEvent extends ApplicationEvent implements DomainEvent {
+
+    private final Long ltaId;
+    private final String ltaNumber;
+    private final String trackingNumber;
+    private final LTAStatus previousStatus;
+    private final LTAStatus newStatus;
+    private final LocalDateTime changedAt;
+
+    public LTAStatusChangedEvent(Object source, Long ltaId, String ltaNumber, String trackingNumber,
+            LTAStatus previousStatus, LTAStatus newStatus, LocalDateTime changedAt) {
+        super(source);
+        this.ltaId = ltaId;
+        this.ltaNumber = ltaNumber;
+        this.trackingNumber = trackingNumber;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Reconstruit l'événement reçu du bus AMQP
+     */
+    public static LTAStatusChangedEvent fromMessage(Object source, DomainEventMessage message) {
+        return new LTAStatusChangedEvent(source,
+                message.getAggregateId(),
+                message.getLtaNumber(),
+                message.getTrackingNumber(),
+                message.getPreviousStatus() != null ? LTAStatus.valueOf(message.getPreviousStatus()) : null,
+                LTAStatus.valueOf(message.getStatus()),
+                message.getOccurredAt());
+    }
+
+    @Override
+    public DomainEventType getEventType() {
+        return DomainEventType.LTA_STATUS_CHANGED;
+    }
+
+    @Override
+    public DomainEventMessage toMessage() {
+        return DomainEventMessage.builder()
+                .eventType(getEventType())
+                .aggregateId(ltaId)
+                .ltaNumber(ltaNumber)
+                .trackingNumber(trackingNumber)
+                .previousStatus(previousStatus != null ? previousStatus.name() : null)
+                .status(newStatus.name())
+                .occurredAt(changedAt)
+                .build();
+    }
+
+    public Long getLtaId() {
+        return ltaId;
+    }
+
+    public String getLtaNumber() {
+        return ltaNumber;
+    }
+
+    public String getTrackingNumber() {
+        return trackingNumber;
+    }
+
+    public LTAStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public LTAStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
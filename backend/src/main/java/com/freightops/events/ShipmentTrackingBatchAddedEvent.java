@@ -0,0 +1,118 @@
+package com.freightops.events;
+
+import com.freightops.enums.ShipmentStatus;
+import com.freightops.events.dto.DomainEventMessage;
+import com.freightops.events.enums.DomainEventType;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Événement déclenché par un changement de statut en masse d'envois
+ * Le même événement de suivi (statut, description, lieu) a été ajouté à
+ * chacun des envois ; remplace un {@link TrackingEventAddedEvent} par envoi
+ */
+public class ShipmentTrackingBatchAddedEvent extends ApplicationEvent implements DomainEvent {
+
+    private final ShipmentStatus status;
+    private final String description;
+    private final String location;
+    private final LocalDateTime eventDate;
+    private final List<Item> items;
+
+    public ShipmentTrackingBatchAddedEvent(Object source, ShipmentStatus status, String description,
+            String location, LocalDateTime eventDate, List<Item> items) {
+        super(source);
+        this.status = status;
+        this.description = description;
+        this.location = location;
+        this.eventDate = eventDate;
+        this.items = List.copyOf(items);
+    }
+
+    /**
+     * Reconstruit l'événement reçu du bus AMQP
+     */
+    public static ShipmentTrackingBatchAddedEvent fromMessage(Object source, DomainEventMessage message) {
+        List<Item> items = new ArrayList<>();
+        if (message.getItems() != null) {
+            for (DomainEventMessage item : message.getItems()) {
+                items.add(new Item(item.getAggregateId(), item.getTrackingNumber()));
+            }
+        }
+        return new ShipmentTrackingBatchAddedEvent(source,
+                message.getStatus() != null ? ShipmentStatus.valueOf(message.getStatus()) : null,
+                message.getDescription(),
+                message.getLocation(),
+                message.getOccurredAt(),
+                items);
+    }
+
+    @Override
+    public DomainEventType getEventType() {
+        return DomainEventType.SHIPMENT_TRACKING_BATCH_ADDED;
+    }
+
+    @Override
+    public DomainEventMessage toMessage() {
+        List<DomainEventMessage> messages = new ArrayList<>(items.size());
+        for (Item item : items) {
+            messages.add(DomainEventMessage.builder()
+                    .aggregateId(item.getShipmentId())
+                    .trackingNumber(item.getTrackingNumber())
+                    .build());
+        }
+        return DomainEventMessage.builder()
+                .eventType(getEventType())
+                .status(status != null ? status.name() : null)
+                .description(description)
+                .location(location)
+                .occurredAt(eventDate)
+                .items(messages)
+                .build();
+    }
+
+    public ShipmentStatus getStatus() {
+        return status;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDateTime getEventDate() {
+        return eventDate;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * Envoi concerné
+     */
+    public static class Item {
+
+        private final Long shipmentId;
+        private final String trackingNumber;
+
+        public Item(Long shipmentId, String trackingNumber) {
+            this.shipmentId = shipmentId;
+            this.trackingNumber = trackingNumber;
+        }
+
+        public Long getShipmentId() {
+            return shipmentId;
+        }
+
+        public String getTrackingNumber() {
+            return trackingNumber;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.freightops.events;
+
+import com.freightops.events.dto.DomainEventMessage;
+import com.freightops.events.enums.DomainEventType;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement déclenché à la création, modification ou suppression d'un tarif
+ * Diffusé à tous les nœuds pour qu'ils reconstruisent leur matrice tarifaire
+ */
+public class TariffChangedEvent extends ApplicationEvent implements DomainEvent {
+
+    private final Long tariffId;
+    private final LocalDateTime changedAt;
+
+    public TariffChangedEvent(Object source, Long tariffId, LocalDateTime changedAt) {
+        super(source);
+        this.tariffId = tariffId;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Reconstruit l'événement reçu du bus AMQP
+     */
+    public static TariffChangedEvent fromMessage(Object source, DomainEventMessage message) {
+        return new TariffChangedEvent(source, message.getAggregateId(), message.getOccurredAt());
+    }
+
+    @Override
+    public DomainEventType getEventType() {
+        return DomainEventType.TARIFF_CHANGED;
+    }
+
+    @Override
+    public DomainEventMessage toMessage() {
+        return DomainEventMessage.builder()
+                .eventType(getEventType())
+                .aggregateId(tariffId)
+                .occurredAt(changedAt)
+                .build();
+    }
+
+    public Long getTariffId() {
+        return tariffId;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
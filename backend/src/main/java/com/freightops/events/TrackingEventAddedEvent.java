@@ -0,0 +1,87 @@
+package com.freightops.events;
+
+import com.freightops.enums.ShipmentStatus;
+import com.freightops.events.dto.DomainEventMessage;
+import com.freightops.events.enums.DomainEventType;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement déclenché lors de l'ajout d'un événement de suivi à un envoi
+ */
+public class TrackingEventAddedEvent extends ApplicationEvent implements DomainEvent {
+
+    private final Long shipmentId;
+    private final String trackingNumber;
+    private final ShipmentStatus status;
+    private final String description;
+    private final String location;
+    private final LocalDateTime eventDate;
+
+    public TrackingEventAddedEvent(Object source, Long shipmentId, String trackingNumber, ShipmentStatus status,
+            String description, String location, LocalDateTime eventDate) {
+        super(source);
+        this.shipmentId = shipmentId;
+        this.trackingNumber = trackingNumber;
+        this.status = status;
+        this.description = description;
+        this.location = location;
+        this.eventDate = eventDate;
+    }
+
+    /**
+     * Reconstruit l'événement reçu du bus AMQP
+     */
+    public static TrackingEventAddedEvent fromMessage(Object source, DomainEventMessage message) {
+        return new TrackingEventAddedEvent(source,
+                message.getAggregateId(),
+                message.getTrackingNumber(),
+                message.getStatus() != null ? ShipmentStatus.valueOf(message.getStatus()) : null,
+                message.getDescription(),
+                message.getLocation(),
+                message.getOccurredAt());
+    }
+
+    @Override
+    public DomainEventType getEventType() {
+        return DomainEventType.SHIPMENT_TRACKING_ADDED;
+    }
+
+    @Override
+    public DomainEventMessage toMessage() {
+        return DomainEventMessage.builder()
+                .eventType(getEventType())
+                .aggregateId(shipmentId)
+                .trackingNumber(trackingNumber)
+                .status(status != null ? status.name() : null)
+                .description(description)
+                .location(location)
+                .occurredAt(eventDate)
+                .build();
+    }
+
+    public Long getShipmentId() {
+        return shipmentId;
+    }
+
+    public String getTrackingNumber() {
+        return trackingNumber;
+    }
+
+    public ShipmentStatus getStatus() {
+        return status;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDateTime getEventDate() {
+        return eventDate;
+    }
+}
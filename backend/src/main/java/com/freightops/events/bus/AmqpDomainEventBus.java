@@ -0,0 +1,39 @@
+package com.freightops.events.bus;
+
+import com.freightops.events.DomainEvent;
+import com.freightops.events.DomainEventBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bus d'événements RabbitMQ
+ * Les événements sont envoyés sur l'échange topic events.bus.exchange avec
+ * leur clé de routage ; le canal étant transactionnel, l'envoi n'est validé
+ * qu'avec la transaction base de données en cours
+ */
+@Component
+@ConditionalOnProperty(name = "events.bus.mode", havingValue = "amqp")
+public class AmqpDomainEventBus implements DomainEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(AmqpDomainEventBus.class);
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Value("${events.bus.exchange:freightops.events}")
+    private String exchange;
+
+    public AmqpDomainEventBus(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        String routingKey = event.getEventType().getRoutingKey();
+        rabbitTemplate.convertAndSend(exchange, routingKey, event.toMessage());
+        logger.debug("Événement {} publié sur {}", routingKey, exchange);
+    }
+}
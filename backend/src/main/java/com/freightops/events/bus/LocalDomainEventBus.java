@@ -0,0 +1,26 @@
+package com.freightops.events.bus;
+
+import com.freightops.events.DomainEvent;
+import com.freightops.events.DomainEventBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bus d'événements dans la JVM (mode par défaut)
+ * Les événements sont délivrés de façon synchrone aux @EventListener, dans la
+ * transaction de l'appelant ; aucun broker n'est nécessaire
+ */
+@Component
+@ConditionalOnProperty(name = "events.bus.mode", havingValue = "local", matchIfMissing = true)
+public class LocalDomainEventBus implements DomainEventBus {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(DomainEvent event) {
+        eventPublisher.publishEvent(event);
+    }
+}
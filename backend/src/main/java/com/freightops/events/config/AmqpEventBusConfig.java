@@ -0,0 +1,100 @@
+package com.freightops.events.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freightops.events.enums.DomainEventType;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Topologie RabbitMQ du bus d'événements (mode amqp)
+ * - échange topic events.bus.exchange
+ * - file durable de la comptabilité (factures, paiements, LTA finalisées),
+ *   avec file de lettres mortes pour les messages en échec
+ * - file anonyme par nœud pour les événements de suivi, diffusés à tous les
+ *   nœuds (statuts LTA, événements de suivi des envois, changements de tarifs)
+ * La concurrence et le prefetch des consommateurs se règlent avec
+ * spring.rabbitmq.listener.simple.*
+ */
+@Configuration
+@ConditionalOnProperty(name = "events.bus.mode", havingValue = "amqp")
+public class AmqpEventBusConfig {
+
+    public static final String BROADCAST_QUEUE = "domainEventBroadcastQueue";
+
+    @Value("${events.bus.exchange:freightops.events}")
+    private String exchange;
+
+    @Value("${events.bus.accounting-queue:freightops.accounting}")
+    private String accountingQueue;
+
+    @Bean
+    public TopicExchange domainEventExchange() {
+        return new TopicExchange(exchange, true, false);
+    }
+
+    @Bean
+    public Declarables accountingQueueDeclarables(TopicExchange domainEventExchange) {
+        DirectExchange deadLetterExchange = new DirectExchange(exchange + ".dlx", true, false);
+        Queue deadLetterQueue = QueueBuilder.durable(accountingQueue + ".dlq").build();
+        Queue queue = QueueBuilder.durable(accountingQueue)
+                .deadLetterExchange(deadLetterExchange.getName())
+                .deadLetterRoutingKey(deadLetterQueue.getName())
+                .build();
+
+        return new Declarables(
+                deadLetterExchange,
+                deadLetterQueue,
+                BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(deadLetterQueue.getName()),
+                queue,
+                bind(queue, domainEventExchange, DomainEventType.INVOICE_CREATED),
+                bind(queue, domainEventExchange, DomainEventType.PAYMENT_RECEIVED),
+                bind(queue, domainEventExchange, DomainEventType.LTA_COMPLETED));
+    }
+
+    @Bean(name = BROADCAST_QUEUE)
+    public Queue domainEventBroadcastQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Declarables broadcastBindings(Queue domainEventBroadcastQueue, TopicExchange domainEventExchange) {
+        return new Declarables(
+                bind(domainEventBroadcastQueue, domainEventExchange, DomainEventType.LTA_STATUS_CHANGED),
+                bind(domainEventBroadcastQueue, domainEventExchange, DomainEventType.LTA_STATUS_BATCH_CHANGED),
+                bind(domainEventBroadcastQueue, domainEventExchange, DomainEventType.LTA_CHANGED),
+                bind(domainEventBroadcastQueue, domainEventExchange, DomainEventType.SHIPMENT_TRACKING_ADDED),
+                bind(domainEventBroadcastQueue, domainEventExchange, DomainEventType.SHIPMENT_TRACKING_BATCH_ADDED),
+                bind(domainEventBroadcastQueue, domainEventExchange, DomainEventType.TARIFF_CHANGED));
+    }
+
+    @Bean
+    public MessageConverter domainEventMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+
+    /**
+     * Envois liés à la transaction en cours : un événement n'est pas publié
+     * si l'opération métier est annulée
+     */
+    @Bean
+    public RabbitTemplateCustomizer transactionalRabbitTemplate() {
+        return template -> template.setChannelTransacted(true);
+    }
+
+    private Binding bind(Queue queue, TopicExchange exchange, DomainEventType type) {
+        return BindingBuilder.bind(queue).to(exchange).with(type.getRoutingKey());
+    }
+}
@@ -0,0 +1,57 @@
+package com.freightops.events.consumer;
+
+import com.freightops.accounting.enums.SourceType;
+import com.freightops.accounting.service.AccountingOutboxService;
+import com.freightops.events.dto.DomainEventMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Consommateur AMQP des événements comptables
+ * Dépose chaque événement dans la boîte d'envoi comptable ; la déduplication
+ * par source rend les redélivrances sans effet
+ * Désactivable sur les nœuds web avec events.bus.accounting-consumer.enabled=false
+ */
+@Component
+@ConditionalOnExpression("'${events.bus.mode:local}' == 'amqp' and ${events.bus.accounting-consumer.enabled:true}")
+public class AccountingEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountingEventConsumer.class);
+
+    private final AccountingOutboxService accountingOutboxService;
+
+    public AccountingEventConsumer(AccountingOutboxService accountingOutboxService) {
+        this.accountingOutboxService = accountingOutboxService;
+    }
+
+    @RabbitListener(queues = "${events.bus.accounting-queue:freightops.accounting}")
+    @Transactional
+    public void onAccountingEvent(DomainEventMessage message) {
+        SourceType sourceType = sourceTypeFor(message);
+        if (accountingOutboxService.enqueueIfAbsent(sourceType, message.getAggregateId(), message.getCreatedBy())) {
+            logger.debug("Événement comptable {} {} mis en file", sourceType, message.getAggregateId());
+        }
+    }
+
+    private SourceType sourceTypeFor(DomainEventMessage message) {
+        if (message.getEventType() == null || message.getAggregateId() == null) {
+            throw new AmqpRejectAndDontRequeueException("Message comptable incomplet: " + message);
+        }
+        switch (message.getEventType()) {
+            case INVOICE_CREATED:
+                return SourceType.INVOICE;
+            case PAYMENT_RECEIVED:
+                return SourceType.PAYMENT;
+            case LTA_COMPLETED:
+                return SourceType.LTA;
+            default:
+                throw new AmqpRejectAndDontRequeueException(
+                        "Événement non comptable reçu sur la file comptable: " + message.getEventType());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.freightops.events.consumer;
+
+import com.freightops.events.LTAChangedEvent;
+import com.freightops.events.LTAStatusBatchChangedEvent;
+import com.freightops.events.LTAStatusChangedEvent;
+import com.freightops.events.ShipmentTrackingBatchAddedEvent;
+import com.freightops.events.TariffChangedEvent;
+import com.freightops.events.TrackingEventAddedEvent;
+import com.freightops.events.config.AmqpEventBusConfig;
+import com.freightops.events.dto.DomainEventMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consommateur AMQP des événements diffusés à tous les nœuds
+ * Republie les événements reçus comme événements Spring locaux, de sorte
+ * que les @EventListener fonctionnent à l'identique dans les deux modes
+ */
+@Component
+@ConditionalOnProperty(name = "events.bus.mode", havingValue = "amqp")
+public class DomainEventBroadcastConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventBroadcastConsumer.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DomainEventBroadcastConsumer(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @RabbitListener(queues = "#{" + AmqpEventBusConfig.BROADCAST_QUEUE + ".name}")
+    public void onBroadcastEvent(DomainEventMessage message) {
+        if (message.getEventType() == null) {
+            logger.warn("Message sans type ignoré: {}", message);
+            return;
+        }
+        switch (message.getEventType()) {
+            case LTA_STATUS_CHANGED:
+                eventPublisher.publishEvent(LTAStatusChangedEvent.fromMessage(this, message));
+                break;
+            case LTA_STATUS_BATCH_CHANGED:
+                eventPublisher.publishEvent(LTAStatusBatchChangedEvent.fromMessage(this, message));
+                break;
+            case LTA_CHANGED:
+                eventPublisher.publishEvent(LTAChangedEvent.fromMessage(this, message));
+                break;
+            case SHIPMENT_TRACKING_ADDED:
+                eventPublisher.publishEvent(TrackingEventAddedEvent.fromMessage(this, message));
+                break;
+            case SHIPMENT_TRACKING_BATCH_ADDED:
+                eventPublisher.publishEvent(ShipmentTrackingBatchAddedEvent.fromMessage(this, message));
+                break;
+            case TARIFF_CHANGED:
+                eventPublisher.publishEvent(TariffChangedEvent.fromMessage(this, message));
+                break;
+            default:
+                logger.warn("Événement {} inattendu sur la file de diffusion", message.getEventType());
+        }
+    }
+}
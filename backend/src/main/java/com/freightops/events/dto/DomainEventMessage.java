@@ -0,0 +1,62 @@
+package com.freightops.events.dto;
+
+import com.freightops.events.enums.DomainEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Message AMQP d'un événement métier
+ * Ne contient que des identifiants et des valeurs simples : les consommateurs
+ * relisent l'agrégat en base s'ils ont besoin de plus
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DomainEventMessage {
+
+    private DomainEventType eventType;
+
+    private Long aggregateId;
+
+    /**
+     * Référence métier générique (numéro de facture)
+     */
+    private String reference;
+
+    /**
+     * Numéro de LTA, pour les événements portant sur une LTA
+     */
+    private String ltaNumber;
+
+    /**
+     * Numéro de suivi de la LTA ou de l'envoi
+     */
+    private String trackingNumber;
+
+    private String status;
+
+    private String previousStatus;
+
+    private BigDecimal amount;
+
+    private String description;
+
+    private String location;
+
+    private String createdBy;
+
+    private LocalDateTime occurredAt;
+
+    /**
+     * Éléments d'un événement groupé (changement de statut en masse), un
+     * message par agrégat
+     */
+    private List<DomainEventMessage> items;
+}
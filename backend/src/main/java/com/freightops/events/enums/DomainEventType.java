@@ -0,0 +1,27 @@
+package com.freightops.events.enums;
+
+/**
+ * Types d'événements métier publiés sur le bus
+ * La clé de routage est utilisée telle quelle sur l'échange AMQP
+ */
+public enum DomainEventType {
+    INVOICE_CREATED("invoice.created"),
+    PAYMENT_RECEIVED("payment.received"),
+    LTA_COMPLETED("lta.completed"),
+    LTA_STATUS_CHANGED("lta.status.changed"),
+    LTA_STATUS_BATCH_CHANGED("lta.status.batch-changed"),
+    LTA_CHANGED("lta.changed"),
+    SHIPMENT_TRACKING_ADDED("shipment.tracking.added"),
+    SHIPMENT_TRACKING_BATCH_ADDED("shipment.tracking.batch-added"),
+    TARIFF_CHANGED("tariff.changed");
+
+    private final String routingKey;
+
+    DomainEventType(String routingKey) {
+        this.routingKey = routingKey;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+}
@@ -0,0 +1,101 @@
+package com.freightops.fret.manifeste.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Header columns of a freight manifest, without its items
+ * Closed projection used by the paged listings of FreightManifestRepository:
+ * Spring Data selects only these columns, so a page of manifests costs one
+ * row per manifest plus a count, and no item collection is initialized.
+ */
+public interface ManifestSummary {
+
+    Long getId();
+
+    String getManifestNumber();
+
+    String getProformaNumber();
+
+    String getTransportMode();
+
+    String getVehicleReference();
+
+    String getDriverName();
+
+    String getDriverPhone();
+
+    LocalDateTime getScheduledDeparture();
+
+    LocalDateTime getScheduledArrival();
+
+    String getShipperName();
+
+    String getShipperAddress();
+
+    String getShipperContact();
+
+    String getShipperPhone();
+
+    String getConsigneeName();
+
+    String getConsigneeAddress();
+
+    String getConsigneeContact();
+
+    String getConsigneePhone();
+
+    String getClientName();
+
+    String getClientReference();
+
+    String getClientContact();
+
+    String getClientPhone();
+
+    String getAgentName();
+
+    String getAgentAddress();
+
+    String getAgentContact();
+
+    String getAgentPhone();
+
+    String getDeliveryInstructions();
+
+    String getGeneralRemarks();
+
+    String getAttachments();
+
+    String getLoadingSignature();
+
+    String getLoadingSignatory();
+
+    LocalDateTime getLoadingSignatureDate();
+
+    String getDeliverySignature();
+
+    String getDeliverySignatory();
+
+    LocalDateTime getDeliverySignatureDate();
+
+    String getDeliveryRemarks();
+
+    Integer getTotalPackages();
+
+    BigDecimal getTotalWeight();
+
+    BigDecimal getTotalVolume();
+
+    BigDecimal getTotalVolumetricWeight();
+
+    BigDecimal getTotalValue();
+
+    String getQrCode();
+
+    String getStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "freight_manifests")
+@Table(name = "freight_manifests", indexes = {
+        @Index(name = "idx_freight_manifests_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_freight_manifests_status_created_at_id", columnList = "status, created_at, id") })
 public class FreightManifest {
 
     @Id
@@ -1,13 +1,15 @@
 package com.freightops.fret.manifeste.repository;
 
+import com.freightops.fret.manifeste.dto.ManifestSummary;
 import com.freightops.fret.manifeste.model.FreightManifest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,16 +17,23 @@ public interface FreightManifestRepository extends JpaRepository<FreightManifest
 
         Optional<FreightManifest> findByManifestNumber(String manifestNumber);
 
-        List<FreightManifest> findByStatus(String status);
-
         Long countByStatus(String status);
 
-        @Query("SELECT fm FROM FreightManifest fm ORDER BY fm.createdAt DESC")
-        List<FreightManifest> findAllOrderByCreatedAtDesc();
+        // Paged listings: header columns only (see ManifestSummary), LIMIT/OFFSET and count in SQL
+
+        Page<ManifestSummary> findSummariesBy(Pageable pageable);
+
+        Page<ManifestSummary> findSummariesByStatus(String status, Pageable pageable);
+
+        Page<ManifestSummary> findSummariesByShipperNameContainingIgnoreCaseOrConsigneeNameContainingIgnoreCase(
+                        String shipper, String consignee, Pageable pageable);
+
+        Page<ManifestSummary> findSummariesByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate,
+                        Pageable pageable);
 
-        @Query("SELECT fm FROM FreightManifest fm WHERE fm.shipperName LIKE %:shipper% OR fm.consigneeName LIKE %:consignee%")
-        List<FreightManifest> findByShipperOrConsignee(@Param("shipper") String shipper,
-                        @Param("consignee") String consignee);
+        @Query("SELECT COALESCE(SUM(fm.totalWeight), 0) FROM FreightManifest fm")
+        BigDecimal sumTotalWeight();
 
-        List<FreightManifest> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+        @Query("SELECT COALESCE(SUM(fm.totalValue), 0) FROM FreightManifest fm")
+        BigDecimal sumTotalValue();
 }
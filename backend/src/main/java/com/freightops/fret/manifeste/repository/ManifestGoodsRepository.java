@@ -41,5 +41,9 @@ public interface ManifestGoodsRepository extends JpaRepository<ManifestGoods, Lo
     @Query("SELECT MAX(g.lineNumber) FROM ManifestGoods g WHERE g.manifest.id = :manifestId")
     Integer getMaxLineNumberByManifest(@Param("manifestId") Long manifestId);
 
+    @Query("SELECT DISTINCT g.trackingNumber FROM ManifestGoods g " +
+            "WHERE g.manifest.manifestNumber = :manifestNumber AND g.trackingNumber IS NOT NULL")
+    List<String> findTrackingNumbersByManifestNumber(@Param("manifestNumber") String manifestNumber);
+
     void deleteByManifestId(Long manifestId);
 }
@@ -3,6 +3,7 @@ package com.freightops.fret.manifeste.service;
 import com.freightops.fret.manifeste.model.FreightManifest;
 import com.freightops.fret.manifeste.model.ManifestItem;
 import com.freightops.fret.manifeste.repository.FreightManifestRepository;
+import com.freightops.reporting.service.ReportTemplateRegistry;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import net.sf.jasperreports.engine.export.JRPdfExporter;
@@ -13,11 +14,9 @@ import net.sf.jasperreports.export.SimpleWriterExporterOutput;
 import net.sf.jasperreports.export.SimplePdfExporterConfiguration;
 import net.sf.jasperreports.export.SimpleRtfExporterConfiguration;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
 import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -37,6 +36,9 @@ public class ManifestPdfService {
     @Autowired
     private FreightManifestRepository freightManifestRepository;
 
+    @Autowired
+    private ReportTemplateRegistry reportTemplateRegistry;
+
     /**
      * Generate manifest PDF
      */
@@ -73,20 +75,10 @@ public class ManifestPdfService {
 
         LOGGER.info("Found manifest: " + manifest.getManifestNumber());
 
-        // Load and compile template
-        ClassPathResource resource = new ClassPathResource("reports/freight_manifest_template.jrxml");
-
-        if (!resource.exists()) {
-            LOGGER.severe("Template file not found: reports/freight_manifest_template.jrxml");
-            throw new RuntimeException("Template file not found");
-        }
-
-        LOGGER.info("Template file found, compiling...");
+        // Get compiled template from the registry
         JasperReport jasperReport;
-
-        try (InputStream templateStream = resource.getInputStream()) {
-            jasperReport = JasperCompileManager.compileReport(templateStream);
-            LOGGER.info("Template compiled successfully");
+        try {
+            jasperReport = reportTemplateRegistry.getReport(ReportTemplateRegistry.MANIFEST_TEMPLATE);
         } catch (Exception e) {
             LOGGER.severe("Error compiling template: " + e.getMessage());
             throw new RuntimeException("Failed to compile template", e);
@@ -4,21 +4,26 @@ import com.freightops.fret.manifeste.model.FreightManifest;
 import com.freightops.fret.manifeste.model.ManifestItem;
 import com.freightops.fret.manifeste.dto.ManifestCreateRequest;
 import com.freightops.fret.manifeste.dto.ManifestResponse;
+import com.freightops.fret.manifeste.dto.ManifestSummary;
 import com.freightops.fret.manifeste.repository.FreightManifestRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -26,6 +31,10 @@ import java.util.stream.Collectors;
 @Transactional
 public class ManifestService {
 
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("createdAt", "updatedAt", "manifestNumber",
+            "status", "transportMode", "scheduledDeparture", "scheduledArrival", "shipperName", "consigneeName",
+            "clientName");
+
     @Autowired
     private FreightManifestRepository freightManifestRepository;
 
@@ -64,16 +73,8 @@ public class ManifestService {
      */
     @Transactional(readOnly = true)
     public Page<ManifestResponse> getManifests(Pageable pageable) {
-        List<FreightManifest> freightManifests = freightManifestRepository.findAllOrderByCreatedAtDesc();
-        List<ManifestResponse> responses = freightManifests.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), responses.size());
-        List<ManifestResponse> pageContent = responses.subList(start, end);
-
-        return new PageImpl<>(pageContent, pageable, responses.size());
+        return freightManifestRepository.findSummariesBy(toRepositoryPageable(pageable))
+                .map(this::convertToResponse);
     }
 
     /**
@@ -142,21 +143,15 @@ public class ManifestService {
     }
 
     /**
-     * Search manifests
+     * Search manifests by shipper or consignee name (case-insensitive)
      */
     @Transactional(readOnly = true)
     public Page<ManifestResponse> searchManifests(String searchTerm, Pageable pageable) {
-        List<FreightManifest> freightManifests = freightManifestRepository.findByShipperOrConsignee(searchTerm,
-                searchTerm);
-        List<ManifestResponse> responses = freightManifests.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), responses.size());
-        List<ManifestResponse> pageContent = responses.subList(start, end);
-
-        return new PageImpl<>(pageContent, pageable, responses.size());
+        String term = searchTerm != null ? searchTerm.trim() : "";
+        return freightManifestRepository
+                .findSummariesByShipperNameContainingIgnoreCaseOrConsigneeNameContainingIgnoreCase(term, term,
+                        toRepositoryPageable(pageable))
+                .map(this::convertToResponse);
     }
 
     /**
@@ -164,16 +159,8 @@ public class ManifestService {
      */
     @Transactional(readOnly = true)
     public Page<ManifestResponse> getManifestsByStatus(String status, Pageable pageable) {
-        List<FreightManifest> freightManifests = freightManifestRepository.findByStatus(status.toUpperCase());
-        List<ManifestResponse> responses = freightManifests.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), responses.size());
-        List<ManifestResponse> pageContent = responses.subList(start, end);
-
-        return new PageImpl<>(pageContent, pageable, responses.size());
+        return freightManifestRepository.findSummariesByStatus(status.toUpperCase(), toRepositoryPageable(pageable))
+                .map(this::convertToResponse);
     }
 
     /**
@@ -181,18 +168,11 @@ public class ManifestService {
      */
     @Transactional(readOnly = true)
     public Page<ManifestResponse> getManifestsByPeriod(LocalDate startDate, LocalDate endDate, Pageable pageable) {
-        List<FreightManifest> freightManifests = freightManifestRepository.findByCreatedAtBetween(
+        return freightManifestRepository.findSummariesByCreatedAtBetween(
                 startDate.atStartOfDay(),
-                endDate.atTime(23, 59, 59));
-        List<ManifestResponse> responses = freightManifests.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), responses.size());
-        List<ManifestResponse> pageContent = responses.subList(start, end);
-
-        return new PageImpl<>(pageContent, pageable, responses.size());
+                endDate.atTime(23, 59, 59),
+                toRepositoryPageable(pageable))
+                .map(this::convertToResponse);
     }
 
     /**
@@ -370,32 +350,114 @@ public class ManifestService {
     public Map<String, Object> getManifestStats() {
         Map<String, Object> stats = new HashMap<>();
 
-        List<FreightManifest> allManifests = freightManifestRepository.findAll();
-        stats.put("totalCount", (long) allManifests.size());
+        long totalCount = freightManifestRepository.count();
+        stats.put("totalCount", totalCount);
         stats.put("draftCount", freightManifestRepository.countByStatus("DRAFT"));
         stats.put("confirmedCount", freightManifestRepository.countByStatus("CONFIRMED"));
         stats.put("inTransitCount", freightManifestRepository.countByStatus("IN_TRANSIT"));
         stats.put("deliveredCount", freightManifestRepository.countByStatus("DELIVERED"));
         stats.put("cancelledCount", freightManifestRepository.countByStatus("CANCELLED"));
 
-        // Calculate averages
-        BigDecimal avgWeight = allManifests.stream()
-                .filter(m -> m.getTotalWeight() != null)
-                .map(FreightManifest::getTotalWeight)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(Math.max(1, allManifests.size())), 2, BigDecimal.ROUND_HALF_UP);
-        stats.put("averageWeight", avgWeight);
-
-        BigDecimal avgValue = allManifests.stream()
-                .filter(m -> m.getTotalValue() != null)
-                .map(FreightManifest::getTotalValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(Math.max(1, allManifests.size())), 2, BigDecimal.ROUND_HALF_UP);
-        stats.put("averageValue", avgValue);
+        // Calculate averages (missing totals count as zero, as before)
+        BigDecimal manifestCount = BigDecimal.valueOf(Math.max(1, totalCount));
+        stats.put("averageWeight",
+                freightManifestRepository.sumTotalWeight().divide(manifestCount, 2, RoundingMode.HALF_UP));
+        stats.put("averageValue",
+                freightManifestRepository.sumTotalValue().divide(manifestCount, 2, RoundingMode.HALF_UP));
 
         return stats;
     }
 
+    /**
+     * Map a listing request onto entity properties
+     * Clients sort by "createdDate" (the former name of createdAt); unknown
+     * properties are dropped rather than failing the query. The id is always
+     * the last sort key, so rows with equal dates keep a stable order across
+     * pages.
+     */
+    static Pageable toRepositoryPageable(Pageable pageable) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            String property = "createdDate".equals(order.getProperty()) ? "createdAt" : order.getProperty();
+            if (SORTABLE_PROPERTIES.contains(property)) {
+                orders.add(new Sort.Order(order.getDirection(), property));
+            }
+        }
+        if (orders.isEmpty()) {
+            orders.add(Sort.Order.desc("createdAt"));
+        }
+        orders.add(Sort.Order.desc("id"));
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
+    }
+
+    /**
+     * Convert a listing row to ManifestResponse DTO; items are not loaded for
+     * listings and are left null (fetch the manifest by ID for its items)
+     */
+    private ManifestResponse convertToResponse(ManifestSummary summary) {
+        ManifestResponse response = new ManifestResponse();
+
+        // Basic information
+        response.setId(summary.getId());
+        response.setManifestNumber(summary.getManifestNumber());
+        response.setProformaNumber(summary.getProformaNumber());
+        response.setTransportMode(summary.getTransportMode());
+        response.setVehicleReference(summary.getVehicleReference());
+        response.setDriverName(summary.getDriverName());
+        response.setDriverPhone(summary.getDriverPhone());
+        response.setScheduledDeparture(summary.getScheduledDeparture());
+        response.setScheduledArrival(summary.getScheduledArrival());
+        response.setDeliveryInstructions(summary.getDeliveryInstructions());
+        response.setGeneralRemarks(summary.getGeneralRemarks());
+        response.setAttachments(summary.getAttachments());
+        response.setStatus(summary.getStatus());
+
+        // Party information
+        response.setShipperName(summary.getShipperName());
+        response.setShipperAddress(summary.getShipperAddress());
+        response.setShipperContact(summary.getShipperContact());
+        response.setShipperPhone(summary.getShipperPhone());
+
+        response.setConsigneeName(summary.getConsigneeName());
+        response.setConsigneeAddress(summary.getConsigneeAddress());
+        response.setConsigneeContact(summary.getConsigneeContact());
+        response.setConsigneePhone(summary.getConsigneePhone());
+
+        response.setClientName(summary.getClientName());
+        response.setClientReference(summary.getClientReference());
+        response.setClientContact(summary.getClientContact());
+        response.setClientPhone(summary.getClientPhone());
+
+        response.setAgentName(summary.getAgentName());
+        response.setAgentAddress(summary.getAgentAddress());
+        response.setAgentContact(summary.getAgentContact());
+        response.setAgentPhone(summary.getAgentPhone());
+
+        // Totals
+        response.setTotalWeight(summary.getTotalWeight());
+        response.setTotalVolume(summary.getTotalVolume());
+        response.setTotalVolumetricWeight(summary.getTotalVolumetricWeight());
+        response.setTotalValue(summary.getTotalValue());
+        response.setTotalPackages(summary.getTotalPackages());
+
+        // Signatures
+        response.setLoadingSignature(summary.getLoadingSignature());
+        response.setLoadingSignatory(summary.getLoadingSignatory());
+        response.setLoadingSignatureDate(summary.getLoadingSignatureDate());
+
+        response.setDeliverySignature(summary.getDeliverySignature());
+        response.setDeliverySignatory(summary.getDeliverySignatory());
+        response.setDeliverySignatureDate(summary.getDeliverySignatureDate());
+        response.setDeliveryRemarks(summary.getDeliveryRemarks());
+
+        // Metadata
+        response.setQrCode(summary.getQrCode());
+        response.setCreatedAt(summary.getCreatedAt());
+        response.setUpdatedAt(summary.getUpdatedAt());
+
+        return response;
+    }
+
     /**
      * Convert FreightManifest entity to ManifestResponse DTO
      */
@@ -0,0 +1,72 @@
+package com.freightops.pagination;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Page of a keyset (seek) listing
+ * nextCursor is null on the last page; totalElements is only set when the
+ * caller asked for it, since counting is what makes deep offset pages slow
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor;
+    private final Long totalElements;
+
+    public CursorPage(List<T> content, int size, String nextCursor, Long totalElements) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+    }
+
+    /**
+     * Build a page from rows fetched with {@link SeekCursor#limit(int)}
+     *
+     * @param rows          up to size + 1 rows, in (createdAt DESC, id DESC) order
+     * @param size          requested page size
+     * @param createdAt     creation date of a row
+     * @param id            ID of a row
+     * @param totalElements total count, or null when not requested
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, LocalDateTime> createdAt,
+            Function<T, Long> id, Long totalElements) {
+        int pageSize = SeekCursor.clamp(size);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, pageSize, null, totalElements);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        T last = content.get(pageSize - 1);
+        String nextCursor = SeekCursor.after(createdAt.apply(last), id.apply(last)).encode();
+        return new CursorPage<>(content, pageSize, nextCursor, totalElements);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).collect(Collectors.toList()), size, nextCursor,
+                totalElements);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+}
@@ -0,0 +1,90 @@
+package com.freightops.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by (createdAt DESC, id DESC)
+ * Queries seek past the position with
+ * {@code createdAt <= :createdAt AND (createdAt < :createdAt OR id < :id)},
+ * which stays an index range scan on (created_at, id) however deep the page.
+ * The first page starts from a sentinel position after every row, so the
+ * same query serves all pages.
+ */
+public final class SeekCursor {
+
+    public static final int MAX_SIZE = 1000;
+
+    private static final SeekCursor FIRST = new SeekCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    private SeekCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static SeekCursor first() {
+        return FIRST;
+    }
+
+    public static SeekCursor after(LocalDateTime createdAt, Long id) {
+        return new SeekCursor(createdAt, id);
+    }
+
+    /**
+     * Decode a continuation token; a missing token means the first page
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new SeekCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Opaque continuation token
+     */
+    public String encode() {
+        String value = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Limit for a page of the given size: one extra row tells whether a next
+     * page exists without counting
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, clamp(size) + 1);
+    }
+
+    static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
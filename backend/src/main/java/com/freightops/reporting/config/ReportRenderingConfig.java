@@ -0,0 +1,50 @@
+package com.freightops.reporting.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration du pool de rendu des documents PDF
+ * Pool dédié à file bornée : quand la file est pleine, les soumissions sont
+ * rejetées au lieu de bloquer les threads Tomcat
+ */
+@Configuration
+public class ReportRenderingConfig {
+
+    public static final String REPORT_RENDER_EXECUTOR = "reportRenderExecutor";
+
+    @Value("${reports.render.pool-size:4}")
+    private int poolSize;
+
+    @Value("${reports.render.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Bean(name = REPORT_RENDER_EXECUTOR)
+    public ThreadPoolTaskExecutor reportRenderExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-render-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        Gauge.builder("reports.render.queue.depth", executor,
+                e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Documents en attente de rendu")
+                .register(meterRegistry);
+        Gauge.builder("reports.render.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Documents en cours de rendu")
+                .register(meterRegistry);
+
+        return executor;
+    }
+}
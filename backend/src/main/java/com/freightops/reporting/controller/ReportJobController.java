@@ -0,0 +1,92 @@
+package com.freightops.reporting.controller;
+
+import com.freightops.dto.ApiResponse;
+import com.freightops.reporting.dto.ReportJobRequest;
+import com.freightops.reporting.dto.ReportJobResponse;
+import com.freightops.reporting.model.ReportJob;
+import com.freightops.reporting.service.ReportRenderingService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * API de rendu asynchrone des documents (LTA, factures, manifestes, trésorerie)
+ * Soumettre un travail, puis interroger son état ou attendre le résultat
+ * sans occuper de thread Tomcat
+ */
+@RestController
+@RequestMapping("/api/reports/jobs")
+@CrossOrigin(origins = "*")
+public class ReportJobController {
+
+    @Autowired
+    private ReportRenderingService reportRenderingService;
+
+    /**
+     * Soumettre un rendu
+     * POST /api/reports/jobs
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitJob(@Valid @RequestBody ReportJobRequest request) {
+        try {
+            ReportJob job = reportRenderingService.submit(request);
+            ReportJobResponse response = ReportJobResponse.from(job);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/reports/jobs/" + job.getId()))
+                    .body(ApiResponse.success(response, "Rendu en file d'attente"));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(ApiResponse.error("File de rendu pleine, réessayez plus tard", "Service saturé"));
+        }
+    }
+
+    /**
+     * État d'un rendu
+     * GET /api/reports/jobs/{jobId}
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getJob(@PathVariable String jobId) {
+        Optional<ReportJob> job = reportRenderingService.getJob(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Travail de rendu non trouvé: " + jobId));
+        }
+        return ResponseEntity.ok(ApiResponse.success(ReportJobResponse.from(job.get())));
+    }
+
+    /**
+     * Résultat d'un rendu ; la réponse est différée jusqu'à la fin du rendu
+     * GET /api/reports/jobs/{jobId}/result
+     */
+    @GetMapping("/{jobId}/result")
+    public CompletableFuture<ResponseEntity<?>> getJobResult(@PathVariable String jobId) {
+        Optional<ReportJob> jobOpt = reportRenderingService.getJob(jobId);
+        if (jobOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Travail de rendu non trouvé: " + jobId)));
+        }
+
+        ReportJob job = jobOpt.get();
+        return job.getResult().handle((content, error) -> {
+            if (error != null) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(ApiResponse.error("Échec du rendu: " + job.getErrorMessage()));
+            }
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_PDF);
+            headers.setContentDispositionFormData("attachment", job.getFileName());
+            headers.setContentLength(content.length);
+            return ResponseEntity.ok().headers(headers).body(content);
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.freightops.reporting.dto;
+
+import com.freightops.enums.LTAStatus;
+import com.freightops.reporting.enums.BulkExportFormat;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Demande d'export groupé des LTA
+ * Soit une liste d'IDs, soit un filtre (statut, période de création, villes)
+ */
+@Data
+@NoArgsConstructor
+public class LTABulkExportRequest {
+
+    private List<Long> ids;
+
+    private LTAStatus status;
+
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+
+    private Long originCityId;
+
+    private Long destinationCityId;
+
+    private BulkExportFormat format = BulkExportFormat.PDF;
+}
@@ -0,0 +1,26 @@
+package com.freightops.reporting.dto;
+
+import com.freightops.reporting.enums.ReportType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Demande de rendu asynchrone d'un document
+ * resourceId pour LTA, INVOICE et MANIFEST ; startDate/endDate pour TREASURY
+ */
+@Data
+@NoArgsConstructor
+public class ReportJobRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportType type;
+
+    private Long resourceId;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+}
@@ -0,0 +1,41 @@
+package com.freightops.reporting.dto;
+
+import com.freightops.reporting.enums.ReportJobStatus;
+import com.freightops.reporting.enums.ReportType;
+import com.freightops.reporting.model.ReportJob;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * État d'un travail de rendu asynchrone
+ */
+@Data
+@NoArgsConstructor
+public class ReportJobResponse {
+
+    private String jobId;
+    private ReportType type;
+    private Long resourceId;
+    private ReportJobStatus status;
+    private String fileName;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+    private String errorMessage;
+    private String resultUrl;
+
+    public static ReportJobResponse from(ReportJob job) {
+        ReportJobResponse response = new ReportJobResponse();
+        response.setJobId(job.getId());
+        response.setType(job.getType());
+        response.setResourceId(job.getResourceId());
+        response.setStatus(job.getStatus());
+        response.setFileName(job.getFileName());
+        response.setSubmittedAt(job.getSubmittedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setResultUrl("/api/reports/jobs/" + job.getId() + "/result");
+        return response;
+    }
+}
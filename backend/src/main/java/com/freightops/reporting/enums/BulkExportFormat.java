@@ -0,0 +1,11 @@
+package com.freightops.reporting.enums;
+
+/**
+ * Formats de sortie de l'export groupé des LTA
+ */
+public enum BulkExportFormat {
+    /** Un seul PDF contenant toutes les LTA */
+    PDF,
+    /** Une archive ZIP avec un PDF par LTA */
+    ZIP
+}
@@ -0,0 +1,11 @@
+package com.freightops.reporting.enums;
+
+/**
+ * Cycle de vie d'un travail de rendu asynchrone
+ */
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
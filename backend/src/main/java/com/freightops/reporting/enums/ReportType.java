@@ -0,0 +1,11 @@
+package com.freightops.reporting.enums;
+
+/**
+ * Types de documents rendus par le pipeline d'impression
+ */
+public enum ReportType {
+    LTA,
+    INVOICE,
+    MANIFEST,
+    TREASURY
+}
@@ -0,0 +1,88 @@
+package com.freightops.reporting.model;
+
+import com.freightops.reporting.enums.ReportJobStatus;
+import com.freightops.reporting.enums.ReportType;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Travail de rendu asynchrone conservé en mémoire jusqu'à expiration
+ */
+public class ReportJob {
+
+    private final String id;
+    private final ReportType type;
+    private final Long resourceId;
+    private final String fileName;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+
+    private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+    private volatile LocalDateTime completedAt;
+    private volatile String errorMessage;
+
+    public ReportJob(String id, ReportType type, Long resourceId, String fileName) {
+        this.id = id;
+        this.type = type;
+        this.resourceId = resourceId;
+        this.fileName = fileName;
+    }
+
+    public void markRunning() {
+        this.status = ReportJobStatus.RUNNING;
+    }
+
+    public void complete(byte[] content) {
+        this.completedAt = LocalDateTime.now();
+        this.status = ReportJobStatus.COMPLETED;
+        result.complete(content);
+    }
+
+    public void fail(Throwable error) {
+        this.completedAt = LocalDateTime.now();
+        this.errorMessage = error.getMessage();
+        this.status = ReportJobStatus.FAILED;
+        result.completeExceptionally(error);
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ReportType getType() {
+        return type;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public ReportJobStatus getStatus() {
+        return status;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public CompletableFuture<byte[]> getResult() {
+        return result;
+    }
+}
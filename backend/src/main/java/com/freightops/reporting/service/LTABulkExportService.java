@@ -0,0 +1,310 @@
+package com.freightops.reporting.service;
+
+import com.freightops.entity.LTA;
+import com.freightops.reporting.config.ReportRenderingConfig;
+import com.freightops.reporting.dto.LTABulkExportRequest;
+import com.freightops.repository.LTARepository;
+import com.freightops.service.LTAJasperService;
+import jakarta.persistence.EntityNotFoundException;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.export.JRPdfExporter;
+import net.sf.jasperreports.export.ExporterInputItem;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleExporterInputItem;
+import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Export groupé des LTA en un PDF fusionné ou une archive ZIP
+ * Les LTA sont remplies en parallèle sur le pool de rendu, avec une fenêtre
+ * bornée de documents en avance, et écrites directement dans le flux de sortie
+ */
+@Service
+public class LTABulkExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LTABulkExportService.class);
+
+    private final ThreadPoolTaskExecutor reportRenderExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LTARepository ltaRepository;
+    private final LTAJasperService ltaJasperService;
+
+    @Value("${reports.bulk.max-documents:1000}")
+    private int maxDocuments;
+
+    @Value("${reports.bulk.window:8}")
+    private int window;
+
+    public LTABulkExportService(
+            @Qualifier(ReportRenderingConfig.REPORT_RENDER_EXECUTOR) ThreadPoolTaskExecutor reportRenderExecutor,
+            PlatformTransactionManager transactionManager,
+            LTARepository ltaRepository,
+            LTAJasperService ltaJasperService) {
+        this.reportRenderExecutor = reportRenderExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ltaRepository = ltaRepository;
+        this.ltaJasperService = ltaJasperService;
+    }
+
+    /**
+     * Résout la liste des LTA à exporter, dans l'ordre d'impression
+     *
+     * Les IDs demandés sont vérifiés avant tout envoi de la réponse : une LTA
+     * inconnue ne doit pas interrompre un flux déjà commencé
+     *
+     * @param request liste d'IDs ou filtre
+     * @return IDs des LTA à exporter
+     * @throws IllegalArgumentException si le lot dépasse la taille maximale
+     * @throws EntityNotFoundException  si un des IDs demandés n'existe pas
+     */
+    public List<Long> resolveIds(LTABulkExportRequest request) {
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            List<Long> ids = List.copyOf(new LinkedHashSet<>(request.getIds()));
+            checkBulkSize(ids.size());
+            Set<Long> missing = new LinkedHashSet<>(ids);
+            ltaRepository.findExistingIdsIn(ids).forEach(missing::remove);
+            if (!missing.isEmpty()) {
+                throw new EntityNotFoundException("LTA non trouvées: " + missing);
+            }
+            return ids;
+        }
+
+        List<Long> ids = ltaRepository.findIdsForExport(
+                request.getStatus(),
+                request.getFromDate() != null ? request.getFromDate().atStartOfDay() : null,
+                request.getToDate() != null ? request.getToDate().plusDays(1).atStartOfDay() : null,
+                request.getOriginCityId(),
+                request.getDestinationCityId());
+        checkBulkSize(ids.size());
+        return ids;
+    }
+
+    private void checkBulkSize(int size) {
+        if (size > maxDocuments) {
+            throw new IllegalArgumentException("Too many LTAs for a bulk export: " + size
+                    + " (max " + maxDocuments + ")");
+        }
+    }
+
+    /**
+     * Écrit toutes les LTA dans un seul PDF
+     */
+    public void writeMergedPdf(List<Long> ids, OutputStream outputStream) throws IOException {
+        RenderQueue queue = new RenderQueue(ids);
+        try {
+            JRPdfExporter exporter = new JRPdfExporter();
+            exporter.setExporterInput(new SimpleExporterInput(
+                    new ForwardOnlyExporterItems(new PrintIterator(queue), ids.size())));
+            exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(StreamUtils.nonClosing(outputStream)));
+            exporter.exportReport();
+        } catch (JRException e) {
+            throw new IOException("Échec de l'export PDF groupé: " + e.getMessage(), e);
+        } finally {
+            queue.cancelPending();
+        }
+    }
+
+    /**
+     * Écrit une archive ZIP contenant un PDF par LTA
+     */
+    public void writeZip(List<Long> ids, OutputStream outputStream) throws IOException {
+        RenderQueue queue = new RenderQueue(ids);
+        try (ZipOutputStream zip = new ZipOutputStream(StreamUtils.nonClosing(outputStream))) {
+            while (queue.hasNext()) {
+                RenderedLTA rendered = queue.next();
+                zip.putNextEntry(new ZipEntry("LTA-" + rendered.ltaNumber + ".pdf"));
+                JRPdfExporter exporter = new JRPdfExporter();
+                exporter.setExporterInput(new SimpleExporterInput(rendered.print));
+                exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(StreamUtils.nonClosing(zip)));
+                exporter.exportReport();
+                zip.closeEntry();
+            }
+        } catch (JRException e) {
+            throw new IOException("Échec de l'export ZIP groupé: " + e.getMessage(), e);
+        } finally {
+            queue.cancelPending();
+        }
+    }
+
+    private RenderedLTA render(Long id) {
+        return readOnlyTransaction.execute(status -> {
+            LTA lta = ltaRepository.findWithDetailsById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("LTA non trouvée avec l'ID: " + id));
+            try {
+                return new RenderedLTA(lta.getLtaNumber(), ltaJasperService.fillLTAReport(lta));
+            } catch (JRException e) {
+                throw new IllegalStateException("Échec du remplissage de la LTA " + lta.getLtaNumber(), e);
+            }
+        });
+    }
+
+    private static final class RenderedLTA {
+        private final String ltaNumber;
+        private final JasperPrint print;
+
+        private RenderedLTA(String ltaNumber, JasperPrint print) {
+            this.ltaNumber = ltaNumber;
+            this.print = print;
+        }
+    }
+
+    /**
+     * Remplit les LTA en parallèle en gardant au plus {@code window} documents
+     * en avance, et les restitue dans l'ordre demandé
+     */
+    private final class RenderQueue implements Iterator<RenderedLTA> {
+        private final Iterator<Long> ids;
+        private final Deque<Future<RenderedLTA>> pending = new ArrayDeque<>();
+
+        private RenderQueue(List<Long> ids) {
+            this.ids = ids.iterator();
+            fill();
+        }
+
+        private void fill() {
+            while (pending.size() < Math.max(window, 1) && ids.hasNext()) {
+                Long id = ids.next();
+                pending.add(submit(() -> render(id)));
+            }
+        }
+
+        private Future<RenderedLTA> submit(Callable<RenderedLTA> task) {
+            try {
+                return reportRenderExecutor.submit(task);
+            } catch (RejectedExecutionException e) {
+                // Pool saturé : le thread d'écriture rend lui-même le document
+                FutureTask<RenderedLTA> inline = new FutureTask<>(task);
+                inline.run();
+                return inline;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public RenderedLTA next() {
+            Future<RenderedLTA> next = pending.poll();
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            fill();
+            try {
+                return next.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Export groupé interrompu", e);
+            } catch (ExecutionException e) {
+                logger.error("Échec du rendu d'une LTA de l'export groupé: {}", e.getCause().getMessage());
+                throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        private void cancelPending() {
+            pending.forEach(future -> future.cancel(true));
+            pending.clear();
+        }
+    }
+
+    /**
+     * Documents de la file, sans le numéro de LTA
+     */
+    private static final class PrintIterator implements Iterator<JasperPrint> {
+        private final RenderQueue queue;
+
+        private PrintIterator(RenderQueue queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return queue.hasNext();
+        }
+
+        @Override
+        public JasperPrint next() {
+            return queue.next().print;
+        }
+    }
+
+    /**
+     * Liste des documents pour l'exporteur PDF, qui n'accepte qu'une liste
+     * Contrat, pour ne jamais garder plus d'un document rendu en mémoire :
+     * <ul>
+     * <li>{@code size()} est connue d'avance et ne rend rien ;</li>
+     * <li>{@code get(i)} accepte l'élément courant (relu autant de fois que
+     * nécessaire) ou un élément suivant, les documents intermédiaires étant
+     * consommés ;</li>
+     * <li>revenir à un élément déjà quitté, ou parcourir la liste une seconde
+     * fois, lève une IllegalStateException au lieu de rendre à nouveau.</li>
+     * </ul>
+     * JRPdfExporter lit les éléments une fois, dans l'ordre, par index.
+     */
+    static final class ForwardOnlyExporterItems extends AbstractList<ExporterInputItem> {
+        private final Iterator<JasperPrint> source;
+        private final int size;
+        private int index = -1;
+        private ExporterInputItem current;
+
+        ForwardOnlyExporterItems(Iterator<JasperPrint> source, int size) {
+            this.source = source;
+            this.size = size;
+        }
+
+        @Override
+        public ExporterInputItem get(int i) {
+            if (i < 0 || i >= size) {
+                throw new IndexOutOfBoundsException("Index " + i + " hors de l'export groupé de " + size
+                        + " documents");
+            }
+            if (i < index) {
+                throw new IllegalStateException("Document " + i + " de l'export groupé déjà libéré (document "
+                        + index + " en cours) : les documents ne peuvent être lus qu'en avançant");
+            }
+            while (index < i) {
+                if (!source.hasNext()) {
+                    throw new IllegalStateException("Export groupé interrompu après " + (index + 1)
+                            + " documents sur " + size);
+                }
+                current = new SimpleExporterInputItem(source.next());
+                index++;
+            }
+            return current;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.freightops.reporting.service;
+
+import com.freightops.entity.Invoice;
+import com.freightops.entity.LTA;
+import com.freightops.fret.manifeste.service.ManifestPdfService;
+import com.freightops.reporting.config.ReportRenderingConfig;
+import com.freightops.reporting.dto.ReportJobRequest;
+import com.freightops.reporting.enums.ReportType;
+import com.freightops.reporting.model.ReportJob;
+import com.freightops.service.InvoiceJasperService;
+import com.freightops.service.InvoiceService;
+import com.freightops.service.LTAJasperService;
+import com.freightops.service.LTAService;
+import com.freightops.service.TreasuryReportService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Pipeline de rendu asynchrone des documents PDF
+ * Les rendus s'exécutent sur le pool dédié reportRenderExecutor ; les
+ * résultats restent disponibles en mémoire pendant reports.render.job-ttl-minutes
+ */
+@Service
+public class ReportRenderingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportRenderingService.class);
+
+    private final ThreadPoolTaskExecutor reportRenderExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final LTAService ltaService;
+    private final LTAJasperService ltaJasperService;
+    private final InvoiceService invoiceService;
+    private final InvoiceJasperService invoiceJasperService;
+    private final ManifestPdfService manifestPdfService;
+    private final TreasuryReportService treasuryReportService;
+
+    private final ConcurrentMap<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${reports.render.job-ttl-minutes:10}")
+    private long jobTtlMinutes;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    public ReportRenderingService(
+            @Qualifier(ReportRenderingConfig.REPORT_RENDER_EXECUTOR) ThreadPoolTaskExecutor reportRenderExecutor,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            LTAService ltaService,
+            LTAJasperService ltaJasperService,
+            InvoiceService invoiceService,
+            InvoiceJasperService invoiceJasperService,
+            ManifestPdfService manifestPdfService,
+            TreasuryReportService treasuryReportService) {
+        this.reportRenderExecutor = reportRenderExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.ltaService = ltaService;
+        this.ltaJasperService = ltaJasperService;
+        this.invoiceService = invoiceService;
+        this.invoiceJasperService = invoiceJasperService;
+        this.manifestPdfService = manifestPdfService;
+        this.treasuryReportService = treasuryReportService;
+    }
+
+    /**
+     * Soumet un rendu au pool dédié
+     *
+     * @param request type de document et paramètres
+     * @return travail en file d'attente
+     * @throws RejectedExecutionException si la file de rendu est pleine
+     */
+    public ReportJob submit(ReportJobRequest request) {
+        purgeExpiredJobs();
+
+        Callable<byte[]> renderer = rendererFor(request);
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), request.getType(), request.getResourceId(),
+                fileNameFor(request));
+        jobs.put(job.getId(), job);
+
+        try {
+            reportRenderExecutor.execute(() -> run(job, renderer));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Counter.builder("reports.render.rejected")
+                    .tag("type", request.getType().name())
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("File de rendu pleine, travail {} {} rejeté", request.getType(), request.getResourceId());
+            throw e;
+        }
+
+        return job;
+    }
+
+    /**
+     * Travail de rendu, tant qu'il n'a pas expiré
+     */
+    public Optional<ReportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> !isExpired(job, expiryThreshold()));
+    }
+
+    private void run(ReportJob job, Callable<byte[]> renderer) {
+        job.markRunning();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            byte[] content = readOnlyTransaction.execute(status -> {
+                try {
+                    return renderer.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            });
+            job.complete(content);
+        } catch (Exception e) {
+            outcome = "failure";
+            logger.error("Échec du rendu {} {}: {}", job.getType(), job.getResourceId(), e.getMessage(), e);
+            job.fail(e);
+        } finally {
+            sample.stop(Timer.builder("reports.render.latency")
+                    .tag("type", job.getType().name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private Callable<byte[]> rendererFor(ReportJobRequest request) {
+        Long id = request.getResourceId();
+        switch (request.getType()) {
+            case LTA:
+                requireResourceId(request);
+                return () -> {
+                    LTA lta = ltaService.getLTAById(id)
+                            .orElseThrow(() -> new EntityNotFoundException("LTA non trouvée avec l'ID: " + id));
+                    return ltaJasperService.generateLTAPdf(lta);
+                };
+            case INVOICE:
+                requireResourceId(request);
+                return () -> {
+                    Invoice invoice = invoiceService.getInvoiceById(id)
+                            .orElseThrow(() -> new EntityNotFoundException("Facture non trouvée avec l'ID: " + id));
+                    return invoiceJasperService.generateInvoicePdf(invoice);
+                };
+            case MANIFEST:
+                requireResourceId(request);
+                return () -> manifestPdfService.generateManifestPdf(id);
+            case TREASURY:
+                if (request.getStartDate() == null || request.getEndDate() == null) {
+                    throw new IllegalArgumentException("startDate and endDate are required for TREASURY reports");
+                }
+                return () -> treasuryReportService.generateTreasuryReport(request.getStartDate(),
+                        request.getEndDate());
+            default:
+                throw new IllegalArgumentException("Unsupported report type: " + request.getType());
+        }
+    }
+
+    private void requireResourceId(ReportJobRequest request) {
+        if (request.getResourceId() == null) {
+            throw new IllegalArgumentException("resourceId is required for " + request.getType() + " reports");
+        }
+    }
+
+    private String fileNameFor(ReportJobRequest request) {
+        if (request.getType() == ReportType.TREASURY) {
+            return "tresorerie_" + request.getStartDate() + "_" + request.getEndDate() + ".pdf";
+        }
+        return request.getType().name().toLowerCase() + "_" + request.getResourceId() + ".pdf";
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime threshold = expiryThreshold();
+        jobs.values().removeIf(job -> isExpired(job, threshold));
+    }
+
+    private LocalDateTime expiryThreshold() {
+        return LocalDateTime.now(clock).minusMinutes(jobTtlMinutes);
+    }
+
+    private static boolean isExpired(ReportJob job, LocalDateTime threshold) {
+        return job.getCompletedAt() != null && job.getCompletedAt().isBefore(threshold);
+    }
+}
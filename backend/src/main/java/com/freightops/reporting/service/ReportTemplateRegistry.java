@@ -0,0 +1,175 @@
+package com.freightops.reporting.service;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+import net.sf.jasperreports.engine.util.JRSaver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registre des templates JasperReports compilés
+ * Compile chaque .jrxml une seule fois et garde le JasperReport en mémoire
+ * pour tous les services d'impression (LTA, factures, manifestes, trésorerie)
+ */
+@Service
+public class ReportTemplateRegistry {
+
+    public static final String LTA_TEMPLATE = "reports/lta_clean_template.jrxml";
+    public static final String INVOICE_TEMPLATE = "reports/invoice_modern_template.jrxml";
+    public static final String MANIFEST_TEMPLATE = "reports/freight_manifest_template.jrxml";
+    public static final String TREASURY_TEMPLATE = "reports/treasury_report_template.jrxml";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportTemplateRegistry.class);
+
+    private static final List<String> KNOWN_TEMPLATES = List.of(
+            LTA_TEMPLATE, INVOICE_TEMPLATE, MANIFEST_TEMPLATE, TREASURY_TEMPLATE);
+
+    @Value("${reports.templates.precompile:true}")
+    private boolean precompile = true;
+
+    @Value("${reports.templates.reload-on-change:false}")
+    private boolean reloadOnChange;
+
+    @Value("${reports.templates.compiled-dir:}")
+    private String compiledDir;
+
+    private final ConcurrentMap<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Compile les templates connus au démarrage pour que la première impression
+     * ne paie pas le coût de compilation
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompileTemplates() {
+        if (!precompile) {
+            return;
+        }
+        for (String templatePath : KNOWN_TEMPLATES) {
+            try {
+                getReport(templatePath);
+            } catch (JRException e) {
+                logger.warn("Précompilation impossible pour {}: {}", templatePath, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Retourne le rapport compilé pour un template du classpath
+     *
+     * @param templatePath chemin classpath du .jrxml (ex: reports/lta_clean_template.jrxml)
+     * @return rapport compilé, partagé entre les threads
+     */
+    public JasperReport getReport(String templatePath) throws JRException {
+        ClassPathResource resource = new ClassPathResource(templatePath);
+        CompiledTemplate cached = templates.get(templatePath);
+        if (cached != null && !isStale(cached, resource)) {
+            return cached.report;
+        }
+
+        synchronized (this) {
+            cached = templates.get(templatePath);
+            if (cached != null && !isStale(cached, resource)) {
+                return cached.report;
+            }
+            CompiledTemplate loaded = load(templatePath, resource);
+            templates.put(templatePath, loaded);
+            return loaded.report;
+        }
+    }
+
+    /**
+     * Retire un template du cache, il sera recompilé au prochain appel
+     */
+    public void evict(String templatePath) {
+        templates.remove(templatePath);
+    }
+
+    private boolean isStale(CompiledTemplate cached, ClassPathResource resource) {
+        return reloadOnChange && lastModified(resource) != cached.sourceLastModified;
+    }
+
+    private CompiledTemplate load(String templatePath, ClassPathResource resource) throws JRException {
+        if (!resource.exists()) {
+            throw new JRException("Template non trouvé: " + templatePath);
+        }
+
+        long sourceLastModified = lastModified(resource);
+        File binary = compiledFile(templatePath);
+
+        if (binary != null && sourceLastModified > 0 && binary.isFile()
+                && binary.lastModified() >= sourceLastModified) {
+            JasperReport report = (JasperReport) JRLoader.loadObject(binary);
+            logger.info("Template {} chargé depuis {}", templatePath, binary.getPath());
+            return new CompiledTemplate(report, sourceLastModified);
+        }
+
+        long start = System.nanoTime();
+        JasperReport report;
+        try (InputStream templateStream = resource.getInputStream()) {
+            report = JasperCompileManager.compileReport(templateStream);
+        } catch (IOException e) {
+            throw new JRException("Lecture du template impossible: " + templatePath, e);
+        }
+        logger.info("Template {} compilé en {} ms", templatePath, (System.nanoTime() - start) / 1_000_000);
+
+        if (binary != null) {
+            saveBinary(report, binary);
+        }
+        return new CompiledTemplate(report, sourceLastModified);
+    }
+
+    private void saveBinary(JasperReport report, File binary) {
+        try {
+            File parent = binary.getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                logger.warn("Impossible de créer le répertoire {}", parent.getPath());
+                return;
+            }
+            JRSaver.saveObject(report, binary);
+        } catch (JRException e) {
+            logger.warn("Impossible d'enregistrer {}: {}", binary.getPath(), e.getMessage());
+        }
+    }
+
+    private File compiledFile(String templatePath) {
+        if (!StringUtils.hasText(compiledDir)) {
+            return null;
+        }
+        String fileName = StringUtils.getFilename(templatePath);
+        String baseName = StringUtils.stripFilenameExtension(fileName);
+        return new File(compiledDir, baseName + ".jasper");
+    }
+
+    private long lastModified(ClassPathResource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static final class CompiledTemplate {
+        private final JasperReport report;
+        private final long sourceLastModified;
+
+        private CompiledTemplate(JasperReport report, long sourceLastModified) {
+            this.report = report;
+            this.sourceLastModified = sourceLastModified;
+        }
+    }
+}
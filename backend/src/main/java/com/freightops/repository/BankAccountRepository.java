@@ -1,7 +1,9 @@
 package com.freightops.repository;
 
 import com.freightops.entity.BankAccount;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -32,4 +34,11 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, Long>
     
     @Query("SELECT b FROM BankAccount b WHERE b.currentBalance < :threshold AND b.active = true")
     List<BankAccount> findBankAccountsWithLowBalance(@Param("threshold") BigDecimal threshold);
+
+    /**
+     * Find an account and lock it until the end of the transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BankAccount b WHERE b.id = :id")
+    Optional<BankAccount> findForUpdate(@Param("id") Long id);
 }
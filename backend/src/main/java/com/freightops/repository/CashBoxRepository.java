@@ -1,7 +1,9 @@
 package com.freightops.repository;
 
 import com.freightops.entity.CashBox;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -29,4 +31,11 @@ public interface CashBoxRepository extends JpaRepository<CashBox, Long> {
 
     // Method for cash statement - get first active cash box
     Optional<CashBox> findFirstByActiveTrue();
+
+    /**
+     * Find an account and lock it until the end of the transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CashBox c WHERE c.id = :id")
+    Optional<CashBox> findForUpdate(@Param("id") Long id);
 }
@@ -0,0 +1,25 @@
+package com.freightops.repository;
+
+import com.freightops.entity.IdentifierSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for identifier sequence counters
+ */
+@Repository
+public interface IdentifierSequenceRepository extends JpaRepository<IdentifierSequence, String> {
+
+    /**
+     * Find a sequence row and lock it until the end of the transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM IdentifierSequence s WHERE s.sequenceName = :sequenceName")
+    Optional<IdentifierSequence> findForUpdate(@Param("sequenceName") String sequenceName);
+}
@@ -57,4 +57,15 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     
     @Query("SELECT COUNT(i) FROM Invoice i WHERE YEAR(i.invoiceDate) = :year AND MONTH(i.invoiceDate) = :month")
     Long countByYearAndMonth(@Param("year") int year, @Param("month") int month);
+
+    // Issued invoices (dashboard reconciliation): neither draft, pending nor cancelled
+
+    @Query("SELECT i.invoiceDate, COALESCE(SUM(i.totalAmount), 0) FROM Invoice i " +
+           "WHERE i.status NOT IN ('DRAFT', 'PENDING', 'CANCELLED') AND i.invoiceDate >= :from " +
+           "GROUP BY i.invoiceDate")
+    List<Object[]> sumIssuedByDay(@Param("from") LocalDate from);
+
+    @Query("SELECT c.id, c.name, COALESCE(SUM(i.totalAmount), 0) FROM Invoice i JOIN i.client c " +
+           "WHERE i.status NOT IN ('DRAFT', 'PENDING', 'CANCELLED') GROUP BY c.id, c.name")
+    List<Object[]> sumIssuedByClient();
 }
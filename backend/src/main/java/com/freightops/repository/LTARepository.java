@@ -1,14 +1,22 @@
 package com.freightops.repository;
 
+import com.freightops.dto.LTAStatusSnapshot;
+import com.freightops.dto.LTAView;
 import com.freightops.entity.LTA;
 import com.freightops.enums.LTAStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +27,31 @@ import java.util.Optional;
 @Repository
 public interface LTARepository extends JpaRepository<LTA, Long> {
 
+        /**
+         * Constructor projection of {@link LTAView}: cities and client are
+         * joined in the same select and no entity is hydrated
+         */
+        String VIEW_SELECT = "SELECT new com.freightops.dto.LTAView(" +
+                        "l.id, l.ltaNumber, l.trackingNumber, l.status, l.paymentMode, " +
+                        "l.shipperName, l.shipperAddress, l.consigneeName, l.consigneeAddress, " +
+                        "l.totalWeight, l.packageNature, l.packageCount, l.calculatedCost, " +
+                        "l.specialInstructions, l.declaredValue, l.pickupDate, l.deliveryDate, " +
+                        "l.createdAt, l.updatedAt, " +
+                        "oc.id, oc.name, oc.iataCode, oc.country, " +
+                        "dc.id, dc.name, dc.iataCode, dc.country, " +
+                        "c.id, c.name, c.address, c.contactNumber, c.email) " +
+                        "FROM LTA l " +
+                        "LEFT JOIN l.originCity oc " +
+                        "LEFT JOIN l.destinationCity dc " +
+                        "LEFT JOIN l.client c ";
+
+        /**
+         * Optional status / shipper / consignee filters of the criteria searches
+         */
+        String CRITERIA = "(:status IS NULL OR l.status = :status) AND " +
+                        "(:shipper IS NULL OR LOWER(l.shipperName) LIKE LOWER(CONCAT('%', :shipper, '%'))) AND " +
+                        "(:consignee IS NULL OR LOWER(l.consigneeName) LIKE LOWER(CONCAT('%', :consignee, '%')))";
+
         /**
          * Find LTA by LTA number
          * 
@@ -80,6 +113,149 @@ public interface LTARepository extends JpaRepository<LTA, Long> {
                         @Param("consignee") String consignee,
                         Pageable pageable);
 
+        /**
+         * Count LTAs matching the criteria of findByMultipleCriteria
+         * 
+         * @param status    the status (optional)
+         * @param shipper   the shipper name (optional)
+         * @param consignee the consignee name (optional)
+         * @return count of LTAs
+         */
+        @Query("SELECT COUNT(l) FROM LTA l WHERE " + CRITERIA)
+        long countByMultipleCriteria(@Param("status") LTAStatus status,
+                        @Param("shipper") String shipper,
+                        @Param("consignee") String consignee);
+
+        /**
+         * Find LTA views with pagination
+         * 
+         * @param pageable pagination information
+         * @return Page of LTA views
+         */
+        @Query(value = VIEW_SELECT, countQuery = "SELECT COUNT(l) FROM LTA l")
+        Page<LTAView> findAllViews(Pageable pageable);
+
+        /**
+         * Find LTA views by multiple criteria
+         * 
+         * @param status    the status (optional)
+         * @param shipper   the shipper name (optional)
+         * @param consignee the consignee name (optional)
+         * @param pageable  pagination information
+         * @return Page of LTA views
+         */
+        @Query(value = VIEW_SELECT + "WHERE " + CRITERIA,
+                        countQuery = "SELECT COUNT(l) FROM LTA l WHERE " + CRITERIA)
+        Page<LTAView> findViewsByMultipleCriteria(@Param("status") LTAStatus status,
+                        @Param("shipper") String shipper,
+                        @Param("consignee") String consignee,
+                        Pageable pageable);
+
+        /**
+         * Find the LTA views following a keyset position, newest first
+         * 
+         * @param status          the status (optional)
+         * @param shipper         the shipper name (optional)
+         * @param consignee       the consignee name (optional)
+         * @param cursorCreatedAt creation date of the last LTA already returned
+         * @param cursorId        ID of the last LTA already returned
+         * @param limit           page size limit, no count query is run
+         * @return List of LTA views
+         */
+        @Query(VIEW_SELECT + "WHERE " + CRITERIA + " AND " +
+                        "l.createdAt <= :cursorCreatedAt AND " +
+                        "(l.createdAt < :cursorCreatedAt OR l.id < :cursorId) " +
+                        "ORDER BY l.createdAt DESC, l.id DESC")
+        List<LTAView> findViewPageAfter(@Param("status") LTAStatus status,
+                        @Param("shipper") String shipper,
+                        @Param("consignee") String consignee,
+                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                        @Param("cursorId") Long cursorId,
+                        Pageable limit);
+
+        /**
+         * Find LTA view by ID
+         * 
+         * @param id the LTA ID
+         * @return Optional LTA view
+         */
+        @Query(VIEW_SELECT + "WHERE l.id = :id")
+        Optional<LTAView> findViewById(@Param("id") Long id);
+
+        /**
+         * Find the views of several LTAs
+         * 
+         * @param ids LTA IDs
+         * @return List of LTA views, in no particular order
+         */
+        @Query(VIEW_SELECT + "WHERE l.id IN :ids")
+        List<LTAView> findViewByIdIn(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Find LTA view by LTA number
+         * 
+         * @param ltaNumber the LTA number
+         * @return Optional LTA view
+         */
+        @Query(VIEW_SELECT + "WHERE l.ltaNumber = :ltaNumber")
+        Optional<LTAView> findViewByLtaNumber(@Param("ltaNumber") String ltaNumber);
+
+        /**
+         * Find LTA view by tracking number
+         * 
+         * @param trackingNumber the tracking number
+         * @return Optional LTA view
+         */
+        @Query(VIEW_SELECT + "WHERE l.trackingNumber = :trackingNumber")
+        Optional<LTAView> findViewByTrackingNumber(@Param("trackingNumber") String trackingNumber);
+
+        /**
+         * Find LTA with cities and client fetched in the same query
+         * Loaded read-only: no snapshot is kept and the entity is skipped at flush
+         * 
+         * @param id the LTA ID
+         * @return Optional LTA
+         */
+        @Query("SELECT l FROM LTA l " +
+                        "LEFT JOIN FETCH l.originCity " +
+                        "LEFT JOIN FETCH l.destinationCity " +
+                        "LEFT JOIN FETCH l.client " +
+                        "WHERE l.id = :id")
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+        Optional<LTA> findWithDetailsById(@Param("id") Long id);
+
+        /**
+         * Find LTA IDs matching an export filter, oldest first
+         * 
+         * @param status            the status (optional)
+         * @param fromDate          creation date lower bound, inclusive (optional)
+         * @param toDate            creation date upper bound, exclusive (optional)
+         * @param originCityId      origin city (optional)
+         * @param destinationCityId destination city (optional)
+         * @return List of LTA IDs
+         */
+        @Query("SELECT l.id FROM LTA l WHERE " +
+                        "(:status IS NULL OR l.status = :status) AND " +
+                        "(:fromDate IS NULL OR l.createdAt >= :fromDate) AND " +
+                        "(:toDate IS NULL OR l.createdAt < :toDate) AND " +
+                        "(:originCityId IS NULL OR l.originCity.id = :originCityId) AND " +
+                        "(:destinationCityId IS NULL OR l.destinationCity.id = :destinationCityId) " +
+                        "ORDER BY l.createdAt ASC, l.id ASC")
+        List<Long> findIdsForExport(@Param("status") LTAStatus status,
+                        @Param("fromDate") LocalDateTime fromDate,
+                        @Param("toDate") LocalDateTime toDate,
+                        @Param("originCityId") Long originCityId,
+                        @Param("destinationCityId") Long destinationCityId);
+
+        /**
+         * Existing LTA IDs among the given ones
+         * 
+         * @param ids LTA IDs
+         * @return the IDs that exist, in no particular order
+         */
+        @Query("SELECT l.id FROM LTA l WHERE l.id IN :ids")
+        List<Long> findExistingIdsIn(@Param("ids") Collection<Long> ids);
+
         /**
          * Count LTAs by status
          * 
@@ -104,6 +280,34 @@ public interface LTARepository extends JpaRepository<LTA, Long> {
          */
         boolean existsByTrackingNumber(String trackingNumber);
 
+        /**
+         * Largest LTA number in the current format, to seed the LTA number sequence
+         * Only numbers whose suffix is all digits are kept (digits are blanked out,
+         * leaving the bare prefix); at a fixed length their string order is the
+         * numeric order of the serial
+         *
+         * @param prefix the number prefix, without digits
+         * @param length the full number length
+         * @return the largest matching LTA number, null if there is none
+         */
+        @Query("SELECT MAX(l.ltaNumber) FROM LTA l " +
+                        "WHERE l.ltaNumber LIKE CONCAT(:prefix, '%') AND LENGTH(l.ltaNumber) = :length " +
+                        "AND REPLACE(FUNCTION('translate', l.ltaNumber, '0123456789', '##########'), '#', '') = :prefix")
+        String findMaxLtaNumberByPrefixAndLength(@Param("prefix") String prefix, @Param("length") int length);
+
+        /**
+         * Largest tracking number in the current format, to seed the tracking number sequence
+         *
+         * @param prefix the number prefix, without digits
+         * @param length the full number length
+         * @return the largest matching tracking number, null if there is none
+         * @see #findMaxLtaNumberByPrefixAndLength(String, int)
+         */
+        @Query("SELECT MAX(l.trackingNumber) FROM LTA l " +
+                        "WHERE l.trackingNumber LIKE CONCAT(:prefix, '%') AND LENGTH(l.trackingNumber) = :length " +
+                        "AND REPLACE(FUNCTION('translate', l.trackingNumber, '0123456789', '##########'), '#', '') = :prefix")
+        String findMaxTrackingNumberByPrefixAndLength(@Param("prefix") String prefix, @Param("length") int length);
+
         /**
          * Find LTAs eligible for payment
          * LTAs with calculated cost > 0 and payment modes CASH or PORT_DU
@@ -147,4 +351,105 @@ public interface LTARepository extends JpaRepository<LTA, Long> {
                         ORDER BY l.createdAt DESC
                         """)
         List<com.freightops.dto.LTAPaymentDTO> findLTAsEligibleForPaymentAsDTO();
+
+        /**
+         * Count LTAs per status (dashboard reconciliation)
+         *
+         * @return rows of [LTAStatus, Long]
+         */
+        @Query("SELECT l.status, COUNT(l) FROM LTA l GROUP BY l.status")
+        List<Object[]> countGroupByStatus();
+
+        /**
+         * Non-cancelled LTAs per creation day since the given date
+         *
+         * @return rows of [LocalDate, Long count, BigDecimal booked value]
+         */
+        @Query("""
+                        SELECT CAST(l.createdAt AS LocalDate), COUNT(l), COALESCE(SUM(l.calculatedCost), 0)
+                        FROM LTA l
+                        WHERE l.status <> 'CANCELLED' AND l.createdAt >= :from
+                        GROUP BY CAST(l.createdAt AS LocalDate)
+                        """)
+        List<Object[]> sumBookedByDay(@Param("from") LocalDateTime from);
+
+        /**
+         * Non-cancelled LTAs per route
+         *
+         * @return rows of [origin city ID, destination city ID, origin IATA,
+         *         destination IATA, origin name, destination name, Long count,
+         *         BigDecimal booked value]
+         */
+        @Query("""
+                        SELECT oc.id, dc.id, oc.iataCode, dc.iataCode, oc.name, dc.name,
+                            COUNT(l), COALESCE(SUM(l.calculatedCost), 0)
+                        FROM LTA l
+                        JOIN l.originCity oc
+                        JOIN l.destinationCity dc
+                        WHERE l.status <> 'CANCELLED'
+                        GROUP BY oc.id, dc.id, oc.iataCode, dc.iataCode, oc.name, dc.name
+                        """)
+        List<Object[]> sumBookedByRoute();
+
+        /**
+         * Non-cancelled LTAs per client
+         *
+         * @return rows of [client ID, client name, Long count, BigDecimal booked value]
+         */
+        @Query("""
+                        SELECT c.id, c.name, COUNT(l), COALESCE(SUM(l.calculatedCost), 0)
+                        FROM LTA l
+                        JOIN l.client c
+                        WHERE l.status <> 'CANCELLED'
+                        GROUP BY c.id, c.name
+                        """)
+        List<Object[]> sumBookedByClient();
+
+        /**
+         * Current status of several LTAs, for a bulk status change
+         * 
+         * @param ids LTA IDs
+         * @return one snapshot per existing LTA
+         */
+        @Query("SELECT new com.freightops.dto.LTAStatusSnapshot(l.id, l.ltaNumber, l.trackingNumber, l.status) " +
+                        "FROM LTA l WHERE l.id IN :ids")
+        List<LTAStatusSnapshot> findStatusSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Current status of the LTAs with the given tracking numbers
+         * 
+         * @param trackingNumbers tracking numbers
+         * @return one snapshot per matching LTA
+         */
+        @Query("SELECT new com.freightops.dto.LTAStatusSnapshot(l.id, l.ltaNumber, l.trackingNumber, l.status) " +
+                        "FROM LTA l WHERE l.trackingNumber IN :trackingNumbers")
+        List<LTAStatusSnapshot> findStatusSnapshotsByTrackingNumberIn(
+                        @Param("trackingNumbers") Collection<String> trackingNumbers);
+
+        /**
+         * Set the status of several LTAs in one statement, only where the
+         * status is still the expected one
+         * 
+         * @return number of rows updated (less than ids.size() if some LTAs
+         *         changed status since they were read)
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE LTA l SET l.status = :status, l.updatedAt = :now " +
+                        "WHERE l.id IN :ids AND l.status = :expected")
+        int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("expected") LTAStatus expected,
+                        @Param("status") LTAStatus status, @Param("now") LocalDateTime now);
+
+        /**
+         * Set the status of several LTAs and their tracking QR code
+         * (qrPrefix followed by the tracking number) in one statement, only
+         * where the status is still the expected one
+         * 
+         * @return number of rows updated
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE LTA l SET l.status = :status, l.qrCode = CONCAT(:qrPrefix, l.trackingNumber), " +
+                        "l.updatedAt = :now WHERE l.id IN :ids AND l.status = :expected")
+        int updateStatusAndQrCodeByIdIn(@Param("ids") Collection<Long> ids, @Param("expected") LTAStatus expected,
+                        @Param("status") LTAStatus status, @Param("qrPrefix") String qrPrefix,
+                        @Param("now") LocalDateTime now);
 }
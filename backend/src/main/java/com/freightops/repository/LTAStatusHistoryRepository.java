@@ -1,8 +1,12 @@
 package com.freightops.repository;
 
+import com.freightops.dto.LTATimelineEntry;
 import com.freightops.entity.LTAStatusHistory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -22,10 +26,21 @@ public interface LTAStatusHistoryRepository extends JpaRepository<LTAStatusHisto
 
     /**
      * Find all status history for a specific LTA by tracking number
+     * Loaded read-only for the public tracking page (no dirty checking)
      */
-    @Query("SELECT h FROM LTAStatusHistory h WHERE h.lta.trackingNumber = :trackingNumber ORDER BY h.changedAt ASC")
+    @Query("SELECT h FROM LTAStatusHistory h WHERE h.trackingNumber = :trackingNumber ORDER BY h.changedAt ASC, h.id ASC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<LTAStatusHistory> findByLtaTrackingNumberOrderByChangedAtAsc(@Param("trackingNumber") String trackingNumber);
 
+    /**
+     * Timeline of a tracking number, read from the denormalized tracking_number
+     * column (one range scan on idx_lta_status_history_tracking, no join)
+     */
+    @Query("SELECT new com.freightops.dto.LTATimelineEntry(h.id, h.previousStatus, h.newStatus, h.changedBy, "
+            + "h.changeReason, h.location, h.changedAt) FROM LTAStatusHistory h "
+            + "WHERE h.trackingNumber = :trackingNumber ORDER BY h.changedAt ASC, h.id ASC")
+    List<LTATimelineEntry> findTimelineByTrackingNumber(@Param("trackingNumber") String trackingNumber);
+
     /**
      * Find the latest status change for a specific LTA
      */
@@ -48,4 +48,14 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // New methods for cash statement
     List<Payment> findByCashBoxAndPaymentDateBetweenOrderByPaymentDateAsc(CashBox cashBox, LocalDate startDate,
             LocalDate endDate);
+
+    // Completed payments (dashboard reconciliation)
+
+    @Query("SELECT p.paymentDate, COALESCE(SUM(p.amount), 0) FROM Payment p " +
+            "WHERE p.status = 'COMPLETED' AND p.paymentDate >= :from GROUP BY p.paymentDate")
+    List<Object[]> sumCompletedByDay(@Param("from") LocalDate from);
+
+    @Query("SELECT c.id, c.name, COALESCE(SUM(p.amount), 0) FROM Payment p JOIN p.invoice i JOIN i.client c " +
+            "WHERE p.status = 'COMPLETED' GROUP BY c.id, c.name")
+    List<Object[]> sumCompletedByClient();
 }
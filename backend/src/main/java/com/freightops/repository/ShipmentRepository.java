@@ -1,15 +1,18 @@
 package com.freightops.repository;
 
+import com.freightops.dto.ShipmentStatusSnapshot;
 import com.freightops.entity.Shipment;
 import com.freightops.enums.ShipmentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -96,6 +99,42 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
             @Param("clientId") Long clientId,
             Pageable pageable);
 
+    /**
+     * Count shipments matching the criteria of searchShipments
+     */
+    @Query("SELECT COUNT(s) FROM Shipment s WHERE " +
+            "(:trackingNumber IS NULL OR s.trackingNumber LIKE %:trackingNumber%) AND " +
+            "(:senderName IS NULL OR s.senderName LIKE %:senderName%) AND " +
+            "(:recipientName IS NULL OR s.recipientName LIKE %:recipientName%) AND " +
+            "(:status IS NULL OR s.status = :status) AND " +
+            "(:clientId IS NULL OR s.clientId = :clientId)")
+    long countSearchShipments(@Param("trackingNumber") String trackingNumber,
+            @Param("senderName") String senderName,
+            @Param("recipientName") String recipientName,
+            @Param("status") ShipmentStatus status,
+            @Param("clientId") Long clientId);
+
+    /**
+     * Search shipments following a keyset position (createdAt, id), newest first
+     */
+    @Query("SELECT s FROM Shipment s WHERE " +
+            "(:trackingNumber IS NULL OR s.trackingNumber LIKE %:trackingNumber%) AND " +
+            "(:senderName IS NULL OR s.senderName LIKE %:senderName%) AND " +
+            "(:recipientName IS NULL OR s.recipientName LIKE %:recipientName%) AND " +
+            "(:status IS NULL OR s.status = :status) AND " +
+            "(:clientId IS NULL OR s.clientId = :clientId) AND " +
+            "s.createdAt <= :cursorCreatedAt AND " +
+            "(s.createdAt < :cursorCreatedAt OR s.id < :cursorId) " +
+            "ORDER BY s.createdAt DESC, s.id DESC")
+    List<Shipment> searchShipmentsAfter(@Param("trackingNumber") String trackingNumber,
+            @Param("senderName") String senderName,
+            @Param("recipientName") String recipientName,
+            @Param("status") ShipmentStatus status,
+            @Param("clientId") Long clientId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable limit);
+
     /**
      * Count shipments by status
      */
@@ -132,4 +171,52 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
      * Check if tracking number exists
      */
     boolean existsByTrackingNumber(String trackingNumber);
+
+    /**
+     * Largest tracking number in the current format (prefix followed by digits
+     * only), to seed the tracking number sequence; null if there is none
+     */
+    @Query("SELECT MAX(s.trackingNumber) FROM Shipment s " +
+            "WHERE s.trackingNumber LIKE CONCAT(:prefix, '%') AND LENGTH(s.trackingNumber) = :length " +
+            "AND REPLACE(FUNCTION('translate', s.trackingNumber, '0123456789', '##########'), '#', '') = :prefix")
+    String findMaxTrackingNumberByPrefixAndLength(@Param("prefix") String prefix, @Param("length") int length);
+
+    /**
+     * Current status of several shipments, for a bulk status change
+     */
+    @Query("SELECT new com.freightops.dto.ShipmentStatusSnapshot(s.id, s.trackingNumber, s.status) " +
+            "FROM Shipment s WHERE s.id IN :ids")
+    List<ShipmentStatusSnapshot> findStatusSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Current status of the shipments with the given tracking numbers
+     */
+    @Query("SELECT new com.freightops.dto.ShipmentStatusSnapshot(s.id, s.trackingNumber, s.status) " +
+            "FROM Shipment s WHERE s.trackingNumber IN :trackingNumbers")
+    List<ShipmentStatusSnapshot> findStatusSnapshotsByTrackingNumberIn(
+            @Param("trackingNumbers") Collection<String> trackingNumbers);
+
+    /**
+     * Set the status of several shipments in one statement, only where the
+     * status is still the expected one
+     *
+     * @return number of rows updated (less than ids.size() if some shipments
+     *         changed status since they were read)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Shipment s SET s.status = :status, s.updatedAt = :now " +
+            "WHERE s.id IN :ids AND s.status = :expected")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("expected") ShipmentStatus expected,
+            @Param("status") ShipmentStatus status, @Param("now") LocalDateTime now);
+
+    /**
+     * Mark several shipments as delivered, keeping a delivery date already
+     * set, only where the status is still the expected one
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Shipment s SET s.status = :status, " +
+            "s.actualDeliveryDate = COALESCE(s.actualDeliveryDate, :now), s.updatedAt = :now " +
+            "WHERE s.id IN :ids AND s.status = :expected")
+    int updateDeliveredByIdIn(@Param("ids") Collection<Long> ids, @Param("expected") ShipmentStatus expected,
+            @Param("status") ShipmentStatus status, @Param("now") LocalDateTime now);
 }
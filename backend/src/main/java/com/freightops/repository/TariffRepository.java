@@ -17,9 +17,11 @@ import java.util.Optional;
 public interface TariffRepository extends JpaRepository<Tariff, Long> {
 
     /**
-     * Find tariff by origin and destination cities
+     * Find tariff by origin and destination cities (cities fetched, so the
+     * tariff can be cached and used outside the persistence context)
      */
-    @Query("SELECT t FROM Tariff t WHERE t.originCity.id = :originId AND t.destinationCity.id = :destinationId " +
+    @Query("SELECT t FROM Tariff t JOIN FETCH t.originCity JOIN FETCH t.destinationCity " +
+           "WHERE t.originCity.id = :originId AND t.destinationCity.id = :destinationId " +
            "AND t.isActive = true AND (t.effectiveFrom IS NULL OR t.effectiveFrom <= :now) " +
            "AND (t.effectiveUntil IS NULL OR t.effectiveUntil >= :now)")
     Optional<Tariff> findByOriginAndDestination(@Param("originId") Long originId, 
@@ -34,6 +36,11 @@ public interface TariffRepository extends JpaRepository<Tariff, Long> {
            "AND (t.effectiveUntil IS NULL OR t.effectiveUntil >= :now)")
     List<Tariff> findActiveTariffs(@Param("now") LocalDateTime now);
 
+    /**
+     * Find all tariffs flagged active, whatever their effective dates
+     */
+    List<Tariff> findByIsActiveTrue();
+
     /**
      * Find tariffs by origin city
      */
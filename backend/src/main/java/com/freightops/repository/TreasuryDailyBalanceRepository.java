@@ -0,0 +1,53 @@
+package com.freightops.repository;
+
+import com.freightops.entity.TreasuryDailyBalance;
+import com.freightops.enums.TreasuryAccountKind;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Repository des points de solde journaliers de trésorerie
+ */
+@Repository
+public interface TreasuryDailyBalanceRepository extends JpaRepository<TreasuryDailyBalance, Long> {
+
+    /**
+     * Cumul net du dernier point d'un compte à une date (incluse)
+     * Lu en base et non dans le contexte de persistance, que les mises à jour
+     * en masse ci-dessous ne rafraîchissent pas
+     */
+    @Query("SELECT b.closingNet FROM TreasuryDailyBalance b "
+            + "WHERE b.accountKind = :accountKind AND b.accountId = :accountId AND b.balanceDate <= :date "
+            + "ORDER BY b.balanceDate DESC LIMIT 1")
+    Optional<BigDecimal> findClosingNetAt(@Param("accountKind") TreasuryAccountKind accountKind,
+            @Param("accountId") Long accountId, @Param("date") LocalDate date);
+
+    /**
+     * Ajoute des mouvements au jour d'un compte
+     *
+     * @return 0 si le point du jour n'existe pas encore
+     */
+    @Modifying
+    @Query("UPDATE TreasuryDailyBalance b SET b.incomeTotal = b.incomeTotal + :income, "
+            + "b.expenseTotal = b.expenseTotal + :expense "
+            + "WHERE b.accountKind = :accountKind AND b.accountId = :accountId AND b.balanceDate = :date")
+    int addDayMovements(@Param("accountKind") TreasuryAccountKind accountKind, @Param("accountId") Long accountId,
+            @Param("date") LocalDate date, @Param("income") BigDecimal income,
+            @Param("expense") BigDecimal expense);
+
+    /**
+     * Reporte un mouvement net sur le cumul du jour et des jours suivants
+     */
+    @Modifying
+    @Query("UPDATE TreasuryDailyBalance b SET b.closingNet = b.closingNet + :net "
+            + "WHERE b.accountKind = :accountKind AND b.accountId = :accountId AND b.balanceDate >= :date")
+    int addToClosingNetFrom(@Param("accountKind") TreasuryAccountKind accountKind,
+            @Param("accountId") Long accountId, @Param("date") LocalDate date, @Param("net") BigDecimal net);
+}
@@ -4,15 +4,20 @@ import com.freightops.entity.TreasuryTransaction;
 import com.freightops.entity.CashBox;
 import com.freightops.entity.BankAccount;
 import com.freightops.entity.Payment;
+import com.freightops.dto.TreasuryReportLine;
 import com.freightops.enums.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TreasuryTransactionRepository extends JpaRepository<TreasuryTransaction, Long> {
@@ -58,15 +63,35 @@ public interface TreasuryTransactionRepository extends JpaRepository<TreasuryTra
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    /**
+     * Totals per transaction type over a date range, one row [type, sum] per type present
+     */
+    @Query("SELECT t.type, SUM(t.amount) FROM TreasuryTransaction t "
+            + "WHERE t.transactionDate BETWEEN :startDate AND :endDate GROUP BY t.type")
+    List<Object[]> sumAmountByTypeAndDateRange(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Treasury report rows, newest first, with the cash box / bank account name
+     * joined in so that no association is loaded per row.
+     * Must be consumed (and closed) inside a transaction.
+     */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT new com.freightops.dto.TreasuryReportLine(t.reference, t.type, t.amount, t.transactionDate, "
+            + "t.description, t.category, cb.name, ba.accountName) "
+            + "FROM TreasuryTransaction t LEFT JOIN t.cashBox cb LEFT JOIN t.bankAccount ba "
+            + "WHERE t.transactionDate BETWEEN :startDate AND :endDate "
+            + "ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<TreasuryReportLine> streamReportLines(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
     @Query("SELECT DISTINCT t.category FROM TreasuryTransaction t WHERE t.category IS NOT NULL ORDER BY t.category")
     List<String> findDistinctCategories();
 
     boolean existsByReference(String reference);
 
     // New methods for cash statement
-    List<TreasuryTransaction> findByCashBoxAndTransactionDateBeforeOrderByTransactionDateAsc(CashBox cashBox,
-            LocalDate date);
-
     List<TreasuryTransaction> findByCashBoxAndTransactionDateBetweenOrderByTransactionDateAsc(CashBox cashBox,
             LocalDate startDate, LocalDate endDate);
 }
@@ -0,0 +1,36 @@
+package com.freightops.search.controller;
+
+import com.freightops.search.dto.SearchResponse;
+import com.freightops.search.enums.SearchHitType;
+import com.freightops.search.service.SearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Global search across LTAs, clients and manifests
+ */
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Ranked, typo-tolerant search (on PostgreSQL)
+     * GET /api/search?q=acme&types=LTA,CLIENT&limit=20
+     */
+    @GetMapping
+    public ResponseEntity<SearchResponse> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) List<SearchHitType> types,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(query, types, limit));
+    }
+}
@@ -0,0 +1,24 @@
+package com.freightops.search.dto;
+
+import com.freightops.search.enums.SearchHitType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One ranked search result
+ * reference is the number or name the record is known by; score is between
+ * 0 and 1, higher is better
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+
+    private SearchHitType type;
+    private Long id;
+    private String reference;
+    private String title;
+    private String subtitle;
+    private double score;
+}
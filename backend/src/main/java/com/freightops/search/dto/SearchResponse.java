@@ -0,0 +1,21 @@
+package com.freightops.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Global search results, best first
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResponse {
+
+    private String query;
+    private String backend;
+    private long tookMs;
+    private List<SearchHit> hits;
+}
@@ -0,0 +1,10 @@
+package com.freightops.search.enums;
+
+/**
+ * Kinds of records returned by the global search
+ */
+public enum SearchHitType {
+    LTA,
+    CLIENT,
+    MANIFEST
+}
@@ -0,0 +1,124 @@
+package com.freightops.search.service;
+
+import com.freightops.search.dto.SearchHit;
+import com.freightops.search.enums.SearchHitType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Portable search for databases without pg_trgm (H2 in development)
+ * Plain case-insensitive substring matching, ranked in memory: exact match,
+ * then prefix, then word start, then anywhere. No typo tolerance.
+ */
+public class LikeSearchBackend implements SearchBackend {
+
+    private static final int CANDIDATE_FACTOR = 5;
+
+    private static final String LTA_SQL = "SELECT l.id, l.lta_number, l.tracking_number, l.shipper_name, "
+            + "l.consignee_name FROM ltas l "
+            + "WHERE lower(l.lta_number) LIKE :contains ESCAPE '\\' "
+            + "OR lower(l.tracking_number) LIKE :contains ESCAPE '\\' "
+            + "OR lower(l.shipper_name) LIKE :contains ESCAPE '\\' "
+            + "OR lower(l.consignee_name) LIKE :contains ESCAPE '\\' "
+            + "ORDER BY l.created_at DESC, l.id DESC LIMIT :limit";
+
+    private static final String CLIENT_SQL = "SELECT c.id, c.name, c.contact_number, c.email FROM clients c "
+            + "WHERE c.is_active = true AND (lower(c.name) LIKE :contains ESCAPE '\\' "
+            + "OR c.contact_number LIKE :contains ESCAPE '\\') "
+            + "ORDER BY c.name, c.id LIMIT :limit";
+
+    private static final String MANIFEST_SQL = "SELECT m.id, m.manifest_number, m.shipper_name, m.consignee_name, "
+            + "m.client_name FROM freight_manifests m "
+            + "WHERE lower(m.manifest_number) LIKE :contains ESCAPE '\\' "
+            + "OR lower(m.shipper_name) LIKE :contains ESCAPE '\\' "
+            + "OR lower(m.consignee_name) LIKE :contains ESCAPE '\\' "
+            + "OR lower(m.client_name) LIKE :contains ESCAPE '\\' "
+            + "ORDER BY m.created_at DESC, m.id DESC LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public LikeSearchBackend(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String getName() {
+        return "like";
+    }
+
+    @Override
+    public List<SearchHit> search(SearchHitType type, String query, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("contains", SearchBackend.containsPattern(query))
+                .addValue("limit", limit * CANDIDATE_FACTOR);
+
+        List<SearchHit> candidates;
+        switch (type) {
+            case LTA:
+                candidates = jdbcTemplate.query(LTA_SQL, params, (rs, rowNum) -> {
+                    String shipper = rs.getString("shipper_name");
+                    String consignee = rs.getString("consignee_name");
+                    return new SearchHit(SearchHitType.LTA, rs.getLong("id"), rs.getString("lta_number"),
+                            PostgresSearchBackend.parties(shipper, consignee), rs.getString("tracking_number"),
+                            score(query, rs.getString("lta_number"), rs.getString("tracking_number"), shipper,
+                                    consignee));
+                });
+                break;
+            case CLIENT:
+                candidates = jdbcTemplate.query(CLIENT_SQL, params, (rs, rowNum) -> new SearchHit(
+                        SearchHitType.CLIENT, rs.getLong("id"), rs.getString("name"),
+                        rs.getString("contact_number"), rs.getString("email"),
+                        score(query, rs.getString("name"), rs.getString("contact_number"))));
+                break;
+            case MANIFEST:
+                candidates = jdbcTemplate.query(MANIFEST_SQL, params, (rs, rowNum) -> {
+                    String shipper = rs.getString("shipper_name");
+                    String consignee = rs.getString("consignee_name");
+                    return new SearchHit(SearchHitType.MANIFEST, rs.getLong("id"), rs.getString("manifest_number"),
+                            PostgresSearchBackend.parties(shipper, consignee), rs.getString("client_name"),
+                            score(query, rs.getString("manifest_number"), shipper, consignee,
+                                    rs.getString("client_name")));
+                });
+                break;
+            default:
+                return List.of();
+        }
+
+        return candidates.stream()
+                .sorted(Comparator.comparingDouble(SearchHit::getScore).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Best match quality of the query over the given fields
+     */
+    static double score(String query, String... fields) {
+        double best = 0;
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            String value = field.toLowerCase(Locale.ROOT);
+            double score;
+            if (value.equals(query)) {
+                score = 1.0;
+            } else if (value.startsWith(query)) {
+                score = 0.9;
+            } else if (value.contains(" " + query) || value.contains("-" + query)) {
+                score = 0.75;
+            } else if (value.contains(query)) {
+                score = 0.5;
+            } else {
+                score = 0;
+            }
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,103 @@
+package com.freightops.search.service;
+
+import com.freightops.search.dto.SearchHit;
+import com.freightops.search.enums.SearchHitType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+/**
+ * PostgreSQL search: pg_trgm word similarity (typo tolerant, also serves
+ * LIKE '%x%') and a 'simple' tsvector on party names, ranked by the best of
+ * both. Every predicate matches an expression index of migration V7, so the
+ * expressions here must stay identical to the indexed ones.
+ */
+public class PostgresSearchBackend implements SearchBackend {
+
+    private static final String LTA_PARTIES_TSV =
+            "to_tsvector('simple', coalesce(l.shipper_name, '') || ' ' || coalesce(l.consignee_name, ''))";
+
+    private static final String LTA_SQL = "SELECT l.id, l.lta_number, l.tracking_number, l.shipper_name, "
+            + "l.consignee_name, GREATEST("
+            + "word_similarity(:q, lower(coalesce(l.lta_number, ''))), "
+            + "word_similarity(:q, lower(coalesce(l.tracking_number, ''))), "
+            + "word_similarity(:q, lower(coalesce(l.shipper_name, ''))), "
+            + "word_similarity(:q, lower(coalesce(l.consignee_name, ''))), "
+            + "ts_rank(" + LTA_PARTIES_TSV + ", plainto_tsquery('simple', :q))) AS score "
+            + "FROM ltas l "
+            + "WHERE lower(l.lta_number) LIKE :contains ESCAPE '\\' "
+            + "OR lower(l.tracking_number) LIKE :contains ESCAPE '\\' "
+            + "OR :q <% lower(l.shipper_name) "
+            + "OR :q <% lower(l.consignee_name) "
+            + "OR " + LTA_PARTIES_TSV + " @@ plainto_tsquery('simple', :q) "
+            + "ORDER BY score DESC, l.id DESC LIMIT :limit";
+
+    private static final String CLIENT_SQL = "SELECT c.id, c.name, c.contact_number, c.email, GREATEST("
+            + "word_similarity(:q, lower(c.name)), "
+            + "ts_rank(to_tsvector('simple', c.name), plainto_tsquery('simple', :q))) AS score "
+            + "FROM clients c "
+            + "WHERE c.is_active = true AND ("
+            + ":q <% lower(c.name) "
+            + "OR to_tsvector('simple', c.name) @@ plainto_tsquery('simple', :q) "
+            + "OR c.contact_number LIKE :contains ESCAPE '\\') "
+            + "ORDER BY score DESC, c.id DESC LIMIT :limit";
+
+    private static final String MANIFEST_SQL = "SELECT m.id, m.manifest_number, m.shipper_name, m.consignee_name, "
+            + "m.client_name, GREATEST("
+            + "word_similarity(:q, lower(coalesce(m.manifest_number, ''))), "
+            + "word_similarity(:q, lower(coalesce(m.shipper_name, ''))), "
+            + "word_similarity(:q, lower(coalesce(m.consignee_name, ''))), "
+            + "word_similarity(:q, lower(coalesce(m.client_name, '')))) AS score "
+            + "FROM freight_manifests m "
+            + "WHERE lower(m.manifest_number) LIKE :contains ESCAPE '\\' "
+            + "OR :q <% lower(m.shipper_name) "
+            + "OR :q <% lower(m.consignee_name) "
+            + "OR :q <% lower(m.client_name) "
+            + "ORDER BY score DESC, m.id DESC LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PostgresSearchBackend(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String getName() {
+        return "postgres";
+    }
+
+    @Override
+    public List<SearchHit> search(SearchHitType type, String query, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", query)
+                .addValue("contains", SearchBackend.containsPattern(query))
+                .addValue("limit", limit);
+
+        switch (type) {
+            case LTA:
+                return jdbcTemplate.query(LTA_SQL, params, (rs, rowNum) -> new SearchHit(SearchHitType.LTA,
+                        rs.getLong("id"), rs.getString("lta_number"),
+                        parties(rs.getString("shipper_name"), rs.getString("consignee_name")),
+                        rs.getString("tracking_number"), rs.getDouble("score")));
+            case CLIENT:
+                return jdbcTemplate.query(CLIENT_SQL, params, (rs, rowNum) -> new SearchHit(SearchHitType.CLIENT,
+                        rs.getLong("id"), rs.getString("name"), rs.getString("contact_number"),
+                        rs.getString("email"), rs.getDouble("score")));
+            case MANIFEST:
+                return jdbcTemplate.query(MANIFEST_SQL, params, (rs, rowNum) -> new SearchHit(SearchHitType.MANIFEST,
+                        rs.getLong("id"), rs.getString("manifest_number"),
+                        parties(rs.getString("shipper_name"), rs.getString("consignee_name")),
+                        rs.getString("client_name"), rs.getDouble("score")));
+            default:
+                return List.of();
+        }
+    }
+
+    static String parties(String shipper, String consignee) {
+        if (shipper == null) {
+            return consignee;
+        }
+        return consignee == null ? shipper : shipper + " → " + consignee;
+    }
+}
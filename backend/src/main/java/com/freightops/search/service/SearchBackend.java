@@ -0,0 +1,33 @@
+package com.freightops.search.service;
+
+import com.freightops.search.dto.SearchHit;
+import com.freightops.search.enums.SearchHitType;
+
+import java.util.List;
+
+/**
+ * Database-specific implementation of the global search
+ */
+public interface SearchBackend {
+
+    String getName();
+
+    /**
+     * Best matches of one record type
+     *
+     * @param type  record type
+     * @param query normalized query (trimmed, lower case)
+     * @param limit maximum number of hits
+     * @return hits, best first
+     */
+    List<SearchHit> search(SearchHitType type, String query, int limit);
+
+    /**
+     * LIKE pattern matching the query anywhere, with its wildcards escaped
+     * (used with ESCAPE '\')
+     */
+    static String containsPattern(String query) {
+        String escaped = query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,136 @@
+package com.freightops.search.service;
+
+import com.freightops.search.dto.SearchHit;
+import com.freightops.search.dto.SearchResponse;
+import com.freightops.search.enums.SearchHitType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Global search over LTAs (number, tracking number, shipper, consignee),
+ * clients (name, contact number) and freight manifests
+ * Runs on PostgreSQL trigram / full-text indexes when available
+ * (search.backend=auto|postgres|like), on plain LIKE otherwise.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger logger = Logger.getLogger(SearchService.class.getName());
+
+    public static final int MIN_QUERY_LENGTH = 2;
+    public static final int MAX_QUERY_LENGTH = 100;
+
+    private final SearchBackend backend;
+    private final Timer timer;
+
+    @Value("${search.max-limit:50}")
+    private int maxLimit = 50;
+
+    public SearchService(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource, MeterRegistry meterRegistry,
+            @Value("${search.backend:auto}") String backendMode) {
+        this.backend = selectBackend(backendMode, jdbcTemplate, dataSource);
+        this.timer = Timer.builder("search.requests")
+                .description("Global search latency")
+                .tag("backend", backend.getName())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        logger.info("Search backend: " + backend.getName());
+    }
+
+    /**
+     * Ranked matches across the requested record types
+     *
+     * @param query free text, at least 2 characters
+     * @param types record types to search (all when null or empty)
+     * @param limit maximum number of hits overall
+     * @throws IllegalArgumentException if the query is too short or too long
+     */
+    @Transactional(readOnly = true)
+    public SearchResponse search(String query, Collection<SearchHitType> types, int limit) {
+        String normalized = normalize(query);
+        Set<SearchHitType> searched = types == null || types.isEmpty()
+                ? EnumSet.allOf(SearchHitType.class)
+                : EnumSet.copyOf(types);
+        int cappedLimit = Math.max(1, Math.min(limit, maxLimit));
+
+        long start = System.nanoTime();
+        List<SearchHit> hits = new ArrayList<>();
+        for (SearchHitType type : searched) {
+            hits.addAll(backend.search(type, normalized, cappedLimit));
+        }
+        hits = hits.stream()
+                .sorted(Comparator.comparingDouble(SearchHit::getScore).reversed())
+                .limit(cappedLimit)
+                .collect(Collectors.toList());
+        long elapsed = System.nanoTime() - start;
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        return new SearchResponse(normalized, backend.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed), hits);
+    }
+
+    public String getBackendName() {
+        return backend.getName();
+    }
+
+    static String normalize(String query) {
+        String normalized = query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must have at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        if (normalized.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must have at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        return normalized;
+    }
+
+    private static SearchBackend selectBackend(String mode, NamedParameterJdbcTemplate jdbcTemplate,
+            DataSource dataSource) {
+        switch (mode.toLowerCase(Locale.ROOT)) {
+            case "postgres":
+                return new PostgresSearchBackend(jdbcTemplate);
+            case "like":
+                return new LikeSearchBackend(jdbcTemplate);
+            default:
+                return hasTrigramSupport(jdbcTemplate, dataSource)
+                        ? new PostgresSearchBackend(jdbcTemplate)
+                        : new LikeSearchBackend(jdbcTemplate);
+        }
+    }
+
+    /**
+     * PostgreSQL with the pg_trgm extension installed (migration V7)
+     */
+    private static boolean hasTrigramSupport(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+                return false;
+            }
+        } catch (SQLException e) {
+            logger.warning("Could not detect the database for search, using LIKE: " + e.getMessage());
+            return false;
+        }
+        Integer extensions = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'", new MapSqlParameterSource(),
+                Integer.class);
+        return extensions != null && extensions > 0;
+    }
+}
@@ -4,7 +4,6 @@ import com.freightops.entity.BankAccount;
 import com.freightops.entity.TreasuryTransaction;
 import com.freightops.repository.BankAccountRepository;
 import com.freightops.repository.TreasuryTransactionRepository;
-import com.freightops.enums.TransactionType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +22,9 @@ public class BankAccountService {
     @Autowired
     private TreasuryTransactionRepository treasuryTransactionRepository;
 
+    @Autowired
+    private TreasuryBalanceService treasuryBalanceService;
+
     public List<BankAccount> getAllBankAccounts() {
         return bankAccountRepository.findAll();
     }
@@ -142,16 +144,8 @@ public class BankAccountService {
         BankAccount bankAccount = bankAccountRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Compte bancaire non trouvé avec l'ID: " + id));
 
-        // Calculer le solde à une date donnée
-        BigDecimal income = treasuryTransactionRepository.sumByBankAccountAndTypeAndDateRange(
-                id, TransactionType.INCOME, LocalDate.MIN, date);
-        BigDecimal expense = treasuryTransactionRepository.sumByBankAccountAndTypeAndDateRange(
-                id, TransactionType.EXPENSE, LocalDate.MIN, date);
-
-        if (income == null) income = BigDecimal.ZERO;
-        if (expense == null) expense = BigDecimal.ZERO;
-
-        return bankAccount.getInitialBalance().add(income).subtract(expense);
+        // Solde en fin de journée, lu sur le dernier point journalier
+        return treasuryBalanceService.getClosingBalance(bankAccount, date);
     }
 
     public List<TreasuryTransaction> getBankAccountTransactions(Long id) {
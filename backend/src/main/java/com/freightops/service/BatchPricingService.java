@@ -0,0 +1,373 @@
+package com.freightops.service;
+
+import com.freightops.dto.BatchPricingLine;
+import com.freightops.dto.BatchPricingResult;
+import com.freightops.dto.CostQuote;
+import com.freightops.entity.City;
+import com.freightops.repository.CityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch pricing of origin/destination/weight/volume lines (rate shopping)
+ * A whole batch is priced against one tariff matrix snapshot and one city
+ * lookup, so the only database access is a single read of the cities
+ */
+@Service
+public class BatchPricingService {
+
+    private static final String[] CSV_HEADER = { "line", "reference", "origin_city_id", "destination_city_id",
+            "weight", "volume", "volumetric_weight", "chargeable_weight", "tariff_id", "kg_rate",
+            "volume_coefficient", "cost", "error" };
+
+    private static final int CSV_FLUSH_LINES = 1000;
+
+    private final LTAService ltaService;
+    private final TariffMatrixService tariffMatrixService;
+    private final CityRepository cityRepository;
+
+    @Value("${pricing.batch.max-lines:100000}")
+    private int maxLines = 100000;
+
+    public BatchPricingService(LTAService ltaService, TariffMatrixService tariffMatrixService,
+            CityRepository cityRepository) {
+        this.ltaService = ltaService;
+        this.tariffMatrixService = tariffMatrixService;
+        this.cityRepository = cityRepository;
+    }
+
+    /**
+     * Price a list of lines; invalid lines get an error instead of a cost
+     *
+     * @throws IllegalArgumentException if the batch exceeds pricing.batch.max-lines
+     */
+    public List<BatchPricingResult> price(List<BatchPricingLine> lines) {
+        if (lines.size() > maxLines) {
+            throw new IllegalArgumentException("Too many lines for a batch: " + lines.size() + " (max " + maxLines + ")");
+        }
+
+        Batch batch = new Batch();
+        List<BatchPricingResult> results = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            results.add(batch.price(i + 1, lines.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * Read and check the header of a CSV batch, before any output is written
+     * Expected columns (any order, ',' or ';' separated):
+     * origin,destination,weight[,volume][,reference] where origin and
+     * destination are IATA codes or city IDs. With ';' separators a decimal
+     * comma is accepted.
+     *
+     * @throws IllegalArgumentException if the header is missing or incomplete
+     */
+    public CsvLayout readCsvHeader(BufferedReader reader) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("Empty CSV: a header line is required");
+        }
+        char separator = headerLine.indexOf(';') >= 0 ? ';' : ',';
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = splitCsv(stripBom(headerLine), separator);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : new String[] { "origin", "destination", "weight" }) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Missing CSV column: " + required);
+            }
+        }
+        return new CsvLayout(separator, columns);
+    }
+
+    /**
+     * Price the remaining CSV lines one by one, writing results as they are
+     * computed; invalid lines get an error column instead of a cost
+     *
+     * @return number of lines priced
+     */
+    public int priceCsv(CsvLayout layout, BufferedReader reader, Writer writer) throws IOException {
+        char separator = layout.separator;
+        Map<String, Integer> columns = layout.columns;
+
+        writeCsvRow(writer, List.of(CSV_HEADER));
+
+        Batch batch = new Batch();
+        int lineNumber = 0;
+        String row;
+        while ((row = reader.readLine()) != null) {
+            if (row.isBlank()) {
+                continue;
+            }
+            lineNumber++;
+            if (lineNumber > maxLines) {
+                writeCsvRow(writer, errorRow(lineNumber, "Too many lines for a batch (max " + maxLines + ")"));
+                break;
+            }
+
+            List<String> fields = splitCsv(row, separator);
+            BatchPricingResult result;
+            try {
+                result = batch.price(lineNumber, toLine(fields, columns, separator));
+            } catch (IllegalArgumentException e) {
+                result = new BatchPricingResult();
+                result.setLine(lineNumber);
+                result.setReference(field(fields, columns, "reference"));
+                result.setError(e.getMessage());
+            }
+            writeCsvRow(writer, toCsvRow(result));
+
+            if (lineNumber % CSV_FLUSH_LINES == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return Math.min(lineNumber, maxLines);
+    }
+
+    /**
+     * Separator and column positions of a CSV batch
+     */
+    public static final class CsvLayout {
+        private final char separator;
+        private final Map<String, Integer> columns;
+
+        private CsvLayout(char separator, Map<String, Integer> columns) {
+            this.separator = separator;
+            this.columns = columns;
+        }
+    }
+
+    private BatchPricingLine toLine(List<String> fields, Map<String, Integer> columns, char separator) {
+        BatchPricingLine line = new BatchPricingLine();
+        line.setReference(field(fields, columns, "reference"));
+
+        String origin = field(fields, columns, "origin");
+        String destination = field(fields, columns, "destination");
+        if (isNumeric(origin)) {
+            line.setOriginCityId(Long.valueOf(origin));
+        } else {
+            line.setOriginIataCode(origin);
+        }
+        if (isNumeric(destination)) {
+            line.setDestinationCityId(Long.valueOf(destination));
+        } else {
+            line.setDestinationIataCode(destination);
+        }
+
+        line.setWeight(parseDecimal(field(fields, columns, "weight"), "weight", separator));
+        line.setVolume(parseDecimal(field(fields, columns, "volume"), "volume", separator));
+        return line;
+    }
+
+    /**
+     * Pricing state shared by the lines of one batch
+     */
+    private final class Batch {
+        private final TariffMatrix matrix = tariffMatrixService.getMatrix();
+        private final LocalDateTime pricedAt = LocalDateTime.now();
+        private Map<String, Long> cityIdsByIata;
+        private Set<Long> knownCityIds;
+
+        private BatchPricingResult price(int lineNumber, BatchPricingLine line) {
+            BatchPricingResult result = new BatchPricingResult();
+            result.setLine(lineNumber);
+            result.setReference(line.getReference());
+            result.setWeight(line.getWeight());
+            result.setVolume(line.getVolume());
+
+            try {
+                Long originCityId = resolveCity(line.getOriginCityId(), line.getOriginIataCode(), "origin");
+                Long destinationCityId = resolveCity(line.getDestinationCityId(), line.getDestinationIataCode(),
+                        "destination");
+                result.setOriginCityId(originCityId);
+                result.setDestinationCityId(destinationCityId);
+
+                if (line.getWeight() == null || line.getWeight().signum() <= 0) {
+                    throw new IllegalArgumentException("Weight must be greater than 0");
+                }
+                if (line.getVolume() != null && line.getVolume().signum() < 0) {
+                    throw new IllegalArgumentException("Volume must be non-negative");
+                }
+
+                CostQuote quote = ltaService.quoteCost(matrix, originCityId, destinationCityId,
+                        line.getWeight(), line.getVolume(), pricedAt);
+                result.setVolumetricWeight(quote.getVolumetricWeight());
+                result.setChargeableWeight(quote.getChargeableWeight());
+                result.setTariffId(quote.getTariffId());
+                result.setKgRate(quote.getKgRate());
+                result.setVolumeCoefficient(quote.getVolumeCoefficient());
+                result.setCost(quote.getCost());
+            } catch (IllegalArgumentException e) {
+                result.setError(e.getMessage());
+            }
+            return result;
+        }
+
+        private Long resolveCity(Long cityId, String iataCode, String role) {
+            loadCities();
+            if (cityId != null) {
+                if (!knownCityIds.contains(cityId)) {
+                    throw new IllegalArgumentException("Unknown " + role + " city: " + cityId);
+                }
+                return cityId;
+            }
+            if (iataCode == null || iataCode.isBlank()) {
+                throw new IllegalArgumentException("Missing " + role + " city");
+            }
+            Long resolved = cityIdsByIata.get(iataCode.trim().toUpperCase(Locale.ROOT));
+            if (resolved == null) {
+                throw new IllegalArgumentException("Unknown " + role + " IATA code: " + iataCode);
+            }
+            return resolved;
+        }
+
+        private void loadCities() {
+            if (cityIdsByIata != null) {
+                return;
+            }
+            cityIdsByIata = new HashMap<>();
+            knownCityIds = new HashSet<>();
+            for (City city : cityRepository.findAll()) {
+                knownCityIds.add(city.getId());
+                if (city.getIataCode() != null) {
+                    cityIdsByIata.put(city.getIataCode().toUpperCase(Locale.ROOT), city.getId());
+                }
+            }
+        }
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal parseDecimal(String value, String name, char separator) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = separator == ';' ? value.replace(',', '.') : value;
+        try {
+            return new BigDecimal(normalized);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static boolean isNumeric(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    /**
+     * Split a CSV row, honouring double-quoted fields
+     */
+    static List<String> splitCsv(String row, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < row.length() && row.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static List<String> toCsvRow(BatchPricingResult result) {
+        return List.of(
+                String.valueOf(result.getLine()),
+                text(result.getReference()),
+                text(result.getOriginCityId()),
+                text(result.getDestinationCityId()),
+                text(result.getWeight()),
+                text(result.getVolume()),
+                text(result.getVolumetricWeight()),
+                text(result.getChargeableWeight()),
+                text(result.getTariffId()),
+                text(result.getKgRate()),
+                text(result.getVolumeCoefficient()),
+                text(result.getCost()),
+                text(result.getError()));
+    }
+
+    private static List<String> errorRow(int lineNumber, String error) {
+        List<String> row = new ArrayList<>();
+        row.add(String.valueOf(lineNumber));
+        for (int i = 2; i < CSV_HEADER.length; i++) {
+            row.add("");
+        }
+        row.add(error);
+        return row;
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return "";
+        }
+        return value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+    }
+
+    private static void writeCsvRow(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values.get(i);
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write('\n');
+    }
+}
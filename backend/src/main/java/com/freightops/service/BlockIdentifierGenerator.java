@@ -0,0 +1,100 @@
+package com.freightops.service;
+
+import com.freightops.entity.IdentifierSequence;
+import com.freightops.repository.IdentifierSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Identifier generator leasing blocks of values from the database
+ * Each node reserves {@code identifiers.block-size} values at a time in a
+ * short, separate transaction (row lock on identifier_sequences), then hands
+ * them out from memory without any database access
+ */
+@Service
+public class BlockIdentifierGenerator implements IdentifierGenerator {
+
+    private static final Logger logger = Logger.getLogger(BlockIdentifierGenerator.class.getName());
+
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    private final IdentifierSequenceRepository identifierSequenceRepository;
+    private final TransactionTemplate leaseTransaction;
+
+    private final ConcurrentMap<String, Block> blocks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Object> leaseLocks = new ConcurrentHashMap<>();
+
+    @Value("${identifiers.block-size:50}")
+    private long blockSize = 50;
+
+    public BlockIdentifierGenerator(IdentifierSequenceRepository identifierSequenceRepository,
+            PlatformTransactionManager transactionManager) {
+        this.identifierSequenceRepository = identifierSequenceRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long nextValue(String sequenceName, LongSupplier initialValue) {
+        while (true) {
+            Block block = blocks.get(sequenceName);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return value;
+                }
+            }
+
+            synchronized (leaseLocks.computeIfAbsent(sequenceName, name -> new Object())) {
+                // Another thread may have leased a fresh block while we were waiting
+                if (blocks.get(sequenceName) == block) {
+                    blocks.put(sequenceName, lease(sequenceName, initialValue));
+                }
+            }
+        }
+    }
+
+    private Block lease(String sequenceName, LongSupplier initialValue) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                Block block = leaseTransaction.execute(status -> {
+                    IdentifierSequence sequence = identifierSequenceRepository.findForUpdate(sequenceName)
+                            .orElseGet(() -> new IdentifierSequence(sequenceName, initialValue.getAsLong()));
+                    long start = sequence.getNextValue();
+                    sequence.setNextValue(start + blockSize);
+                    identifierSequenceRepository.saveAndFlush(sequence);
+                    return new Block(start, start + blockSize);
+                });
+                logger.fine("Leased identifiers [" + block.start + ", " + block.end + ") for " + sequenceName);
+                return block;
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the sequence row concurrently; lock it and retry
+                if (attempt >= MAX_LEASE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static final class Block {
+        private final long start;
+        private final long end;
+        private final AtomicLong next;
+
+        private Block(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.next = new AtomicLong(start);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.freightops.entity.CashBox;
 import com.freightops.entity.TreasuryTransaction;
 import com.freightops.repository.CashBoxRepository;
 import com.freightops.repository.TreasuryTransactionRepository;
-import com.freightops.enums.TransactionType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +22,9 @@ public class CashBoxService {
     @Autowired
     private TreasuryTransactionRepository treasuryTransactionRepository;
 
+    @Autowired
+    private TreasuryBalanceService treasuryBalanceService;
+
     public List<CashBox> getAllCashBoxes() {
         return cashBoxRepository.findAll();
     }
@@ -125,16 +127,8 @@ public class CashBoxService {
         CashBox cashBox = cashBoxRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Caisse non trouvée avec l'ID: " + id));
 
-        // Calculer le solde à une date donnée
-        BigDecimal income = treasuryTransactionRepository.sumByCashBoxAndTypeAndDateRange(
-                id, TransactionType.INCOME, LocalDate.MIN, date);
-        BigDecimal expense = treasuryTransactionRepository.sumByCashBoxAndTypeAndDateRange(
-                id, TransactionType.EXPENSE, LocalDate.MIN, date);
-
-        if (income == null) income = BigDecimal.ZERO;
-        if (expense == null) expense = BigDecimal.ZERO;
-
-        return cashBox.getInitialBalance().add(income).subtract(expense);
+        // Solde en fin de journée, lu sur le dernier point journalier
+        return treasuryBalanceService.getClosingBalance(cashBox, date);
     }
 
     public List<TreasuryTransaction> getCashBoxTransactions(Long id) {
@@ -30,6 +30,9 @@ public class CashStatementService {
     @Autowired
     private CashBoxRepository cashBoxRepository;
 
+    @Autowired
+    private TreasuryBalanceService treasuryBalanceService;
+
     public CashStatementDTO getCashStatement(LocalDate startDate, LocalDate endDate, String currency, Long cashBoxId) {
         System.out.println("Début getCashStatement - startDate: " + startDate + ", endDate: " + endDate + ", currency: "
                 + currency + ", cashBoxId: " + cashBoxId);
@@ -93,21 +96,8 @@ public class CashStatementService {
     }
 
     private BigDecimal calculateOpeningBalance(CashBox cashBox, LocalDate startDate, String currency) {
-        // Get all transactions before the start date
-        List<TreasuryTransaction> previousTransactions = treasuryTransactionRepository
-                .findByCashBoxAndTransactionDateBeforeOrderByTransactionDateAsc(cashBox, startDate);
-
-        BigDecimal balance = cashBox.getInitialBalance();
-
-        for (TreasuryTransaction transaction : previousTransactions) {
-            if (transaction.getType() == TransactionType.INCOME) {
-                balance = balance.add(transaction.getAmount());
-            } else if (transaction.getType() == TransactionType.EXPENSE) {
-                balance = balance.subtract(transaction.getAmount());
-            }
-        }
-
-        return balance;
+        // Closing balance of the previous day, read from the nearest daily checkpoint
+        return treasuryBalanceService.getClosingBalance(cashBox, startDate.minusDays(1));
     }
 
     private List<CashOperationDTO> getCashOperations(CashBox cashBox, LocalDate startDate, LocalDate endDate,
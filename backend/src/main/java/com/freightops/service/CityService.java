@@ -1,9 +1,12 @@
 package com.freightops.service;
 
+import com.freightops.cache.CacheNames;
 import com.freightops.entity.City;
 import com.freightops.dto.CityRequest;
 import com.freightops.repository.CityRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,6 +35,7 @@ public class CityService {
      * @param cityRequest City data transfer object
      * @return created City
      */
+    @CacheEvict(value = { CacheNames.CITY_BY_ID, CacheNames.CITY_BY_IATA, CacheNames.TARIFF_BY_ROUTE }, allEntries = true)
     public City createCity(CityRequest cityRequest) {
         // Validate unique constraints
         if (cityRepository.existsByIataCodeIgnoreCase(cityRequest.getIataCode())) {
@@ -56,6 +60,7 @@ public class CityService {
      * @param id City ID
      * @return Optional City
      */
+    @Cacheable(value = CacheNames.CITY_BY_ID, key = "#id")
     @Transactional(readOnly = true)
     public Optional<City> getCityById(Long id) {
         return cityRepository.findById(id);
@@ -66,6 +71,7 @@ public class CityService {
      * @param iataCode IATA code
      * @return Optional City
      */
+    @Cacheable(value = CacheNames.CITY_BY_IATA, key = "#iataCode.toUpperCase()")
     @Transactional(readOnly = true)
     public Optional<City> getCityByIataCode(String iataCode) {
         return cityRepository.findByIataCodeIgnoreCase(iataCode);
@@ -97,6 +103,7 @@ public class CityService {
      * @param cityRequest updated City data
      * @return updated City
      */
+    @CacheEvict(value = { CacheNames.CITY_BY_ID, CacheNames.CITY_BY_IATA, CacheNames.TARIFF_BY_ROUTE }, allEntries = true)
     public Optional<City> updateCity(Long id, CityRequest cityRequest) {
         Optional<City> cityOpt = cityRepository.findById(id);
         if (cityOpt.isPresent()) {
@@ -130,6 +137,7 @@ public class CityService {
      * @param id City ID
      * @return true if deleted, false if not found
      */
+    @CacheEvict(value = { CacheNames.CITY_BY_ID, CacheNames.CITY_BY_IATA, CacheNames.TARIFF_BY_ROUTE }, allEntries = true)
     public boolean deleteCity(Long id) {
         if (cityRepository.existsById(id)) {
             cityRepository.deleteById(id);
@@ -1,5 +1,6 @@
 package com.freightops.service;
 
+import com.freightops.cache.CacheNames;
 import com.freightops.entity.Currency;
 import com.freightops.entity.ExchangeRate;
 import com.freightops.repository.CurrencyRepository;
@@ -29,7 +30,7 @@ public class CurrencyService {
     /**
      * Obtenir toutes les devises actives
      */
-    @Cacheable("currencies")
+    @Cacheable(CacheNames.CURRENCIES)
     public List<Currency> getAllActiveCurrencies() {
         return currencyRepository.findByIsActiveTrueOrderByCodeAsc();
     }
@@ -37,7 +38,7 @@ public class CurrencyService {
     /**
      * Obtenir la devise par défaut
      */
-    @Cacheable("defaultCurrency")
+    @Cacheable(CacheNames.DEFAULT_CURRENCY)
     public Currency getDefaultCurrency() {
         return currencyRepository.findByIsDefaultTrue()
                 .orElseGet(() -> {
@@ -50,7 +51,7 @@ public class CurrencyService {
     /**
      * Obtenir une devise par son code
      */
-    @Cacheable(value = "currency", key = "#code")
+    @Cacheable(value = CacheNames.CURRENCY, key = "#code")
     public Optional<Currency> getCurrencyByCode(String code) {
         return currencyRepository.findByCodeAndIsActiveTrue(code);
     }
@@ -74,7 +75,7 @@ public class CurrencyService {
     /**
      * Obtenir le taux de change entre deux devises
      */
-    @Cacheable(value = "exchangeRate", key = "#fromCurrency + '_' + #toCurrency")
+    @Cacheable(value = CacheNames.EXCHANGE_RATE, key = "#fromCurrency + '_' + #toCurrency")
     public BigDecimal getExchangeRate(String fromCurrency, String toCurrency) {
         if (fromCurrency.equals(toCurrency)) {
             return BigDecimal.ONE;
@@ -97,7 +98,7 @@ public class CurrencyService {
     /**
      * Mettre à jour un taux de change
      */
-    @CacheEvict(value = { "exchangeRate", "exchangeRates" }, allEntries = true)
+    @CacheEvict(value = { CacheNames.EXCHANGE_RATE, CacheNames.EXCHANGE_RATES }, allEntries = true)
     public ExchangeRate updateExchangeRate(String fromCurrency, String toCurrency,
             BigDecimal newRate, String updatedBy) {
         Currency from = getCurrencyByCode(fromCurrency)
@@ -127,7 +128,7 @@ public class CurrencyService {
     /**
      * Obtenir tous les taux de change actifs
      */
-    @Cacheable("exchangeRates")
+    @Cacheable(CacheNames.EXCHANGE_RATES)
     public List<ExchangeRate> getAllActiveExchangeRates() {
         return exchangeRateRepository.findByIsActiveTrueOrderByEffectiveDateDesc();
     }
@@ -165,7 +166,8 @@ public class CurrencyService {
     /**
      * Initialiser les données par défaut
      */
-    @CacheEvict(value = { "currencies", "defaultCurrency", "exchangeRate", "exchangeRates" }, allEntries = true)
+    @CacheEvict(value = { CacheNames.CURRENCIES, CacheNames.DEFAULT_CURRENCY, CacheNames.CURRENCY,
+            CacheNames.EXCHANGE_RATE, CacheNames.EXCHANGE_RATES }, allEntries = true)
     public void initializeDefaultData() {
         // Créer les devises par défaut si elles n'existent pas
         if (!currencyRepository.existsByCodeAndIsActiveTrue("USD")) {
@@ -0,0 +1,201 @@
+package com.freightops.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Document number formats (LTA, tracking, invoices, quotes)
+ * Serials come from the {@link IdentifierGenerator}, so no existence check
+ * against the database is needed; barcode-facing numbers carry a check digit
+ */
+@Service
+public class DocumentNumberService {
+
+    static final String LTA_SEQUENCE = "lta_number";
+    static final String LTA_TRACKING_SEQUENCE = "lta_tracking";
+    static final String SHIPMENT_TRACKING_SEQUENCE = "shipment_tracking";
+    static final String INVOICE_SEQUENCE_PREFIX = "invoice_";
+    static final String QUOTE_SEQUENCE_PREFIX = "quote_";
+
+    public static final String LTA_PREFIX = "LTA-";
+    public static final String LTA_TRACKING_PREFIX = "TRK-";
+    public static final String SHIPMENT_TRACKING_PREFIX = "FO";
+
+    /** Length of each number once the serial and its check digit are appended */
+    public static final int LTA_NUMBER_LENGTH = LTA_PREFIX.length() + 8;
+    public static final int LTA_TRACKING_NUMBER_LENGTH = LTA_TRACKING_PREFIX.length() + 12;
+    public static final int SHIPMENT_TRACKING_NUMBER_LENGTH = SHIPMENT_TRACKING_PREFIX.length() + 11;
+
+    private static final int LTA_SERIAL_DIGITS = 7;
+    private static final int LTA_TRACKING_SERIAL_DIGITS = 11;
+    private static final int SHIPMENT_TRACKING_SERIAL_DIGITS = 10;
+
+    @Autowired
+    private IdentifierGenerator identifierGenerator;
+
+    @Value("${identifiers.block-size:50}")
+    private long blockSize = 50;
+
+    /**
+     * LTA number: 7-digit serial followed by the IATA air waybill mod-7 check digit
+     * (e.g. LTA-00001234 for serial 123)
+     *
+     * @param lastNumber largest LTA number already issued in this format (null
+     *                   if none), used only when the sequence is first created
+     */
+    public String nextLtaNumber(Supplier<String> lastNumber) {
+        long serial = identifierGenerator.nextValue(LTA_SEQUENCE,
+                () -> seed(LTA_SEQUENCE, lastNumber.get(), LTA_PREFIX, LTA_SERIAL_DIGITS));
+        return LTA_PREFIX + serialDigits(LTA_SEQUENCE, serial, LTA_SERIAL_DIGITS) + mod7CheckDigit(serial);
+    }
+
+    /**
+     * LTA tracking number: 11-digit serial followed by a Luhn check digit
+     *
+     * @param lastNumber largest LTA tracking number already issued in this
+     *                   format (null if none), used only when the sequence is
+     *                   first created
+     */
+    public String nextLtaTrackingNumber(Supplier<String> lastNumber) {
+        long serial = identifierGenerator.nextValue(LTA_TRACKING_SEQUENCE,
+                () -> seed(LTA_TRACKING_SEQUENCE, lastNumber.get(), LTA_TRACKING_PREFIX, LTA_TRACKING_SERIAL_DIGITS));
+        String digits = serialDigits(LTA_TRACKING_SEQUENCE, serial, LTA_TRACKING_SERIAL_DIGITS);
+        return LTA_TRACKING_PREFIX + digits + luhnCheckDigit(digits);
+    }
+
+    /**
+     * Shipment tracking number: 10-digit serial followed by a Luhn check digit
+     *
+     * @param lastNumber largest shipment tracking number already issued in this
+     *                   format (null if none), used only when the sequence is
+     *                   first created
+     */
+    public String nextShipmentTrackingNumber(Supplier<String> lastNumber) {
+        long serial = identifierGenerator.nextValue(SHIPMENT_TRACKING_SEQUENCE,
+                () -> seed(SHIPMENT_TRACKING_SEQUENCE, lastNumber.get(), SHIPMENT_TRACKING_PREFIX,
+                        SHIPMENT_TRACKING_SERIAL_DIGITS));
+        String digits = serialDigits(SHIPMENT_TRACKING_SEQUENCE, serial, SHIPMENT_TRACKING_SERIAL_DIGITS);
+        return SHIPMENT_TRACKING_PREFIX + digits + luhnCheckDigit(digits);
+    }
+
+    /**
+     * Invoice number for a year (FAC-YYYY-NNNNN)
+     *
+     * @param year           invoice year
+     * @param existingCount  number of invoices already issued that year, used
+     *                       only when the year's sequence is first created
+     */
+    public String nextInvoiceNumber(int year, LongSupplier existingCount) {
+        long serial = identifierGenerator.nextValue(INVOICE_SEQUENCE_PREFIX + year,
+                () -> existingCount.getAsLong() + 1);
+        return String.format("FAC-%d-%05d", year, serial);
+    }
+
+    /**
+     * Quote number for a year (DEV-YYYY-NNNNN)
+     *
+     * @param year           quote year
+     * @param existingCount  number of quotes already issued that year, used
+     *                       only when the year's sequence is first created
+     */
+    public String nextQuoteNumber(int year, LongSupplier existingCount) {
+        long serial = identifierGenerator.nextValue(QUOTE_SEQUENCE_PREFIX + year,
+                () -> existingCount.getAsLong() + 1);
+        return String.format("DEV-%d-%05d", year, serial);
+    }
+
+    /**
+     * First value of a new sequence: the serial after the last number issued
+     * Fails fast when less than one lease block of serials is left, e.g. when
+     * legacy all-digit numbers already sit near the top of the range
+     */
+    long seed(String sequenceName, String lastNumber, String prefix, int serialDigits) {
+        long seed = serialOf(lastNumber, prefix, serialDigits) + 1;
+        long remaining = maxSerial(serialDigits) - seed + 1;
+        if (remaining < blockSize) {
+            throw new IllegalStateException("Sequence " + sequenceName + " cannot start after " + lastNumber
+                    + ": " + Math.max(remaining, 0) + " serial(s) left, less than one block of " + blockSize);
+        }
+        return seed;
+    }
+
+    /**
+     * Serial of a number in the current format (prefix, serial, one check
+     * digit), 0 if the number is null or has another shape
+     */
+    static long serialOf(String number, String prefix, int serialDigits) {
+        if (number == null || number.length() != prefix.length() + serialDigits + 1 || !number.startsWith(prefix)) {
+            return 0;
+        }
+        String digits = number.substring(prefix.length());
+        if (!digits.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return 0;
+        }
+        return Long.parseLong(digits.substring(0, serialDigits));
+    }
+
+    /**
+     * Zero-padded serial; a serial past the format's width would change the
+     * number length, so it is rejected
+     */
+    private static String serialDigits(String sequenceName, long serial, int serialDigits) {
+        if (serial > maxSerial(serialDigits)) {
+            throw new IllegalStateException("Sequence " + sequenceName + " has run out of " + serialDigits
+                    + "-digit serials");
+        }
+        return String.format("%0" + serialDigits + "d", serial);
+    }
+
+    private static long maxSerial(int serialDigits) {
+        long max = 1;
+        for (int i = 0; i < serialDigits; i++) {
+            max *= 10;
+        }
+        return max - 1;
+    }
+
+    /**
+     * IATA air waybill check digit: serial number modulo 7
+     */
+    public static int mod7CheckDigit(long serial) {
+        return (int) (serial % 7);
+    }
+
+    /**
+     * Luhn (mod 10) check digit of a digit string
+     */
+    public static int luhnCheckDigit(String digits) {
+        int sum = 0;
+        boolean doubleDigit = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = Character.digit(digits.charAt(i), 10);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Not a digit string: " + digits);
+            }
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Check that a digit string ends with a valid Luhn check digit
+     */
+    public static boolean isValidLuhn(String digitsWithCheck) {
+        if (digitsWithCheck == null || digitsWithCheck.length() < 2) {
+            return false;
+        }
+        int last = digitsWithCheck.length() - 1;
+        return Character.digit(digitsWithCheck.charAt(last), 10) == luhnCheckDigit(digitsWithCheck.substring(0, last));
+    }
+}
@@ -0,0 +1,25 @@
+package com.freightops.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Source of unique numeric identifiers, one independent series per sequence name
+ */
+public interface IdentifierGenerator {
+
+    /**
+     * Next value of a sequence, starting at 1 when the sequence does not exist yet
+     */
+    default long nextValue(String sequenceName) {
+        return nextValue(sequenceName, () -> 1L);
+    }
+
+    /**
+     * Next value of a sequence
+     *
+     * @param sequenceName name of the series
+     * @param initialValue first value, only evaluated when the sequence is created
+     * @return a value never returned before for this sequence, on any node
+     */
+    long nextValue(String sequenceName, LongSupplier initialValue);
+}
@@ -2,15 +2,15 @@ package com.freightops.service;
 
 import com.freightops.entity.Invoice;
 import com.freightops.entity.InvoiceItem;
+import com.freightops.reporting.service.ReportTemplateRegistry;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import net.sf.jasperreports.engine.export.HtmlExporter;
 import net.sf.jasperreports.export.SimpleExporterInput;
 import net.sf.jasperreports.export.SimpleHtmlExporterOutput;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStream;
 import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
@@ -23,9 +23,12 @@ import static java.util.stream.Collectors.toList;
 @Service
 public class InvoiceJasperService {
 
-    private static final String INVOICE_TEMPLATE_PATH = "reports/invoice_modern_template.jrxml";
+    private static final String INVOICE_TEMPLATE_PATH = ReportTemplateRegistry.INVOICE_TEMPLATE;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
+    @Autowired
+    private ReportTemplateRegistry reportTemplateRegistry;
+
     public byte[] generateInvoicePdf(Invoice invoice) throws Exception {
         try {
             System.out.println("=== DEBUT GENERATION PDF ===");
@@ -60,20 +63,8 @@ public class InvoiceJasperService {
 
             System.out.println("Chargement du template: " + INVOICE_TEMPLATE_PATH);
 
-            // Load the template
-            ClassPathResource resource = new ClassPathResource(INVOICE_TEMPLATE_PATH);
-            if (!resource.exists()) {
-                System.err.println("ERREUR: Template non trouvé: " + INVOICE_TEMPLATE_PATH);
-                throw new RuntimeException("Template non trouvé: " + INVOICE_TEMPLATE_PATH);
-            }
-
-            InputStream templateStream = resource.getInputStream();
-            System.out.println("Template chargé avec succès");
-
-            // Compile the report
-            System.out.println("Compilation du rapport...");
-            JasperReport jasperReport = JasperCompileManager.compileReport(templateStream);
-            System.out.println("Rapport compilé avec succès");
+            // Get the compiled template from the registry
+            JasperReport jasperReport = reportTemplateRegistry.getReport(INVOICE_TEMPLATE_PATH);
 
             // Prepare parameters with null checks
             Map<String, Object> parameters = new HashMap<>();
@@ -164,11 +155,8 @@ public class InvoiceJasperService {
 
             System.out.println("Nombre d'items: " + invoice.getItems().size());
 
-            // Load and compile the template
-            ClassPathResource resource = new ClassPathResource(INVOICE_TEMPLATE_PATH);
-            InputStream templateStream = resource.getInputStream();
-            JasperReport jasperReport = JasperCompileManager.compileReport(templateStream);
-            System.out.println("Template compilé pour HTML");
+            // Get the compiled template from the registry
+            JasperReport jasperReport = reportTemplateRegistry.getReport(INVOICE_TEMPLATE_PATH);
 
             // Prepare parameters with null checks
             Map<String, Object> parameters = new HashMap<>();
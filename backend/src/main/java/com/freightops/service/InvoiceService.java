@@ -39,6 +39,9 @@ public class InvoiceService {
     @Autowired
     private AccountingEventPublisher accountingEventPublisher;
 
+    @Autowired
+    private DocumentNumberService documentNumberService;
+
     public List<Invoice> getAllInvoices() {
         return invoiceRepository.findAll();
     }
@@ -262,7 +265,7 @@ public class InvoiceService {
 
     public String generateInvoiceNumber() {
         int currentYear = Year.now().getValue();
-        Long count = invoiceRepository.countByYear(currentYear);
-        return String.format("FAC-%d-%05d", currentYear, count + 1);
+        return documentNumberService.nextInvoiceNumber(currentYear,
+                () -> invoiceRepository.countByYear(currentYear));
     }
 }
@@ -5,13 +5,7 @@ import com.freightops.entity.LTA;
 import com.freightops.entity.LTAPayment;
 import com.freightops.repository.LTARepository;
 import com.freightops.repository.LTAPaymentRepository;
-import com.freightops.accounting.service.AccountingService;
-import com.freightops.accounting.entity.Account;
-import com.freightops.accounting.entity.JournalEntry;
-import com.freightops.accounting.entity.FiscalYear;
-import com.freightops.accounting.service.AccountService;
-import com.freightops.accounting.service.FiscalYearService;
-import com.freightops.accounting.service.JournalEntryService;
+import com.freightops.accounting.service.AccountingOutboxService;
 import com.freightops.accounting.enums.SourceType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -42,16 +36,7 @@ public class LTAPaymentService {
     private LTAPaymentRepository ltaPaymentRepository;
 
     @Autowired
-    private AccountingService accountingService;
-
-    @Autowired
-    private AccountService accountService;
-
-    @Autowired
-    private FiscalYearService fiscalYearService;
-
-    @Autowired
-    private JournalEntryService journalEntryService;
+    private AccountingOutboxService accountingOutboxService;
 
     private static final Logger LOGGER = Logger.getLogger(LTAPaymentService.class.getName());
 
@@ -151,57 +136,13 @@ public class LTAPaymentService {
 
     /**
      * Intègre le paiement dans la comptabilité
+     * L'écriture (Débit 531 / Crédit 411) est générée en différé à partir de
+     * la boîte d'envoi comptable
      * 
      * @param payment Paiement à intégrer
      */
     private void integrateAccounting(LTAPayment payment) {
-        try {
-            // Récupération de l'année fiscale en cours
-            FiscalYear fiscalYear = fiscalYearService.getCurrentFiscalYear();
-
-            // Récupération des comptes comptables par numéro
-            Account treasuryAccount = accountService.getAccountByNumber("531"); // 531 Caisse
-            Account clientAccount = accountService.getAccountByNumber("411"); // 411 Clients
-
-            // Vérification que les comptes existent
-            if (treasuryAccount == null) {
-                throw new IllegalStateException("Compte de trésorerie 531 non trouvé dans le plan comptable");
-            }
-            if (clientAccount == null) {
-                throw new IllegalStateException("Compte clients 411 non trouvé dans le plan comptable");
-            }
-
-            // Création de l'écriture comptable (en-tête)
-            JournalEntry journalEntry = new JournalEntry();
-            journalEntry.setEntryDate(LocalDate.now());
-            journalEntry.setDescription("Encaissement LTA " + payment.getLta().getLtaNumber());
-            journalEntry.setReference("LTA-PAY-" + payment.getLta().getLtaNumber());
-            journalEntry.setFiscalYear(fiscalYear);
-            journalEntry.setSourceType(SourceType.LTA_PAYMENT);
-            journalEntry.setSourceId(payment.getId());
-
-            // Ligne 1: Débit compte de trésorerie (entrée d'argent)
-            journalEntry.addAccountingEntry(
-                    treasuryAccount,
-                    payment.getAmount(), // débit
-                    BigDecimal.ZERO, // crédit
-                    "Encaissement LTA " + payment.getLta().getLtaNumber());
-
-            // Ligne 2: Crédit compte clients (diminution créance)
-            journalEntry.addAccountingEntry(
-                    clientAccount,
-                    BigDecimal.ZERO, // débit
-                    payment.getAmount(), // crédit
-                    "Paiement client LTA " + payment.getLta().getLtaNumber());
-
-            // Sauvegarde de l'écriture comptable
-            journalEntryService.saveJournalEntry(journalEntry);
-
-        } catch (Exception e) {
-            // Log l'erreur mais ne fait pas échouer le paiement
-            LOGGER.severe("Erreur lors de l'intégration comptable du paiement LTA: " + e.getMessage());
-            e.printStackTrace();
-        }
+        accountingOutboxService.enqueue(SourceType.LTA_PAYMENT, payment.getId(), "SYSTEM");
     }
 
     /**
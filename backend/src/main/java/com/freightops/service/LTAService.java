@@ -4,35 +4,51 @@ import com.freightops.entity.LTA;
 import com.freightops.entity.LTAStatusHistory;
 import com.freightops.enums.LTAStatus;
 import com.freightops.enums.PaymentMode;
+import com.freightops.dto.BulkStatusRejection;
+import com.freightops.dto.BulkStatusRequest;
+import com.freightops.dto.BulkStatusResult;
+import com.freightops.dto.CostQuote;
 import com.freightops.dto.LTADto;
 import com.freightops.dto.LTARequest;
+import com.freightops.dto.LTAStatusSnapshot;
+import com.freightops.dto.LTAView;
 import com.freightops.entity.City;
 import com.freightops.entity.Client;
-import com.freightops.entity.Tariff;
 import com.freightops.repository.CityRepository;
 import com.freightops.repository.ClientRepository;
-import com.freightops.repository.TariffRepository;
 import com.freightops.repository.LTARepository;
 import com.freightops.repository.LTAStatusHistoryRepository;
-import com.freightops.accounting.service.AccountService;
-import com.freightops.accounting.service.FiscalYearService;
-import com.freightops.accounting.service.JournalEntryService;
-import com.freightops.accounting.entity.Account;
-import com.freightops.accounting.entity.JournalEntry;
-import com.freightops.accounting.entity.FiscalYear;
+import com.freightops.accounting.service.AccountingOutboxService;
 import com.freightops.accounting.enums.SourceType;
+import com.freightops.events.DomainEventBus;
+import com.freightops.events.LTAChangedEvent;
+import com.freightops.events.LTAStatusBatchChangedEvent;
+import com.freightops.events.LTAStatusChangedEvent;
+import com.freightops.fret.manifeste.repository.ManifestGoodsRepository;
+import com.freightops.pagination.CursorPage;
+import com.freightops.pagination.SeekCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
 /**
@@ -49,6 +65,9 @@ public class LTAService {
     @Autowired
     private LTAStatusHistoryRepository ltaStatusHistoryRepository;
 
+    @Autowired
+    private LTAStatusHistoryService ltaStatusHistoryService;
+
     @Autowired
     private CityRepository cityRepository;
 
@@ -56,19 +75,37 @@ public class LTAService {
     private ClientRepository clientRepository;
 
     @Autowired
-    private TariffRepository tariffRepository;
+    private TariffMatrixService tariffMatrixService;
+
+    @Autowired
+    private DocumentNumberService documentNumberService;
 
     @Autowired
-    private AccountService accountService;
+    private AccountingOutboxService accountingOutboxService;
 
     @Autowired
-    private FiscalYearService fiscalYearService;
+    private DomainEventBus domainEventBus;
 
     @Autowired
-    private JournalEntryService journalEntryService;
+    private ManifestGoodsRepository manifestGoodsRepository;
 
     private static final Logger logger = Logger.getLogger(LTAService.class.getName());
 
+    // Public tracking URL encoded in the LTA QR code, followed by the tracking number
+    private static final String QR_TRACKING_URL = "http://localhost:4201/tracking?number=";
+
+    // Statuses an LTA does not leave through a bulk change
+    private static final Set<LTAStatus> FINAL_STATUSES = EnumSet.of(LTAStatus.DELIVERED, LTAStatus.CANCELLED);
+
+    // Default $2.0 per kg when no tariff covers the route
+    private static final BigDecimal DEFAULT_KG_RATE = new BigDecimal("2.0");
+
+    @Value("${lta.bulk-status.max-size:1000}")
+    private int bulkStatusMaxSize = 1000;
+
+    @Value("${tariffs.volumetric-factor-kg-per-m3:167}")
+    private BigDecimal volumetricFactor = BigDecimal.valueOf(167);
+
     /**
      * Create a new LTA from request
      * 
@@ -129,77 +166,24 @@ public class LTAService {
         // Intégration comptable automatique
         integrateAccountingForLTACreation(savedLTA);
 
+        ltaStatusHistoryService.record(savedLTA, null, savedLTA.getStatus(), null, null);
+
+        // No previous status: listeners (dashboard counters) see a new LTA
+        domainEventBus.publish(new LTAStatusChangedEvent(this, savedLTA.getId(), savedLTA.getLtaNumber(),
+                savedLTA.getTrackingNumber(), null, savedLTA.getStatus(), LocalDateTime.now()));
+
         return savedLTA;
     }
 
     /**
      * Intègre la LTA dans la comptabilité lors de sa création
-     * Génère automatiquement les écritures comptables selon les règles de partie
-     * double
+     * L'écriture (Débit 411 / Crédit 701) est générée en différé à partir de
+     * la boîte d'envoi comptable, écrite dans la même transaction que la LTA
      * 
      * @param lta LTA créée à intégrer
      */
     private void integrateAccountingForLTACreation(LTA lta) {
-        try {
-            FiscalYear currentFiscalYear = fiscalYearService.getCurrentFiscalYear();
-
-            if (currentFiscalYear == null) {
-                logger.warning("Aucun exercice comptable actuel trouvé pour la LTA " + lta.getId());
-                return;
-            }
-
-            // Création de l'écriture comptable
-            JournalEntry journalEntry = new JournalEntry(
-                    LocalDate.now(),
-                    "Création LTA " + lta.getLtaNumber() + " - " + getClientName(lta),
-                    currentFiscalYear,
-                    SourceType.LTA,
-                    lta.getId());
-            journalEntry.setReference(lta.getLtaNumber());
-            journalEntry.setCreatedBy("SYSTEM");
-
-            // Récupération des comptes comptables
-            Account clientAccount = accountService.getAccountByNumber("411"); // Compte clients
-            Account salesAccount = accountService.getAccountByNumber("701"); // Compte ventes
-
-            if (clientAccount == null || salesAccount == null) {
-                logger.warning("Comptes comptables non trouvés pour la création LTA");
-                return;
-            }
-
-            // Ligne 1: Débit 411 Clients (augmentation de la créance)
-            journalEntry.addAccountingEntry(
-                    clientAccount,
-                    lta.getCalculatedCost(),
-                    BigDecimal.ZERO,
-                    "Créance LTA " + lta.getLtaNumber() + " - " + getClientName(lta));
-
-            // Ligne 2: Crédit 701 Ventes (augmentation du chiffre d'affaires)
-            journalEntry.addAccountingEntry(
-                    salesAccount,
-                    BigDecimal.ZERO,
-                    lta.getCalculatedCost(),
-                    "Vente transport aérien LTA " + lta.getLtaNumber());
-
-            // Sauvegarde de l'écriture comptable
-            journalEntryService.saveJournalEntry(journalEntry);
-
-            logger.info("Écriture comptable générée avec succès pour la création LTA " + lta.getId());
-
-        } catch (Exception e) {
-            logger.severe("Erreur lors de l'intégration comptable de la LTA: " + e.getMessage());
-            // Ne pas faire échouer la création de LTA pour une erreur comptable
-        }
-    }
-
-    /**
-     * Récupère le nom du client de la LTA
-     */
-    private String getClientName(LTA lta) {
-        if (lta.getClient() != null && lta.getClient().getName() != null) {
-            return lta.getClient().getName();
-        }
-        return lta.getShipperName() != null ? lta.getShipperName() : "Client inconnu";
+        accountingOutboxService.enqueue(SourceType.LTA, lta.getId(), "SYSTEM");
     }
 
     /**
@@ -208,11 +192,8 @@ public class LTAService {
      * @return unique LTA number
      */
     public String generateLTANumber() {
-        String ltaNumber;
-        do {
-            ltaNumber = "LTA-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        } while (ltaRepository.existsByLtaNumber(ltaNumber));
-        return ltaNumber;
+        return documentNumberService.nextLtaNumber(() -> ltaRepository.findMaxLtaNumberByPrefixAndLength(
+                DocumentNumberService.LTA_PREFIX, DocumentNumberService.LTA_NUMBER_LENGTH));
     }
 
     /**
@@ -221,11 +202,8 @@ public class LTAService {
      * @return unique tracking number
      */
     public String generateTrackingNumber() {
-        String trackingNumber;
-        do {
-            trackingNumber = "TRK-" + UUID.randomUUID().toString().substring(0, 12).toUpperCase();
-        } while (false); // Tracking number validation removed as field is not available in entity
-        return trackingNumber;
+        return documentNumberService.nextLtaTrackingNumber(() -> ltaRepository.findMaxTrackingNumberByPrefixAndLength(
+                DocumentNumberService.LTA_TRACKING_PREFIX, DocumentNumberService.LTA_TRACKING_NUMBER_LENGTH));
     }
 
     /**
@@ -236,21 +214,57 @@ public class LTAService {
      * @param weight            package weight
      * @return calculated cost
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Double calculateCost(Long originCityId, Long destinationCityId, Double weight) {
-        // Find tariff for the route
-        Optional<Tariff> tariffOpt = tariffRepository.findByOriginAndDestination(
-                originCityId, destinationCityId, LocalDateTime.now());
-
-        if (tariffOpt.isPresent()) {
-            Tariff tariff = tariffOpt.get();
-            BigDecimal weightBD = BigDecimal.valueOf(weight);
-            BigDecimal cost = tariff.getKgRate().multiply(weightBD);
-            return cost.doubleValue();
-        } else {
-            // Default rate if no tariff found (fallback)
-            return weight * 2.0; // Default $2.0 per kg
+        return calculateCost(originCityId, destinationCityId, weight, null);
+    }
+
+    /**
+     * Calculate cost for LTA from the in-memory tariff matrix (no database access)
+     * 
+     * @param originCityId      origin city ID
+     * @param destinationCityId destination city ID
+     * @param weight            package weight
+     * @param volume            shipment volume in m3, for volumetric weight and coefficient (optional)
+     * @return calculated cost
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Double calculateCost(Long originCityId, Long destinationCityId, Double weight, Double volume) {
+        return quoteCost(tariffMatrixService.getMatrix(), originCityId, destinationCityId,
+                BigDecimal.valueOf(weight), volume != null ? BigDecimal.valueOf(volume) : null,
+                LocalDateTime.now()).getCost().doubleValue();
+    }
+
+    /**
+     * Detailed cost of a shipment against a given tariff matrix
+     * The chargeable weight is the greater of the actual and volumetric weights
+     * 
+     * @param matrix            tariff matrix snapshot
+     * @param originCityId      origin city ID
+     * @param destinationCityId destination city ID
+     * @param weight            actual weight in kg
+     * @param volume            volume in m3 (optional)
+     * @param at                pricing date
+     * @return cost with the tariff and weights used
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CostQuote quoteCost(TariffMatrix matrix, Long originCityId, Long destinationCityId,
+            BigDecimal weight, BigDecimal volume, LocalDateTime at) {
+        BigDecimal volumetricWeight = volume != null
+                ? volume.multiply(volumetricFactor).setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        BigDecimal chargeableWeight = weight.max(volumetricWeight);
+
+        Optional<TariffMatrix.Rate> rate = matrix.find(originCityId, destinationCityId, at);
+        if (rate.isPresent()) {
+            int volumeClass = matrix.volumeClass(volume);
+            return new CostQuote(rate.get().getTariffId(), rate.get().getKgRate(),
+                    rate.get().coefficient(volumeClass), volumetricWeight, chargeableWeight,
+                    rate.get().cost(chargeableWeight, volumeClass));
         }
+        // Default rate if no tariff found (fallback)
+        return new CostQuote(null, DEFAULT_KG_RATE, BigDecimal.ONE, volumetricWeight, chargeableWeight,
+                chargeableWeight.multiply(DEFAULT_KG_RATE));
     }
 
     /**
@@ -286,18 +300,49 @@ public class LTAService {
         return ltaRepository.findByTrackingNumber(trackingNumber);
     }
 
+    /**
+     * Get LTA read model by ID
+     * 
+     * @param id LTA ID
+     * @return Optional LTA view
+     */
+    @Transactional(readOnly = true)
+    public Optional<LTAView> getLTAViewById(Long id) {
+        return ltaRepository.findViewById(id).map(this::withCost);
+    }
+
+    /**
+     * Get LTA read model by LTA number
+     * 
+     * @param ltaNumber LTA number
+     * @return Optional LTA view
+     */
+    @Transactional(readOnly = true)
+    public Optional<LTAView> getLTAViewByNumber(String ltaNumber) {
+        return ltaRepository.findViewByLtaNumber(ltaNumber).map(this::withCost);
+    }
+
+    /**
+     * Get LTA read model by tracking number
+     * 
+     * @param trackingNumber tracking number
+     * @return Optional LTA view
+     */
+    @Transactional(readOnly = true)
+    public Optional<LTAView> getLTAViewByTrackingNumber(String trackingNumber) {
+        return ltaRepository.findViewByTrackingNumber(trackingNumber).map(this::withCost);
+    }
+
     /**
      * Get all LTAs with pagination
+     * Cities and client are read in the same query (no per-row selects)
      * 
      * @param pageable pagination information
-     * @return Page of LTAs
+     * @return Page of LTA views
      */
     @Transactional(readOnly = true)
-    public Page<LTA> getAllLTAs(Pageable pageable) {
-        Page<LTA> ltas = ltaRepository.findAll(pageable);
-        // Calculate cost for LTAs that don't have it calculated
-        ltas.getContent().forEach(this::ensureCostCalculated);
-        return ltas;
+    public Page<LTAView> getAllLTAs(Pageable pageable) {
+        return ltaRepository.findAllViews(pageable).map(this::withCost);
     }
 
     /**
@@ -307,14 +352,35 @@ public class LTAService {
      * @param shipper   shipper filter (optional)
      * @param consignee consignee filter (optional)
      * @param pageable  pagination information
-     * @return Page of LTAs
+     * @return Page of LTA views
      */
     @Transactional(readOnly = true)
-    public Page<LTA> searchLTAs(LTAStatus status, String shipper, String consignee, Pageable pageable) {
-        Page<LTA> ltas = ltaRepository.findByMultipleCriteria(status, shipper, consignee, pageable);
-        // Calculate cost for LTAs that don't have it calculated
-        ltas.getContent().forEach(this::ensureCostCalculated);
-        return ltas;
+    public Page<LTAView> searchLTAs(LTAStatus status, String shipper, String consignee, Pageable pageable) {
+        return ltaRepository.findViewsByMultipleCriteria(status, shipper, consignee, pageable).map(this::withCost);
+    }
+
+    /**
+     * List LTAs newest first with keyset pagination
+     * Each page seeks past the continuation token instead of skipping rows, so
+     * deep pages cost the same as the first one
+     * 
+     * @param status       status filter (optional)
+     * @param shipper      shipper filter (optional)
+     * @param consignee    consignee filter (optional)
+     * @param cursor       continuation token of the previous page (null for the first page)
+     * @param size         page size
+     * @param includeTotal whether to count the matching LTAs
+     * @return page with the token of the next one
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<LTAView> getLTAsAfter(LTAStatus status, String shipper, String consignee, String cursor,
+            int size, boolean includeTotal) {
+        SeekCursor position = SeekCursor.decode(cursor);
+        List<LTAView> ltas = ltaRepository.findViewPageAfter(status, shipper, consignee, position.getCreatedAt(),
+                position.getId(), SeekCursor.limit(size));
+        Long total = includeTotal ? ltaRepository.countByMultipleCriteria(status, shipper, consignee) : null;
+
+        return CursorPage.of(ltas, size, LTAView::getCreatedAt, LTAView::getId, total).map(this::withCost);
     }
 
     /**
@@ -325,6 +391,19 @@ public class LTAService {
      * @return updated LTA
      */
     public Optional<LTA> updateLTAStatus(Long id, LTAStatus status) {
+        return updateLTAStatus(id, status, null, null);
+    }
+
+    /**
+     * Update LTA status, recording why and where in the status history
+     * 
+     * @param id       LTA ID
+     * @param status   new status
+     * @param reason   reason of the change (optional)
+     * @param location where the change happened (optional)
+     * @return updated LTA
+     */
+    public Optional<LTA> updateLTAStatus(Long id, LTAStatus status, String reason, String location) {
         logger.info("updateLTAStatus called for LTA ID: " + id + " with new status: " + status);
 
         Optional<LTA> ltaOpt = ltaRepository.findById(id);
@@ -350,6 +429,12 @@ public class LTAService {
 
             LTA savedLTA = ltaRepository.save(lta);
             logger.info("LTA saved successfully with tracking number: " + savedLTA.getTrackingNumber());
+
+            if (oldStatus != status) {
+                ltaStatusHistoryService.record(savedLTA, oldStatus, status, reason, location);
+                domainEventBus.publish(new LTAStatusChangedEvent(this, savedLTA.getId(), savedLTA.getLtaNumber(),
+                        savedLTA.getTrackingNumber(), oldStatus, status, LocalDateTime.now()));
+            }
             return Optional.of(savedLTA);
         } else {
             logger.warning("LTA not found with ID: " + id);
@@ -357,6 +442,131 @@ public class LTAService {
         return Optional.empty();
     }
 
+    /**
+     * Move several LTAs to the same status (aircraft loading, delivery run)
+     * The targets are validated as a set and nothing is changed if one of them
+     * is rejected. Otherwise statuses are set with one UPDATE per current
+     * status, guarded by that status, history rows
+     * are inserted in batch and a single {@link LTAStatusBatchChangedEvent}
+     * is published.
+     * 
+     * @param request ids or manifest number, target status
+     * @return counts, unchanged ids and rejected targets
+     * @throws OptimisticLockingFailureException if an LTA changed status
+     *                                           concurrently (rolled back)
+     */
+    public BulkStatusResult updateLTAStatuses(BulkStatusRequest<LTAStatus> request) {
+        LTAStatus status = request.getStatus();
+        if (status == null) {
+            throw new IllegalArgumentException("Target status is required");
+        }
+
+        List<BulkStatusRejection> rejected = new ArrayList<>();
+        List<LTAStatusSnapshot> targets = resolveBulkTargets(request, rejected);
+        // Unknown ids are the only rejections so far
+        int targetCount = targets.size() + rejected.size();
+
+        List<LTAStatusSnapshot> toChange = new ArrayList<>();
+        List<Long> unchangedIds = new ArrayList<>();
+        for (LTAStatusSnapshot lta : targets) {
+            if (lta.getStatus() == status) {
+                unchangedIds.add(lta.getId());
+            } else if (request.getFromStatus() != null && lta.getStatus() != request.getFromStatus()) {
+                rejected.add(rejection(lta, BulkStatusRejection.UNEXPECTED_STATUS));
+            } else if (FINAL_STATUSES.contains(lta.getStatus())) {
+                rejected.add(rejection(lta, BulkStatusRejection.FINAL_STATUS));
+            } else {
+                toChange.add(lta);
+            }
+        }
+
+        if (!rejected.isEmpty() || toChange.isEmpty()) {
+            return new BulkStatusResult(status.name(), targetCount, 0, unchangedIds, rejected);
+        }
+
+        // One guarded UPDATE per current status: an LTA changed since it was
+        // read is not matched, and the whole change is rolled back
+        LocalDateTime now = LocalDateTime.now();
+        boolean withQrCode = status == LTAStatus.CONFIRMED || status == LTAStatus.IN_TRANSIT;
+        Map<LTAStatus, List<Long>> idsByStatus = toChange.stream().collect(Collectors.groupingBy(
+                LTAStatusSnapshot::getStatus, () -> new EnumMap<>(LTAStatus.class),
+                Collectors.mapping(LTAStatusSnapshot::getId, Collectors.toList())));
+        int updated = 0;
+        for (Map.Entry<LTAStatus, List<Long>> group : idsByStatus.entrySet()) {
+            updated += withQrCode
+                    ? ltaRepository.updateStatusAndQrCodeByIdIn(group.getValue(), group.getKey(), status,
+                            QR_TRACKING_URL, now)
+                    : ltaRepository.updateStatusByIdIn(group.getValue(), group.getKey(), status, now);
+        }
+        if (updated != toChange.size()) {
+            throw new OptimisticLockingFailureException("LTA statuses changed during the bulk status change ("
+                    + updated + " of " + toChange.size() + " still as read), nothing was updated");
+        }
+
+        List<LTAStatusHistory> history = new ArrayList<>(toChange.size());
+        List<LTAStatusBatchChangedEvent.Item> items = new ArrayList<>(toChange.size());
+        for (LTAStatusSnapshot lta : toChange) {
+            history.add(ltaStatusHistoryService.entry(ltaRepository.getReferenceById(lta.getId()),
+                    lta.getTrackingNumber(), lta.getStatus(), status, request.getReason(), request.getLocation()));
+            items.add(new LTAStatusBatchChangedEvent.Item(lta.getId(), lta.getLtaNumber(), lta.getTrackingNumber(),
+                    lta.getStatus()));
+        }
+        ltaStatusHistoryService.recordAll(history);
+        domainEventBus.publish(new LTAStatusBatchChangedEvent(this, status, now, items));
+
+        logger.info("Bulk status change to " + status + ": " + updated + " LTA(s) updated");
+        return new BulkStatusResult(status.name(), targetCount, updated, unchangedIds, rejected);
+    }
+
+    /**
+     * LTAs designated by a bulk request; unknown ids are rejected, tracking
+     * numbers of the manifest that are not LTAs are ignored
+     */
+    private List<LTAStatusSnapshot> resolveBulkTargets(BulkStatusRequest<LTAStatus> request,
+            List<BulkStatusRejection> rejected) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byManifest = request.getManifestNumber() != null && !request.getManifestNumber().isBlank();
+        if (byIds == byManifest) {
+            throw new IllegalArgumentException("Either ids or a manifest number is required");
+        }
+
+        if (byManifest) {
+            List<String> trackingNumbers = manifestGoodsRepository
+                    .findTrackingNumbersByManifestNumber(request.getManifestNumber());
+            if (trackingNumbers.isEmpty()) {
+                throw new IllegalArgumentException("No tracked goods on manifest: " + request.getManifestNumber());
+            }
+            checkBulkSize(trackingNumbers.size());
+            return ltaRepository.findStatusSnapshotsByTrackingNumberIn(trackingNumbers);
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(request.getIds());
+        checkBulkSize(ids.size());
+        Map<Long, LTAStatusSnapshot> found = ltaRepository.findStatusSnapshotsByIdIn(ids).stream()
+                .collect(Collectors.toMap(LTAStatusSnapshot::getId, Function.identity()));
+        List<LTAStatusSnapshot> targets = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            LTAStatusSnapshot lta = found.get(id);
+            if (lta != null) {
+                targets.add(lta);
+            } else {
+                rejected.add(new BulkStatusRejection(id, null, null, BulkStatusRejection.NOT_FOUND));
+            }
+        }
+        return targets;
+    }
+
+    private void checkBulkSize(int size) {
+        if (size > bulkStatusMaxSize) {
+            throw new IllegalArgumentException(
+                    "Too many LTAs in one bulk status change: " + size + " (max " + bulkStatusMaxSize + ")");
+        }
+    }
+
+    private static BulkStatusRejection rejection(LTAStatusSnapshot lta, String reason) {
+        return new BulkStatusRejection(lta.getId(), lta.getLtaNumber(), lta.getStatus().name(), reason);
+    }
+
     /**
      * Update LTA
      * 
@@ -375,6 +585,8 @@ public class LTAService {
                 throw new IllegalArgumentException("LTA number already exists: " + ltaDto.getLtaNumber());
             }
 
+            LTAStatus oldStatus = lta.getStatus();
+
             // Update fields
             lta.setLtaNumber(ltaDto.getLtaNumber());
             lta.setStatus(ltaDto.getStatus());
@@ -383,7 +595,13 @@ public class LTAService {
             lta.setTotalWeight(ltaDto.getWeight());
             lta.setDeclaredValue(ltaDto.getDeclaredValue());
 
-            return Optional.of(ltaRepository.save(lta));
+            LTA savedLTA = ltaRepository.save(lta);
+            if (ltaDto.getStatus() != null && oldStatus != ltaDto.getStatus()) {
+                ltaStatusHistoryService.record(savedLTA, oldStatus, ltaDto.getStatus(), null, null);
+            }
+            domainEventBus.publish(new LTAChangedEvent(this, savedLTA.getId(), savedLTA.getLtaNumber(),
+                    savedLTA.getTrackingNumber(), LocalDateTime.now()));
+            return Optional.of(savedLTA);
         }
         return Optional.empty();
     }
@@ -395,8 +613,11 @@ public class LTAService {
      * @return true if deleted, false if not found
      */
     public boolean deleteLTA(Long id) {
-        if (ltaRepository.existsById(id)) {
+        Optional<LTAView> lta = ltaRepository.findViewById(id);
+        if (lta.isPresent()) {
             ltaRepository.deleteById(id);
+            domainEventBus.publish(new LTAChangedEvent(this, id, lta.get().getLtaNumber(),
+                    lta.get().getTrackingNumber(), LocalDateTime.now()));
             return true;
         }
         return false;
@@ -414,19 +635,22 @@ public class LTAService {
     }
 
     /**
-     * Ensure cost is calculated for an LTA
+     * Fill in the cost of an LTA view that doesn't have it calculated
+     * (display only, priced from the in-memory tariff matrix)
      * 
-     * @param lta LTA to ensure cost calculation
+     * @param view LTA view
+     * @return the same view
      */
-    private void ensureCostCalculated(LTA lta) {
-        if (lta.getCalculatedCost() == null && lta.getOriginCity() != null &&
-                lta.getDestinationCity() != null && lta.getTotalWeight() != null) {
+    private LTAView withCost(LTAView view) {
+        if (view.getCalculatedCost() == null && view.getOriginCityId() != null &&
+                view.getDestinationCityId() != null && view.getTotalWeight() != null) {
             Double calculatedCost = calculateCost(
-                    lta.getOriginCity().getId(),
-                    lta.getDestinationCity().getId(),
-                    lta.getTotalWeight().doubleValue());
-            lta.setCalculatedCost(BigDecimal.valueOf(calculatedCost));
+                    view.getOriginCityId(),
+                    view.getDestinationCityId(),
+                    view.getTotalWeight().doubleValue());
+            view.setCalculatedCost(BigDecimal.valueOf(calculatedCost));
         }
+        return view;
     }
 
     /**
@@ -437,7 +661,7 @@ public class LTAService {
     private void generateQRCodeForLTA(LTA lta) {
         if (lta.getTrackingNumber() != null && !lta.getTrackingNumber().isEmpty()) {
             // Generate QR code data with public tracking URL
-            String qrData = "http://localhost:4201/tracking?number=" + lta.getTrackingNumber();
+            String qrData = QR_TRACKING_URL + lta.getTrackingNumber();
 
             // Store QR code in the LTA entity
             lta.setQrCode(qrData);
@@ -0,0 +1,138 @@
+package com.freightops.service;
+
+import com.freightops.cache.CacheNames;
+import com.freightops.dto.LTATimelineEntry;
+import com.freightops.entity.LTA;
+import com.freightops.entity.LTAStatusHistory;
+import com.freightops.enums.LTAStatus;
+import com.freightops.events.LTAChangedEvent;
+import com.freightops.events.LTAStatusBatchChangedEvent;
+import com.freightops.events.LTAStatusChangedEvent;
+import com.freightops.repository.LTAStatusHistoryRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * LTA status history
+ * Writes the append-only log of status transitions in the caller's transaction
+ * and serves the per-tracking-number timeline from the ltaTimeline cache.
+ */
+@Service
+public class LTAStatusHistoryService {
+
+    private static final String SYSTEM_USER = "SYSTEM";
+
+    private final LTAStatusHistoryRepository ltaStatusHistoryRepository;
+
+    public LTAStatusHistoryService(LTAStatusHistoryRepository ltaStatusHistoryRepository) {
+        this.ltaStatusHistoryRepository = ltaStatusHistoryRepository;
+    }
+
+    /**
+     * Build a log entry for a transition, attributed to the current user
+     *
+     * @param previousStatus null when the LTA is created
+     */
+    public LTAStatusHistory entry(LTA lta, LTAStatus previousStatus, LTAStatus newStatus, String reason,
+            String location) {
+        return entry(lta, lta.getTrackingNumber(), previousStatus, newStatus, reason, location);
+    }
+
+    /**
+     * Same as {@link #entry(LTA, LTAStatus, LTAStatus, String, String)} with
+     * the tracking number given, so that an uninitialized LTA reference
+     * (bulk changes) is not loaded
+     */
+    public LTAStatusHistory entry(LTA lta, String trackingNumber, LTAStatus previousStatus, LTAStatus newStatus,
+            String reason, String location) {
+        LTAStatusHistory entry = new LTAStatusHistory();
+        entry.setLta(lta);
+        entry.setTrackingNumber(trackingNumber);
+        entry.setPreviousStatus(previousStatus != null ? previousStatus.name() : null);
+        entry.setNewStatus(newStatus.name());
+        entry.setChangedBy(currentUser());
+        entry.setChangeReason(reason);
+        entry.setLocation(location);
+        entry.setChangedAt(LocalDateTime.now());
+        return entry;
+    }
+
+    /**
+     * Append one transition to the log
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(LTA lta, LTAStatus previousStatus, LTAStatus newStatus, String reason, String location) {
+        recordAll(List.of(entry(lta, previousStatus, newStatus, reason, location)));
+    }
+
+    /**
+     * Append several transitions; inserted in JDBC batches at flush
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<LTAStatusHistory> entries) {
+        if (!entries.isEmpty()) {
+            ltaStatusHistoryRepository.saveAll(entries);
+        }
+    }
+
+    /**
+     * Status timeline of a tracking number, oldest first
+     */
+    @Cacheable(value = CacheNames.LTA_TIMELINE, key = "#trackingNumber")
+    @Transactional(readOnly = true)
+    public List<LTATimelineEntry> getTimeline(String trackingNumber) {
+        return ltaStatusHistoryRepository.findTimelineByTrackingNumber(trackingNumber);
+    }
+
+    /**
+     * Drop the cached timelines after a bulk change (one event for many
+     * tracking numbers)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @CacheEvict(value = CacheNames.LTA_TIMELINE, allEntries = true)
+    public void onLTAStatusBatchChanged(LTAStatusBatchChangedEvent event) {
+    }
+
+    /**
+     * Drop the cached timeline once the transition is committed
+     * Runs before the other listeners so that a tracking document rendered
+     * after their evictions never picks up the previous timeline.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @CacheEvict(value = CacheNames.LTA_TIMELINE, key = "#event.trackingNumber", condition = "#event.trackingNumber != null")
+    public void onLTAStatusChanged(LTAStatusChangedEvent event) {
+    }
+
+    /**
+     * Drop the cached timeline once an edit or a deletion of the LTA is
+     * committed, before the tracking document is evicted
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @CacheEvict(value = CacheNames.LTA_TIMELINE, key = "#event.trackingNumber", condition = "#event.trackingNumber != null")
+    public void onLTAChanged(LTAChangedEvent event) {
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return SYSTEM_USER;
+        }
+        return authentication.getName();
+    }
+}
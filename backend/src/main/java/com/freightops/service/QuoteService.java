@@ -35,6 +35,9 @@ public class QuoteService {
     @Autowired
     private InvoiceService invoiceService;
 
+    @Autowired
+    private DocumentNumberService documentNumberService;
+
     public List<Quote> getAllQuotes() {
         return quoteRepository.findAll();
     }
@@ -223,7 +226,7 @@ public class QuoteService {
 
     private String generateQuoteNumber() {
         int currentYear = Year.now().getValue();
-        Long count = quoteRepository.countByYear(currentYear);
-        return String.format("DEV-%d-%05d", currentYear, count + 1);
+        return documentNumberService.nextQuoteNumber(currentYear,
+                () -> quoteRepository.countByYear(currentYear));
     }
 }
@@ -1,21 +1,37 @@
 package com.freightops.service;
 
+import com.freightops.dto.BulkStatusRejection;
+import com.freightops.dto.BulkStatusRequest;
+import com.freightops.dto.BulkStatusResult;
+import com.freightops.dto.ShipmentStatusSnapshot;
 import com.freightops.entity.Shipment;
 import com.freightops.entity.TrackingEvent;
 import com.freightops.enums.ShipmentStatus;
 import com.freightops.enums.ServiceType;
+import com.freightops.events.DomainEventBus;
+import com.freightops.events.ShipmentTrackingBatchAddedEvent;
+import com.freightops.events.TrackingEventAddedEvent;
+import com.freightops.fret.manifeste.repository.ManifestGoodsRepository;
+import com.freightops.pagination.CursorPage;
+import com.freightops.pagination.SeekCursor;
 import com.freightops.repository.ShipmentRepository;
 import com.freightops.repository.TrackingEventRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +44,30 @@ public class ShipmentService {
     @Autowired
     private TrackingEventRepository trackingEventRepository;
 
+    @Autowired
+    private DocumentNumberService documentNumberService;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private ManifestGoodsRepository manifestGoodsRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${shipments.bulk-status.max-size:1000}")
+    private int bulkStatusMaxSize = 1000;
+
+    // Statuses a shipment does not leave through a bulk change (same as the overdue check)
+    private static final Set<ShipmentStatus> FINAL_STATUSES = EnumSet.of(ShipmentStatus.DELIVERED,
+            ShipmentStatus.RETURNED_TO_SENDER, ShipmentStatus.CANCELLED, ShipmentStatus.LOST,
+            ShipmentStatus.DAMAGED);
+
+    private static final String INSERT_TRACKING_EVENT = "INSERT INTO tracking_events "
+            + "(shipment_id, status, event_date, location, description, created_at, updated_at) "
+            + "VALUES (:shipmentId, :status, :eventDate, :location, :description, :now, :now)";
+
     /**
      * Create a new shipment
      */
@@ -75,11 +115,136 @@ public class ShipmentService {
         // Create tracking event
         TrackingEvent event = new TrackingEvent(updatedShipment, newStatus, description);
         event.setLocation(location);
-        trackingEventRepository.save(event);
+        saveTrackingEvent(event);
 
         return updatedShipment;
     }
 
+    /**
+     * Move several shipments to the same status
+     * The targets are validated as a set and nothing is changed if one of them
+     * is rejected. Otherwise statuses are set with one UPDATE per current
+     * status, guarded by that status (a concurrent change rolls everything
+     * back with an OptimisticLockingFailureException), the tracking
+     * events are inserted as one JDBC batch and a single
+     * {@link ShipmentTrackingBatchAddedEvent} is published.
+     */
+    public BulkStatusResult updateShipmentStatuses(BulkStatusRequest<ShipmentStatus> request) {
+        ShipmentStatus status = request.getStatus();
+        if (status == null) {
+            throw new IllegalArgumentException("Target status is required");
+        }
+
+        List<BulkStatusRejection> rejected = new ArrayList<>();
+        List<ShipmentStatusSnapshot> targets = resolveBulkTargets(request, rejected);
+        // Unknown ids are the only rejections so far
+        int targetCount = targets.size() + rejected.size();
+
+        List<ShipmentStatusSnapshot> toChange = new ArrayList<>();
+        List<Long> unchangedIds = new ArrayList<>();
+        for (ShipmentStatusSnapshot shipment : targets) {
+            if (shipment.getStatus() == status) {
+                unchangedIds.add(shipment.getId());
+            } else if (request.getFromStatus() != null && shipment.getStatus() != request.getFromStatus()) {
+                rejected.add(rejection(shipment, BulkStatusRejection.UNEXPECTED_STATUS));
+            } else if (FINAL_STATUSES.contains(shipment.getStatus())) {
+                rejected.add(rejection(shipment, BulkStatusRejection.FINAL_STATUS));
+            } else {
+                toChange.add(shipment);
+            }
+        }
+        if (!rejected.isEmpty() || toChange.isEmpty()) {
+            return new BulkStatusResult(status.name(), targetCount, 0, unchangedIds, rejected);
+        }
+
+        // One guarded UPDATE per current status: a shipment changed since it
+        // was read is not matched, and the whole change is rolled back
+        LocalDateTime now = LocalDateTime.now();
+        Map<ShipmentStatus, List<Long>> idsByStatus = toChange.stream().collect(Collectors.groupingBy(
+                ShipmentStatusSnapshot::getStatus, () -> new EnumMap<>(ShipmentStatus.class),
+                Collectors.mapping(ShipmentStatusSnapshot::getId, Collectors.toList())));
+        int updated = 0;
+        for (Map.Entry<ShipmentStatus, List<Long>> group : idsByStatus.entrySet()) {
+            updated += status == ShipmentStatus.DELIVERED
+                    ? shipmentRepository.updateDeliveredByIdIn(group.getValue(), group.getKey(), status, now)
+                    : shipmentRepository.updateStatusByIdIn(group.getValue(), group.getKey(), status, now);
+        }
+        if (updated != toChange.size()) {
+            throw new OptimisticLockingFailureException("Shipment statuses changed during the bulk status change ("
+                    + updated + " of " + toChange.size() + " still as read), nothing was updated");
+        }
+
+        String description = request.getReason() != null ? request.getReason() : status.getLabel();
+        SqlParameterSource[] events = new SqlParameterSource[toChange.size()];
+        List<ShipmentTrackingBatchAddedEvent.Item> items = new ArrayList<>(toChange.size());
+        for (int i = 0; i < toChange.size(); i++) {
+            ShipmentStatusSnapshot shipment = toChange.get(i);
+            events[i] = new MapSqlParameterSource()
+                    .addValue("shipmentId", shipment.getId())
+                    .addValue("status", status.name())
+                    .addValue("eventDate", now)
+                    .addValue("location", request.getLocation())
+                    .addValue("description", description)
+                    .addValue("now", now);
+            items.add(new ShipmentTrackingBatchAddedEvent.Item(shipment.getId(), shipment.getTrackingNumber()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRACKING_EVENT, events);
+        domainEventBus.publish(new ShipmentTrackingBatchAddedEvent(this, status, description,
+                request.getLocation(), now, items));
+
+        return new BulkStatusResult(status.name(), targetCount, updated, unchangedIds, rejected);
+    }
+
+    /**
+     * Shipments designated by a bulk request; unknown ids are rejected,
+     * tracking numbers of the manifest that are not shipments are ignored
+     */
+    private List<ShipmentStatusSnapshot> resolveBulkTargets(BulkStatusRequest<ShipmentStatus> request,
+            List<BulkStatusRejection> rejected) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byManifest = request.getManifestNumber() != null && !request.getManifestNumber().isBlank();
+        if (byIds == byManifest) {
+            throw new IllegalArgumentException("Either ids or a manifest number is required");
+        }
+
+        if (byManifest) {
+            List<String> trackingNumbers = manifestGoodsRepository
+                    .findTrackingNumbersByManifestNumber(request.getManifestNumber());
+            if (trackingNumbers.isEmpty()) {
+                throw new IllegalArgumentException("No tracked goods on manifest: " + request.getManifestNumber());
+            }
+            checkBulkSize(trackingNumbers.size());
+            return shipmentRepository.findStatusSnapshotsByTrackingNumberIn(trackingNumbers);
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(request.getIds());
+        checkBulkSize(ids.size());
+        Map<Long, ShipmentStatusSnapshot> found = shipmentRepository.findStatusSnapshotsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ShipmentStatusSnapshot::getId, Function.identity()));
+        List<ShipmentStatusSnapshot> targets = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            ShipmentStatusSnapshot shipment = found.get(id);
+            if (shipment != null) {
+                targets.add(shipment);
+            } else {
+                rejected.add(new BulkStatusRejection(id, null, null, BulkStatusRejection.NOT_FOUND));
+            }
+        }
+        return targets;
+    }
+
+    private void checkBulkSize(int size) {
+        if (size > bulkStatusMaxSize) {
+            throw new IllegalArgumentException(
+                    "Too many shipments in one bulk status change: " + size + " (max " + bulkStatusMaxSize + ")");
+        }
+    }
+
+    private static BulkStatusRejection rejection(ShipmentStatusSnapshot shipment, String reason) {
+        return new BulkStatusRejection(shipment.getId(), shipment.getTrackingNumber(), shipment.getStatus().name(),
+                reason);
+    }
+
     /**
      * Get shipment by ID
      */
@@ -98,6 +263,14 @@ public class ShipmentService {
                 .orElseThrow(() -> new RuntimeException("Shipment not found with tracking number: " + trackingNumber));
     }
 
+    /**
+     * Check whether a shipment has this tracking number
+     */
+    @Transactional(readOnly = true)
+    public boolean existsByTrackingNumber(String trackingNumber) {
+        return shipmentRepository.existsByTrackingNumber(trackingNumber);
+    }
+
     /**
      * Get shipment with tracking events
      */
@@ -120,6 +293,21 @@ public class ShipmentService {
                 pageable);
     }
 
+    /**
+     * Search shipments newest first with keyset pagination (no offset, optional count)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Shipment> searchShipmentsAfter(String trackingNumber, String senderName, String recipientName,
+            ShipmentStatus status, Long clientId, String cursor, int size, boolean includeTotal) {
+        SeekCursor position = SeekCursor.decode(cursor);
+        List<Shipment> shipments = shipmentRepository.searchShipmentsAfter(trackingNumber, senderName,
+                recipientName, status, clientId, position.getCreatedAt(), position.getId(), SeekCursor.limit(size));
+        Long total = includeTotal
+                ? shipmentRepository.countSearchShipments(trackingNumber, senderName, recipientName, status, clientId)
+                : null;
+        return CursorPage.of(shipments, size, Shipment::getCreatedAt, Shipment::getId, total);
+    }
+
     /**
      * Get shipments by client
      */
@@ -202,7 +390,7 @@ public class ShipmentService {
      */
     public TrackingEvent addTrackingEvent(Shipment shipment, ShipmentStatus status, String description) {
         TrackingEvent event = new TrackingEvent(shipment, status, description);
-        return trackingEventRepository.save(event);
+        return saveTrackingEvent(event);
     }
 
     /**
@@ -218,7 +406,19 @@ public class ShipmentService {
         event.setCountry(country);
         event.setOperatorName(operatorName);
 
-        return trackingEventRepository.save(event);
+        return saveTrackingEvent(event);
+    }
+
+    /**
+     * Save tracking event and publish it on the domain event bus
+     */
+    private TrackingEvent saveTrackingEvent(TrackingEvent event) {
+        TrackingEvent savedEvent = trackingEventRepository.save(event);
+        Shipment shipment = savedEvent.getShipment();
+        domainEventBus.publish(new TrackingEventAddedEvent(this, shipment.getId(), shipment.getTrackingNumber(),
+                savedEvent.getStatus(), savedEvent.getDescription(), savedEvent.getLocation(),
+                savedEvent.getEventDate() != null ? savedEvent.getEventDate() : LocalDateTime.now()));
+        return savedEvent;
     }
 
     /**
@@ -241,18 +441,9 @@ public class ShipmentService {
      * Generate unique tracking number
      */
     private String generateTrackingNumber() {
-        String prefix = "FO";
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String random = String.valueOf((int) (Math.random() * 1000));
-        String trackingNumber = prefix + timestamp.substring(timestamp.length() - 8) + random;
-
-        // Ensure uniqueness
-        while (shipmentRepository.existsByTrackingNumber(trackingNumber)) {
-            random = String.valueOf((int) (Math.random() * 1000));
-            trackingNumber = prefix + timestamp.substring(timestamp.length() - 8) + random;
-        }
-
-        return trackingNumber;
+        return documentNumberService.nextShipmentTrackingNumber(() -> shipmentRepository
+                .findMaxTrackingNumberByPrefixAndLength(DocumentNumberService.SHIPMENT_TRACKING_PREFIX,
+                        DocumentNumberService.SHIPMENT_TRACKING_NUMBER_LENGTH));
     }
 
     /**
@@ -0,0 +1,201 @@
+package com.freightops.service;
+
+import com.freightops.entity.Tariff;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Immutable origin x destination tariff matrix built from the active tariffs
+ * Each route keeps its rates ordered by effectiveFrom (latest first), so a
+ * lookup only has to walk the few rates of one route to find the one in force
+ */
+public final class TariffMatrix {
+
+    private static final TariffMatrix EMPTY = new TariffMatrix(Collections.emptyMap(), null, null);
+
+    private final Map<Route, List<Rate>> rates;
+    private final BigDecimal volumeClass2FromM3;
+    private final BigDecimal volumeClass3FromM3;
+
+    private TariffMatrix(Map<Route, List<Rate>> rates, BigDecimal volumeClass2FromM3,
+            BigDecimal volumeClass3FromM3) {
+        this.rates = rates;
+        this.volumeClass2FromM3 = volumeClass2FromM3;
+        this.volumeClass3FromM3 = volumeClass3FromM3;
+    }
+
+    public static TariffMatrix empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a matrix from tariff rows; only the city ids of the tariffs are
+     * read, so lazy city associations are not initialized
+     *
+     * @param tariffs            active tariffs
+     * @param volumeClass2FromM3 volume (m3) from which coefficient V2 applies
+     * @param volumeClass3FromM3 volume (m3) from which coefficient V3 applies
+     */
+    public static TariffMatrix of(List<Tariff> tariffs, BigDecimal volumeClass2FromM3,
+            BigDecimal volumeClass3FromM3) {
+        Map<Route, List<Rate>> rates = new HashMap<>();
+        for (Tariff tariff : tariffs) {
+            if (!Boolean.TRUE.equals(tariff.getIsActive()) || tariff.getKgRate() == null) {
+                continue;
+            }
+            Route route = new Route(tariff.getOriginCity().getId(), tariff.getDestinationCity().getId());
+            rates.computeIfAbsent(route, r -> new ArrayList<>()).add(new Rate(tariff));
+        }
+
+        Comparator<Rate> latestFirst = Comparator.comparing(Rate::getEffectiveFrom,
+                Comparator.nullsLast(Comparator.reverseOrder()));
+        rates.replaceAll((route, routeRates) -> {
+            routeRates.sort(latestFirst);
+            return List.copyOf(routeRates);
+        });
+        return new TariffMatrix(Map.copyOf(rates), volumeClass2FromM3, volumeClass3FromM3);
+    }
+
+    /**
+     * Rate in force on a route at a given time
+     */
+    public Optional<Rate> find(Long originCityId, Long destinationCityId, LocalDateTime at) {
+        List<Rate> routeRates = rates.get(new Route(originCityId, destinationCityId));
+        if (routeRates == null) {
+            return Optional.empty();
+        }
+        for (Rate rate : routeRates) {
+            if (rate.isEffectiveAt(at)) {
+                return Optional.of(rate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Volume class (1 to 3) of a shipment; class 1 when the volume is unknown
+     */
+    public int volumeClass(BigDecimal volumeM3) {
+        if (volumeM3 == null) {
+            return 1;
+        }
+        if (volumeClass3FromM3 != null && volumeM3.compareTo(volumeClass3FromM3) >= 0) {
+            return 3;
+        }
+        if (volumeClass2FromM3 != null && volumeM3.compareTo(volumeClass2FromM3) >= 0) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * Number of routes with at least one active tariff
+     */
+    public int getRouteCount() {
+        return rates.size();
+    }
+
+    /**
+     * Tariff values needed for pricing, detached from the entity
+     */
+    public static final class Rate {
+        private final Long tariffId;
+        private final BigDecimal kgRate;
+        private final BigDecimal volumeCoeffV1;
+        private final BigDecimal volumeCoeffV2;
+        private final BigDecimal volumeCoeffV3;
+        private final LocalDateTime effectiveFrom;
+        private final LocalDateTime effectiveUntil;
+
+        private Rate(Tariff tariff) {
+            this.tariffId = tariff.getId();
+            this.kgRate = tariff.getKgRate();
+            this.volumeCoeffV1 = tariff.getVolumeCoeffV1();
+            this.volumeCoeffV2 = tariff.getVolumeCoeffV2();
+            this.volumeCoeffV3 = tariff.getVolumeCoeffV3();
+            this.effectiveFrom = tariff.getEffectiveFrom();
+            this.effectiveUntil = tariff.getEffectiveUntil();
+        }
+
+        private boolean isEffectiveAt(LocalDateTime at) {
+            return (effectiveFrom == null || !effectiveFrom.isAfter(at))
+                    && (effectiveUntil == null || !effectiveUntil.isBefore(at));
+        }
+
+        /**
+         * Cost = weight x kg rate x volume coefficient of the class
+         * A coefficient left at 0 (not configured) counts as 1
+         */
+        public BigDecimal cost(BigDecimal weight, int volumeClass) {
+            return weight.multiply(kgRate).multiply(coefficient(volumeClass));
+        }
+
+        public BigDecimal coefficient(int volumeClass) {
+            BigDecimal coefficient;
+            switch (volumeClass) {
+                case 3:
+                    coefficient = volumeCoeffV3;
+                    break;
+                case 2:
+                    coefficient = volumeCoeffV2;
+                    break;
+                default:
+                    coefficient = volumeCoeffV1;
+            }
+            return coefficient == null || coefficient.signum() == 0 ? BigDecimal.ONE : coefficient;
+        }
+
+        public Long getTariffId() {
+            return tariffId;
+        }
+
+        public BigDecimal getKgRate() {
+            return kgRate;
+        }
+
+        public LocalDateTime getEffectiveFrom() {
+            return effectiveFrom;
+        }
+
+        public LocalDateTime getEffectiveUntil() {
+            return effectiveUntil;
+        }
+    }
+
+    private static final class Route {
+        private final Long originCityId;
+        private final Long destinationCityId;
+
+        private Route(Long originCityId, Long destinationCityId) {
+            this.originCityId = originCityId;
+            this.destinationCityId = destinationCityId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Route)) {
+                return false;
+            }
+            Route other = (Route) o;
+            return Objects.equals(originCityId, other.originCityId)
+                    && Objects.equals(destinationCityId, other.destinationCityId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(originCityId, destinationCityId);
+        }
+    }
+}
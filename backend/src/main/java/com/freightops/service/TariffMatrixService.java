@@ -0,0 +1,92 @@
+package com.freightops.service;
+
+import com.freightops.events.TariffChangedEvent;
+import com.freightops.repository.TariffRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Holds the current {@link TariffMatrix}
+ * The matrix is rebuilt from the active tariffs at startup and after each
+ * committed tariff change (on every node via {@link TariffChangedEvent}),
+ * then swapped atomically; readers never touch the database
+ */
+@Service
+public class TariffMatrixService {
+
+    private static final Logger logger = Logger.getLogger(TariffMatrixService.class.getName());
+
+    private final TariffRepository tariffRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicReference<TariffMatrix> matrix = new AtomicReference<>();
+
+    @Value("${tariffs.volume-class.v2-from-m3:1}")
+    private BigDecimal volumeClass2FromM3 = BigDecimal.ONE;
+
+    @Value("${tariffs.volume-class.v3-from-m3:5}")
+    private BigDecimal volumeClass3FromM3 = BigDecimal.valueOf(5);
+
+    public TariffMatrixService(TariffRepository tariffRepository, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.tariffRepository = tariffRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("tariffs.matrix.routes", matrix,
+                current -> current.get() != null ? current.get().getRouteCount() : 0)
+                .description("Routes with an active tariff in the in-memory matrix")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Current matrix, built on first use if the application is not ready yet
+     */
+    public TariffMatrix getMatrix() {
+        TariffMatrix current = matrix.get();
+        if (current == null) {
+            synchronized (this) {
+                current = matrix.get();
+                if (current == null) {
+                    current = rebuild();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reload the active tariffs and swap the matrix
+     */
+    public synchronized TariffMatrix rebuild() {
+        TariffMatrix rebuilt = readOnlyTransaction.execute(status -> TariffMatrix.of(
+                tariffRepository.findByIsActiveTrue(), volumeClass2FromM3, volumeClass3FromM3));
+        matrix.set(rebuilt);
+        logger.fine("Tariff matrix rebuilt with " + rebuilt.getRouteCount() + " routes");
+        return rebuilt;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild once the tariff change is committed; events received from the
+     * bus (other nodes) arrive outside any transaction
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTariffChanged(TariffChangedEvent event) {
+        rebuild();
+    }
+}
@@ -1,16 +1,22 @@
 package com.freightops.service;
 
+import com.freightops.cache.CacheNames;
 import com.freightops.entity.Tariff;
 import com.freightops.entity.City;
 import com.freightops.dto.TariffRequest;
 import com.freightops.repository.TariffRepository;
 import com.freightops.repository.CityRepository;
+import com.freightops.events.DomainEventBus;
+import com.freightops.events.TariffChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -23,11 +29,14 @@ public class TariffService {
 
     private final TariffRepository tariffRepository;
     private final CityRepository cityRepository;
+    private final DomainEventBus domainEventBus;
 
     @Autowired
-    public TariffService(TariffRepository tariffRepository, CityRepository cityRepository) {
+    public TariffService(TariffRepository tariffRepository, CityRepository cityRepository,
+            DomainEventBus domainEventBus) {
         this.tariffRepository = tariffRepository;
         this.cityRepository = cityRepository;
+        this.domainEventBus = domainEventBus;
     }
 
     /**
@@ -35,6 +44,7 @@ public class TariffService {
      * @param tariffRequest Tariff data transfer object
      * @return created Tariff
      */
+    @CacheEvict(value = CacheNames.TARIFF_BY_ROUTE, allEntries = true)
     public Tariff createTariff(TariffRequest tariffRequest) {
         // Validate cities exist
         Optional<City> originCity = cityRepository.findById(tariffRequest.getOriginCityId());
@@ -64,7 +74,9 @@ public class TariffService {
         tariff.setEffectiveFrom(tariffRequest.getEffectiveFrom());
         tariff.setEffectiveUntil(tariffRequest.getEffectiveUntil());
 
-        return tariffRepository.save(tariff);
+        Tariff savedTariff = tariffRepository.save(tariff);
+        publishTariffChanged(savedTariff.getId());
+        return savedTariff;
     }
 
     /**
@@ -79,16 +91,16 @@ public class TariffService {
 
     /**
      * Get tariff by route (origin and destination cities)
+     * Cached per route; an entry reaching effectiveFrom/effectiveUntil is
+     * picked up when it expires (cache.ttl.tariffByRoute)
      * @param originCityId Origin city ID
      * @param destinationCityId Destination city ID
      * @return Optional Tariff
      */
+    @Cacheable(value = CacheNames.TARIFF_BY_ROUTE, key = "#originCityId + '-' + #destinationCityId")
     @Transactional(readOnly = true)
     public Optional<Tariff> getTariffByRoute(Long originCityId, Long destinationCityId) {
-        Optional<City> originCity = cityRepository.findById(originCityId);
-        Optional<City> destinationCity = cityRepository.findById(destinationCityId);
-        
-        if (originCity.isEmpty() || destinationCity.isEmpty()) {
+        if (!cityRepository.existsById(originCityId) || !cityRepository.existsById(destinationCityId)) {
             return Optional.empty();
         }
         
@@ -111,6 +123,7 @@ public class TariffService {
      * @param tariffRequest updated Tariff data
      * @return updated Tariff
      */
+    @CacheEvict(value = CacheNames.TARIFF_BY_ROUTE, allEntries = true)
     public Optional<Tariff> updateTariff(Long id, TariffRequest tariffRequest) {
         Optional<Tariff> tariffOpt = tariffRepository.findById(id);
         if (tariffOpt.isPresent()) {
@@ -148,7 +161,9 @@ public class TariffService {
             tariff.setEffectiveFrom(tariffRequest.getEffectiveFrom());
             tariff.setEffectiveUntil(tariffRequest.getEffectiveUntil());
 
-            return Optional.of(tariffRepository.save(tariff));
+            Tariff savedTariff = tariffRepository.save(tariff);
+            publishTariffChanged(savedTariff.getId());
+            return Optional.of(savedTariff);
         }
         return Optional.empty();
     }
@@ -158,11 +173,21 @@ public class TariffService {
      * @param id Tariff ID
      * @return true if deleted, false if not found
      */
+    @CacheEvict(value = CacheNames.TARIFF_BY_ROUTE, allEntries = true)
     public boolean deleteTariff(Long id) {
         if (tariffRepository.existsById(id)) {
             tariffRepository.deleteById(id);
+            publishTariffChanged(id);
             return true;
         }
         return false;
     }
+
+    /**
+     * Notify all nodes that the tariff matrix must be rebuilt
+     * @param tariffId changed tariff ID
+     */
+    private void publishTariffChanged(Long tariffId) {
+        domainEventBus.publish(new TariffChangedEvent(this, tariffId, LocalDateTime.now()));
+    }
 }
@@ -1,8 +1,11 @@
 package com.freightops.service;
 
+import com.freightops.cache.CacheNames;
 import com.freightops.entity.Tax;
 import com.freightops.repository.TaxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -19,6 +22,8 @@ public class TaxService {
         return taxRepository.findAll();
     }
 
+    @Cacheable(CacheNames.ACTIVE_TAXES)
+    @Transactional(readOnly = true)
     public List<Tax> getActiveTaxes() {
         return taxRepository.findActiveTaxesOrderByName();
     }
@@ -31,6 +36,7 @@ public class TaxService {
         return taxRepository.findByNameIgnoreCase(name);
     }
 
+    @CacheEvict(value = CacheNames.ACTIVE_TAXES, allEntries = true)
     public Tax createTax(Tax tax) {
         if (taxRepository.existsByNameIgnoreCase(tax.getName())) {
             throw new RuntimeException("Une taxe avec ce nom existe déjà");
@@ -38,6 +44,7 @@ public class TaxService {
         return taxRepository.save(tax);
     }
 
+    @CacheEvict(value = CacheNames.ACTIVE_TAXES, allEntries = true)
     public Tax updateTax(Long id, Tax taxDetails) {
         Tax tax = taxRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Taxe non trouvée avec l'ID: " + id));
@@ -56,6 +63,7 @@ public class TaxService {
         return taxRepository.save(tax);
     }
 
+    @CacheEvict(value = CacheNames.ACTIVE_TAXES, allEntries = true)
     public void deleteTax(Long id) {
         Tax tax = taxRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Taxe non trouvée avec l'ID: " + id));
@@ -65,6 +73,7 @@ public class TaxService {
         taxRepository.save(tax);
     }
 
+    @CacheEvict(value = CacheNames.ACTIVE_TAXES, allEntries = true)
     public void activateTax(Long id) {
         Tax tax = taxRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Taxe non trouvée avec l'ID: " + id));
@@ -72,6 +81,7 @@ public class TaxService {
         taxRepository.save(tax);
     }
 
+    @CacheEvict(value = CacheNames.ACTIVE_TAXES, allEntries = true)
     public void deactivateTax(Long id) {
         Tax tax = taxRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Taxe non trouvée avec l'ID: " + id));
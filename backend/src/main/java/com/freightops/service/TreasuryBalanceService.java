@@ -0,0 +1,133 @@
+package com.freightops.service;
+
+import com.freightops.entity.BankAccount;
+import com.freightops.entity.CashBox;
+import com.freightops.entity.TreasuryDailyBalance;
+import com.freightops.entity.TreasuryTransaction;
+import com.freightops.enums.TreasuryAccountKind;
+import com.freightops.repository.BankAccountRepository;
+import com.freightops.repository.CashBoxRepository;
+import com.freightops.repository.TreasuryDailyBalanceRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Soldes à date des caisses et comptes bancaires à partir des points journaliers
+ * Solde en fin de jour J = solde initial + cumul net du dernier point à J
+ * (table treasury_daily_balances) : une seule ligne lue, quel que soit
+ * l'historique du compte. Comme le relevé de caisse, seules les recettes et
+ * dépenses passées sur le compte sont prises en compte, pas les transferts.
+ */
+@Service
+public class TreasuryBalanceService {
+
+    private final TreasuryDailyBalanceRepository dailyBalanceRepository;
+    private final CashBoxRepository cashBoxRepository;
+    private final BankAccountRepository bankAccountRepository;
+
+    public TreasuryBalanceService(TreasuryDailyBalanceRepository dailyBalanceRepository,
+            CashBoxRepository cashBoxRepository,
+            BankAccountRepository bankAccountRepository) {
+        this.dailyBalanceRepository = dailyBalanceRepository;
+        this.cashBoxRepository = cashBoxRepository;
+        this.bankAccountRepository = bankAccountRepository;
+    }
+
+    /**
+     * Reporte une transaction enregistrée dans les points journaliers
+     * Doit être appelé dans la transaction qui l'enregistre
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransaction(TreasuryTransaction transaction) {
+        record(transaction, false);
+    }
+
+    /**
+     * Retire une transaction des points journaliers (avant modification ou
+     * suppression), avec ses valeurs d'origine
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverseTransaction(TreasuryTransaction transaction) {
+        record(transaction, true);
+    }
+
+    /**
+     * Solde d'une caisse en fin de journée
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getClosingBalance(CashBox cashBox, LocalDate date) {
+        return cashBox.getInitialBalance().add(getClosingNet(TreasuryAccountKind.CASH_BOX, cashBox.getId(), date));
+    }
+
+    /**
+     * Solde d'un compte bancaire en fin de journée
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getClosingBalance(BankAccount bankAccount, LocalDate date) {
+        return bankAccount.getInitialBalance()
+                .add(getClosingNet(TreasuryAccountKind.BANK_ACCOUNT, bankAccount.getId(), date));
+    }
+
+    private BigDecimal getClosingNet(TreasuryAccountKind accountKind, Long accountId, LocalDate date) {
+        return dailyBalanceRepository.findClosingNetAt(accountKind, accountId, date).orElse(BigDecimal.ZERO);
+    }
+
+    private void record(TreasuryTransaction transaction, boolean reverse) {
+        BigDecimal amount = reverse ? transaction.getAmount().negate() : transaction.getAmount();
+        BigDecimal income;
+        BigDecimal expense;
+        switch (transaction.getType()) {
+            case INCOME:
+                income = amount;
+                expense = BigDecimal.ZERO;
+                break;
+            case EXPENSE:
+                income = BigDecimal.ZERO;
+                expense = amount;
+                break;
+            default:
+                return;
+        }
+
+        if (transaction.getCashBox() != null) {
+            recordMovement(TreasuryAccountKind.CASH_BOX, transaction.getCashBox().getId(),
+                    transaction.getTransactionDate(), income, expense);
+        }
+        if (transaction.getBankAccount() != null) {
+            recordMovement(TreasuryAccountKind.BANK_ACCOUNT, transaction.getBankAccount().getId(),
+                    transaction.getTransactionDate(), income, expense);
+        }
+    }
+
+    /**
+     * Le compte est verrouillé d'abord : les écritures d'un même compte sont
+     * sérialisées, ce qui protège la création du point du jour et le report du
+     * cumul sur les jours suivants (cas d'une transaction antidatée)
+     */
+    private void recordMovement(TreasuryAccountKind accountKind, Long accountId, LocalDate date,
+            BigDecimal income, BigDecimal expense) {
+        lockAccount(accountKind, accountId);
+
+        if (dailyBalanceRepository.addDayMovements(accountKind, accountId, date, income, expense) == 0) {
+            TreasuryDailyBalance day = new TreasuryDailyBalance(accountKind, accountId, date,
+                    getClosingNet(accountKind, accountId, date.minusDays(1)));
+            day.setIncomeTotal(income);
+            day.setExpenseTotal(expense);
+            dailyBalanceRepository.saveAndFlush(day);
+        }
+        dailyBalanceRepository.addToClosingNetFrom(accountKind, accountId, date, income.subtract(expense));
+    }
+
+    private void lockAccount(TreasuryAccountKind accountKind, Long accountId) {
+        boolean found = accountKind == TreasuryAccountKind.CASH_BOX
+                ? cashBoxRepository.findForUpdate(accountId).isPresent()
+                : bankAccountRepository.findForUpdate(accountId).isPresent();
+        if (!found) {
+            throw new IllegalStateException("Compte de trésorerie introuvable : " + accountKind + " " + accountId);
+        }
+    }
+}
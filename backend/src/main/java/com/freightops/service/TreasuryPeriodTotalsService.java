@@ -0,0 +1,57 @@
+package com.freightops.service;
+
+import com.freightops.cache.CacheNames;
+import com.freightops.dto.TreasuryPeriodTotals;
+import com.freightops.enums.TransactionType;
+import com.freightops.repository.TreasuryTransactionRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Treasury totals per period, computed by a single grouped query
+ * Totals of closed periods cannot change and are cached; the cache is cleared
+ * on every treasury write and when a fiscal year is reopened.
+ */
+@Service
+public class TreasuryPeriodTotalsService {
+
+    private final TreasuryTransactionRepository transactionRepository;
+
+    public TreasuryPeriodTotalsService(TreasuryTransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public TreasuryPeriodTotals getPeriodTotals(LocalDate startDate, LocalDate endDate) {
+        return toTotals(transactionRepository.sumAmountByTypeAndDateRange(startDate, endDate));
+    }
+
+    /**
+     * Same as getPeriodTotals, for a period the caller checked to be closed
+     */
+    @Cacheable(value = CacheNames.TREASURY_PERIOD_TOTALS, key = "#startDate + ':' + #endDate")
+    @Transactional(readOnly = true)
+    public TreasuryPeriodTotals getClosedPeriodTotals(LocalDate startDate, LocalDate endDate) {
+        return getPeriodTotals(startDate, endDate);
+    }
+
+    static TreasuryPeriodTotals toTotals(List<Object[]> rows) {
+        Map<TransactionType, BigDecimal> totals = new EnumMap<>(TransactionType.class);
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                totals.put((TransactionType) row[0], (BigDecimal) row[1]);
+            }
+        }
+        return new TreasuryPeriodTotals(
+                totals.getOrDefault(TransactionType.INCOME, BigDecimal.ZERO),
+                totals.getOrDefault(TransactionType.EXPENSE, BigDecimal.ZERO),
+                totals.getOrDefault(TransactionType.TRANSFER, BigDecimal.ZERO));
+    }
+}
@@ -0,0 +1,86 @@
+package com.freightops.service;
+
+import com.freightops.dto.TreasuryReportLine;
+import com.freightops.enums.TransactionType;
+import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+
+/**
+ * Jasper data source over the treasury report rows
+ * Pulls one row at a time from the database cursor instead of materializing
+ * the whole period, and formats the fields of treasury_report_template.jrxml.
+ */
+class TreasuryReportDataSource implements JRDataSource {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final Iterator<TreasuryReportLine> rows;
+    private TreasuryReportLine current;
+    private long rowCount;
+
+    TreasuryReportDataSource(Iterator<TreasuryReportLine> rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public boolean next() {
+        if (!rows.hasNext()) {
+            current = null;
+            return false;
+        }
+        current = rows.next();
+        rowCount++;
+        return true;
+    }
+
+    @Override
+    public Object getFieldValue(JRField field) throws JRException {
+        switch (field.getName()) {
+            case "reference":
+                return current.getReference();
+            case "type":
+                return getTypeLabel(current.getType());
+            case "amount":
+                return current.getAmount();
+            case "transactionDate":
+                return current.getTransactionDate() != null ? current.getTransactionDate().format(DATE_FORMATTER)
+                        : null;
+            case "description":
+                return current.getDescription();
+            case "category":
+                return current.getCategory();
+            case "accountName":
+                if (current.getCashBoxName() != null) {
+                    return current.getCashBoxName();
+                }
+                return current.getBankAccountName() != null ? current.getBankAccountName() : "-";
+            case "accountType":
+                if (current.getCashBoxName() != null) {
+                    return "Caisse";
+                }
+                return current.getBankAccountName() != null ? "Banque" : "-";
+            default:
+                throw new JRException("Unknown treasury report field: " + field.getName());
+        }
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    static String getTypeLabel(TransactionType type) {
+        if (type == null) {
+            return null;
+        }
+        switch (type) {
+            case INCOME: return "Recette";
+            case EXPENSE: return "Dépense";
+            case TRANSFER: return "Transfert";
+            default: return type.toString();
+        }
+    }
+}
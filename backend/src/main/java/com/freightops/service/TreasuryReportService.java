@@ -1,87 +1,83 @@
 package com.freightops.service;
 
-import com.freightops.entity.TreasuryTransaction;
+import com.freightops.accounting.service.FiscalYearService;
+import com.freightops.dto.TreasuryPeriodTotals;
+import com.freightops.dto.TreasuryReportLine;
+import com.freightops.reporting.service.ReportTemplateRegistry;
 import com.freightops.repository.TreasuryTransactionRepository;
 import com.freightops.repository.CashBoxRepository;
 import com.freightops.repository.BankAccountRepository;
 import net.sf.jasperreports.engine.*;
-import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-
+import java.util.stream.Stream;
+
+/**
+ * Treasury report
+ * Totals come from grouped queries (cached for closed periods) and the detail
+ * rows are streamed from a database cursor straight into the Jasper fill, so
+ * no TreasuryTransaction entity is loaded.
+ */
 @Service
 public class TreasuryReportService {
 
-    private static final String TREASURY_REPORT_TEMPLATE_PATH = "reports/treasury_report_template.jrxml";
+    private static final String TREASURY_REPORT_TEMPLATE_PATH = ReportTemplateRegistry.TREASURY_TEMPLATE;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
-    @Autowired
-    private TreasuryTransactionRepository transactionRepository;
-
-    @Autowired
-    private CashBoxRepository cashBoxRepository;
-
-    @Autowired
-    private BankAccountRepository bankAccountRepository;
+    private final TreasuryTransactionRepository transactionRepository;
+    private final CashBoxRepository cashBoxRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final TreasuryPeriodTotalsService periodTotalsService;
+    private final FiscalYearService fiscalYearService;
+    private final ReportTemplateRegistry reportTemplateRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TreasuryReportService(TreasuryTransactionRepository transactionRepository,
+            CashBoxRepository cashBoxRepository,
+            BankAccountRepository bankAccountRepository,
+            TreasuryPeriodTotalsService periodTotalsService,
+            FiscalYearService fiscalYearService,
+            ReportTemplateRegistry reportTemplateRegistry,
+            PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.cashBoxRepository = cashBoxRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.periodTotalsService = periodTotalsService;
+        this.fiscalYearService = fiscalYearService;
+        this.reportTemplateRegistry = reportTemplateRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     public byte[] generateTreasuryReport(LocalDate startDate, LocalDate endDate) throws Exception {
-        // Load the template
-        ClassPathResource resource = new ClassPathResource(TREASURY_REPORT_TEMPLATE_PATH);
-        InputStream templateStream = resource.getInputStream();
-
-        // Compile the report
-        JasperReport jasperReport = JasperCompileManager.compileReport(templateStream);
-
-        // Get transactions for the period
-        List<TreasuryTransaction> transactions = transactionRepository.findByTransactionDateBetween(startDate, endDate);
-
-        // Calculate totals using existing repository methods
-        BigDecimal totalCashBalance = cashBoxRepository.findByActiveTrue().stream()
-            .map(cb -> cb.getCurrentBalance())
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalBankBalance = bankAccountRepository.findByActiveTrue().stream()
-            .map(ba -> ba.getCurrentBalance())
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalBalance = totalCashBalance.add(totalBankBalance);
-
-        BigDecimal totalIncome = transactions.stream()
-            .filter(t -> t.getType() == com.freightops.enums.TransactionType.INCOME)
-            .map(TreasuryTransaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalExpense = transactions.stream()
-            .filter(t -> t.getType() == com.freightops.enums.TransactionType.EXPENSE)
-            .map(TreasuryTransaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal netFlow = totalIncome.subtract(totalExpense);
-
-        // Prepare parameters
-        Map<String, Object> parameters = new HashMap<>();
-        parameters.put("reportTitle", "RAPPORT DE TRÉSORERIE");
-        parameters.put("reportPeriod", startDate.format(DATE_FORMATTER) + " - " + endDate.format(DATE_FORMATTER));
-        parameters.put("totalCashBalance", totalCashBalance);
-        parameters.put("totalBankBalance", totalBankBalance);
-        parameters.put("totalBalance", totalBalance);
-        parameters.put("totalIncome", totalIncome);
-        parameters.put("totalExpense", totalExpense);
-        parameters.put("netFlow", netFlow);
-
-        // Prepare data source for transactions
-        List<TreasuryTransactionData> transactionDataList = transactions.stream()
-                .map(this::convertToTransactionData)
-                .toList();
-        JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(transactionDataList);
-
-        // Fill the report
-        JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters, dataSource);
+        // Get the compiled template from the registry
+        JasperReport jasperReport = reportTemplateRegistry.getReport(TREASURY_REPORT_TEMPLATE_PATH);
+
+        // The cursor is only valid inside the transaction, so the fill happens there too
+        JasperPrint jasperPrint;
+        try {
+            jasperPrint = readOnlyTransaction.execute(status -> {
+                Map<String, Object> parameters = buildParameters(startDate, endDate);
+                try (Stream<TreasuryReportLine> rows = transactionRepository.streamReportLines(startDate, endDate)) {
+                    return JasperFillManager.fillReport(jasperReport, parameters,
+                            new TreasuryReportDataSource(rows.iterator()));
+                } catch (JRException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof JRException) {
+                throw (JRException) e.getCause();
+            }
+            throw e;
+        }
 
         // Export to PDF
         return JasperExportManager.exportReportToPdf(jasperPrint);
@@ -92,73 +88,27 @@ public class TreasuryReportService {
         return generateTreasuryReport(startDate, endDate);
     }
 
-    private TreasuryTransactionData convertToTransactionData(TreasuryTransaction transaction) {
-        TreasuryTransactionData data = new TreasuryTransactionData();
-        data.setReference(transaction.getReference());
-        data.setType(getTypeLabel(transaction.getType()));
-        data.setAmount(transaction.getAmount());
-        data.setTransactionDate(transaction.getTransactionDate().format(DATE_FORMATTER));
-        data.setDescription(transaction.getDescription());
-        data.setCategory(transaction.getCategory());
+    private Map<String, Object> buildParameters(LocalDate startDate, LocalDate endDate) {
+        BigDecimal totalCashBalance = orZero(cashBoxRepository.sumCurrentBalanceOfActiveCashBoxes());
+        BigDecimal totalBankBalance = orZero(bankAccountRepository.sumCurrentBalanceOfActiveBankAccounts());
 
-        // Determine account name and type
-        if (transaction.getCashBox() != null) {
-            data.setAccountName(transaction.getCashBox().getName());
-            data.setAccountType("Caisse");
-        } else if (transaction.getBankAccount() != null) {
-            data.setAccountName(transaction.getBankAccount().getAccountName());
-            data.setAccountType("Banque");
-        } else {
-            data.setAccountName("-");
-            data.setAccountType("-");
-        }
-
-        return data;
-    }
+        TreasuryPeriodTotals totals = fiscalYearService.isPeriodClosed(startDate, endDate)
+                ? periodTotalsService.getClosedPeriodTotals(startDate, endDate)
+                : periodTotalsService.getPeriodTotals(startDate, endDate);
 
-    private String getTypeLabel(com.freightops.enums.TransactionType type) {
-        switch (type) {
-            case INCOME: return "Recette";
-            case EXPENSE: return "Dépense";
-            case TRANSFER: return "Transfert";
-            default: return type.toString();
-        }
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("reportTitle", "RAPPORT DE TRÉSORERIE");
+        parameters.put("reportPeriod", startDate.format(DATE_FORMATTER) + " - " + endDate.format(DATE_FORMATTER));
+        parameters.put("totalCashBalance", totalCashBalance);
+        parameters.put("totalBankBalance", totalBankBalance);
+        parameters.put("totalBalance", totalCashBalance.add(totalBankBalance));
+        parameters.put("totalIncome", totals.getTotalIncome());
+        parameters.put("totalExpense", totals.getTotalExpense());
+        parameters.put("netFlow", totals.getNetFlow());
+        return parameters;
     }
 
-    // Data class for JasperReports
-    public static class TreasuryTransactionData {
-        private String reference;
-        private String type;
-        private BigDecimal amount;
-        private String transactionDate;
-        private String description;
-        private String category;
-        private String accountName;
-        private String accountType;
-
-        // Getters and setters
-        public String getReference() { return reference; }
-        public void setReference(String reference) { this.reference = reference; }
-
-        public String getType() { return type; }
-        public void setType(String type) { this.type = type; }
-
-        public BigDecimal getAmount() { return amount; }
-        public void setAmount(BigDecimal amount) { this.amount = amount; }
-
-        public String getTransactionDate() { return transactionDate; }
-        public void setTransactionDate(String transactionDate) { this.transactionDate = transactionDate; }
-
-        public String getDescription() { return description; }
-        public void setDescription(String description) { this.description = description; }
-
-        public String getCategory() { return category; }
-        public void setCategory(String category) { this.category = category; }
-
-        public String getAccountName() { return accountName; }
-        public void setAccountName(String accountName) { this.accountName = accountName; }
-
-        public String getAccountType() { return accountType; }
-        public void setAccountType(String accountType) { this.accountType = accountType; }
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
     }
 }
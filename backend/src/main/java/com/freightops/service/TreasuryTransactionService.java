@@ -7,7 +7,9 @@ import com.freightops.repository.TreasuryTransactionRepository;
 import com.freightops.repository.CashBoxRepository;
 import com.freightops.repository.BankAccountRepository;
 import com.freightops.enums.TransactionType;
+import com.freightops.cache.CacheNames;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
@@ -29,6 +31,9 @@ public class TreasuryTransactionService {
     @Autowired
     private BankAccountRepository bankAccountRepository;
 
+    @Autowired
+    private TreasuryBalanceService treasuryBalanceService;
+
     public List<TreasuryTransaction> getAllTransactions() {
         return treasuryTransactionRepository.findAll();
     }
@@ -75,6 +80,7 @@ public class TreasuryTransactionService {
         return total != null ? total : BigDecimal.ZERO;
     }
 
+    @CacheEvict(value = CacheNames.TREASURY_PERIOD_TOTALS, allEntries = true)
     public TreasuryTransaction createTransaction(TreasuryTransaction transaction) {
         // Générer une référence automatiquement si non fournie
         if (transaction.getReference() == null || transaction.getReference().isEmpty()) {
@@ -101,6 +107,19 @@ public class TreasuryTransactionService {
         return savedTransaction;
     }
 
+    /**
+     * Enregistre une opération de caisse saisie depuis le relevé, telle quelle :
+     * le solde courant de la caisse n'est pas modifié, seuls les points de
+     * solde journaliers sont mis à jour pour que les soldes à date l'incluent
+     */
+    @CacheEvict(value = CacheNames.TREASURY_PERIOD_TOTALS, allEntries = true)
+    public TreasuryTransaction recordCashOperation(TreasuryTransaction transaction) {
+        TreasuryTransaction savedTransaction = treasuryTransactionRepository.save(transaction);
+        treasuryBalanceService.recordTransaction(savedTransaction);
+        return savedTransaction;
+    }
+
+    @CacheEvict(value = CacheNames.TREASURY_PERIOD_TOTALS, allEntries = true)
     public TreasuryTransaction updateTransaction(Long id, TreasuryTransaction transactionDetails) {
         TreasuryTransaction transaction = treasuryTransactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaction non trouvée avec l'ID: " + id));
@@ -128,6 +147,7 @@ public class TreasuryTransactionService {
         return savedTransaction;
     }
 
+    @CacheEvict(value = CacheNames.TREASURY_PERIOD_TOTALS, allEntries = true)
     public void deleteTransaction(Long id) {
         TreasuryTransaction transaction = treasuryTransactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaction non trouvée avec l'ID: " + id));
@@ -143,6 +163,7 @@ public class TreasuryTransactionService {
         treasuryTransactionRepository.delete(transaction);
     }
 
+    @CacheEvict(value = CacheNames.TREASURY_PERIOD_TOTALS, allEntries = true)
     public TreasuryTransaction createTransfer(Long sourceCashBoxId, Long sourceAccountId, 
                                             Long destCashBoxId, Long destAccountId, 
                                             BigDecimal amount, String description) {
@@ -202,6 +223,9 @@ public class TreasuryTransactionService {
                 addToBalance(transaction.getDestinationCashBox(), transaction.getDestinationBankAccount(), transaction.getAmount());
                 break;
         }
+
+        // Points de solde journaliers (relevés et soldes à date)
+        treasuryBalanceService.recordTransaction(transaction);
     }
 
     private void reverseAccountBalances(TreasuryTransaction transaction) {
@@ -219,6 +243,9 @@ public class TreasuryTransactionService {
                 subtractFromBalance(transaction.getDestinationCashBox(), transaction.getDestinationBankAccount(), transaction.getAmount());
                 break;
         }
+
+        // Points de solde journaliers (relevés et soldes à date)
+        treasuryBalanceService.reverseTransaction(transaction);
     }
 
     private void addToBalance(CashBox cashBox, BankAccount bankAccount, BigDecimal amount) {
@@ -0,0 +1,47 @@
+package com.freightops.tracking.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Sender pool of the tracking push streams
+ * Writes to SSE connections happen here, never on the thread that committed
+ * the status change, so a slow client cannot stall a business transaction.
+ * A subscriber has at most one drain task queued, hence the queue is sized
+ * on the connection limit.
+ */
+@Configuration
+public class TrackingPushConfig {
+
+    public static final String TRACKING_PUSH_EXECUTOR = "trackingPushExecutor";
+
+    @Value("${tracking.push.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${tracking.push.max-connections:10000}")
+    private int maxConnections;
+
+    @Bean(name = TRACKING_PUSH_EXECUTOR)
+    public ThreadPoolTaskExecutor trackingPushExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(senderThreads);
+        executor.setMaxPoolSize(senderThreads);
+        executor.setQueueCapacity(maxConnections);
+        executor.setThreadNamePrefix("tracking-push-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+
+        Gauge.builder("tracking.push.queue.depth", executor,
+                e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Subscribers waiting for a sender thread")
+                .register(meterRegistry);
+
+        return executor;
+    }
+}
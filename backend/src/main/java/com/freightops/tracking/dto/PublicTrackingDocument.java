@@ -0,0 +1,44 @@
+package com.freightops.tracking.dto;
+
+import java.io.Serializable;
+
+/**
+ * Rendered public tracking response with its validators
+ * The JSON body is serialized once and cached as bytes, so a cache hit costs
+ * neither a query nor a serialization. Stored in the publicTracking cache.
+ */
+public class PublicTrackingDocument implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] body;
+    private final String etag;
+    private final long lastModified;
+
+    public PublicTrackingDocument(byte[] body, String etag, long lastModified) {
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * UTF-8 JSON of the ApiResponse wrapping the PublicTrackingResponse
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Strong entity tag (quoted), derived from the body
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Epoch millis of the last LTA update or status change
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,61 @@
+package com.freightops.tracking.dto;
+
+import com.freightops.enums.LTAStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Public view of a shipment, as shown on the tracking page
+ * Only the fields the consignee needs: no client, cost, declared value or
+ * addresses, and no agent name or internal reason in the status history.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicTrackingResponse {
+
+    private Long id;
+    private String ltaNumber;
+    private String trackingNumber;
+    private LTAStatus status;
+    private City originCity;
+    private City destinationCity;
+    private String shipperName;
+    private String consigneeName;
+    private BigDecimal totalWeight;
+    private String packageNature;
+    private Integer packageCount;
+    private LocalDateTime pickupDate;
+    private LocalDateTime deliveryDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<HistoryEntry> statusHistory;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class City {
+        private Long id;
+        private String name;
+        private String iataCode;
+        private String country;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HistoryEntry {
+        private Long id;
+        private String previousStatus;
+        private String newStatus;
+        private String location;
+        private LocalDateTime changedAt;
+        private String statusLabel;
+        private String statusDescription;
+    }
+}
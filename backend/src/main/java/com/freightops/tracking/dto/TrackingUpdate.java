@@ -0,0 +1,71 @@
+package com.freightops.tracking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a tracking push event
+ * LTA status changes carry previousStatus; shipment tracking events carry
+ * description and location. Absent fields are left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrackingUpdate {
+
+    /**
+     * SSE event name of an LTA status change
+     */
+    public static final String LTA_STATUS = "lta-status";
+
+    /**
+     * SSE event name of a shipment tracking event
+     */
+    public static final String SHIPMENT_EVENT = "shipment-event";
+
+    private final String type;
+    private final String trackingNumber;
+    private final String status;
+    private final String previousStatus;
+    private final String description;
+    private final String location;
+    private final LocalDateTime occurredAt;
+
+    public TrackingUpdate(String type, String trackingNumber, String status, String previousStatus,
+            String description, String location, LocalDateTime occurredAt) {
+        this.type = type;
+        this.trackingNumber = trackingNumber;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.description = description;
+        this.location = location;
+        this.occurredAt = occurredAt;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getTrackingNumber() {
+        return trackingNumber;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,222 @@
+package com.freightops.tracking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freightops.cache.CacheNames;
+import com.freightops.dto.ApiResponse;
+import com.freightops.dto.LTATimelineEntry;
+import com.freightops.dto.LTAView;
+import com.freightops.events.LTAChangedEvent;
+import com.freightops.events.LTAStatusBatchChangedEvent;
+import com.freightops.events.LTAStatusChangedEvent;
+import com.freightops.repository.LTARepository;
+import com.freightops.service.LTAStatusHistoryService;
+import com.freightops.tracking.dto.PublicTrackingDocument;
+import com.freightops.tracking.dto.PublicTrackingResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read path of the anonymous tracking page (GET /api/public/tracking/{trackingNumber})
+ * The response is rendered once per tracking number into a
+ * {@link PublicTrackingDocument} (JSON bytes + ETag + Last-Modified) and kept
+ * in the publicTracking cache until the LTA status changes. Clients and edge
+ * caches revalidate with If-None-Match / If-Modified-Since and get a 304.
+ */
+@Service
+public class PublicTrackingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicTrackingService.class);
+
+    private final LTARepository ltaRepository;
+    private final LTAStatusHistoryService ltaStatusHistoryService;
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheControl;
+
+    public PublicTrackingService(LTARepository ltaRepository,
+            LTAStatusHistoryService ltaStatusHistoryService,
+            ObjectMapper objectMapper,
+            @Value("${tracking.public.max-age:30s}") Duration maxAge) {
+        this.ltaRepository = ltaRepository;
+        this.ltaStatusHistoryService = ltaStatusHistoryService;
+        this.objectMapper = objectMapper;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * Tracking document of a shipment, rendered on the first request only
+     *
+     * @return empty if no LTA has this tracking number (not cached)
+     */
+    @Cacheable(value = CacheNames.PUBLIC_TRACKING, key = "#trackingNumber", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<PublicTrackingDocument> getDocument(String trackingNumber) {
+        return ltaRepository.findViewByTrackingNumber(trackingNumber)
+                .map(lta -> render(lta, ltaStatusHistoryService.getTimeline(trackingNumber)));
+    }
+
+    /**
+     * Cache-Control sent with the document: shared caches may serve it for
+     * tracking.public.max-age, then revalidate
+     */
+    public CacheControl getCacheControl() {
+        return cacheControl;
+    }
+
+    /**
+     * Drop the document once the status change is committed; the next poll
+     * renders it again with a new ETag
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(value = CacheNames.PUBLIC_TRACKING, key = "#event.trackingNumber", condition = "#event.trackingNumber != null")
+    public void onLTAStatusChanged(LTAStatusChangedEvent event) {
+        logger.debug("Public tracking document evicted for {}", event.getTrackingNumber());
+    }
+
+    /**
+     * Drop the document once an edit or a deletion of the LTA is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(value = CacheNames.PUBLIC_TRACKING, key = "#event.trackingNumber", condition = "#event.trackingNumber != null")
+    public void onLTAChanged(LTAChangedEvent event) {
+        logger.debug("Public tracking document evicted for {}", event.getTrackingNumber());
+    }
+
+    /**
+     * A bulk change touches hundreds of tracking numbers at once: drop the
+     * whole cache rather than evicting key by key
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(value = CacheNames.PUBLIC_TRACKING, allEntries = true)
+    public void onLTAStatusBatchChanged(LTAStatusBatchChangedEvent event) {
+        logger.debug("Public tracking documents evicted after a bulk change of {} LTA(s)", event.getItems().size());
+    }
+
+    PublicTrackingDocument render(LTAView lta, List<LTATimelineEntry> history) {
+        PublicTrackingResponse response = toResponse(lta, history);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(ApiResponse.success(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot render tracking document for " + lta.getTrackingNumber(), e);
+        }
+
+        LocalDateTime lastModified = lta.getUpdatedAt() != null ? lta.getUpdatedAt() : lta.getCreatedAt();
+        for (LTATimelineEntry entry : history) {
+            if (entry.getChangedAt() != null && (lastModified == null || entry.getChangedAt().isAfter(lastModified))) {
+                lastModified = entry.getChangedAt();
+            }
+        }
+        long lastModifiedMillis = lastModified != null
+                ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        return new PublicTrackingDocument(body, etag(body), lastModifiedMillis);
+    }
+
+    private PublicTrackingResponse toResponse(LTAView lta, List<LTATimelineEntry> history) {
+        PublicTrackingResponse response = new PublicTrackingResponse();
+        response.setId(lta.getId());
+        response.setLtaNumber(lta.getLtaNumber());
+        response.setTrackingNumber(lta.getTrackingNumber());
+        response.setStatus(lta.getStatus());
+        response.setShipperName(lta.getShipperName());
+        response.setConsigneeName(lta.getConsigneeName());
+        response.setTotalWeight(lta.getTotalWeight());
+        response.setPackageNature(lta.getPackageNature());
+        response.setPackageCount(lta.getPackageCount());
+        response.setPickupDate(lta.getPickupDate());
+        response.setDeliveryDate(lta.getDeliveryDate());
+        response.setCreatedAt(lta.getCreatedAt());
+        response.setUpdatedAt(lta.getUpdatedAt());
+
+        if (lta.getOriginCityId() != null) {
+            response.setOriginCity(new PublicTrackingResponse.City(lta.getOriginCityId(), lta.getOriginCityName(),
+                    lta.getOriginCityIataCode(), lta.getOriginCityCountry()));
+        }
+        if (lta.getDestinationCityId() != null) {
+            response.setDestinationCity(new PublicTrackingResponse.City(lta.getDestinationCityId(),
+                    lta.getDestinationCityName(), lta.getDestinationCityIataCode(),
+                    lta.getDestinationCityCountry()));
+        }
+
+        List<PublicTrackingResponse.HistoryEntry> historyResponses = new ArrayList<>();
+        for (LTATimelineEntry entry : history) {
+            historyResponses.add(toHistoryEntry(entry));
+        }
+        // Current status if no history exists (LTA created before the status log)
+        if (historyResponses.isEmpty() && lta.getStatus() != null) {
+            String status = lta.getStatus().name();
+            historyResponses.add(new PublicTrackingResponse.HistoryEntry(null, null, status, null,
+                    lta.getCreatedAt(), getStatusLabel(status), getStatusDescription(status)));
+        }
+        response.setStatusHistory(historyResponses);
+        return response;
+    }
+
+    /**
+     * Public history entry: who made the change and why stay in the internal log
+     */
+    private static PublicTrackingResponse.HistoryEntry toHistoryEntry(LTATimelineEntry history) {
+        PublicTrackingResponse.HistoryEntry entry = new PublicTrackingResponse.HistoryEntry();
+        entry.setId(history.getId());
+        entry.setPreviousStatus(history.getPreviousStatus());
+        entry.setNewStatus(history.getNewStatus());
+        entry.setLocation(history.getLocation());
+        entry.setChangedAt(history.getChangedAt());
+        entry.setStatusLabel(getStatusLabel(history.getNewStatus()));
+        entry.setStatusDescription(getStatusDescription(history.getNewStatus()));
+        return entry;
+    }
+
+    private static String getStatusLabel(String status) {
+        if (status == null)
+            return "Inconnu";
+        return switch (status) {
+            case "DRAFT" -> "Brouillon";
+            case "CONFIRMED" -> "Confirmé";
+            case "IN_TRANSIT" -> "En transit";
+            case "DELIVERED" -> "Livré";
+            case "CANCELLED" -> "Annulé";
+            default -> status;
+        };
+    }
+
+    private static String getStatusDescription(String status) {
+        if (status == null)
+            return "Statut inconnu";
+        return switch (status) {
+            case "DRAFT" -> "LTA créée en brouillon";
+            case "CONFIRMED" -> "LTA confirmée et prête pour expédition";
+            case "IN_TRANSIT" -> "Colis en cours de transport";
+            case "DELIVERED" -> "Colis livré à destination";
+            case "CANCELLED" -> "LTA annulée";
+            default -> "Changement de statut vers " + status;
+        };
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.freightops.tracking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freightops.events.LTAStatusBatchChangedEvent;
+import com.freightops.events.LTAStatusChangedEvent;
+import com.freightops.events.ShipmentTrackingBatchAddedEvent;
+import com.freightops.events.TrackingEventAddedEvent;
+import com.freightops.tracking.config.TrackingPushConfig;
+import com.freightops.tracking.dto.TrackingUpdate;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events push of tracking updates
+ * Subscribers of a tracking number share one topic: a committed status change
+ * is serialized once and offered to the bounded buffer of each connection,
+ * then written by the tracking push pool. A connection whose buffer is full
+ * is closed (the client reconnects and reloads the tracking document) rather
+ * than letting events pile up in memory. Idle connections get a comment line
+ * every tracking.push.heartbeat-ms so proxies keep them open.
+ */
+@Service
+public class TrackingPushService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrackingPushService.class);
+
+    private final ConcurrentMap<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final TaskExecutor pushExecutor;
+    private final ObjectMapper objectMapper;
+    private final int maxConnections;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long reconnectMillis;
+
+    public TrackingPushService(@Qualifier(TrackingPushConfig.TRACKING_PUSH_EXECUTOR) TaskExecutor pushExecutor,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${tracking.push.max-connections:10000}") int maxConnections,
+            @Value("${tracking.push.buffer-size:16}") int bufferSize,
+            @Value("${tracking.push.timeout:30m}") Duration timeout,
+            @Value("${tracking.push.reconnect:5s}") Duration reconnect) {
+        this.pushExecutor = pushExecutor;
+        this.objectMapper = objectMapper;
+        this.maxConnections = maxConnections;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.reconnectMillis = reconnect.toMillis();
+
+        Gauge.builder("tracking.push.connections", connections, AtomicInteger::get)
+                .description("Open tracking push connections")
+                .register(meterRegistry);
+        Gauge.builder("tracking.push.topics", topics, ConcurrentMap::size)
+                .description("Tracking numbers with at least one subscriber")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a push stream on a tracking number
+     *
+     * @throws RejectedExecutionException if tracking.push.max-connections is reached
+     */
+    public SseEmitter subscribe(String trackingNumber) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new RejectedExecutionException("Too many tracking push connections");
+        }
+
+        Subscriber subscriber = new Subscriber(trackingNumber, new SseEmitter(timeoutMillis), bufferSize);
+        topics.compute(trackingNumber, (key, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> {
+            unsubscribe(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        // First frame flushes the response headers so the client sees the stream open
+        offer(subscriber, SseEmitter.event().reconnectTime(reconnectMillis).comment("subscribed"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLTAStatusChanged(LTAStatusChangedEvent event) {
+        publish(new TrackingUpdate(TrackingUpdate.LTA_STATUS, event.getTrackingNumber(),
+                event.getNewStatus() != null ? event.getNewStatus().name() : null,
+                event.getPreviousStatus() != null ? event.getPreviousStatus().name() : null,
+                null, null, event.getChangedAt()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrackingEventAdded(TrackingEventAddedEvent event) {
+        publish(new TrackingUpdate(TrackingUpdate.SHIPMENT_EVENT, event.getTrackingNumber(),
+                event.getStatus() != null ? event.getStatus().name() : null, null,
+                event.getDescription(), event.getLocation(), event.getEventDate()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLTAStatusBatchChanged(LTAStatusBatchChangedEvent event) {
+        String status = event.getNewStatus().name();
+        for (LTAStatusBatchChangedEvent.Item item : event.getItems()) {
+            publish(new TrackingUpdate(TrackingUpdate.LTA_STATUS, item.getTrackingNumber(), status,
+                    item.getPreviousStatus() != null ? item.getPreviousStatus().name() : null,
+                    null, null, event.getChangedAt()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentTrackingBatchAdded(ShipmentTrackingBatchAddedEvent event) {
+        String status = event.getStatus() != null ? event.getStatus().name() : null;
+        for (ShipmentTrackingBatchAddedEvent.Item item : event.getItems()) {
+            publish(new TrackingUpdate(TrackingUpdate.SHIPMENT_EVENT, item.getTrackingNumber(), status, null,
+                    event.getDescription(), event.getLocation(), event.getEventDate()));
+        }
+    }
+
+    /**
+     * Fan an update out to the subscribers of its tracking number
+     */
+    public void publish(TrackingUpdate update) {
+        if (update.getTrackingNumber() == null) {
+            return;
+        }
+        Set<Subscriber> subscribers = topics.get(update.getTrackingNumber());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            logger.error("Cannot serialize tracking update for {}", update.getTrackingNumber(), e);
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, SseEmitter.event().name(update.getType()).data(data, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tracking.push.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        for (Set<Subscriber> subscribers : topics.values()) {
+            for (Subscriber subscriber : subscribers) {
+                offer(subscriber, SseEmitter.event().comment("keepalive"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        for (Set<Subscriber> subscribers : topics.values()) {
+            for (Subscriber subscriber : subscribers) {
+                close(subscriber);
+            }
+        }
+    }
+
+    int getConnectionCount() {
+        return connections.get();
+    }
+
+    int getSubscriberCount(String trackingNumber) {
+        Set<Subscriber> subscribers = topics.get(trackingNumber);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(event)) {
+            logger.debug("Tracking push buffer full for {}, closing slow connection", subscriber.trackingNumber);
+            close(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            pushExecutor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+            logger.warn("Tracking push pool saturated, closing connection for {}", subscriber.trackingNumber);
+            close(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed.get() && (event = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            logger.debug("Tracking push connection lost for {}: {}", subscriber.trackingNumber, e.getMessage());
+            unsubscribe(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An offer may have raced with the end of the loop
+        if (!subscriber.closed.get() && !subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (unsubscribe(subscriber)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * @return true for the call that actually removed the subscriber
+     */
+    private boolean unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        connections.decrementAndGet();
+        subscriber.buffer.clear();
+        topics.computeIfPresent(subscriber.trackingNumber, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        return true;
+    }
+
+    private static final class Subscriber {
+
+        private final String trackingNumber;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(String trackingNumber, SseEmitter emitter, int bufferSize) {
+            this.trackingNumber = trackingNumber;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+-- FreightOps Database Schema Migration
+-- Version 10: Daily balance checkpoints per cash box and bank account
+-- A balance at a date is the account's initial balance plus the closing_net of its last checkpoint on or before that date
+
+CREATE TABLE treasury_daily_balances (
+    id BIGSERIAL PRIMARY KEY,
+    account_kind VARCHAR(20) NOT NULL,
+    account_id BIGINT NOT NULL,
+    balance_date DATE NOT NULL,
+    income_total NUMERIC(15,2) NOT NULL DEFAULT 0,
+    expense_total NUMERIC(15,2) NOT NULL DEFAULT 0,
+    closing_net NUMERIC(15,2) NOT NULL DEFAULT 0,
+    CONSTRAINT uk_treasury_daily_balances_account_date UNIQUE (account_kind, account_id, balance_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_treasury_transactions_transaction_date ON treasury_transactions(transaction_date);
+
+-- Existing transactions: income and expense per account and day, with the running total
+INSERT INTO treasury_daily_balances (account_kind, account_id, balance_date, income_total, expense_total, closing_net)
+SELECT account_kind, account_id, balance_date, income_total, expense_total,
+       SUM(income_total - expense_total) OVER (PARTITION BY account_kind, account_id ORDER BY balance_date)
+FROM (
+    SELECT 'CASH_BOX' AS account_kind, cash_box_id AS account_id, transaction_date AS balance_date,
+           SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END) AS income_total,
+           SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END) AS expense_total
+    FROM treasury_transactions
+    WHERE cash_box_id IS NOT NULL AND type IN ('INCOME', 'EXPENSE')
+    GROUP BY cash_box_id, transaction_date
+    UNION ALL
+    SELECT 'BANK_ACCOUNT', bank_account_id, transaction_date,
+           SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END),
+           SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END)
+    FROM treasury_transactions
+    WHERE bank_account_id IS NOT NULL AND type IN ('INCOME', 'EXPENSE')
+    GROUP BY bank_account_id, transaction_date
+) daily;
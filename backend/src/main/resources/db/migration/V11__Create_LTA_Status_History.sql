@@ -0,0 +1,41 @@
+-- FreightOps Database Schema Migration
+-- Version 11: Append-only LTA status history
+-- Rows carry the tracking number so the tracking timeline is one range scan on (tracking_number, changed_at)
+-- The table may already exist (created by hibernate ddl-auto with an identity id and without
+-- tracking_number / location): it is completed rather than recreated.
+
+CREATE SEQUENCE IF NOT EXISTS lta_status_history_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS lta_status_history (
+    id BIGINT PRIMARY KEY DEFAULT nextval('lta_status_history_seq'),
+    lta_id BIGINT NOT NULL REFERENCES ltas(id) ON DELETE CASCADE,
+    tracking_number VARCHAR(50),
+    previous_status VARCHAR(50),
+    new_status VARCHAR(50) NOT NULL,
+    changed_by VARCHAR(100),
+    change_reason VARCHAR(500),
+    location VARCHAR(255),
+    changed_at TIMESTAMP NOT NULL,
+    ip_address VARCHAR(45)
+);
+
+ALTER TABLE lta_status_history ADD COLUMN IF NOT EXISTS tracking_number VARCHAR(50);
+ALTER TABLE lta_status_history ADD COLUMN IF NOT EXISTS location VARCHAR(255);
+
+-- Rows written before this version have no tracking number
+UPDATE lta_status_history h
+SET tracking_number = (SELECT l.tracking_number FROM ltas l WHERE l.id = h.lta_id)
+WHERE h.tracking_number IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_lta_status_history_tracking ON lta_status_history(tracking_number, changed_at);
+CREATE INDEX IF NOT EXISTS idx_lta_status_history_lta ON lta_status_history(lta_id, changed_at);
+
+-- Existing LTAs without history: their current status becomes the first entry of the timeline
+INSERT INTO lta_status_history (id, lta_id, tracking_number, previous_status, new_status, changed_by, changed_at)
+SELECT nextval('lta_status_history_seq'), l.id, l.tracking_number, NULL, l.status, 'SYSTEM',
+       COALESCE(l.created_at, CURRENT_TIMESTAMP)
+FROM ltas l
+WHERE NOT EXISTS (SELECT 1 FROM lta_status_history h WHERE h.lta_id = l.id);
+
+-- Pooled ids (allocationSize 50) are handed out below the sequence value: move it past existing rows
+SELECT setval('lta_status_history_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM lta_status_history) + 50, 50));
@@ -0,0 +1,25 @@
+-- FreightOps Database Schema Migration
+-- Version 12: Seed LTA and tracking number sequences past the numbers already issued
+-- Only numbers in the current format (serial followed by one check digit) can
+-- collide with generated ones; the sequence restarts after the largest serial
+
+INSERT INTO identifier_sequences (sequence_name, next_value)
+SELECT 'lta_number', COALESCE(MAX(CAST(SUBSTRING(lta_number FROM 5 FOR 7) AS BIGINT)), 0) + 1
+FROM ltas
+WHERE lta_number ~ '^LTA-[0-9]{8}$'
+ON CONFLICT (sequence_name) DO UPDATE
+SET next_value = GREATEST(identifier_sequences.next_value, EXCLUDED.next_value);
+
+INSERT INTO identifier_sequences (sequence_name, next_value)
+SELECT 'lta_tracking', COALESCE(MAX(CAST(SUBSTRING(tracking_number FROM 5 FOR 11) AS BIGINT)), 0) + 1
+FROM ltas
+WHERE tracking_number ~ '^TRK-[0-9]{12}$'
+ON CONFLICT (sequence_name) DO UPDATE
+SET next_value = GREATEST(identifier_sequences.next_value, EXCLUDED.next_value);
+
+INSERT INTO identifier_sequences (sequence_name, next_value)
+SELECT 'shipment_tracking', COALESCE(MAX(CAST(SUBSTRING(tracking_number FROM 3 FOR 10) AS BIGINT)), 0) + 1
+FROM shipments
+WHERE tracking_number ~ '^FO[0-9]{11}$'
+ON CONFLICT (sequence_name) DO UPDATE
+SET next_value = GREATEST(identifier_sequences.next_value, EXCLUDED.next_value);
@@ -0,0 +1,7 @@
+-- FreightOps Database Schema Migration
+-- Version 3: Block-leased identifier sequences (LTA, tracking, invoice and quote numbers)
+
+CREATE TABLE identifier_sequences (
+    sequence_name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
@@ -0,0 +1,7 @@
+-- FreightOps Database Schema Migration
+-- Version 4: Per fiscal year journal entry numbering counters
+
+CREATE TABLE journal_entry_sequences (
+    fiscal_year_id BIGINT PRIMARY KEY,
+    last_number BIGINT NOT NULL DEFAULT 0
+);
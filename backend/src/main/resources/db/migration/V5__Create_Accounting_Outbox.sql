@@ -0,0 +1,19 @@
+-- FreightOps Database Schema Migration
+-- Version 5: Transactional outbox for deferred accounting postings
+
+CREATE TABLE accounting_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    source_type VARCHAR(30) NOT NULL,
+    source_id BIGINT NOT NULL,
+    created_by VARCHAR(100),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    journal_entry_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    posted_at TIMESTAMP,
+    CONSTRAINT uk_accounting_outbox_source UNIQUE (source_type, source_id)
+);
+
+CREATE INDEX idx_accounting_outbox_pending ON accounting_outbox(status, next_attempt_at);
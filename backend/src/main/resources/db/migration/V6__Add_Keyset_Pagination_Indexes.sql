@@ -0,0 +1,12 @@
+-- FreightOps Database Schema Migration
+-- Version 6: Composite indexes for keyset (createdAt, id) pagination
+-- The cursor listings order by created_at DESC, id DESC and seek past the last row returned
+
+CREATE INDEX IF NOT EXISTS idx_ltas_created_at_id ON ltas(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_ltas_status_created_at_id ON ltas(status, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_shipments_created_at_id ON shipments(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_shipments_status_created_at_id ON shipments(status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_shipments_client_created_at_id ON shipments(client_id, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_journal_entries_created_at_id ON journal_entries(created_at, id);
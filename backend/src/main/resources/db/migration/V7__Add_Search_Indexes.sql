@@ -0,0 +1,29 @@
+-- FreightOps Database Schema Migration
+-- Version 7: Trigram and full-text indexes for the global search (/api/search)
+-- Index expressions must match those of PostgresSearchBackend; the lower(...) trigram
+-- indexes also serve the existing LOWER(x) LIKE '%...%' filters
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- LTAs
+CREATE INDEX IF NOT EXISTS idx_ltas_lta_number_trgm ON ltas USING gin (lower(lta_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_ltas_tracking_number_trgm ON ltas USING gin (lower(tracking_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_ltas_shipper_name_trgm ON ltas USING gin (lower(shipper_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_ltas_consignee_name_trgm ON ltas USING gin (lower(consignee_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_ltas_parties_fts ON ltas
+    USING gin (to_tsvector('simple', coalesce(shipper_name, '') || ' ' || coalesce(consignee_name, '')));
+
+-- Clients
+CREATE INDEX IF NOT EXISTS idx_clients_name_trgm ON clients USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_clients_contact_number_trgm ON clients USING gin (contact_number gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_clients_name_fts ON clients USING gin (to_tsvector('simple', name));
+
+-- Freight manifests
+CREATE INDEX IF NOT EXISTS idx_freight_manifests_number_trgm ON freight_manifests
+    USING gin (lower(manifest_number) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_freight_manifests_shipper_trgm ON freight_manifests
+    USING gin (lower(shipper_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_freight_manifests_consignee_trgm ON freight_manifests
+    USING gin (lower(consignee_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_freight_manifests_client_trgm ON freight_manifests
+    USING gin (lower(client_name) gin_trgm_ops);
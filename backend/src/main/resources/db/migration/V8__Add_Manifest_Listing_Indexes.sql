@@ -0,0 +1,6 @@
+-- FreightOps Database Schema Migration
+-- Version 8: Indexes for the paged freight manifest listings
+-- Listings order by created_at DESC, id DESC, optionally filtered by status or by a created_at range
+
+CREATE INDEX IF NOT EXISTS idx_freight_manifests_created_at_id ON freight_manifests(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_freight_manifests_status_created_at_id ON freight_manifests(status, created_at, id);
@@ -0,0 +1,25 @@
+-- FreightOps Database Schema Migration
+-- Version 9: Monthly account movements for point-in-time balances
+-- A balance at a date sums the closed months from this table plus the entry lines of the current month
+
+CREATE TABLE account_period_balances (
+    id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    period_end DATE NOT NULL,
+    debit_total NUMERIC(15,2) NOT NULL DEFAULT 0,
+    credit_total NUMERIC(15,2) NOT NULL DEFAULT 0,
+    CONSTRAINT uk_account_period_balances_account_period UNIQUE (account_id, period_end)
+);
+
+CREATE INDEX IF NOT EXISTS idx_accounting_entries_account_journal_entry ON accounting_entries(account_id, journal_entry_id);
+CREATE INDEX IF NOT EXISTS idx_journal_entries_entry_date ON journal_entries(entry_date);
+
+-- Existing entries
+INSERT INTO account_period_balances (account_id, period_end, debit_total, credit_total)
+SELECT ae.account_id,
+       CAST(date_trunc('month', je.entry_date) + INTERVAL '1 month' - INTERVAL '1 day' AS DATE),
+       COALESCE(SUM(ae.debit_amount), 0),
+       COALESCE(SUM(ae.credit_amount), 0)
+FROM accounting_entries ae
+JOIN journal_entries je ON je.id = ae.journal_entry_id
+GROUP BY 1, 2;
@@ -0,0 +1,187 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.dto.AccountMovements;
+import com.freightops.accounting.entity.Account;
+import com.freightops.accounting.entity.AccountPeriodBalance;
+import com.freightops.accounting.entity.JournalEntry;
+import com.freightops.accounting.repository.AccountPeriodBalanceRepository;
+import com.freightops.accounting.repository.AccountingEntryRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountBalanceServiceTest {
+
+    private static final LocalDate JUNE_END = LocalDate.of(2024, 6, 30);
+
+    @Mock
+    private AccountPeriodBalanceRepository accountPeriodBalanceRepository;
+
+    @Mock
+    private AccountingEntryRepository accountingEntryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AccountBalanceService accountBalanceService;
+
+    @BeforeEach
+    void setUp() {
+        accountBalanceService = new AccountBalanceService(accountPeriodBalanceRepository, accountingEntryRepository,
+                transactionManager);
+    }
+
+    @Test
+    void testRecordMovementsAggregatesLinesPerAccountAndCreatesMissingMonth() {
+        // Given: deux lignes sur la caisse, une sur les ventes dont le mois n'existe pas encore
+        Account caisse = account(1L);
+        Account ventes = account(2L);
+        JournalEntry journalEntry = new JournalEntry();
+        journalEntry.setEntryDate(LocalDate.of(2024, 6, 12));
+        journalEntry.addAccountingEntry(caisse, new BigDecimal("100"), null, "Encaissement");
+        journalEntry.addAccountingEntry(caisse, new BigDecimal("50"), null, "Encaissement");
+        journalEntry.addAccountingEntry(ventes, null, new BigDecimal("150"), "Vente");
+
+        when(accountPeriodBalanceRepository.addMovements(1L, JUNE_END, new BigDecimal("150"), BigDecimal.ZERO))
+                .thenReturn(1);
+        when(accountPeriodBalanceRepository.addMovements(2L, JUNE_END, BigDecimal.ZERO, new BigDecimal("150")))
+                .thenReturn(0, 1);
+        when(accountPeriodBalanceRepository.existsByAccountIdAndPeriodEnd(2L, JUNE_END)).thenReturn(false);
+
+        // When
+        accountBalanceService.recordMovements(journalEntry);
+
+        // Then
+        verify(accountPeriodBalanceRepository).addMovements(1L, JUNE_END, new BigDecimal("150"), BigDecimal.ZERO);
+        verify(accountPeriodBalanceRepository).saveAndFlush(any(AccountPeriodBalance.class));
+        verify(accountPeriodBalanceRepository, times(2))
+                .addMovements(2L, JUNE_END, BigDecimal.ZERO, new BigDecimal("150"));
+    }
+
+    @Test
+    void testBalanceMidMonthAddsClosedMonthsAndCurrentMonthLines() {
+        // Given
+        LocalDate date = LocalDate.of(2024, 7, 10);
+        when(accountPeriodBalanceRepository.sumNetDebitThrough(1L, JUNE_END)).thenReturn(new BigDecimal("400"));
+        when(accountingEntryRepository.getNetDebitBetween(1L, LocalDate.of(2024, 7, 1), date))
+                .thenReturn(new BigDecimal("-25"));
+
+        // When
+        BigDecimal balance = accountBalanceService.getNetDebitBalanceAt(1L, date);
+
+        // Then
+        assertEquals(0, new BigDecimal("375").compareTo(balance));
+    }
+
+    @Test
+    void testBalanceAtMonthEndReadsOnlyMonthlyMovements() {
+        // Given
+        when(accountPeriodBalanceRepository.sumNetDebitThrough(1L, JUNE_END)).thenReturn(new BigDecimal("400"));
+
+        // When
+        BigDecimal balance = accountBalanceService.getNetDebitBalanceAt(1L, JUNE_END);
+
+        // Then
+        assertEquals(0, new BigDecimal("400").compareTo(balance));
+        verifyNoInteractions(accountingEntryRepository);
+    }
+
+    @Test
+    void testBalancesOfSeveralAccountsDefaultToZero() {
+        // Given
+        LocalDate date = LocalDate.of(2024, 7, 10);
+        List<Long> accountIds = List.of(1L, 2L, 3L);
+        when(accountPeriodBalanceRepository.sumNetDebitThrough(accountIds, JUNE_END))
+                .thenReturn(List.<Object[]>of(new Object[] { 1L, new BigDecimal("400") }));
+        when(accountingEntryRepository.getNetDebitBetween(accountIds, LocalDate.of(2024, 7, 1), date))
+                .thenReturn(List.of(new Object[] { 1L, new BigDecimal("10") },
+                        new Object[] { 2L, new BigDecimal("-30") }));
+
+        // When
+        Map<Long, BigDecimal> balances = accountBalanceService.getNetDebitBalancesAt(accountIds, date);
+
+        // Then
+        assertEquals(0, new BigDecimal("410").compareTo(balances.get(1L)));
+        assertEquals(0, new BigDecimal("-30").compareTo(balances.get(2L)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(balances.get(3L)));
+    }
+
+    @Test
+    void testMovementsOverMidMonthRangeMatchEntryLineSum() {
+        // Given: une ligne par compte le 1er, le 14, le 15 et le 28 de chaque mois de 2024
+        List<Object[]> lines = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            for (int day : new int[] { 1, 14, 15, 28 }) {
+                LocalDate date = LocalDate.of(2024, month, day);
+                lines.add(new Object[] { 1L, date, BigDecimal.valueOf(month * 100L + day), BigDecimal.ONE });
+                lines.add(new Object[] { 2L, date, BigDecimal.ZERO, BigDecimal.valueOf(day) });
+            }
+        }
+        when(accountingEntryRepository.sumMovementsBetween(any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> sumLines(lines, invocation.getArgument(0), invocation.getArgument(1),
+                        false));
+        when(accountPeriodBalanceRepository.sumMovementsBetween(any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> sumLines(lines, invocation.getArgument(0), invocation.getArgument(1),
+                        true));
+        LocalDate start = LocalDate.of(2024, 1, 15);
+        LocalDate end = LocalDate.of(2024, 12, 14);
+
+        // When
+        Map<Long, AccountMovements> movements = accountBalanceService.getMovementsBetween(start, end);
+
+        // Then: mêmes totaux que la somme des lignes, sans lire les lignes de toute la période
+        for (Object[] expected : sumLines(lines, start, end, false)) {
+            AccountMovements actual = movements.get((Long) expected[0]);
+            assertEquals(0, ((BigDecimal) expected[1]).compareTo(actual.getDebit()));
+            assertEquals(0, ((BigDecimal) expected[2]).compareTo(actual.getCredit()));
+        }
+        verify(accountingEntryRepository).sumMovementsBetween(start, LocalDate.of(2024, 1, 31));
+        verify(accountPeriodBalanceRepository).sumMovementsBetween(LocalDate.of(2024, 2, 29),
+                LocalDate.of(2024, 11, 30));
+        verify(accountingEntryRepository).sumMovementsBetween(LocalDate.of(2024, 12, 1), end);
+        verify(accountingEntryRepository, never()).sumMovementsBetween(start, end);
+    }
+
+    /**
+     * Mouvements par compte des lignes entre deux dates ; par mois entiers
+     * (bornes = fins de mois) pour simuler les mouvements mensuels
+     */
+    private static List<Object[]> sumLines(List<Object[]> lines, LocalDate from, LocalDate to, boolean byPeriodEnd) {
+        Map<Long, BigDecimal[]> sums = new TreeMap<>();
+        for (Object[] line : lines) {
+            LocalDate date = (LocalDate) line[1];
+            LocalDate key = byPeriodEnd ? AccountBalanceService.periodEnd(date) : date;
+            if (!key.isBefore(from) && !key.isAfter(to)) {
+                BigDecimal[] sum = sums.computeIfAbsent((Long) line[0],
+                        id -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+                sum[0] = sum[0].add((BigDecimal) line[2]);
+                sum[1] = sum[1].add((BigDecimal) line[3]);
+            }
+        }
+        List<Object[]> rows = new ArrayList<>();
+        sums.forEach((accountId, sum) -> rows.add(new Object[] { accountId, sum[0], sum[1] }));
+        return rows;
+    }
+
+    private Account account(Long id) {
+        Account account = new Account();
+        account.setId(id);
+        return account;
+    }
+}
@@ -0,0 +1,228 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.entity.AccountingOutboxEvent;
+import com.freightops.accounting.entity.JournalEntry;
+import com.freightops.accounting.enums.OutboxStatus;
+import com.freightops.accounting.enums.SourceType;
+import com.freightops.accounting.repository.AccountRepository;
+import com.freightops.accounting.repository.AccountingOutboxRepository;
+import com.freightops.accounting.repository.JournalEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountingOutboxPosterTest {
+
+    @Mock
+    private AccountingOutboxRepository accountingOutboxRepository;
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private AccountingService accountingService;
+
+    @Mock
+    private JournalEntryService journalEntryService;
+
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+
+    private AccountingOutboxPoster poster;
+
+    @BeforeEach
+    void setUp() {
+        poster = new AccountingOutboxPoster(accountingOutboxRepository, journalEntryRepository, accountRepository,
+                accountService, accountingService, journalEntryService, transactionManager,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testFailingEventDoesNotSinkItsBatch() {
+        // Given: trois événements, la source du deuxième est introuvable
+        AccountingOutboxEvent first = event(1L);
+        AccountingOutboxEvent broken = event(2L);
+        AccountingOutboxEvent third = event(3L);
+        when(accountingOutboxRepository.claimPending(any(), any())).thenReturn(List.of(first, broken, third));
+        when(accountingService.buildJournalEntry(first)).thenReturn(new JournalEntry());
+        when(accountingService.buildJournalEntry(broken)).thenThrow(new IllegalStateException("LTA 2 introuvable"));
+        when(accountingService.buildJournalEntry(third)).thenReturn(new JournalEntry());
+
+        // When
+        int claimed = poster.postBatch(3);
+
+        // Then: une transaction par événement, seule celle de l'événement en échec est annulée
+        assertEquals(3, claimed);
+        verify(accountingOutboxRepository, times(1)).claimPending(any(), any());
+        assertEquals(3, transactionManager.commits);
+        assertEquals(1, transactionManager.rollbacks);
+        verify(journalEntryService, times(2)).saveJournalEntry(any(JournalEntry.class), eq(false));
+
+        assertEquals(OutboxStatus.POSTED, first.getStatus());
+        assertEquals(OutboxStatus.POSTED, third.getStatus());
+        assertEquals(OutboxStatus.PENDING, broken.getStatus());
+        assertEquals(1, broken.getAttempts());
+        assertEquals("LTA 2 introuvable", broken.getLastError());
+    }
+
+    @Test
+    void testNestedServiceFailureOnlyRollsBackItsEvent() {
+        // Given: pour le deuxième événement, un service transactionnel imbriqué
+        // échoue et marque la transaction courante rollback-only
+        AccountingOutboxEvent first = event(1L);
+        AccountingOutboxEvent broken = event(2L);
+        AccountingOutboxEvent third = event(3L);
+        when(accountingOutboxRepository.claimPending(any(), any())).thenReturn(List.of(first, broken, third));
+        when(accountingService.buildJournalEntry(first)).thenReturn(new JournalEntry());
+        when(accountingService.buildJournalEntry(broken)).thenAnswer(invocation -> {
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    throw new IllegalStateException("Aucun exercice comptable trouvé pour le 2024-03-15");
+                });
+            } catch (IllegalStateException e) {
+                // L'appelant absorbe l'erreur, la transaction reste rollback-only
+            }
+            return new JournalEntry();
+        });
+        when(accountingService.buildJournalEntry(third)).thenReturn(new JournalEntry());
+
+        // When
+        int claimed = poster.postBatch(3);
+
+        // Then: les deux autres écritures et le lot sont validés
+        assertEquals(3, claimed);
+        assertEquals(3, transactionManager.commits);
+        assertEquals(1, transactionManager.rollbacks);
+        assertEquals(OutboxStatus.POSTED, first.getStatus());
+        assertEquals(OutboxStatus.POSTED, third.getStatus());
+        assertEquals(OutboxStatus.PENDING, broken.getStatus());
+        assertEquals(1, broken.getAttempts());
+        assertNotNull(broken.getLastError());
+    }
+
+    @Test
+    void testAlreadyPostedSourceIsMarkedWithoutNewEntry() {
+        // Given
+        AccountingOutboxEvent event = event(1L);
+        when(accountingOutboxRepository.claimPending(any(), any())).thenReturn(List.of(event));
+        when(journalEntryRepository.existsBySourceTypeAndSourceId(SourceType.LTA, 1L)).thenReturn(true);
+
+        // When
+        poster.postBatch(10);
+
+        // Then
+        assertEquals(OutboxStatus.POSTED, event.getStatus());
+        verifyNoInteractions(accountingService, journalEntryService, accountRepository);
+    }
+
+    private static AccountingOutboxEvent event(Long sourceId) {
+        AccountingOutboxEvent event = new AccountingOutboxEvent(SourceType.LTA, sourceId, "SYSTEM");
+        event.setId(sourceId);
+        event.setCreatedAt(LocalDateTime.of(2024, 3, 15, 10, 30));
+        return event;
+    }
+
+    /**
+     * Gestionnaire de transactions en mémoire : gère la suspension
+     * (REQUIRES_NEW) et l'état rollback-only d'une transaction partagée
+     */
+    private static final class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final Deque<FakeTransaction> active = new ArrayDeque<>();
+        private int commits;
+        private int rollbacks;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new TransactionHolder(active.peek());
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((TransactionHolder) transaction).transaction != null;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            FakeTransaction fakeTransaction = new FakeTransaction();
+            ((TransactionHolder) transaction).transaction = fakeTransaction;
+            active.push(fakeTransaction);
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            ((TransactionHolder) transaction).transaction = null;
+            return active.pop();
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+            active.push((FakeTransaction) suspendedResources);
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+            ((TransactionHolder) status.getTransaction()).transaction.rollbackOnly = true;
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks++;
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            active.pop();
+        }
+    }
+
+    private static final class FakeTransaction {
+        private boolean rollbackOnly;
+    }
+
+    private static final class TransactionHolder implements SmartTransactionObject {
+
+        private FakeTransaction transaction;
+
+        private TransactionHolder(FakeTransaction transaction) {
+            this.transaction = transaction;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return transaction != null && transaction.rollbackOnly;
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.dto.ChartAccount;
+import com.freightops.accounting.dto.ChartOfAccounts;
+import com.freightops.accounting.entity.Account;
+import com.freightops.accounting.entity.AccountingOutboxEvent;
+import com.freightops.accounting.entity.FiscalYear;
+import com.freightops.accounting.entity.JournalEntry;
+import com.freightops.accounting.enums.AccountType;
+import com.freightops.accounting.enums.SourceType;
+import com.freightops.entity.Client;
+import com.freightops.entity.LTA;
+import com.freightops.repository.LTARepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountingServiceTest {
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private FiscalYearService fiscalYearService;
+
+    @Mock
+    private LTARepository ltaRepository;
+
+    @InjectMocks
+    private AccountingService accountingService;
+
+    private FiscalYear fiscalYear;
+    private AccountingOutboxEvent event;
+
+    @BeforeEach
+    void setUp() {
+        fiscalYear = new FiscalYear();
+        fiscalYear.setId(1L);
+        fiscalYear.setYearNumber(2024);
+        fiscalYear.setStartDate(LocalDate.of(2024, 1, 1));
+        fiscalYear.setEndDate(LocalDate.of(2024, 12, 31));
+
+        event = new AccountingOutboxEvent(SourceType.LTA, 1L, "SYSTEM");
+        event.setCreatedAt(LocalDateTime.of(2024, 3, 15, 10, 30));
+    }
+
+    @Test
+    void testBuildJournalEntry_ForLTACreation() {
+        // Given
+        Client client = new Client();
+        client.setName("Test Client");
+
+        LTA lta = new LTA();
+        lta.setId(1L);
+        lta.setLtaNumber("LTA-TEST-003");
+        lta.setClient(client);
+        lta.setCalculatedCost(new BigDecimal("100.0"));
+
+        ChartOfAccounts chartOfAccounts = new ChartOfAccounts(List.of(
+                new ChartAccount(11L, "411", "Clients", AccountType.ASSET, null),
+                new ChartAccount(71L, "701", "Ventes de services", AccountType.REVENUE, null)));
+
+        Account clientAccount = new Account();
+        clientAccount.setAccountNumber("411");
+        clientAccount.setAccountType(AccountType.ASSET);
+
+        Account salesAccount = new Account();
+        salesAccount.setAccountNumber("701");
+        salesAccount.setAccountType(AccountType.REVENUE);
+
+        when(fiscalYearService.getFiscalYearForDate(LocalDate.of(2024, 3, 15))).thenReturn(fiscalYear);
+        when(ltaRepository.findById(1L)).thenReturn(Optional.of(lta));
+        when(accountService.getChartOfAccounts()).thenReturn(chartOfAccounts);
+        when(accountService.getAccountReference(11L)).thenReturn(clientAccount);
+        when(accountService.getAccountReference(71L)).thenReturn(salesAccount);
+
+        // When
+        JournalEntry journalEntry = accountingService.buildJournalEntry(event);
+
+        // Then
+        assertEquals(SourceType.LTA, journalEntry.getSourceType());
+        assertEquals(1L, journalEntry.getSourceId());
+        assertEquals("LTA-TEST-003", journalEntry.getReference());
+        assertEquals(LocalDate.of(2024, 3, 15), journalEntry.getEntryDate());
+        assertTrue(journalEntry.getDescription().contains("Création LTA LTA-TEST-003"));
+        assertEquals(2, journalEntry.getAccountingEntries().size());
+    }
+
+    @Test
+    void testBuildJournalEntry_WithoutFiscalYearShouldFailForRetry() {
+        // Given
+        when(fiscalYearService.getFiscalYearForDate(any(LocalDate.class))).thenReturn(null);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> accountingService.buildJournalEntry(event));
+        verify(ltaRepository, never()).findById(any());
+    }
+}
@@ -0,0 +1,164 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.dto.AccountMovements;
+import com.freightops.accounting.dto.BalanceSheet;
+import com.freightops.accounting.dto.ChartAccount;
+import com.freightops.accounting.dto.ChartOfAccounts;
+import com.freightops.accounting.dto.ComparativeStatement;
+import com.freightops.accounting.dto.IncomeStatement;
+import com.freightops.accounting.dto.StatementLine;
+import com.freightops.accounting.dto.TrialBalance;
+import com.freightops.accounting.dto.TrialBalanceLine;
+import com.freightops.accounting.enums.AccountType;
+import com.freightops.accounting.repository.AccountRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class FinancialStatementServiceTest {
+
+    private static final LocalDate MARCH_START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate MARCH_END = LocalDate.of(2024, 3, 31);
+
+    @Mock
+    private AccountBalanceService accountBalanceService;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private FinancialStatementService financialStatementService;
+
+    @BeforeEach
+    void setUp() {
+        financialStatementService = new FinancialStatementService(accountBalanceService, accountService,
+                accountRepository);
+
+        when(accountService.getChartOfAccounts()).thenReturn(new ChartOfAccounts(List.of(
+                new ChartAccount(4L, "4", "COMPTES DE TIERS", AccountType.ASSET, null),
+                new ChartAccount(41L, "41", "Clients et comptes rattachés", AccountType.ASSET, 4L),
+                new ChartAccount(411L, "411", "Clients", AccountType.ASSET, 41L),
+                new ChartAccount(401L, "401", "Fournisseurs", AccountType.LIABILITY, 4L),
+                new ChartAccount(5L, "5", "COMPTES DE TRESORERIE", AccountType.ASSET, null),
+                new ChartAccount(531L, "531", "Caisse", AccountType.ASSET, 5L),
+                new ChartAccount(7L, "7", "COMPTES DE PRODUITS", AccountType.REVENUE, null),
+                new ChartAccount(701L, "701", "Ventes de services", AccountType.REVENUE, 7L))));
+    }
+
+    @Test
+    void testTrialBalanceRollsUpOpeningAndPeriodMovements() {
+        // Given: une vente en février, son encaissement en mars
+        when(accountBalanceService.getMovementsThrough(LocalDate.of(2024, 2, 29))).thenReturn(Map.of(
+                411L, movements("300", "0"),
+                701L, movements("0", "300")));
+        when(accountBalanceService.getMovementsBetween(MARCH_START, MARCH_END)).thenReturn(Map.of(
+                531L, movements("100", "0"),
+                411L, movements("0", "100")));
+
+        // When
+        TrialBalance trialBalance = financialStatementService.getTrialBalance(MARCH_START, MARCH_END);
+
+        // Then
+        List<TrialBalanceLine> lines = trialBalance.getLines();
+        assertEquals(List.of("4", "41", "411", "5", "531", "7", "701"),
+                lines.stream().map(TrialBalanceLine::getAccountNumber).toList());
+
+        TrialBalanceLine thirdParties = lines.get(0);
+        assertEquals(0, thirdParties.getLevel());
+        assertEquals(0, new BigDecimal("300").compareTo(thirdParties.getOpeningBalance()));
+        assertEquals(0, new BigDecimal("100").compareTo(thirdParties.getPeriodCredit()));
+        assertEquals(0, new BigDecimal("200").compareTo(thirdParties.getClosingBalance()));
+        assertEquals("41", lines.get(2).getParentAccountNumber());
+        assertEquals(2, lines.get(2).getLevel());
+
+        assertEquals(0, new BigDecimal("100").compareTo(trialBalance.getTotalDebit()));
+        assertEquals(0, new BigDecimal("100").compareTo(trialBalance.getTotalCredit()));
+        assertTrue(trialBalance.isBalanced());
+    }
+
+    @Test
+    void testBalanceSheetIncludesUnallocatedResult() {
+        // Given
+        when(accountBalanceService.getMovementsThrough(MARCH_END)).thenReturn(Map.of(
+                411L, movements("300", "100"),
+                531L, movements("100", "0"),
+                701L, movements("0", "300")));
+
+        // When
+        BalanceSheet balanceSheet = financialStatementService.getBalanceSheet(MARCH_END);
+
+        // Then
+        assertEquals(0, new BigDecimal("300").compareTo(balanceSheet.getTotalAssets()));
+        assertEquals(0, new BigDecimal("300").compareTo(balanceSheet.getCurrentResult()));
+        assertTrue(balanceSheet.getLiabilities().isEmpty());
+        assertTrue(balanceSheet.isBalanced());
+    }
+
+    @Test
+    void testParentOfAnotherTypeDoesNotCollectSubAccount() {
+        // Given: une dette fournisseur, rattachée à la classe 4 (actif), payée en caisse
+        when(accountBalanceService.getMovementsThrough(MARCH_END)).thenReturn(Map.of(
+                531L, movements("200", "0"),
+                401L, movements("0", "200")));
+
+        // When
+        BalanceSheet balanceSheet = financialStatementService.getBalanceSheet(MARCH_END);
+
+        // Then: 401 est une racine du passif, la classe 4 n'apparaît pas à l'actif
+        assertEquals(List.of("5", "531"),
+                balanceSheet.getAssets().stream().map(StatementLine::getAccountNumber).toList());
+        StatementLine suppliers = balanceSheet.getLiabilities().get(0);
+        assertEquals(1, balanceSheet.getLiabilities().size());
+        assertEquals("401", suppliers.getAccountNumber());
+        assertNull(suppliers.getParentAccountNumber());
+        assertEquals(0, suppliers.getLevel());
+        assertEquals(0, new BigDecimal("200").compareTo(balanceSheet.getTotalLiabilities()));
+    }
+
+    @Test
+    void testIncomeStatementWithComparisonPeriod() {
+        // Given
+        LocalDate februaryStart = LocalDate.of(2024, 2, 1);
+        LocalDate februaryEnd = LocalDate.of(2024, 2, 29);
+        when(accountBalanceService.getMovementsBetween(MARCH_START, MARCH_END)).thenReturn(Map.of(
+                701L, movements("0", "500")));
+        when(accountBalanceService.getMovementsBetween(februaryStart, februaryEnd)).thenReturn(Map.of(
+                701L, movements("20", "300")));
+
+        // When
+        ComparativeStatement<IncomeStatement> statement = financialStatementService
+                .getIncomeStatement(MARCH_START, MARCH_END, List.of(februaryStart), List.of(februaryEnd));
+
+        // Then
+        IncomeStatement march = statement.getCurrent();
+        assertEquals(0, new BigDecimal("500").compareTo(march.getTotalRevenues()));
+        assertEquals(List.of("7", "701"),
+                march.getRevenues().stream().map(StatementLine::getAccountNumber).toList());
+        assertEquals(1, statement.getComparisons().size());
+        assertEquals(0, new BigDecimal("280").compareTo(statement.getComparisons().get(0).getNetIncome()));
+    }
+
+    @Test
+    void testComparisonPeriodsMustBeComplete() {
+        assertThrows(IllegalArgumentException.class, () -> financialStatementService
+                .getIncomeStatement(MARCH_START, MARCH_END, List.of(MARCH_START), List.of()));
+    }
+
+    private static AccountMovements movements(String debit, String credit) {
+        return new AccountMovements(new BigDecimal(debit), new BigDecimal(credit));
+    }
+}
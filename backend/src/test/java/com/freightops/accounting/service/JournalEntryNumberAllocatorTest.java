@@ -0,0 +1,163 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.entity.FiscalYear;
+import com.freightops.accounting.entity.JournalEntrySequence;
+import com.freightops.accounting.repository.JournalEntryRepository;
+import com.freightops.accounting.repository.JournalEntrySequenceRepository;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JournalEntryNumberAllocatorTest {
+
+    @Mock
+    private JournalEntrySequenceRepository journalEntrySequenceRepository;
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JournalEntryNumberAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new JournalEntryNumberAllocator(journalEntrySequenceRepository, journalEntryRepository,
+                transactionManager);
+    }
+
+    @Test
+    void testCounterIsSeededFromLastJournalNumber() {
+        // Given: pas encore de compteur pour 2024, le journal contient déjà JE-2024-000041
+        FiscalYear fiscalYear = fiscalYear(1L, 2024);
+        JournalEntrySequence created = new JournalEntrySequence(1L, 41L);
+        when(journalEntrySequenceRepository.findForUpdate(1L)).thenReturn(Optional.empty(), Optional.of(created));
+        when(journalEntrySequenceRepository.existsById(1L)).thenReturn(false);
+        when(journalEntryRepository.findLastEntryNumberByFiscalYear(1L)).thenReturn("JE-2024-000041");
+
+        // When
+        String entryNumber = allocator.nextEntryNumber(fiscalYear);
+
+        // Then: le compteur est créé dans sa propre transaction, puis relu sous verrou
+        ArgumentCaptor<JournalEntrySequence> saved = ArgumentCaptor.forClass(JournalEntrySequence.class);
+        verify(journalEntrySequenceRepository).saveAndFlush(saved.capture());
+        assertEquals(41L, saved.getValue().getLastNumber());
+        verify(transactionManager).getTransaction(
+                argThat(definition -> definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(journalEntrySequenceRepository, times(2)).findForUpdate(1L);
+        assertEquals("JE-2024-000042", entryNumber);
+        assertEquals(42L, created.getLastNumber());
+    }
+
+    @Test
+    void testCounterStartsAtOneWithoutUsableJournalNumber() {
+        // Given: le dernier numéro appartient à un autre format
+        FiscalYear fiscalYear = fiscalYear(2L, 2025);
+        JournalEntrySequence created = new JournalEntrySequence(2L, 0L);
+        when(journalEntrySequenceRepository.findForUpdate(2L)).thenReturn(Optional.empty(), Optional.of(created));
+        when(journalEntryRepository.findLastEntryNumberByFiscalYear(2L)).thenReturn("JE-2025-ABC");
+
+        // When
+        String entryNumber = allocator.nextEntryNumber(fiscalYear);
+
+        // Then
+        verify(journalEntrySequenceRepository).saveAndFlush(argThat(sequence -> sequence.getLastNumber() == 0L));
+        assertEquals("JE-2025-000001", entryNumber);
+    }
+
+    @Test
+    void testEachFiscalYearHasItsOwnLockedCounter() {
+        // Given
+        JournalEntrySequence counter2024 = new JournalEntrySequence(1L, 99L);
+        JournalEntrySequence counter2025 = new JournalEntrySequence(2L, 4L);
+        when(journalEntrySequenceRepository.findForUpdate(1L)).thenReturn(Optional.of(counter2024));
+        when(journalEntrySequenceRepository.findForUpdate(2L)).thenReturn(Optional.of(counter2025));
+
+        // When
+        String first = allocator.nextEntryNumber(fiscalYear(1L, 2024));
+        String second = allocator.nextEntryNumber(fiscalYear(2L, 2025));
+        String third = allocator.nextEntryNumber(fiscalYear(1L, 2024));
+
+        // Then: aucun compteur créé, chaque exercice avance seul
+        assertEquals("JE-2024-000100", first);
+        assertEquals("JE-2025-000005", second);
+        assertEquals("JE-2024-000101", third);
+        verify(journalEntrySequenceRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(journalEntryRepository, transactionManager);
+    }
+
+    @Test
+    void testCounterIsReadWithPessimisticWriteLock() throws NoSuchMethodException {
+        Lock lock = JournalEntrySequenceRepository.class.getMethod("findForUpdate", Long.class)
+                .getAnnotation(Lock.class);
+
+        assertNotNull(lock);
+        assertEquals(LockModeType.PESSIMISTIC_WRITE, lock.value());
+    }
+
+    @Test
+    void testAllocationOutsideTransactionIsRejected() {
+        // Given: l'allocateur derrière l'intercepteur transactionnel, sans transaction en cours
+        ProxyFactory proxyFactory = new ProxyFactory(allocator);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new TransactionInterceptor((TransactionManager) new NoTransactionManager(),
+                new AnnotationTransactionAttributeSource()));
+        JournalEntryNumberAllocator proxy = (JournalEntryNumberAllocator) proxyFactory.getProxy();
+
+        // When / Then
+        assertThrows(IllegalTransactionStateException.class, () -> proxy.nextEntryNumber(fiscalYear(1L, 2024)));
+        verifyNoInteractions(journalEntrySequenceRepository);
+    }
+
+    private static FiscalYear fiscalYear(Long id, int yearNumber) {
+        FiscalYear fiscalYear = new FiscalYear();
+        fiscalYear.setId(id);
+        fiscalYear.setYearNumber(yearNumber);
+        return fiscalYear;
+    }
+
+    /**
+     * Gestionnaire sans transaction existante, pour vérifier la propagation
+     */
+    private static final class NoTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.freightops.accounting.service;
+
+import com.freightops.accounting.dto.JournalExportLine;
+import com.freightops.accounting.enums.SourceType;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalExportServiceTest {
+
+    private final List<JournalExportLine> lines = List.of(
+            new JournalExportLine("JE-2024-000001", LocalDate.of(2024, 3, 15), null, SourceType.LTA_PAYMENT, 12L,
+                    "Paiement LTA \"LTA-12\", espèces", 1, "531", "Caisse", new BigDecimal("150.00"),
+                    BigDecimal.ZERO, null),
+            new JournalExportLine("JE-2024-000001", LocalDate.of(2024, 3, 15), null, SourceType.LTA_PAYMENT, 12L,
+                    "Paiement LTA \"LTA-12\", espèces", 2, "701", "Ventes <fret>", BigDecimal.ZERO,
+                    new BigDecimal("150.00"), null));
+
+    @Test
+    void testCsvQuotesFieldsAndWritesOneRowPerLine() throws IOException {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long count = JournalExportService.writeCsv(lines.iterator(), output);
+
+        // Then
+        String[] rows = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(3, rows.length);
+        assertTrue(rows[0].startsWith("\uFEFFN° écriture,Date"));
+        assertEquals("JE-2024-000001,2024-03-15,,LTA_PAYMENT,12,\"Paiement LTA \"\"LTA-12\"\", espèces\","
+                + "1,531,Caisse,150.00,0,", rows[1]);
+    }
+
+    @Test
+    void testXlsxContainsEscapedInlineRows() throws IOException {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long count = JournalExportService.writeXlsx(lines.iterator(), output);
+
+        // Then
+        Map<String, String> parts = unzip(output.toByteArray());
+        assertEquals(2, count);
+        assertTrue(parts.containsKey("[Content_Types].xml"));
+        assertTrue(parts.containsKey("xl/workbook.xml"));
+
+        String sheet = parts.get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.contains("<row r=\"3\">"));
+        assertFalse(sheet.contains("<row r=\"4\">"));
+        assertTrue(sheet.contains("Ventes &lt;fret&gt;"));
+        assertTrue(sheet.contains("<c t=\"n\"><v>150.00</v></c>"));
+        assertTrue(sheet.endsWith("</sheetData></worksheet>"));
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws IOException {
+        Map<String, String> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return parts;
+    }
+}
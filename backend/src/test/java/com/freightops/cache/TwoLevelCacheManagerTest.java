@@ -0,0 +1,164 @@
+package com.freightops.cache;
+
+import com.freightops.entity.City;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TwoLevelCacheManagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RedisSerializer<Object> serializer = RedisSerializer.java();
+
+    private TwoLevelCacheManager manager(RedisCacheWriter redisCacheWriter) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("cache.ttl." + CacheNames.ACTIVE_TAXES, "1h");
+        return new TwoLevelCacheManager(environment, meterRegistry, redisCacheWriter, serializer,
+                "freightops:", Duration.ofMinutes(10), 100);
+    }
+
+    @Test
+    void testLoaderIsCalledOnceAndNullIsCached() {
+        // Given
+        Cache cache = manager(null).getCache(CacheNames.CITY_BY_IATA);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.get("FIH", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        Object second = cache.get("FIH", () -> {
+            loads.incrementAndGet();
+            return "unexpected";
+        });
+
+        // Then
+        assertNull(second);
+        assertEquals(1, loads.get());
+        assertNotNull(cache.get("FIH"), "Null results should be cached as well");
+    }
+
+    @Test
+    void testRemoteInvalidationEvictsLocalCopy() {
+        // Given
+        TwoLevelCacheManager manager = manager(null);
+        Cache cache = manager.getCache(CacheNames.CITY_BY_ID);
+        cache.put(1L, "Kinshasa");
+
+        // When
+        manager.onRemoteInvalidation(CacheInvalidation.evict("other-node", CacheNames.CITY_BY_ID, 1L));
+
+        // Then
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void testOwnInvalidationsAreIgnored() {
+        // Given
+        TwoLevelCacheManager manager = manager(null);
+        Cache cache = manager.getCache(CacheNames.CITY_BY_ID);
+        cache.put(1L, "Kinshasa");
+
+        // When
+        manager.onRemoteInvalidation(CacheInvalidation.clear(manager.getNodeId(), CacheNames.CITY_BY_ID));
+
+        // Then
+        assertNotNull(cache.get(1L));
+    }
+
+    @Test
+    void testLocalMissIsServedFromRedis() {
+        // Given
+        RedisCacheWriter redisCacheWriter = mock(RedisCacheWriter.class);
+        when(redisCacheWriter.get(eq(CacheNames.ACTIVE_TAXES), any(byte[].class)))
+                .thenReturn(serializer.serialize("TVA 16%"));
+        Cache cache = manager(redisCacheWriter).getCache(CacheNames.ACTIVE_TAXES);
+
+        // When
+        Object first = cache.get("all", () -> "loaded");
+        Object second = cache.get("all", () -> "loaded");
+
+        // Then
+        assertEquals("TVA 16%", first);
+        assertEquals("TVA 16%", second);
+        verify(redisCacheWriter, times(1)).get(eq(CacheNames.ACTIVE_TAXES), any(byte[].class));
+        verify(redisCacheWriter, never()).put(any(), any(), any(), any());
+        assertEquals(1.0, meterRegistry.get("cache.l2.gets")
+                .tag("cache", CacheNames.ACTIVE_TAXES).tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testLoadedValueIsWrittenToRedisWithCacheTtl() {
+        // Given
+        RedisCacheWriter redisCacheWriter = mock(RedisCacheWriter.class);
+        Cache cache = manager(redisCacheWriter).getCache(CacheNames.ACTIVE_TAXES);
+
+        // When
+        cache.get("all", () -> "loaded");
+
+        // Then
+        verify(redisCacheWriter).put(eq(CacheNames.ACTIVE_TAXES), any(byte[].class), any(byte[].class),
+                eq(Duration.ofHours(1)));
+    }
+
+    @Test
+    void testEntityCacheHandsOutDetachedCopies() {
+        // Given
+        Cache cache = manager(null).getCache(CacheNames.CITY_BY_ID);
+        City city = new City();
+        city.setName("Kinshasa");
+        cache.put(1L, city);
+
+        // When: a caller modifies the instance it was given
+        City first = cache.get(1L, City.class);
+        first.setName("Modified");
+        City second = cache.get(1L, City.class);
+
+        // Then
+        assertNotSame(first, second);
+        assertNotSame(city, second);
+        assertEquals("Kinshasa", second.getName());
+    }
+
+    @Test
+    void testImmutableViewCacheIsNotCopied() {
+        // Given
+        Cache cache = manager(null).getCache(CacheNames.CHART_OF_ACCOUNTS);
+        List<String> chart = new ArrayList<>(List.of("411", "706"));
+        cache.put("all", chart);
+
+        // When / Then
+        assertSame(chart, cache.get("all", List.class));
+    }
+
+    @Test
+    void testLoaderRunsOutsideTheComputeLock() {
+        // Given
+        Cache cache = manager(null).getCache(CacheNames.ACTIVE_TAXES);
+
+        // When: the loader goes through the cache for the same key, which Caffeine
+        // rejects as a recursive update when loading inside its compute
+        Object value = cache.get("all", () -> {
+            assertEquals("inner", cache.get("all", () -> "inner"));
+            return "loaded";
+        });
+
+        // Then
+        assertEquals("loaded", value);
+        assertEquals("loaded", cache.get("all", () -> "unexpected"));
+    }
+}
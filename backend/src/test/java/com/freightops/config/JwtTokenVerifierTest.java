@@ -0,0 +1,86 @@
+package com.freightops.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtTokenVerifierTest {
+
+    private static final String SECRET = "freightOpsSecretKeyForJWTTokenGenerationAndValidation2024!";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtUtils jwtUtils;
+
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = jwtUtils(86_400_000);
+        jwtTokenVerifier = new JwtTokenVerifier(jwtUtils, userDetailsService, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testTokenIsVerifiedOnceThenServedFromCache() {
+        // Given
+        UserDetails agent = User.withUsername("agent").password("x").roles("AGENT").build();
+        when(userDetailsService.loadUserByUsername("agent")).thenReturn(agent);
+        String token = jwtUtils.generateTokenFromUsername("agent");
+
+        // When
+        Optional<UserDetails> first = jwtTokenVerifier.verify(token);
+        Optional<UserDetails> second = jwtTokenVerifier.verify(token);
+
+        // Then
+        assertEquals(Optional.of(agent), first);
+        assertEquals(Optional.of(agent), second);
+        verify(userDetailsService, times(1)).loadUserByUsername("agent");
+        assertEquals(1, jwtTokenVerifier.getCachedPrincipalCount());
+    }
+
+    @Test
+    void testTokenSignedWithAnotherKeyIsRejected() {
+        JwtUtils otherKey = new JwtUtils();
+        ReflectionTestUtils.setField(otherKey, "jwtSecret", SECRET.replace('2', '3'));
+        ReflectionTestUtils.setField(otherKey, "jwtExpirationMs", 60_000);
+        otherKey.init();
+
+        assertTrue(jwtTokenVerifier.verify(otherKey.generateTokenFromUsername("admin")).isEmpty());
+        verifyNoInteractions(userDetailsService);
+        assertEquals(0, jwtTokenVerifier.getCachedPrincipalCount());
+    }
+
+    @Test
+    void testExpiredOrMalformedTokenIsRejected() {
+        String expired = jwtUtils(-1_000).generateTokenFromUsername("agent");
+
+        assertTrue(jwtTokenVerifier.verify(expired).isEmpty());
+        assertTrue(jwtTokenVerifier.verify("not-a-token").isEmpty());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    private static JwtUtils jwtUtils(int expirationMs) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", expirationMs);
+        utils.init();
+        return utils;
+    }
+}
@@ -0,0 +1,75 @@
+package com.freightops.dashboard.service;
+
+import com.freightops.enums.LTAStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardCountersTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 1);
+
+    @Test
+    void testStatusChangesMoveCountsBetweenStatuses() {
+        // Given
+        DashboardCounters counters = new DashboardCounters(LocalDateTime.now());
+        counters.setLtaCount(LTAStatus.DRAFT, 2);
+
+        // When: one new LTA, then one DRAFT -> CONFIRMED
+        counters.ltaStatusChanged(null, LTAStatus.DRAFT);
+        counters.ltaStatusChanged(LTAStatus.DRAFT, LTAStatus.CONFIRMED);
+
+        // Then
+        assertEquals(2, counters.getLtaCount(LTAStatus.DRAFT));
+        assertEquals(1, counters.getLtaCount(LTAStatus.CONFIRMED));
+        assertEquals(3, counters.getTotalLtaCount());
+    }
+
+    @Test
+    void testBookedTotalsFollowCreationAndCancellation() {
+        // Given
+        DashboardCounters counters = new DashboardCounters(LocalDateTime.now());
+
+        // When: two LTAs on FIH - FBM, one on FIH - GOM, then the first one is cancelled
+        counters.addLtas(DAY, 1L, 2L, "FIH - FBM", 7L, "ACME", 1, new BigDecimal("100"));
+        counters.addLtas(DAY, 1L, 2L, null, null, null, 1, new BigDecimal("50"));
+        counters.addLtas(DAY, 1L, 3L, "FIH - GOM", null, null, 1, new BigDecimal("120"));
+        counters.addLtas(DAY, 1L, 2L, "FIH - FBM", 7L, "ACME", -1, new BigDecimal("-100"));
+
+        // Then
+        assertEquals(2, counters.getOverall().getLtaCount());
+        assertEquals(0, new BigDecimal("170").compareTo(counters.getOverall().getBookedValue()));
+        assertEquals(0, new BigDecimal("170").compareTo(counters.getDay(DAY).getBookedValue()));
+
+        List<DashboardTotals> routes = counters.getTopRoutes(1);
+        assertEquals(1, routes.size());
+        assertEquals("FIH - GOM", routes.get(0).getLabel());
+        assertEquals(0, counters.getTopClients(5).get(0).getLtaCount());
+    }
+
+    @Test
+    void testInvoicesAndPaymentsAddToDayClientAndOverall() {
+        // Given
+        DashboardCounters counters = new DashboardCounters(LocalDateTime.now());
+
+        // When
+        counters.addInvoiced(DAY, 7L, null, new BigDecimal("300"));
+        counters.addCollected(DAY, 7L, "ACME", new BigDecimal("120"));
+        counters.addCollected(DAY.plusDays(1), 8L, "Globex", new BigDecimal("80"));
+
+        // Then
+        assertEquals(0, new BigDecimal("200").compareTo(counters.getOverall().getCollectedAmount()));
+        assertEquals(0, new BigDecimal("300").compareTo(counters.getDay(DAY).getInvoicedAmount()));
+        assertNull(counters.getDay(DAY.minusDays(1)));
+
+        DashboardTotals acme = counters.getTopClients(1).get(0);
+        assertEquals("7", acme.getKey());
+        assertEquals("ACME", acme.getLabel(), "Label taken from the first event that carries one");
+        assertEquals(0, new BigDecimal("120").compareTo(acme.getCollectedAmount()));
+    }
+}
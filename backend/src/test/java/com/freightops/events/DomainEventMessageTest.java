@@ -0,0 +1,81 @@
+package com.freightops.events;
+
+import com.freightops.enums.LTAStatus;
+import com.freightops.enums.ShipmentStatus;
+import com.freightops.events.dto.DomainEventMessage;
+import com.freightops.events.enums.DomainEventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainEventMessageTest {
+
+    @Test
+    void testLTAStatusChangedEventRoundTrip() {
+        // Given
+        LocalDateTime changedAt = LocalDateTime.of(2024, 5, 2, 14, 0);
+        LTAStatusChangedEvent event = new LTAStatusChangedEvent(this, 7L, "LTA-00000070", "TRK-000000000707",
+                LTAStatus.CONFIRMED, LTAStatus.IN_TRANSIT, changedAt);
+
+        // When
+        DomainEventMessage message = event.toMessage();
+        LTAStatusChangedEvent received = LTAStatusChangedEvent.fromMessage(this, message);
+
+        // Then
+        assertEquals(DomainEventType.LTA_STATUS_CHANGED, message.getEventType());
+        assertEquals("LTA-00000070", message.getLtaNumber());
+        assertEquals("TRK-000000000707", message.getTrackingNumber());
+        assertNull(message.getReference());
+        assertNull(message.getDescription());
+        assertEquals(7L, received.getLtaId());
+        assertEquals("LTA-00000070", received.getLtaNumber());
+        assertEquals("TRK-000000000707", received.getTrackingNumber());
+        assertEquals(LTAStatus.CONFIRMED, received.getPreviousStatus());
+        assertEquals(LTAStatus.IN_TRANSIT, received.getNewStatus());
+        assertEquals(changedAt, received.getChangedAt());
+    }
+
+    @Test
+    void testTrackingEventAddedEventRoundTrip() {
+        // Given
+        TrackingEventAddedEvent event = new TrackingEventAddedEvent(this, 3L, "FO00000000031",
+                ShipmentStatus.PENDING, "Envoi créé dans le système", "Douala", LocalDateTime.now());
+
+        // When
+        TrackingEventAddedEvent received = TrackingEventAddedEvent.fromMessage(this, event.toMessage());
+
+        // Then
+        assertEquals(DomainEventType.SHIPMENT_TRACKING_ADDED, received.getEventType());
+        assertEquals("FO00000000031", received.getTrackingNumber());
+        assertEquals(ShipmentStatus.PENDING, received.getStatus());
+        assertEquals("Douala", received.getLocation());
+    }
+
+    @Test
+    void testLTAStatusBatchChangedEventRoundTrip() {
+        // Given
+        LocalDateTime changedAt = LocalDateTime.of(2024, 5, 2, 18, 0);
+        LTAStatusBatchChangedEvent event = new LTAStatusBatchChangedEvent(this, LTAStatus.IN_TRANSIT, changedAt,
+                List.of(new LTAStatusBatchChangedEvent.Item(7L, "LTA-00000070", "TRK-000000000707",
+                        LTAStatus.CONFIRMED),
+                        new LTAStatusBatchChangedEvent.Item(8L, "LTA-00000080", "TRK-000000000808",
+                                LTAStatus.DRAFT)));
+
+        // When
+        DomainEventMessage message = event.toMessage();
+        LTAStatusBatchChangedEvent received = LTAStatusBatchChangedEvent.fromMessage(this, message);
+
+        // Then
+        assertEquals(DomainEventType.LTA_STATUS_BATCH_CHANGED, message.getEventType());
+        assertEquals(LTAStatus.IN_TRANSIT, received.getNewStatus());
+        assertEquals(changedAt, received.getChangedAt());
+        assertEquals(2, received.getItems().size());
+        assertEquals("LTA-00000080", message.getItems().get(1).getLtaNumber());
+        assertEquals("LTA-00000080", received.getItems().get(1).getLtaNumber());
+        assertEquals("TRK-000000000808", received.getItems().get(1).getTrackingNumber());
+        assertEquals(LTAStatus.DRAFT, received.getItems().get(1).getPreviousStatus());
+    }
+}
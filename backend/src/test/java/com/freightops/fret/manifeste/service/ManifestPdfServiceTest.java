@@ -3,11 +3,13 @@ package com.freightops.fret.manifeste.service;
 import com.freightops.fret.manifeste.model.FreightManifest;
 import com.freightops.fret.manifeste.model.ManifestItem;
 import com.freightops.fret.manifeste.repository.FreightManifestRepository;
+import com.freightops.reporting.service.ReportTemplateRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -25,6 +27,9 @@ class ManifestPdfServiceTest {
     @Mock
     private FreightManifestRepository freightManifestRepository;
 
+    @Spy
+    private ReportTemplateRegistry reportTemplateRegistry = new ReportTemplateRegistry();
+
     @InjectMocks
     private ManifestPdfService manifestPdfService;
 
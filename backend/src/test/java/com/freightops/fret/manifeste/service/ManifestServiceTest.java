@@ -0,0 +1,36 @@
+package com.freightops.fret.manifeste.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManifestServiceTest {
+
+    @Test
+    void testCreatedDateSortMapsToCreatedAtWithIdTieBreaker() {
+        // Given
+        Pageable requested = PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "createdDate"));
+
+        // When
+        Pageable pageable = ManifestService.toRepositoryPageable(requested);
+
+        // Then
+        assertEquals(2, pageable.getPageNumber());
+        assertEquals(20, pageable.getPageSize());
+        assertEquals(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")), pageable.getSort());
+    }
+
+    @Test
+    void testUnknownSortPropertyFallsBackToNewestFirst() {
+        // When
+        Pageable pageable = ManifestService.toRepositoryPageable(PageRequest.of(0, 10, Sort.by("items")));
+
+        // Then
+        assertEquals(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")), pageable.getSort());
+        assertEquals(Sort.by(Sort.Order.asc("status"), Sort.Order.desc("id")),
+                ManifestService.toRepositoryPageable(PageRequest.of(0, 10, Sort.by("status"))).getSort());
+    }
+}
@@ -0,0 +1,75 @@
+package com.freightops.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPageTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 6, 1, 12, 0, 0, 123456000);
+
+    @Test
+    void testCursorRoundTrip() {
+        // Given
+        String token = SeekCursor.after(T0, 42L).encode();
+
+        // When
+        SeekCursor decoded = SeekCursor.decode(token);
+
+        // Then
+        assertEquals(T0, decoded.getCreatedAt());
+        assertEquals(42L, decoded.getId());
+        assertSame(SeekCursor.first(), SeekCursor.decode(null));
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void testExtraRowYieldsNextCursorFromLastReturnedRow() {
+        // Given: size + 1 rows fetched, newest first
+        List<Row> rows = List.of(new Row(3L, T0), new Row(2L, T0), new Row(1L, T0.minusSeconds(1)));
+
+        // When
+        CursorPage<Row> page = CursorPage.of(rows, 2, Row::createdAt, Row::id, null);
+
+        // Then
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertNull(page.getTotalElements());
+        SeekCursor next = SeekCursor.decode(page.getNextCursor());
+        assertEquals(T0, next.getCreatedAt());
+        assertEquals(2L, next.getId());
+    }
+
+    @Test
+    void testLastPageHasNoCursor() {
+        // When
+        CursorPage<Row> page = CursorPage.of(List.of(new Row(1L, T0)), 2, Row::createdAt, Row::id, 1L);
+
+        // Then
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(1L, page.getTotalElements());
+        assertEquals(3, SeekCursor.limit(2).getPageSize(), "One extra row is fetched to detect a next page");
+    }
+
+    private static final class Row {
+        private final Long id;
+        private final LocalDateTime createdAt;
+
+        private Row(Long id, LocalDateTime createdAt) {
+            this.id = id;
+            this.createdAt = createdAt;
+        }
+
+        private Long id() {
+            return id;
+        }
+
+        private LocalDateTime createdAt() {
+            return createdAt;
+        }
+    }
+}
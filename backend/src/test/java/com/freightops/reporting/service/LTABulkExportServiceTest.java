@@ -0,0 +1,138 @@
+package com.freightops.reporting.service;
+
+import com.freightops.reporting.dto.LTABulkExportRequest;
+import com.freightops.repository.LTARepository;
+import com.freightops.service.LTAJasperService;
+import jakarta.persistence.EntityNotFoundException;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.export.ExporterInputItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LTABulkExportServiceTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private LTARepository ltaRepository;
+
+    @Mock
+    private LTAJasperService ltaJasperService;
+
+    private LTABulkExportService ltaBulkExportService;
+
+    @BeforeEach
+    void setUp() {
+        ltaBulkExportService = new LTABulkExportService(new ThreadPoolTaskExecutor(), transactionManager,
+                ltaRepository, ltaJasperService);
+        ReflectionTestUtils.setField(ltaBulkExportService, "maxDocuments", 3);
+    }
+
+    @Test
+    void testRequestedIdsAreDeduplicatedInOrder() {
+        // Given
+        when(ltaRepository.findExistingIdsIn(List.of(7L, 3L, 5L))).thenReturn(List.of(3L, 5L, 7L));
+
+        // When
+        List<Long> ids = ltaBulkExportService.resolveIds(request(List.of(7L, 3L, 7L, 5L)));
+
+        // Then
+        assertEquals(List.of(7L, 3L, 5L), ids);
+    }
+
+    @Test
+    void testUnknownIdIsRejectedBeforeStreaming() {
+        // Given
+        when(ltaRepository.findExistingIdsIn(any())).thenReturn(List.of(1L));
+
+        // When
+        EntityNotFoundException e = assertThrows(EntityNotFoundException.class,
+                () -> ltaBulkExportService.resolveIds(request(List.of(1L, 9L))));
+
+        // Then
+        assertTrue(e.getMessage().contains("9"));
+        verifyNoInteractions(ltaJasperService);
+    }
+
+    @Test
+    void testTooManyIdsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ltaBulkExportService.resolveIds(request(List.of(1L, 2L, 3L, 4L))));
+        verify(ltaRepository, never()).findExistingIdsIn(any());
+    }
+
+    @Test
+    void testExporterItemsAreReadForwardOnly() {
+        // Given
+        CountingPrints source = new CountingPrints(3);
+        List<ExporterInputItem> items = new LTABulkExportService.ForwardOnlyExporterItems(source, 3);
+
+        // When / Then: la taille ne rend rien, l'élément courant peut être relu
+        assertEquals(3, items.size());
+        assertEquals(0, source.rendered);
+        ExporterInputItem first = items.get(0);
+        assertSame(first, items.get(0));
+        assertEquals(1, source.rendered);
+
+        // Un saut en avant consomme les documents intermédiaires
+        assertSame(source.prints.get(2), items.get(2).getJasperPrint());
+        assertEquals(3, source.rendered);
+
+        // Revenir en arrière ou relire la liste échoue au lieu de rendre à nouveau
+        assertThrows(IllegalStateException.class, () -> items.get(1));
+        assertThrows(IllegalStateException.class, () -> items.iterator().next());
+        assertThrows(IndexOutOfBoundsException.class, () -> items.get(3));
+        assertEquals(3, source.rendered);
+    }
+
+    @Test
+    void testExporterItemsFailWhenRenderingStopsEarly() {
+        List<ExporterInputItem> items = new LTABulkExportService.ForwardOnlyExporterItems(new CountingPrints(1), 2);
+
+        items.get(0);
+        assertThrows(IllegalStateException.class, () -> items.get(1));
+    }
+
+    private static LTABulkExportRequest request(List<Long> ids) {
+        LTABulkExportRequest request = new LTABulkExportRequest();
+        request.setIds(ids);
+        return request;
+    }
+
+    private static final class CountingPrints implements Iterator<JasperPrint> {
+        private final List<JasperPrint> prints = new ArrayList<>();
+        private int rendered;
+
+        private CountingPrints(int count) {
+            for (int i = 0; i < count; i++) {
+                prints.add(new JasperPrint());
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rendered < prints.size();
+        }
+
+        @Override
+        public JasperPrint next() {
+            return prints.get(rendered++);
+        }
+    }
+}
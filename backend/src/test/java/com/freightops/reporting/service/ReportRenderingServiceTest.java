@@ -0,0 +1,161 @@
+package com.freightops.reporting.service;
+
+import com.freightops.entity.LTA;
+import com.freightops.fret.manifeste.service.ManifestPdfService;
+import com.freightops.reporting.dto.ReportJobRequest;
+import com.freightops.reporting.enums.ReportJobStatus;
+import com.freightops.reporting.enums.ReportType;
+import com.freightops.reporting.model.ReportJob;
+import com.freightops.service.InvoiceJasperService;
+import com.freightops.service.InvoiceService;
+import com.freightops.service.LTAJasperService;
+import com.freightops.service.LTAService;
+import com.freightops.service.TreasuryReportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportRenderingServiceTest {
+
+    @Mock
+    private ThreadPoolTaskExecutor reportRenderExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private LTAService ltaService;
+
+    @Mock
+    private LTAJasperService ltaJasperService;
+
+    @Mock
+    private InvoiceService invoiceService;
+
+    @Mock
+    private InvoiceJasperService invoiceJasperService;
+
+    @Mock
+    private ManifestPdfService manifestPdfService;
+
+    @Mock
+    private TreasuryReportService treasuryReportService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReportRenderingService reportRenderingService;
+
+    @BeforeEach
+    void setUp() {
+        reportRenderingService = new ReportRenderingService(reportRenderExecutor, transactionManager, meterRegistry,
+                ltaService, ltaJasperService, invoiceService, invoiceJasperService, manifestPdfService,
+                treasuryReportService);
+        ReflectionTestUtils.setField(reportRenderingService, "jobTtlMinutes", 10L);
+    }
+
+    @Test
+    void testJobGoesFromQueuedToCompletedWithItsResult() throws Exception {
+        // Given
+        LTA lta = new LTA();
+        when(ltaService.getLTAById(7L)).thenReturn(Optional.of(lta));
+        when(ltaJasperService.generateLTAPdf(lta)).thenReturn(new byte[] { 1, 2, 3 });
+
+        // When: soumis, pas encore exécuté par le pool
+        ReportJob job = reportRenderingService.submit(request(ReportType.LTA, 7L));
+
+        // Then
+        assertEquals(ReportJobStatus.QUEUED, reportRenderingService.getJob(job.getId()).orElseThrow().getStatus());
+        assertFalse(job.isDone());
+        assertEquals("lta_7.pdf", job.getFileName());
+
+        // When: le pool exécute le rendu
+        runSubmittedTask();
+
+        // Then
+        ReportJob polled = reportRenderingService.getJob(job.getId()).orElseThrow();
+        assertEquals(ReportJobStatus.COMPLETED, polled.getStatus());
+        assertNotNull(polled.getCompletedAt());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, polled.getResult().get());
+    }
+
+    @Test
+    void testFailedRenderIsReportedOnTheJob() {
+        // Given
+        when(ltaService.getLTAById(9L)).thenReturn(Optional.empty());
+        ReportJob job = reportRenderingService.submit(request(ReportType.LTA, 9L));
+
+        // When
+        runSubmittedTask();
+
+        // Then
+        assertEquals(ReportJobStatus.FAILED, job.getStatus());
+        assertTrue(job.getErrorMessage().contains("9"));
+        assertThrows(ExecutionException.class, () -> job.getResult().get());
+    }
+
+    @Test
+    void testFullQueueRejectsTheJobAndForgetsIt() {
+        // Given
+        doThrow(new RejectedExecutionException("queue full")).when(reportRenderExecutor).execute(any(Runnable.class));
+
+        // When / Then
+        assertThrows(RejectedExecutionException.class,
+                () -> reportRenderingService.submit(request(ReportType.MANIFEST, 3L)));
+        assertEquals(1.0, meterRegistry.get("reports.render.rejected").tag("type", "MANIFEST").counter().count());
+        verifyNoInteractions(manifestPdfService);
+    }
+
+    @Test
+    void testCompletedJobExpiresAfterTtl() throws Exception {
+        // Given
+        when(manifestPdfService.generateManifestPdf(3L)).thenReturn(new byte[] { 4 });
+        ReportJob job = reportRenderingService.submit(request(ReportType.MANIFEST, 3L));
+        runSubmittedTask();
+        assertTrue(reportRenderingService.getJob(job.getId()).isPresent());
+
+        // When: onze minutes plus tard
+        ReflectionTestUtils.setField(reportRenderingService, "clock",
+                Clock.offset(Clock.systemDefaultZone(), Duration.ofMinutes(11)));
+
+        // Then
+        assertTrue(reportRenderingService.getJob(job.getId()).isEmpty());
+    }
+
+    @Test
+    void testResourceIdIsRequired() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reportRenderingService.submit(request(ReportType.INVOICE, null)));
+        verifyNoInteractions(reportRenderExecutor);
+    }
+
+    private void runSubmittedTask() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(reportRenderExecutor).execute(task.capture());
+        task.getValue().run();
+    }
+
+    private static ReportJobRequest request(ReportType type, Long resourceId) {
+        ReportJobRequest request = new ReportJobRequest();
+        request.setType(type);
+        request.setResourceId(resourceId);
+        return request;
+    }
+}
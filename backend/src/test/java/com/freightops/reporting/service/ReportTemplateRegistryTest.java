@@ -0,0 +1,42 @@
+package com.freightops.reporting.service;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportTemplateRegistryTest {
+
+    private final ReportTemplateRegistry registry = new ReportTemplateRegistry();
+
+    @Test
+    void testTemplateIsCompiledOnlyOnce() throws Exception {
+        // When
+        JasperReport first = registry.getReport(ReportTemplateRegistry.MANIFEST_TEMPLATE);
+        JasperReport second = registry.getReport(ReportTemplateRegistry.MANIFEST_TEMPLATE);
+
+        // Then
+        assertNotNull(first);
+        assertSame(first, second, "Compiled report should be reused from the cache");
+    }
+
+    @Test
+    void testEvictForcesRecompilation() throws Exception {
+        // Given
+        JasperReport first = registry.getReport(ReportTemplateRegistry.MANIFEST_TEMPLATE);
+
+        // When
+        registry.evict(ReportTemplateRegistry.MANIFEST_TEMPLATE);
+        JasperReport second = registry.getReport(ReportTemplateRegistry.MANIFEST_TEMPLATE);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(first.getName(), second.getName());
+    }
+
+    @Test
+    void testMissingTemplateThrows() {
+        assertThrows(JRException.class, () -> registry.getReport("reports/does_not_exist.jrxml"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.freightops.search.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LikeSearchBackendTest {
+
+    @Test
+    void testScoreRanksExactThenPrefixThenWordThenSubstring() {
+        double exact = LikeSearchBackend.score("acme", "ACME");
+        double prefix = LikeSearchBackend.score("acme", "Acme Logistics");
+        double word = LikeSearchBackend.score("acme", "Groupe Acme");
+        double substring = LikeSearchBackend.score("acme", "Bacmeco");
+
+        assertTrue(exact > prefix);
+        assertTrue(prefix > word);
+        assertTrue(word > substring);
+        assertTrue(substring > 0);
+        assertEquals(0, LikeSearchBackend.score("acme", "Other", null));
+    }
+
+    @Test
+    void testScoreTakesBestField() {
+        assertEquals(1.0, LikeSearchBackend.score("lta-2024-0001", "Shipper", "LTA-2024-0001"));
+    }
+
+    @Test
+    void testContainsPatternEscapesWildcards() {
+        assertEquals("%50\\%\\_off%", SearchBackend.containsPattern("50%_off"));
+    }
+
+    @Test
+    void testQueryIsNormalizedAndValidated() {
+        assertEquals("acme logistics", SearchService.normalize("  ACME   Logistics "));
+        assertThrows(IllegalArgumentException.class, () -> SearchService.normalize(" a "));
+        assertThrows(IllegalArgumentException.class, () -> SearchService.normalize(null));
+    }
+}
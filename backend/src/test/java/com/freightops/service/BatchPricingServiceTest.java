@@ -0,0 +1,108 @@
+package com.freightops.service;
+
+import com.freightops.dto.BatchPricingLine;
+import com.freightops.dto.BatchPricingResult;
+import com.freightops.entity.City;
+import com.freightops.entity.Tariff;
+import com.freightops.repository.CityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchPricingServiceTest {
+
+    @Mock
+    private TariffMatrixService tariffMatrixService;
+
+    @Mock
+    private CityRepository cityRepository;
+
+    private BatchPricingService batchPricingService;
+
+    private final City kinshasa = city(1L, "FIH");
+    private final City lubumbashi = city(2L, "FBM");
+
+    @BeforeEach
+    void setUp() {
+        Tariff tariff = new Tariff(kinshasa, lubumbashi, new BigDecimal("3.00"));
+        tariff.setId(10L);
+        lenient().when(tariffMatrixService.getMatrix())
+                .thenReturn(TariffMatrix.of(List.of(tariff), BigDecimal.ONE, BigDecimal.TEN));
+        lenient().when(cityRepository.findAll()).thenReturn(List.of(kinshasa, lubumbashi));
+
+        batchPricingService = new BatchPricingService(new LTAService(), tariffMatrixService, cityRepository);
+    }
+
+    @Test
+    void testPriceUsesChargeableWeightAndReportsLineErrors() {
+        // Given
+        BatchPricingLine light = new BatchPricingLine("A", 1L, 2L, null, null, new BigDecimal("10"), null);
+        BatchPricingLine bulky = new BatchPricingLine("B", null, null, "fih", "FBM", new BigDecimal("10"),
+                new BigDecimal("0.5"));
+        BatchPricingLine unknown = new BatchPricingLine("C", 1L, 99L, null, null, new BigDecimal("10"), null);
+
+        // When
+        List<BatchPricingResult> results = batchPricingService.price(List.of(light, bulky, unknown));
+
+        // Then
+        assertEquals(0, new BigDecimal("30").compareTo(results.get(0).getCost()));
+        assertEquals(10L, results.get(0).getTariffId());
+        assertEquals(0, new BigDecimal("83.50").compareTo(results.get(1).getChargeableWeight()),
+                "0.5 m3 x 167 kg/m3 outweighs 10 kg");
+        assertEquals(0, new BigDecimal("250.50").compareTo(results.get(1).getCost()));
+        assertNull(results.get(2).getCost());
+        assertEquals("Unknown destination city: 99", results.get(2).getError());
+        verify(tariffMatrixService, times(1)).getMatrix();
+        verify(cityRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testPriceCsvStreamsOneResultPerLine() throws Exception {
+        // Given
+        String csv = "reference;origin;destination;weight;volume\n"
+                + "R1;FIH;FBM;10,5;\n"
+                + "R2;FIH;FBM;abc;\n";
+        BufferedReader reader = new BufferedReader(new StringReader(csv));
+        StringWriter writer = new StringWriter();
+
+        // When
+        BatchPricingService.CsvLayout layout = batchPricingService.readCsvHeader(reader);
+        int lines = batchPricingService.priceCsv(layout, reader, writer);
+
+        // Then
+        String[] output = writer.toString().split("\n");
+        assertEquals(2, lines);
+        assertEquals(3, output.length);
+        assertTrue(output[1].startsWith("1,R1,1,2,10.5,"));
+        assertTrue(output[1].contains(",31.5"));
+        assertTrue(output[2].endsWith("Invalid weight: abc"));
+    }
+
+    @Test
+    void testCsvHeaderMustNameRequiredColumns() {
+        BufferedReader reader = new BufferedReader(new StringReader("origin,destination\nFIH,FBM\n"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> batchPricingService.readCsvHeader(reader));
+        assertEquals("Missing CSV column: weight", exception.getMessage());
+    }
+
+    private static City city(Long id, String iataCode) {
+        City city = new City();
+        city.setId(id);
+        city.setIataCode(iataCode);
+        return city;
+    }
+}
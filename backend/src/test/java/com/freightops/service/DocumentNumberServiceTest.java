@@ -0,0 +1,119 @@
+package com.freightops.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentNumberServiceTest {
+
+    @Mock
+    private IdentifierGenerator identifierGenerator;
+
+    @InjectMocks
+    private DocumentNumberService documentNumberService;
+
+    @Test
+    void testLtaNumberCarriesMod7CheckDigit() {
+        // Given
+        when(identifierGenerator.nextValue(eq(DocumentNumberService.LTA_SEQUENCE), any(LongSupplier.class)))
+                .thenReturn(123L);
+
+        // When
+        String ltaNumber = documentNumberService.nextLtaNumber(() -> null);
+
+        // Then
+        assertEquals("LTA-00001234", ltaNumber);
+    }
+
+    @Test
+    void testTrackingNumbersCarryLuhnCheckDigit() {
+        // Given
+        when(identifierGenerator.nextValue(eq(DocumentNumberService.LTA_TRACKING_SEQUENCE), any(LongSupplier.class)))
+                .thenReturn(42L);
+        when(identifierGenerator.nextValue(eq(DocumentNumberService.SHIPMENT_TRACKING_SEQUENCE),
+                any(LongSupplier.class))).thenReturn(7992739871L);
+
+        // When
+        String ltaTracking = documentNumberService.nextLtaTrackingNumber(() -> null);
+        String shipmentTracking = documentNumberService.nextShipmentTrackingNumber(() -> null);
+
+        // Then
+        assertTrue(DocumentNumberService.isValidLuhn(ltaTracking.substring("TRK-".length())));
+        assertEquals("FO79927398713", shipmentTracking);
+    }
+
+    @Test
+    void testInvoiceSequenceIsSeededFromExistingCount() {
+        // Given
+        when(identifierGenerator.nextValue(eq("invoice_2024"), any(LongSupplier.class)))
+                .thenAnswer(invocation -> invocation.<LongSupplier>getArgument(1).getAsLong());
+
+        // When
+        String invoiceNumber = documentNumberService.nextInvoiceNumber(2024, () -> 41L);
+
+        // Then
+        assertEquals("FAC-2024-00042", invoiceNumber);
+    }
+
+    @Test
+    void testLtaNumbersContinueAfterExistingOnes() {
+        // Given: sequences created for the first time, with numbers already issued
+        when(identifierGenerator.nextValue(anyString(), any(LongSupplier.class)))
+                .thenAnswer(invocation -> invocation.<LongSupplier>getArgument(1).getAsLong());
+
+        // When
+        String ltaNumber = documentNumberService.nextLtaNumber(() -> "LTA-00001234");
+        String ltaTracking = documentNumberService.nextLtaTrackingNumber(() -> "TRK-000000000424");
+        String shipmentTracking = documentNumberService.nextShipmentTrackingNumber(() -> null);
+
+        // Then: the serial follows the largest one in the current format
+        assertEquals("LTA-00001245", ltaNumber);
+        assertEquals("TRK-00000000043", ltaTracking.substring(0, 15));
+        assertTrue(DocumentNumberService.isValidLuhn(ltaTracking.substring("TRK-".length())));
+        assertEquals("FO0000000001", shipmentTracking.substring(0, 12));
+    }
+
+    @Test
+    void testNumbersOfAnotherShapeDoNotSeedTheSequence() {
+        assertEquals(123, DocumentNumberService.serialOf("LTA-00001234", "LTA-", 7));
+        assertEquals(0, DocumentNumberService.serialOf("LTA-9F3A21BC", "LTA-", 7));
+        assertEquals(0, DocumentNumberService.serialOf("LTA-123", "LTA-", 7));
+        assertEquals(0, DocumentNumberService.serialOf(null, "LTA-", 7));
+    }
+
+    @Test
+    void testSeedWithoutOneBlockOfHeadroomFailsFast() {
+        // Given: a legacy all-digit number near the top of the 7-digit range
+        when(identifierGenerator.nextValue(anyString(), any(LongSupplier.class)))
+                .thenAnswer(invocation -> invocation.<LongSupplier>getArgument(1).getAsLong());
+
+        // When / Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> documentNumberService.nextLtaNumber(() -> "LTA-99999800"));
+        assertTrue(exception.getMessage().contains("lta_number"));
+        assertEquals("LTA-99999491", documentNumberService.nextLtaNumber(() -> "LTA-99999482"));
+    }
+
+    @Test
+    void testExhaustedSerialsAreRejected() {
+        when(identifierGenerator.nextValue(eq(DocumentNumberService.LTA_SEQUENCE), any(LongSupplier.class)))
+                .thenReturn(10_000_000L);
+
+        assertThrows(IllegalStateException.class, () -> documentNumberService.nextLtaNumber(() -> null));
+    }
+
+    @Test
+    void testLuhnDetectsSingleDigitError() {
+        assertTrue(DocumentNumberService.isValidLuhn("79927398713"));
+        assertFalse(DocumentNumberService.isValidLuhn("79927398723"));
+    }
+}
@@ -3,31 +3,41 @@ package com.freightops.service;
 import com.freightops.entity.LTA;
 import com.freightops.entity.City;
 import com.freightops.entity.Client;
+import com.freightops.dto.BulkStatusRejection;
+import com.freightops.dto.BulkStatusRequest;
+import com.freightops.dto.BulkStatusResult;
+import com.freightops.dto.LTADto;
 import com.freightops.dto.LTARequest;
+import com.freightops.dto.LTAStatusSnapshot;
+import com.freightops.dto.LTAView;
 import com.freightops.enums.LTAStatus;
 import com.freightops.enums.PaymentMode;
 import com.freightops.repository.LTARepository;
 import com.freightops.repository.CityRepository;
 import com.freightops.repository.ClientRepository;
-import com.freightops.repository.TariffRepository;
-import com.freightops.accounting.service.AccountService;
-import com.freightops.accounting.service.FiscalYearService;
-import com.freightops.accounting.service.JournalEntryService;
-import com.freightops.accounting.entity.Account;
-import com.freightops.accounting.entity.FiscalYear;
-import com.freightops.accounting.entity.JournalEntry;
-import com.freightops.accounting.enums.AccountType;
+import com.freightops.accounting.service.AccountingOutboxService;
 import com.freightops.accounting.enums.SourceType;
+import com.freightops.events.DomainEventBus;
+import com.freightops.events.LTAChangedEvent;
+import com.freightops.events.LTAStatusBatchChangedEvent;
+import com.freightops.fret.manifeste.repository.ManifestGoodsRepository;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -47,16 +57,22 @@ class LTAServiceTest {
     private ClientRepository clientRepository;
 
     @Mock
-    private TariffRepository tariffRepository;
+    private TariffMatrixService tariffMatrixService;
+
+    @Mock
+    private AccountingOutboxService accountingOutboxService;
 
     @Mock
-    private AccountService accountService;
+    private DomainEventBus domainEventBus;
 
     @Mock
-    private FiscalYearService fiscalYearService;
+    private DocumentNumberService documentNumberService;
 
     @Mock
-    private JournalEntryService journalEntryService;
+    private LTAStatusHistoryService ltaStatusHistoryService;
+
+    @Mock
+    private ManifestGoodsRepository manifestGoodsRepository;
 
     @InjectMocks
     private LTAService ltaService;
@@ -65,9 +81,6 @@ class LTAServiceTest {
     private City originCity;
     private City destinationCity;
     private Client client;
-    private FiscalYear fiscalYear;
-    private Account clientAccount;
-    private Account salesAccount;
 
     @BeforeEach
     void setUp() {
@@ -84,23 +97,6 @@ class LTAServiceTest {
         client.setId(1L);
         client.setName("Test Client");
 
-        fiscalYear = new FiscalYear();
-        fiscalYear.setId(1L);
-        fiscalYear.setStartDate(LocalDate.of(2024, 1, 1));
-        fiscalYear.setEndDate(LocalDate.of(2024, 12, 31));
-
-        clientAccount = new Account();
-        clientAccount.setId(1L);
-        clientAccount.setAccountNumber("411");
-        clientAccount.setAccountName("Clients");
-        clientAccount.setAccountType(AccountType.ASSET);
-
-        salesAccount = new Account();
-        salesAccount.setId(2L);
-        salesAccount.setAccountNumber("701");
-        salesAccount.setAccountName("Ventes de transport");
-        salesAccount.setAccountType(AccountType.REVENUE);
-
         ltaRequest = new LTARequest();
         ltaRequest.setOriginCityId(1L);
         ltaRequest.setDestinationCityId(2L);
@@ -111,10 +107,13 @@ class LTAServiceTest {
         ltaRequest.setPaymentMode(PaymentMode.CASH);
         ltaRequest.setPackageNature("Electronics");
         ltaRequest.setPackageCount(2);
+
+        // No tariff for the route: default rate applies (unused by the bulk status tests)
+        lenient().when(tariffMatrixService.getMatrix()).thenReturn(TariffMatrix.empty());
     }
 
     @Test
-    void testCreateLTA_ShouldGenerateAccountingEntries() {
+    void testCreateLTA_ShouldEnqueueAccountingEvent() {
         // Given
         LTA savedLTA = new LTA();
         savedLTA.setId(1L);
@@ -128,10 +127,6 @@ class LTAServiceTest {
         when(cityRepository.findById(2L)).thenReturn(Optional.of(destinationCity));
         when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
         when(ltaRepository.save(any(LTA.class))).thenReturn(savedLTA);
-        when(ltaRepository.existsByLtaNumber(anyString())).thenReturn(false);
-        when(fiscalYearService.getCurrentFiscalYear()).thenReturn(fiscalYear);
-        when(accountService.getAccountByNumber("411")).thenReturn(clientAccount);
-        when(accountService.getAccountByNumber("701")).thenReturn(salesAccount);
 
         // When
         LTA result = ltaService.createLTA(ltaRequest);
@@ -141,120 +136,206 @@ class LTAServiceTest {
         assertEquals("LTA-TEST-001", result.getLtaNumber());
         assertEquals(new BigDecimal("21.0"), result.getCalculatedCost());
 
-        // Verify accounting integration was called
-        verify(fiscalYearService).getCurrentFiscalYear();
-        verify(accountService).getAccountByNumber("411");
-        verify(accountService).getAccountByNumber("701");
-        verify(journalEntryService).saveJournalEntry(any(JournalEntry.class));
+        // Verify accounting integration was deferred to the outbox
+        verify(accountingOutboxService).enqueue(SourceType.LTA, 1L, "SYSTEM");
+        verify(ltaStatusHistoryService).record(savedLTA, null, savedLTA.getStatus(), null, null);
     }
 
     @Test
-    void testCreateLTA_ShouldHandleAccountingErrorGracefully() {
+    void testCreateLTA_ShouldCalculateCostCorrectly() {
         // Given
         LTA savedLTA = new LTA();
         savedLTA.setId(1L);
-        savedLTA.setLtaNumber("LTA-TEST-002");
         savedLTA.setCalculatedCost(new BigDecimal("21.0"));
 
         when(cityRepository.findById(1L)).thenReturn(Optional.of(originCity));
         when(cityRepository.findById(2L)).thenReturn(Optional.of(destinationCity));
         when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
         when(ltaRepository.save(any(LTA.class))).thenReturn(savedLTA);
-        when(ltaRepository.existsByLtaNumber(anyString())).thenReturn(false);
-        when(fiscalYearService.getCurrentFiscalYear()).thenReturn(null); // Simulate no fiscal year
 
         // When
         LTA result = ltaService.createLTA(ltaRequest);
 
         // Then
-        assertNotNull(result);
-        assertEquals("LTA-TEST-002", result.getLtaNumber());
-
-        // Verify LTA creation succeeded despite accounting error
-        verify(ltaRepository).save(any(LTA.class));
-        verify(journalEntryService, never()).saveJournalEntry(any(JournalEntry.class));
+        verify(ltaRepository).save(argThat(lta -> lta.getCalculatedCost().equals(new BigDecimal("21.0")) // 10.5 * 2.0
+                                                                                                         // default rate
+        ));
     }
 
     @Test
-    void testCreateLTA_ShouldCalculateCostCorrectly() {
-        // Given
+    void testCreateLTA_WithoutClient_ShouldWork() {
+        // Given - LTA request without client (CASH payment)
+        ltaRequest.setClientId(null);
+        ltaRequest.setPaymentMode(PaymentMode.CASH);
+
         LTA savedLTA = new LTA();
         savedLTA.setId(1L);
+        savedLTA.setLtaNumber("LTA-TEST-004");
         savedLTA.setCalculatedCost(new BigDecimal("21.0"));
 
         when(cityRepository.findById(1L)).thenReturn(Optional.of(originCity));
         when(cityRepository.findById(2L)).thenReturn(Optional.of(destinationCity));
-        when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
         when(ltaRepository.save(any(LTA.class))).thenReturn(savedLTA);
-        when(ltaRepository.existsByLtaNumber(anyString())).thenReturn(false);
-        when(fiscalYearService.getCurrentFiscalYear()).thenReturn(fiscalYear);
-        when(accountService.getAccountByNumber("411")).thenReturn(clientAccount);
-        when(accountService.getAccountByNumber("701")).thenReturn(salesAccount);
 
         // When
         LTA result = ltaService.createLTA(ltaRequest);
 
         // Then
-        verify(ltaRepository).save(argThat(lta -> lta.getCalculatedCost().equals(new BigDecimal("21.0")) // 10.5 * 2.0
-                                                                                                         // default rate
-        ));
+        assertNotNull(result);
+        verify(clientRepository, never()).findById(any());
+        verify(accountingOutboxService).enqueue(SourceType.LTA, 1L, "SYSTEM");
     }
 
     @Test
-    void testAccountingIntegration_ShouldCreateCorrectJournalEntries() {
-        // Given
-        LTA savedLTA = new LTA();
-        savedLTA.setId(1L);
-        savedLTA.setLtaNumber("LTA-TEST-003");
-        savedLTA.setClient(client);
-        savedLTA.setCalculatedCost(new BigDecimal("100.0"));
+    void testGetAllLTAs_ShouldReadViewsAndFillMissingCost() {
+        // Given - a projected row without stored cost
+        LTAView view = new LTAView();
+        view.setId(1L);
+        view.setOriginCityId(1L);
+        view.setDestinationCityId(2L);
+        view.setTotalWeight(new BigDecimal("10.5"));
+        Pageable pageable = PageRequest.of(0, 20);
+        when(ltaRepository.findAllViews(pageable)).thenReturn(new PageImpl<>(List.of(view), pageable, 1));
 
-        when(cityRepository.findById(1L)).thenReturn(Optional.of(originCity));
-        when(cityRepository.findById(2L)).thenReturn(Optional.of(destinationCity));
-        when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
-        when(ltaRepository.save(any(LTA.class))).thenReturn(savedLTA);
-        when(ltaRepository.existsByLtaNumber(anyString())).thenReturn(false);
-        when(fiscalYearService.getCurrentFiscalYear()).thenReturn(fiscalYear);
-        when(accountService.getAccountByNumber("411")).thenReturn(clientAccount);
-        when(accountService.getAccountByNumber("701")).thenReturn(salesAccount);
+        // When
+        Page<LTAView> result = ltaService.getAllLTAs(pageable);
+
+        // Then
+        assertEquals(0, new BigDecimal("21.0").compareTo(result.getContent().get(0).getCalculatedCost()));
+        verify(ltaRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void testBulkStatusChangeAppliesOneUpdateAndOneEvent() {
+        // Given: two LTAs to load from different statuses, one already in transit
+        when(ltaRepository.findStatusSnapshotsByIdIn(any())).thenReturn(List.of(
+                new LTAStatusSnapshot(1L, "LTA-1", "TRK1", LTAStatus.CONFIRMED),
+                new LTAStatusSnapshot(2L, "LTA-2", "TRK2", LTAStatus.DRAFT),
+                new LTAStatusSnapshot(3L, "LTA-3", "TRK3", LTAStatus.IN_TRANSIT)));
+        when(ltaRepository.updateStatusAndQrCodeByIdIn(eq(List.of(1L)), eq(LTAStatus.CONFIRMED),
+                eq(LTAStatus.IN_TRANSIT), anyString(), any())).thenReturn(1);
+        when(ltaRepository.updateStatusAndQrCodeByIdIn(eq(List.of(2L)), eq(LTAStatus.DRAFT),
+                eq(LTAStatus.IN_TRANSIT), anyString(), any())).thenReturn(1);
 
         // When
-        ltaService.createLTA(ltaRequest);
+        BulkStatusResult result = ltaService.updateLTAStatuses(bulkRequest(List.of(1L, 2L, 3L, 2L)));
 
         // Then
-        verify(journalEntryService).saveJournalEntry(argThat(journalEntry -> {
-            return journalEntry.getSourceType() == SourceType.LTA &&
-                    journalEntry.getSourceId().equals(1L) &&
-                    journalEntry.getReference().equals("LTA-TEST-003") &&
-                    journalEntry.getDescription().contains("Création LTA LTA-TEST-003");
-        }));
+        assertTrue(result.isApplied());
+        assertEquals(3, result.getTargetCount());
+        assertEquals(2, result.getUpdatedCount());
+        assertEquals(List.of(3L), result.getUnchangedIds());
+        verify(ltaStatusHistoryService).recordAll(argThat(entries -> entries.size() == 2));
+
+        ArgumentCaptor<LTAStatusBatchChangedEvent> event = ArgumentCaptor.forClass(LTAStatusBatchChangedEvent.class);
+        verify(domainEventBus, times(1)).publish(event.capture());
+        assertEquals(LTAStatus.IN_TRANSIT, event.getValue().getNewStatus());
+        assertEquals(List.of("TRK1", "TRK2"),
+                event.getValue().getItems().stream().map(LTAStatusBatchChangedEvent.Item::getTrackingNumber).toList());
     }
 
     @Test
-    void testCreateLTA_WithoutClient_ShouldWork() {
-        // Given - LTA request without client (CASH payment)
-        ltaRequest.setClientId(null);
-        ltaRequest.setPaymentMode(PaymentMode.CASH);
+    void testBulkStatusChangeIsRejectedAsASet() {
+        // Given: one LTA already delivered, one unknown id
+        when(ltaRepository.findStatusSnapshotsByIdIn(any())).thenReturn(List.of(
+                new LTAStatusSnapshot(1L, "LTA-1", "TRK1", LTAStatus.CONFIRMED),
+                new LTAStatusSnapshot(2L, "LTA-2", "TRK2", LTAStatus.DELIVERED)));
 
-        LTA savedLTA = new LTA();
-        savedLTA.setId(1L);
-        savedLTA.setLtaNumber("LTA-TEST-004");
-        savedLTA.setCalculatedCost(new BigDecimal("21.0"));
+        // When
+        BulkStatusResult result = ltaService.updateLTAStatuses(bulkRequest(List.of(1L, 2L, 9L)));
 
-        when(cityRepository.findById(1L)).thenReturn(Optional.of(originCity));
-        when(cityRepository.findById(2L)).thenReturn(Optional.of(destinationCity));
-        when(ltaRepository.save(any(LTA.class))).thenReturn(savedLTA);
-        when(ltaRepository.existsByLtaNumber(anyString())).thenReturn(false);
-        when(fiscalYearService.getCurrentFiscalYear()).thenReturn(fiscalYear);
-        when(accountService.getAccountByNumber("411")).thenReturn(clientAccount);
-        when(accountService.getAccountByNumber("701")).thenReturn(salesAccount);
+        // Then
+        assertFalse(result.isApplied());
+        assertEquals(0, result.getUpdatedCount());
+        assertEquals(List.of(BulkStatusRejection.NOT_FOUND, BulkStatusRejection.FINAL_STATUS),
+                result.getRejected().stream().map(BulkStatusRejection::getReason).toList());
+        verify(ltaRepository, never()).updateStatusAndQrCodeByIdIn(any(), any(), any(), any(), any());
+        verifyNoInteractions(ltaStatusHistoryService, domainEventBus);
+    }
+
+    @Test
+    void testBulkStatusChangeFailsWhenAnLTAChangedConcurrently() {
+        // Given: LTA 2 is delivered by another request after the set was validated
+        when(ltaRepository.findStatusSnapshotsByIdIn(any())).thenReturn(List.of(
+                new LTAStatusSnapshot(1L, "LTA-1", "TRK1", LTAStatus.CONFIRMED),
+                new LTAStatusSnapshot(2L, "LTA-2", "TRK2", LTAStatus.CONFIRMED)));
+        when(ltaRepository.updateStatusAndQrCodeByIdIn(eq(List.of(1L, 2L)), eq(LTAStatus.CONFIRMED),
+                eq(LTAStatus.IN_TRANSIT), anyString(), any())).thenReturn(1);
+
+        // When / Then: rolled back, no history and no event
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> ltaService.updateLTAStatuses(bulkRequest(List.of(1L, 2L))));
+        verifyNoInteractions(ltaStatusHistoryService, domainEventBus);
+    }
+
+    @Test
+    void testUpdateLTAPublishesChangeForItsTrackingNumber() {
+        // Given
+        LTA lta = new LTA();
+        lta.setId(5L);
+        lta.setLtaNumber("LTA-00000056");
+        lta.setTrackingNumber("TRK-000000000055");
+        lta.setStatus(LTAStatus.CONFIRMED);
+        when(ltaRepository.findById(5L)).thenReturn(Optional.of(lta));
+        when(ltaRepository.save(lta)).thenReturn(lta);
+
+        LTADto ltaDto = new LTADto();
+        ltaDto.setLtaNumber("LTA-00000056");
+        ltaDto.setStatus(LTAStatus.CONFIRMED);
+        ltaDto.setShipper("New Shipper");
 
         // When
-        LTA result = ltaService.createLTA(ltaRequest);
+        ltaService.updateLTA(5L, ltaDto);
+
+        // Then: the cached tracking document of this LTA only is evicted, after commit
+        ArgumentCaptor<LTAChangedEvent> event = ArgumentCaptor.forClass(LTAChangedEvent.class);
+        verify(domainEventBus).publish(event.capture());
+        assertEquals("TRK-000000000055", event.getValue().getTrackingNumber());
+        assertEquals(5L, event.getValue().getLtaId());
+    }
+
+    @Test
+    void testDeleteLTAPublishesChangeForItsTrackingNumber() {
+        // Given
+        LTAView view = new LTAView();
+        view.setId(5L);
+        view.setLtaNumber("LTA-00000056");
+        view.setTrackingNumber("TRK-000000000055");
+        when(ltaRepository.findViewById(5L)).thenReturn(Optional.of(view));
+
+        // When
+        boolean deleted = ltaService.deleteLTA(5L);
 
         // Then
-        assertNotNull(result);
-        verify(clientRepository, never()).findById(any());
-        verify(journalEntryService).saveJournalEntry(any(JournalEntry.class));
+        assertTrue(deleted);
+        verify(ltaRepository).deleteById(5L);
+        ArgumentCaptor<LTAChangedEvent> event = ArgumentCaptor.forClass(LTAChangedEvent.class);
+        verify(domainEventBus).publish(event.capture());
+        assertEquals("TRK-000000000055", event.getValue().getTrackingNumber());
+    }
+
+    @Test
+    void testDeleteUnknownLTAPublishesNothing() {
+        when(ltaRepository.findViewById(9L)).thenReturn(Optional.empty());
+
+        assertFalse(ltaService.deleteLTA(9L));
+        verify(ltaRepository, never()).deleteById(any());
+        verifyNoInteractions(domainEventBus);
+    }
+
+    @Test
+    void testBulkStatusChangeNeedsIdsOrManifest() {
+        BulkStatusRequest<LTAStatus> request = bulkRequest(List.of(1L));
+        request.setManifestNumber("MAN-2024-001");
+
+        assertThrows(IllegalArgumentException.class, () -> ltaService.updateLTAStatuses(request));
+    }
+
+    private static BulkStatusRequest<LTAStatus> bulkRequest(List<Long> ids) {
+        BulkStatusRequest<LTAStatus> request = new BulkStatusRequest<>();
+        request.setIds(ids);
+        request.setStatus(LTAStatus.IN_TRANSIT);
+        request.setReason("Chargement vol ET-841");
+        return request;
     }
 }
@@ -0,0 +1,89 @@
+package com.freightops.service;
+
+import com.freightops.entity.LTA;
+import com.freightops.entity.LTAStatusHistory;
+import com.freightops.enums.LTAStatus;
+import com.freightops.repository.LTAStatusHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LTAStatusHistoryServiceTest {
+
+    @Mock
+    private LTAStatusHistoryRepository ltaStatusHistoryRepository;
+
+    private LTAStatusHistoryService ltaStatusHistoryService;
+
+    private final LTA lta = lta();
+
+    @BeforeEach
+    void setUp() {
+        ltaStatusHistoryService = new LTAStatusHistoryService(ltaStatusHistoryRepository);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTransitionIsRecordedForCurrentUser() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("agent.fih",
+                null, List.of(new SimpleGrantedAuthority("ROLE_AGENT"))));
+
+        // When
+        ltaStatusHistoryService.record(lta, LTAStatus.CONFIRMED, LTAStatus.IN_TRANSIT, "Vol ET-841", "Kinshasa");
+
+        // Then
+        ArgumentCaptor<List<LTAStatusHistory>> saved = ArgumentCaptor.forClass(List.class);
+        verify(ltaStatusHistoryRepository).saveAll(saved.capture());
+        LTAStatusHistory entry = saved.getValue().get(0);
+        assertEquals("TRK123", entry.getTrackingNumber());
+        assertEquals("CONFIRMED", entry.getPreviousStatus());
+        assertEquals("IN_TRANSIT", entry.getNewStatus());
+        assertEquals("agent.fih", entry.getChangedBy());
+        assertEquals("Vol ET-841", entry.getChangeReason());
+        assertEquals("Kinshasa", entry.getLocation());
+        assertNotNull(entry.getChangedAt());
+    }
+
+    @Test
+    void testCreationWithoutUserIsAttributedToSystem() {
+        LTAStatusHistory entry = ltaStatusHistoryService.entry(lta, null, LTAStatus.DRAFT, null, null);
+
+        assertNull(entry.getPreviousStatus());
+        assertEquals("DRAFT", entry.getNewStatus());
+        assertEquals("SYSTEM", entry.getChangedBy());
+    }
+
+    @Test
+    void testEmptyBatchIsNotWritten() {
+        ltaStatusHistoryService.recordAll(List.of());
+
+        verify(ltaStatusHistoryRepository, never()).saveAll(anyList());
+    }
+
+    private static LTA lta() {
+        LTA lta = new LTA();
+        lta.setId(7L);
+        lta.setTrackingNumber("TRK123");
+        return lta;
+    }
+}
@@ -0,0 +1,136 @@
+package com.freightops.service;
+
+import com.freightops.dto.BulkStatusRejection;
+import com.freightops.dto.BulkStatusRequest;
+import com.freightops.dto.BulkStatusResult;
+import com.freightops.dto.ShipmentStatusSnapshot;
+import com.freightops.enums.ShipmentStatus;
+import com.freightops.events.DomainEventBus;
+import com.freightops.events.ShipmentTrackingBatchAddedEvent;
+import com.freightops.fret.manifeste.repository.ManifestGoodsRepository;
+import com.freightops.repository.ShipmentRepository;
+import com.freightops.repository.TrackingEventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShipmentServiceTest {
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    @Mock
+    private TrackingEventRepository trackingEventRepository;
+
+    @Mock
+    private DocumentNumberService documentNumberService;
+
+    @Mock
+    private DomainEventBus domainEventBus;
+
+    @Mock
+    private ManifestGoodsRepository manifestGoodsRepository;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ShipmentService shipmentService;
+
+    @Test
+    void testBulkDeliveryInsertsTrackingEventsInOneBatch() {
+        // Given: two shipments of the manifest out for delivery, one already delivered
+        when(manifestGoodsRepository.findTrackingNumbersByManifestNumber("MAN-2024-001"))
+                .thenReturn(List.of("TRK1", "TRK2", "TRK3"));
+        when(shipmentRepository.findStatusSnapshotsByTrackingNumberIn(List.of("TRK1", "TRK2", "TRK3")))
+                .thenReturn(List.of(
+                        new ShipmentStatusSnapshot(1L, "TRK1", ShipmentStatus.OUT_FOR_DELIVERY),
+                        new ShipmentStatusSnapshot(2L, "TRK2", ShipmentStatus.OUT_FOR_DELIVERY),
+                        new ShipmentStatusSnapshot(3L, "TRK3", ShipmentStatus.DELIVERED)));
+        when(shipmentRepository.updateDeliveredByIdIn(eq(List.of(1L, 2L)), eq(ShipmentStatus.OUT_FOR_DELIVERY),
+                eq(ShipmentStatus.DELIVERED), any())).thenReturn(2);
+
+        BulkStatusRequest<ShipmentStatus> request = new BulkStatusRequest<>();
+        request.setManifestNumber("MAN-2024-001");
+        request.setStatus(ShipmentStatus.DELIVERED);
+        request.setLocation("Lubumbashi");
+
+        // When
+        BulkStatusResult result = shipmentService.updateShipmentStatuses(request);
+
+        // Then
+        assertTrue(result.isApplied());
+        assertEquals(3, result.getTargetCount());
+        assertEquals(2, result.getUpdatedCount());
+        assertEquals(List.of(3L), result.getUnchangedIds());
+        verify(shipmentRepository, never()).updateStatusByIdIn(any(), any(), any(), any());
+
+        ArgumentCaptor<SqlParameterSource[]> events = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), events.capture());
+        assertEquals(2, events.getValue().length);
+        assertEquals(2L, events.getValue()[1].getValue("shipmentId"));
+        assertEquals("DELIVERED", events.getValue()[1].getValue("status"));
+        assertEquals("Livré", events.getValue()[1].getValue("description"));
+        assertEquals("Lubumbashi", events.getValue()[1].getValue("location"));
+
+        ArgumentCaptor<ShipmentTrackingBatchAddedEvent> event =
+                ArgumentCaptor.forClass(ShipmentTrackingBatchAddedEvent.class);
+        verify(domainEventBus, times(1)).publish(event.capture());
+        assertEquals(ShipmentStatus.DELIVERED, event.getValue().getStatus());
+        assertEquals(List.of("TRK1", "TRK2"), event.getValue().getItems().stream()
+                .map(ShipmentTrackingBatchAddedEvent.Item::getTrackingNumber).toList());
+    }
+
+    @Test
+    void testBulkStatusChangeIsRejectedAsASet() {
+        // Given: one shipment lost, one unknown id
+        when(shipmentRepository.findStatusSnapshotsByIdIn(any())).thenReturn(List.of(
+                new ShipmentStatusSnapshot(1L, "TRK1", ShipmentStatus.PICKED_UP),
+                new ShipmentStatusSnapshot(2L, "TRK2", ShipmentStatus.LOST)));
+
+        // When
+        BulkStatusResult result = shipmentService.updateShipmentStatuses(bulkRequest(List.of(1L, 2L, 9L)));
+
+        // Then
+        assertFalse(result.isApplied());
+        assertEquals(List.of(BulkStatusRejection.NOT_FOUND, BulkStatusRejection.FINAL_STATUS),
+                result.getRejected().stream().map(BulkStatusRejection::getReason).toList());
+        verify(shipmentRepository, never()).updateStatusByIdIn(any(), any(), any(), any());
+        verifyNoInteractions(jdbcTemplate, domainEventBus);
+    }
+
+    @Test
+    void testBulkStatusChangeFailsWhenAShipmentChangedConcurrently() {
+        // Given: shipment 2 is cancelled by another request after the set was validated
+        when(shipmentRepository.findStatusSnapshotsByIdIn(any())).thenReturn(List.of(
+                new ShipmentStatusSnapshot(1L, "TRK1", ShipmentStatus.PICKED_UP),
+                new ShipmentStatusSnapshot(2L, "TRK2", ShipmentStatus.PICKED_UP)));
+        when(shipmentRepository.updateStatusByIdIn(eq(List.of(1L, 2L)), eq(ShipmentStatus.PICKED_UP),
+                eq(ShipmentStatus.IN_TRANSIT), any())).thenReturn(1);
+
+        // When / Then: rolled back, no tracking event and no domain event
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> shipmentService.updateShipmentStatuses(bulkRequest(List.of(1L, 2L))));
+        verifyNoInteractions(jdbcTemplate, domainEventBus);
+    }
+
+    private static BulkStatusRequest<ShipmentStatus> bulkRequest(List<Long> ids) {
+        BulkStatusRequest<ShipmentStatus> request = new BulkStatusRequest<>();
+        request.setIds(ids);
+        request.setStatus(ShipmentStatus.IN_TRANSIT);
+        return request;
+    }
+}
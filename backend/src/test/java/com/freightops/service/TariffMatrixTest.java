@@ -0,0 +1,80 @@
+package com.freightops.service;
+
+import com.freightops.entity.City;
+import com.freightops.entity.Tariff;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TariffMatrixTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private final City kinshasa = city(1L, "FIH");
+    private final City lubumbashi = city(2L, "FBM");
+
+    @Test
+    void testFindReturnsRateInForceOnRoute() {
+        // Given
+        Tariff expired = tariff(10L, "2.00", NOW.minusYears(1), NOW.minusDays(1));
+        Tariff current = tariff(11L, "2.50", NOW.minusDays(1), null);
+        Tariff future = tariff(12L, "3.00", NOW.plusDays(10), null);
+        TariffMatrix matrix = TariffMatrix.of(List.of(expired, current, future), BigDecimal.ONE, BigDecimal.TEN);
+
+        // When / Then
+        assertEquals(11L, matrix.find(1L, 2L, NOW).orElseThrow().getTariffId());
+        assertEquals(12L, matrix.find(1L, 2L, NOW.plusDays(11)).orElseThrow().getTariffId());
+        assertTrue(matrix.find(2L, 1L, NOW).isEmpty(), "Routes are directional");
+        assertEquals(1, matrix.getRouteCount());
+    }
+
+    @Test
+    void testInactiveTariffsAreIgnored() {
+        // Given
+        Tariff inactive = tariff(10L, "2.00", null, null);
+        inactive.setIsActive(false);
+
+        // When
+        TariffMatrix matrix = TariffMatrix.of(List.of(inactive), BigDecimal.ONE, BigDecimal.TEN);
+
+        // Then
+        assertTrue(matrix.find(1L, 2L, NOW).isEmpty());
+    }
+
+    @Test
+    void testCostUsesVolumeCoefficients() {
+        // Given
+        Tariff tariff = tariff(10L, "2.00", null, null);
+        tariff.setVolumeCoeffV1(new BigDecimal("1.0"));
+        tariff.setVolumeCoeffV2(new BigDecimal("1.2"));
+        tariff.setVolumeCoeffV3(BigDecimal.ZERO);
+        TariffMatrix matrix = TariffMatrix.of(List.of(tariff), BigDecimal.ONE, BigDecimal.TEN);
+        TariffMatrix.Rate rate = matrix.find(1L, 2L, NOW).orElseThrow();
+        BigDecimal weight = new BigDecimal("10");
+
+        // When / Then
+        assertEquals(0, new BigDecimal("20").compareTo(rate.cost(weight, matrix.volumeClass(null))));
+        assertEquals(0, new BigDecimal("24").compareTo(rate.cost(weight, matrix.volumeClass(new BigDecimal("2")))));
+        assertEquals(0, new BigDecimal("20").compareTo(rate.cost(weight, matrix.volumeClass(new BigDecimal("12")))),
+                "An unset coefficient counts as 1");
+    }
+
+    private Tariff tariff(Long id, String kgRate, LocalDateTime effectiveFrom, LocalDateTime effectiveUntil) {
+        Tariff tariff = new Tariff(kinshasa, lubumbashi, new BigDecimal(kgRate));
+        tariff.setId(id);
+        tariff.setEffectiveFrom(effectiveFrom);
+        tariff.setEffectiveUntil(effectiveUntil);
+        return tariff;
+    }
+
+    private static City city(Long id, String iataCode) {
+        City city = new City();
+        city.setId(id);
+        city.setIataCode(iataCode);
+        return city;
+    }
+}
@@ -0,0 +1,120 @@
+package com.freightops.service;
+
+import com.freightops.entity.CashBox;
+import com.freightops.entity.TreasuryDailyBalance;
+import com.freightops.entity.TreasuryTransaction;
+import com.freightops.enums.TransactionType;
+import com.freightops.enums.TreasuryAccountKind;
+import com.freightops.repository.BankAccountRepository;
+import com.freightops.repository.CashBoxRepository;
+import com.freightops.repository.TreasuryDailyBalanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TreasuryBalanceServiceTest {
+
+    private static final LocalDate MARCH_15 = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private TreasuryDailyBalanceRepository dailyBalanceRepository;
+
+    @Mock
+    private CashBoxRepository cashBoxRepository;
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    private TreasuryBalanceService treasuryBalanceService;
+
+    private final CashBox cashBox = cashBox(1L, "1000.00");
+
+    @BeforeEach
+    void setUp() {
+        treasuryBalanceService = new TreasuryBalanceService(dailyBalanceRepository, cashBoxRepository,
+                bankAccountRepository);
+    }
+
+    @Test
+    void testFirstMovementOfTheDayStartsFromPreviousCheckpoint() {
+        // Given
+        when(cashBoxRepository.findForUpdate(1L)).thenReturn(Optional.of(cashBox));
+        when(dailyBalanceRepository.addDayMovements(TreasuryAccountKind.CASH_BOX, 1L, MARCH_15,
+                new BigDecimal("200.00"), BigDecimal.ZERO)).thenReturn(0);
+        when(dailyBalanceRepository.findClosingNetAt(TreasuryAccountKind.CASH_BOX, 1L, MARCH_15.minusDays(1)))
+                .thenReturn(Optional.of(new BigDecimal("350.00")));
+
+        // When
+        treasuryBalanceService.recordTransaction(transaction(TransactionType.INCOME, "200.00"));
+
+        // Then
+        ArgumentCaptor<TreasuryDailyBalance> created = ArgumentCaptor.forClass(TreasuryDailyBalance.class);
+        verify(dailyBalanceRepository).saveAndFlush(created.capture());
+        assertEquals(0, new BigDecimal("350.00").compareTo(created.getValue().getClosingNet()));
+        assertEquals(0, new BigDecimal("200.00").compareTo(created.getValue().getIncomeTotal()));
+        verify(dailyBalanceRepository).addToClosingNetFrom(TreasuryAccountKind.CASH_BOX, 1L, MARCH_15,
+                new BigDecimal("200.00"));
+    }
+
+    @Test
+    void testReverseExpenseOnExistingDay() {
+        // Given
+        when(cashBoxRepository.findForUpdate(1L)).thenReturn(Optional.of(cashBox));
+        when(dailyBalanceRepository.addDayMovements(TreasuryAccountKind.CASH_BOX, 1L, MARCH_15, BigDecimal.ZERO,
+                new BigDecimal("-80.00"))).thenReturn(1);
+
+        // When
+        treasuryBalanceService.reverseTransaction(transaction(TransactionType.EXPENSE, "80.00"));
+
+        // Then
+        verify(dailyBalanceRepository, never()).saveAndFlush(any());
+        verify(dailyBalanceRepository).addToClosingNetFrom(TreasuryAccountKind.CASH_BOX, 1L, MARCH_15,
+                new BigDecimal("80.00"));
+    }
+
+    @Test
+    void testTransfersAreNotRecorded() {
+        treasuryBalanceService.recordTransaction(transaction(TransactionType.TRANSFER, "50.00"));
+
+        verifyNoInteractions(dailyBalanceRepository, cashBoxRepository);
+    }
+
+    @Test
+    void testClosingBalanceAddsInitialBalance() {
+        // Given
+        when(dailyBalanceRepository.findClosingNetAt(TreasuryAccountKind.CASH_BOX, 1L, MARCH_15))
+                .thenReturn(Optional.of(new BigDecimal("-150.00")));
+
+        // When / Then
+        assertEquals(0, new BigDecimal("850.00")
+                .compareTo(treasuryBalanceService.getClosingBalance(cashBox, MARCH_15)));
+    }
+
+    private TreasuryTransaction transaction(TransactionType type, String amount) {
+        TreasuryTransaction transaction = new TreasuryTransaction();
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTransactionDate(MARCH_15);
+        transaction.setCashBox(cashBox);
+        return transaction;
+    }
+
+    private static CashBox cashBox(Long id, String initialBalance) {
+        CashBox cashBox = new CashBox();
+        cashBox.setId(id);
+        cashBox.setInitialBalance(new BigDecimal(initialBalance));
+        return cashBox;
+    }
+}
@@ -0,0 +1,72 @@
+package com.freightops.service;
+
+import com.freightops.dto.TreasuryPeriodTotals;
+import com.freightops.dto.TreasuryReportLine;
+import com.freightops.enums.TransactionType;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TreasuryReportDataSourceTest {
+
+    @Test
+    void testRowsAreMappedToTemplateFields() throws JRException {
+        // Given
+        TreasuryReportDataSource dataSource = new TreasuryReportDataSource(List.of(
+                new TreasuryReportLine("REC-2024-001", TransactionType.INCOME, new BigDecimal("150.00"),
+                        LocalDate.of(2024, 3, 15), "Paiement LTA", "Fret", "Caisse principale", null),
+                new TreasuryReportLine("TRF-2024-001", TransactionType.TRANSFER, new BigDecimal("80.00"),
+                        LocalDate.of(2024, 3, 14), "Transfert", null, null, null)).iterator());
+
+        // When / Then
+        assertTrue(dataSource.next());
+        assertEquals("Recette", dataSource.getFieldValue(field("type")));
+        assertEquals("15/03/2024", dataSource.getFieldValue(field("transactionDate")));
+        assertEquals("Caisse principale", dataSource.getFieldValue(field("accountName")));
+        assertEquals("Caisse", dataSource.getFieldValue(field("accountType")));
+
+        assertTrue(dataSource.next());
+        assertEquals("Transfert", dataSource.getFieldValue(field("type")));
+        assertEquals("-", dataSource.getFieldValue(field("accountName")));
+        assertEquals("-", dataSource.getFieldValue(field("accountType")));
+
+        assertFalse(dataSource.next());
+        assertEquals(2, dataSource.getRowCount());
+    }
+
+    @Test
+    void testUnknownFieldIsRejected() {
+        TreasuryReportDataSource dataSource = new TreasuryReportDataSource(List.of(
+                new TreasuryReportLine("DEP-2024-001", TransactionType.EXPENSE, BigDecimal.TEN,
+                        LocalDate.of(2024, 3, 1), null, null, null, "Compte BCDC")).iterator());
+        assertTrue(dataSource.next());
+
+        assertThrows(JRException.class, () -> dataSource.getFieldValue(field("balance")));
+    }
+
+    @Test
+    void testPeriodTotalsFromGroupedRows() {
+        // When
+        TreasuryPeriodTotals totals = TreasuryPeriodTotalsService.toTotals(List.of(
+                new Object[] { TransactionType.INCOME, new BigDecimal("500.00") },
+                new Object[] { TransactionType.EXPENSE, new BigDecimal("120.00") }));
+
+        // Then
+        assertEquals(0, new BigDecimal("500.00").compareTo(totals.getTotalIncome()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(totals.getTotalTransfer()));
+        assertEquals(0, new BigDecimal("380.00").compareTo(totals.getNetFlow()));
+    }
+
+    private static JRField field(String name) {
+        JRField field = mock(JRField.class);
+        when(field.getName()).thenReturn(name);
+        return field;
+    }
+}
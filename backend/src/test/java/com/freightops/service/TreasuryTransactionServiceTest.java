@@ -0,0 +1,65 @@
+package com.freightops.service;
+
+import com.freightops.entity.CashBox;
+import com.freightops.entity.TreasuryTransaction;
+import com.freightops.enums.TransactionType;
+import com.freightops.repository.BankAccountRepository;
+import com.freightops.repository.CashBoxRepository;
+import com.freightops.repository.TreasuryTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TreasuryTransactionServiceTest {
+
+    @Mock
+    private TreasuryTransactionRepository treasuryTransactionRepository;
+
+    @Mock
+    private CashBoxRepository cashBoxRepository;
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    @Mock
+    private TreasuryBalanceService treasuryBalanceService;
+
+    @InjectMocks
+    private TreasuryTransactionService treasuryTransactionService;
+
+    @Test
+    void testCashOperationUpdatesCheckpointsButNotCurrentBalance() {
+        // Given: une opération de caisse saisie depuis le relevé
+        CashBox cashBox = new CashBox();
+        cashBox.setId(1L);
+        cashBox.setCurrentBalance(new BigDecimal("1000.00"));
+
+        TreasuryTransaction transaction = new TreasuryTransaction();
+        transaction.setReference("OP-2024-001");
+        transaction.setTransactionDate(LocalDate.of(2024, 3, 15));
+        transaction.setAmount(new BigDecimal("250.00"));
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setCashBox(cashBox);
+        when(treasuryTransactionRepository.save(transaction)).thenReturn(transaction);
+
+        // When
+        TreasuryTransaction saved = treasuryTransactionService.recordCashOperation(transaction);
+
+        // Then: le point journalier est enregistré, le solde courant reste inchangé
+        assertSame(transaction, saved);
+        verify(treasuryBalanceService).recordTransaction(transaction);
+        assertEquals(new BigDecimal("1000.00"), cashBox.getCurrentBalance());
+        verifyNoInteractions(cashBoxRepository, bankAccountRepository);
+        verify(treasuryTransactionRepository, never()).existsByReference(any());
+    }
+}
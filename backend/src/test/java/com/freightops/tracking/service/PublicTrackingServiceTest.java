@@ -0,0 +1,159 @@
+package com.freightops.tracking.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.freightops.dto.LTATimelineEntry;
+import com.freightops.dto.LTAView;
+import com.freightops.enums.LTAStatus;
+import com.freightops.events.LTAStatusChangedEvent;
+import com.freightops.repository.LTARepository;
+import com.freightops.service.LTAStatusHistoryService;
+import com.freightops.tracking.dto.PublicTrackingDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublicTrackingServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 2, 9, 0);
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 5, 3, 14, 30);
+
+    @Mock
+    private LTARepository ltaRepository;
+
+    @Mock
+    private LTAStatusHistoryService ltaStatusHistoryService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private PublicTrackingService publicTrackingService;
+
+    @BeforeEach
+    void setUp() {
+        publicTrackingService = new PublicTrackingService(ltaRepository, ltaStatusHistoryService, objectMapper,
+                Duration.ofSeconds(30));
+    }
+
+    @Test
+    void testDocumentRendersPublicFieldsOnly() throws IOException {
+        // Given
+        LTAView lta = view(LTAStatus.CONFIRMED);
+        when(ltaRepository.findViewByTrackingNumber("TRK123")).thenReturn(Optional.of(lta));
+        when(ltaStatusHistoryService.getTimeline("TRK123")).thenReturn(List.of());
+
+        // When
+        PublicTrackingDocument document = publicTrackingService.getDocument("TRK123").orElseThrow();
+
+        // Then
+        JsonNode json = objectMapper.readTree(document.getBody());
+        assertTrue(json.get("success").asBoolean());
+        JsonNode data = json.get("data");
+        assertEquals("TRK123", data.get("trackingNumber").asText());
+        assertEquals("FIH", data.get("originCity").get("iataCode").asText());
+        assertFalse(data.has("declaredValue"));
+        assertFalse(data.has("calculatedCost"));
+        assertEquals(1, data.get("statusHistory").size());
+        assertEquals("CONFIRMED", data.get("statusHistory").get(0).get("newStatus").asText());
+        assertEquals("Confirmé", data.get("statusHistory").get(0).get("statusLabel").asText());
+        assertFalse(data.get("statusHistory").get(0).has("changedBy"));
+        assertFalse(data.get("statusHistory").get(0).has("changeReason"));
+
+        assertTrue(document.getEtag().startsWith("\"") && document.getEtag().endsWith("\""));
+        assertEquals(UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                document.getLastModified());
+    }
+
+    @Test
+    void testEtagFollowsContentAndHistoryMovesLastModified() {
+        // Given
+        LocalDateTime deliveredAt = UPDATED_AT.plusDays(1);
+        LTATimelineEntry delivered = new LTATimelineEntry(1L, "IN_TRANSIT", "DELIVERED", "agent", null,
+                "Goma", deliveredAt);
+
+        // When
+        PublicTrackingDocument confirmed = publicTrackingService.render(view(LTAStatus.CONFIRMED), List.of());
+        PublicTrackingDocument sameContent = publicTrackingService.render(view(LTAStatus.CONFIRMED), List.of());
+        PublicTrackingDocument withHistory = publicTrackingService.render(view(LTAStatus.DELIVERED),
+                List.of(delivered));
+
+        // Then
+        assertEquals(confirmed.getEtag(), sameContent.getEtag());
+        assertNotEquals(confirmed.getEtag(), withHistory.getEtag());
+        assertEquals(deliveredAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                withHistory.getLastModified());
+    }
+
+    @Test
+    void testHistoryKeepsAgentAndReasonOutOfTheDocument() throws IOException {
+        // Given
+        LTATimelineEntry inTransit = new LTATimelineEntry(1L, "CONFIRMED", "IN_TRANSIT", "agent.goma",
+                "Retard douane", "Goma", UPDATED_AT);
+
+        // When
+        PublicTrackingDocument document = publicTrackingService.render(view(LTAStatus.IN_TRANSIT),
+                List.of(inTransit));
+
+        // Then
+        JsonNode entry = objectMapper.readTree(document.getBody()).get("data").get("statusHistory").get(0);
+        assertEquals("IN_TRANSIT", entry.get("newStatus").asText());
+        assertEquals("Goma", entry.get("location").asText());
+        assertFalse(entry.has("changedBy"));
+        assertFalse(entry.has("changeReason"));
+        String body = new String(document.getBody(), StandardCharsets.UTF_8);
+        assertFalse(body.contains("agent.goma"));
+        assertFalse(body.contains("Retard douane"));
+    }
+
+    @Test
+    void testUnknownTrackingNumber() {
+        when(ltaRepository.findViewByTrackingNumber("NOPE")).thenReturn(Optional.empty());
+
+        assertTrue(publicTrackingService.getDocument("NOPE").isEmpty());
+        verifyNoInteractions(ltaStatusHistoryService);
+    }
+
+    @Test
+    void testStatusChangeListenerDoesNotReadTheDatabase() {
+        publicTrackingService.onLTAStatusChanged(new LTAStatusChangedEvent(this, 7L, "LTA-7", "TRK123",
+                LTAStatus.CONFIRMED, LTAStatus.IN_TRANSIT, UPDATED_AT));
+
+        verifyNoInteractions(ltaRepository, ltaStatusHistoryService);
+    }
+
+    private static LTAView view(LTAStatus status) {
+        LTAView lta = new LTAView();
+        lta.setId(7L);
+        lta.setLtaNumber("LTA-7");
+        lta.setTrackingNumber("TRK123");
+        lta.setStatus(status);
+        lta.setShipperName("Expéditeur");
+        lta.setConsigneeName("Destinataire");
+        lta.setTotalWeight(new BigDecimal("12.50"));
+        lta.setDeclaredValue(new BigDecimal("1000.00"));
+        lta.setCalculatedCost(new BigDecimal("37.50"));
+        lta.setCreatedAt(CREATED_AT);
+        lta.setUpdatedAt(UPDATED_AT);
+        lta.setOriginCityId(1L);
+        lta.setOriginCityName("Kinshasa");
+        lta.setOriginCityIataCode("FIH");
+        lta.setOriginCityCountry("RDC");
+        return lta;
+    }
+}
@@ -0,0 +1,103 @@
+package com.freightops.tracking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.freightops.enums.LTAStatus;
+import com.freightops.enums.ShipmentStatus;
+import com.freightops.events.LTAStatusChangedEvent;
+import com.freightops.events.TrackingEventAddedEvent;
+import com.freightops.tracking.dto.TrackingUpdate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TrackingPushServiceTest {
+
+    private static final LocalDateTime CHANGED_AT = LocalDateTime.of(2024, 5, 3, 14, 30);
+
+    private final ObjectMapper objectMapper = spy(new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+    @Test
+    void testUpdateIsSerializedOncePerTopic() throws Exception {
+        // Given
+        TrackingPushService service = service(Runnable::run, 10, 4);
+        service.subscribe("TRK123");
+        service.subscribe("TRK123");
+        service.subscribe("TRK999");
+
+        // When
+        service.onLTAStatusChanged(new LTAStatusChangedEvent(this, 7L, "LTA-7", "TRK123",
+                LTAStatus.CONFIRMED, LTAStatus.IN_TRANSIT, CHANGED_AT));
+
+        // Then
+        verify(objectMapper, times(1)).writeValueAsString(any(TrackingUpdate.class));
+        assertEquals(2, service.getSubscriberCount("TRK123"));
+        assertEquals(3, service.getConnectionCount());
+    }
+
+    @Test
+    void testUpdateWithoutSubscribersIsNotSerialized() throws Exception {
+        TrackingPushService service = service(Runnable::run, 10, 4);
+
+        service.onTrackingEventAdded(new TrackingEventAddedEvent(this, 3L, "SHP-3", ShipmentStatus.CONFIRMED,
+                "Prise en charge", "Kinshasa", CHANGED_AT));
+
+        verify(objectMapper, never()).writeValueAsString(any());
+    }
+
+    @Test
+    void testSlowConnectionIsClosedWhenBufferIsFull() {
+        // Given: the sender pool never runs, so nothing leaves the buffer
+        List<Runnable> pending = new ArrayList<>();
+        TrackingPushService service = service(pending::add, 10, 2);
+        service.subscribe("TRK123");
+
+        // When: the "subscribed" frame and a heartbeat fill the buffer, the next heartbeat overflows it
+        service.sendHeartbeats();
+        service.sendHeartbeats();
+
+        // Then
+        assertEquals(1, pending.size());
+        assertEquals(0, service.getSubscriberCount("TRK123"));
+        assertEquals(0, service.getConnectionCount());
+    }
+
+    @Test
+    void testConnectionLimitIsEnforced() {
+        // Given
+        TrackingPushService service = service(Runnable::run, 1, 4);
+        service.subscribe("TRK123");
+
+        // When / Then
+        assertThrows(RejectedExecutionException.class, () -> service.subscribe("TRK999"));
+        assertEquals(1, service.getConnectionCount());
+    }
+
+    @Test
+    void testCloseAllReleasesConnections() {
+        TrackingPushService service = service(Runnable::run, 10, 4);
+        service.subscribe("TRK123");
+        service.subscribe("TRK999");
+
+        service.closeAll();
+
+        assertEquals(0, service.getConnectionCount());
+        assertEquals(0, service.getSubscriberCount("TRK123"));
+    }
+
+    private TrackingPushService service(TaskExecutor executor, int maxConnections, int bufferSize) {
+        return new TrackingPushService(executor, objectMapper, new SimpleMeterRegistry(), maxConnections,
+                bufferSize, Duration.ofMinutes(30), Duration.ofSeconds(5));
+    }
+}
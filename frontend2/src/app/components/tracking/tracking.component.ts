@@ -225,14 +225,10 @@ import { PublicTrackingResponse } from '../../models/public-tracking-response.mo
                   
                   <p class="timeline-description">{{ historyItem.statusDescription }}</p>
                   
-                  <div class="timeline-meta">
-                    <span class="changed-by">
-                      <mat-icon>person</mat-icon>
-                      Modifié par: {{ getChangedByLabel(historyItem.changedBy) }}
-                    </span>
-                    <span *ngIf="historyItem.changeReason" class="change-reason">
-                      <mat-icon>info</mat-icon>
-                      {{ historyItem.changeReason }}
+                  <div class="timeline-meta" *ngIf="historyItem.location">
+                    <span class="location">
+                      <mat-icon>place</mat-icon>
+                      {{ historyItem.location }}
                     </span>
                   </div>
                 </div>
@@ -558,15 +554,6 @@ export class TrackingComponent {
     return iconMap[status] || 'help';
   }
 
-  getChangedByLabel(changedBy: string): string {
-    const changedByMap: { [key: string]: string } = {
-      'SYSTEM': 'Système',
-      'USER': 'Utilisateur',
-      'ADMIN': 'Administrateur'
-    };
-    return changedByMap[changedBy] || 'Inconnu';
-  }
-
   formatDate(dateString: string): string {
     try {
       const date = new Date(dateString);
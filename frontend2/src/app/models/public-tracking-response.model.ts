@@ -2,8 +2,7 @@ export interface LTAStatusHistory {
   id: number;
   previousStatus: string | null;
   newStatus: string;
-  changedBy: string;
-  changeReason?: string;
+  location?: string;
   changedAt: string;
   statusLabel: string;
   statusDescription: string;